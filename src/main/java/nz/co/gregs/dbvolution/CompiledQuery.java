@@ -0,0 +1,362 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import nz.co.gregs.dbvolution.databases.DBDatabase;
+import nz.co.gregs.dbvolution.exceptions.AccidentalBlankQueryException;
+import nz.co.gregs.dbvolution.exceptions.AccidentalCartesianJoinException;
+import nz.co.gregs.dbvolution.internal.query.CompiledQueryDetails;
+import nz.co.gregs.dbvolution.internal.query.QueryDetails;
+
+/**
+ * A DBQuery that has been converted to SQL once and can be executed many
+ * times with different values.
+ *
+ * <p>
+ * Create a CompiledQuery with {@link DBQuery#compile() }. The values used in
+ * the DBQuery's conditions become parameters of the compiled query. Supply
+ * new values, in the order returned by {@link #getParameterValues() }, or
+ * use the {@link Parameter parameters} returned by {@link #getParameters() }
+ * to set values by parameter, to retrieve different rows without generating
+ * the SQL again.
+ *
+ * <p>
+ * For example:
+ * <pre>
+ * Marque marque = new Marque();
+ * marque.name.permittedValues("TOYOTA");
+ * CompiledQuery byName = database.getDBQuery(marque).compile();
+ *
+ * List&lt;Marque&gt; hondas = byName.getAllInstancesOf(marque, "HONDA");
+ * List&lt;Marque&gt; fords = byName.getAllInstancesOf(marque, "FORD");
+ *
+ * CompiledQuery.Parameter name = byName.getParameter("TOYOTA");
+ * List&lt;Marque&gt; holdens = byName.with(name, "HOLDEN").getAllInstancesOf(marque);
+ * </pre>
+ *
+ * <p>
+ * Only values that DBvolution can bind to a PreparedStatement, currently
+ * strings, integers, numbers, and, on databases that support them, dates,
+ * become parameters. Everything else, including the tables, joins, selected
+ * columns, and sort order, is fixed when the query is compiled. Changes to the DBQuery or its DBRow examples
+ * after compiling are not reflected in the compiled query.
+ *
+ * <p>
+ * A CompiledQuery is thread-safe: each execution has its own state and
+ * connection so many threads can use the same compiled query at once.
+ *
+ * <p style="color: #F90;">Support DBvolution at
+ * <a href="http://patreon.com/dbvolution" target=new>Patreon</a></p>
+ *
+ * @author Gregory Graham
+ */
+public class CompiledQuery {
+
+	private final DBDatabase database;
+	private final CompiledQueryDetails details;
+	private final List<Parameter> parameters;
+
+	/**
+	 * Compiles the query for the database.
+	 *
+	 * @param database the database to execute the query on
+	 * @param query the query to compile
+	 * @throws AccidentalBlankQueryException the query would return all rows
+	 * @throws AccidentalCartesianJoinException the query would create a
+	 * cartesian join
+	 */
+	CompiledQuery(DBDatabase database, QueryDetails query) throws AccidentalBlankQueryException, AccidentalCartesianJoinException {
+		this.database = database;
+		this.details = new CompiledQueryDetails(query);
+		database.getSQLForDBQuery(details);
+		final List<Object> values = details.getParameterValues();
+		final List<Parameter> found = new ArrayList<>(values.size());
+		for (int i = 0; i < values.size(); i++) {
+			found.add(new Parameter(this, i, values.get(i)));
+		}
+		this.parameters = Collections.unmodifiableList(found);
+	}
+
+	/**
+	 * The number of values required to execute this query.
+	 *
+	 * @return the number of parameters in the compiled query
+	 */
+	public int getParameterCount() {
+		return details.getParameterValues().size();
+	}
+
+	/**
+	 * The values of the parameters when the query was compiled.
+	 *
+	 * <p>
+	 * Use this list to find the order that new values should be supplied in.
+	 *
+	 * @return the parameter values used during compilation
+	 */
+	public List<Object> getParameterValues() {
+		return details.getParameterValues();
+	}
+
+	/**
+	 * The parameters of this query.
+	 *
+	 * @return the parameters in the order that values are supplied
+	 */
+	public List<Parameter> getParameters() {
+		return parameters;
+	}
+
+	/**
+	 * Finds the parameter that had the value supplied when the query was
+	 * compiled.
+	 *
+	 * <p>
+	 * Numbers are compared by value, so the integer 1 and the long 1L find the
+	 * same parameter, and dates are compared by time.
+	 *
+	 * @param compiledValue the value used in the DBQuery's condition
+	 * @return the parameter with that value
+	 * @throws IllegalArgumentException if no parameter, or more than one
+	 * parameter, had that value
+	 */
+	public Parameter getParameter(Object compiledValue) {
+		Parameter found = null;
+		for (Parameter parameter : parameters) {
+			if (parameter.hasValue(compiledValue)) {
+				if (found != null) {
+					throw new IllegalArgumentException("Several parameters of the compiled query had the value " + compiledValue + ", use getParameters() to choose one");
+				}
+				found = parameter;
+			}
+		}
+		if (found == null) {
+			throw new IllegalArgumentException("No parameter of the compiled query had the value " + compiledValue);
+		}
+		return found;
+	}
+
+	/**
+	 * Starts an execution of this query with a new value for one parameter.
+	 *
+	 * <p>
+	 * Parameters that are not set keep the value used during compilation.
+	 *
+	 * @param parameter a parameter of this query
+	 * @param value the new value for the parameter
+	 * @return an execution that can set further values and then be executed
+	 * @throws IllegalArgumentException if the parameter belongs to another
+	 * compiled query
+	 */
+	public Execution with(Parameter parameter, Object value) {
+		return new Execution().with(parameter, value);
+	}
+
+	/**
+	 * Returns the SQL that will be executed for the values supplied.
+	 *
+	 * @param values the parameter values, or no values to use the values from
+	 * compilation
+	 * @return the SQL for the query with all values as literals
+	 */
+	public String getSQLForQuery(Object... values) {
+		return database.getSQLForDBQuery(withValues(values));
+	}
+
+	/**
+	 * Executes the query with the values supplied.
+	 *
+	 * @param values the parameter values, or no values to use the values from
+	 * compilation
+	 * @return the rows found
+	 * @throws SQLException database errors
+	 * @throws IllegalArgumentException if the wrong number of values is
+	 * supplied or a value can not be converted to the type of its parameter
+	 */
+	public List<DBQueryRow> getAllRows(Object... values) throws SQLException {
+		final CompiledQueryDetails execution = withValues(values);
+		database.executeDBQuery(execution);
+		return execution.getResults();
+	}
+
+	/**
+	 * Executes the query with the values supplied and returns all the
+	 * instances of the exemplar that were found.
+	 *
+	 * @param <R> the DBRow subclass required
+	 * @param exemplar an instance of R that was included in the query
+	 * @param values the parameter values, or no values to use the values from
+	 * compilation
+	 * @return the distinct instances of R found
+	 * @throws SQLException database errors
+	 * @throws IllegalArgumentException if the wrong number of values is
+	 * supplied or a value can not be converted to the type of its parameter
+	 */
+	public <R extends DBRow> List<R> getAllInstancesOf(R exemplar, Object... values) throws SQLException {
+		List<R> instances = new ArrayList<>();
+		for (DBQueryRow row : getAllRows(values)) {
+			final R found = row.get(exemplar);
+			if (found != null && !instances.contains(found)) {
+				instances.add(found);
+			}
+		}
+		return instances;
+	}
+
+	/**
+	 * A parameter of a compiled query.
+	 *
+	 * <p>
+	 * Parameters are handles for setting values with
+	 * {@link CompiledQuery#with(nz.co.gregs.dbvolution.CompiledQuery.Parameter, java.lang.Object) }
+	 * instead of supplying every value in order.
+	 */
+	public static final class Parameter {
+
+		private final CompiledQuery query;
+		private final int index;
+		private final Object compiledValue;
+
+		private Parameter(CompiledQuery query, int index, Object compiledValue) {
+			this.query = query;
+			this.index = index;
+			this.compiledValue = compiledValue;
+		}
+
+		/**
+		 * The position of this parameter in the values of the query.
+		 *
+		 * @return the index of this parameter in
+		 * {@link CompiledQuery#getParameterValues() }
+		 */
+		public int getIndex() {
+			return index;
+		}
+
+		/**
+		 * The value of this parameter when the query was compiled.
+		 *
+		 * @return the compiled value
+		 */
+		public Object getCompiledValue() {
+			return compiledValue;
+		}
+
+		private boolean hasValue(Object value) {
+			if (compiledValue.equals(value)) {
+				return true;
+			}
+			if (value instanceof Number && compiledValue instanceof Number) {
+				return new BigDecimal(value.toString()).compareTo(new BigDecimal(compiledValue.toString())) == 0;
+			}
+			if (value instanceof Date && compiledValue instanceof Date) {
+				return ((Date) value).getTime() == ((Date) compiledValue).getTime();
+			}
+			return false;
+		}
+
+		@Override
+		public String toString() {
+			return "Parameter " + index + " (" + compiledValue + ")";
+		}
+	}
+
+	/**
+	 * The values for one execution of a compiled query.
+	 *
+	 * <p>
+	 * Created by
+	 * {@link CompiledQuery#with(nz.co.gregs.dbvolution.CompiledQuery.Parameter, java.lang.Object) },
+	 * an execution starts with the compiled values and each call to
+	 * {@link #with(nz.co.gregs.dbvolution.CompiledQuery.Parameter, java.lang.Object) }
+	 * replaces one of them. Executions are not thread-safe, but each thread
+	 * may create its own from the same compiled query.
+	 */
+	public final class Execution {
+
+		private final Object[] values = getParameterValues().toArray();
+
+		private Execution() {
+		}
+
+		/**
+		 * Sets the value of a parameter for this execution.
+		 *
+		 * @param parameter a parameter of the compiled query
+		 * @param value the new value for the parameter
+		 * @return this execution
+		 * @throws IllegalArgumentException if the parameter belongs to another
+		 * compiled query
+		 */
+		public Execution with(Parameter parameter, Object value) {
+			if (parameter.query != CompiledQuery.this) {
+				throw new IllegalArgumentException(parameter + " belongs to a different compiled query");
+			}
+			values[parameter.index] = value;
+			return this;
+		}
+
+		/**
+		 * Returns the SQL that will be executed for these values.
+		 *
+		 * @return the SQL for the query with all values as literals
+		 */
+		public String getSQLForQuery() {
+			return CompiledQuery.this.getSQLForQuery(values);
+		}
+
+		/**
+		 * Executes the query with these values.
+		 *
+		 * @return the rows found
+		 * @throws SQLException database errors
+		 * @throws IllegalArgumentException if a value can not be converted to
+		 * the type of its parameter
+		 */
+		public List<DBQueryRow> getAllRows() throws SQLException {
+			return CompiledQuery.this.getAllRows(values);
+		}
+
+		/**
+		 * Executes the query with these values and returns all the instances of
+		 * the exemplar that were found.
+		 *
+		 * @param <R> the DBRow subclass required
+		 * @param exemplar an instance of R that was included in the query
+		 * @return the distinct instances of R found
+		 * @throws SQLException database errors
+		 * @throws IllegalArgumentException if a value can not be converted to
+		 * the type of its parameter
+		 */
+		public <R extends DBRow> List<R> getAllInstancesOf(R exemplar) throws SQLException {
+			return CompiledQuery.this.getAllInstancesOf(exemplar, values);
+		}
+	}
+
+	private CompiledQueryDetails withValues(Object[] values) {
+		if (values == null || values.length == 0) {
+			return details.withParameterValues(details.getParameterValues());
+		}
+		return details.withParameterValues(Arrays.asList(values));
+	}
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import nz.co.gregs.dbvolution.internal.query.QueryCursor;
+
+/**
+ * Iterates through the results of a query without retrieving all the rows at
+ * once.
+ *
+ * <p>
+ * A DBCursor keeps the query's ResultSet, and its connection, open while the
+ * rows are read. Rows are retrieved from the database in batches of the fetch
+ * size, so very large results can be processed in a fixed amount of memory.
+ *
+ * <p>
+ * Always close the cursor, or the stream created from it, to release the
+ * connection. The cursor closes itself after the last row has been read. The
+ * easiest way to ensure this is try-with-resources:
+ * <pre>
+ * try (DBCursor&lt;DBQueryRow&gt; cursor = query.iterator()) {
+ *	while (cursor.hasNext()) {
+ *		DBQueryRow row = cursor.next();
+ *		...
+ *	}
+ * }
+ * </pre>
+ *
+ * <p>
+ * Each row produced by a cursor is independent: DBRow instances are not shared
+ * between rows and AutoFill fields are not filled.
+ *
+ * <p style="color: #F90;">Support DBvolution at
+ * <a href="http://patreon.com/dbvolution" target=new>Patreon</a></p>
+ *
+ * @author Gregory Graham
+ * @param <T> the type of object produced for each row
+ */
+public class DBCursor<T> implements Iterator<T>, AutoCloseable {
+
+	private final QueryCursor cursor;
+	private final Function<DBQueryRow, T> mapper;
+
+	DBCursor(QueryCursor cursor, Function<DBQueryRow, T> mapper) {
+		this.cursor = cursor;
+		this.mapper = mapper;
+	}
+
+	@Override
+	public boolean hasNext() {
+		return cursor.hasNext();
+	}
+
+	@Override
+	public T next() {
+		return mapper.apply(cursor.next());
+	}
+
+	/**
+	 * Indicates whether the cursor has released its connection.
+	 *
+	 * @return TRUE if the cursor has been closed or all rows have been read
+	 */
+	public boolean isClosed() {
+		return cursor.isClosed();
+	}
+
+	/**
+	 * Closes the ResultSet and releases the connection.
+	 */
+	@Override
+	public void close() {
+		cursor.close();
+	}
+
+	/**
+	 * Creates a sequential Stream of the remaining rows.
+	 *
+	 * <p>
+	 * Closing the stream closes this cursor.
+	 *
+	 * @return a stream of the rows not yet read from this cursor
+	 */
+	public Stream<T> stream() {
+		return StreamSupport
+				.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+				.onClose(this::close);
+	}
+}
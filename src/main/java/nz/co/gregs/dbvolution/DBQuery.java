@@ -30,6 +30,9 @@ import java.io.PrintStream;
 import java.io.Serializable;
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Stream;
 import javax.swing.JFrame;
 
 import nz.co.gregs.dbvolution.annotations.DBForeignKey;
@@ -43,6 +46,7 @@ import nz.co.gregs.dbvolution.expressions.search.HasComparisonExpression;
 import nz.co.gregs.dbvolution.expressions.search.HasRankingExpression;
 import nz.co.gregs.dbvolution.internal.querygraph.*;
 import nz.co.gregs.dbvolution.internal.properties.*;
+import nz.co.gregs.dbvolution.query.RowDefinition;
 import nz.co.gregs.dbvolution.results.ExpressionHasStandardStringResult;
 import nz.co.gregs.dbvolution.expressions.search.SearchAcross;
 
@@ -85,6 +89,13 @@ public class DBQuery implements Serializable {
 
 	private static final long serialVersionUID = 1l;
 
+	/**
+	 * The system property that, when set to "false", stops queries being
+	 * labelled with the code that created them.
+	 */
+	public static final String CALLER_LABELS_PROPERTY = "dbvolution.query.callerLabels";
+	private static volatile boolean callerLabelsEnabled = !"false".equalsIgnoreCase(System.getProperty(CALLER_LABELS_PROPERTY));
+
 	private final DBDatabase database;
 	private final QueryDetails details = new QueryDetails();
 	private transient QueryGraph queryGraph;
@@ -97,33 +108,39 @@ public class DBQuery implements Serializable {
 	protected DBQuery(DBDatabase database) {
 		this.database = database;
 		details.setReturnEmptyStringForNullString(!database.supportsDifferenceBetweenNullAndEmptyString());
-		setDefaultQueryLabel(Thread.currentThread().getStackTrace());
+		if (callerLabelsEnabled) {
+			details.setLabelToCaller();
+		}
 		blankResults();
 	}
 
-	private void setDefaultQueryLabel(StackTraceElement[] stackTrace) {
-		if (stackTrace.length > 0) {
-			for (StackTraceElement entryLine : stackTrace) {
-				if (entryLine != null) {
-					String className = entryLine.getClassName();
-					if (!className.equals(java.lang.Thread.class.getCanonicalName())) {
-						if (!className.equals(DBQuery.class.getCanonicalName())) {
-							if (!className.equals(DBDatabase.class.getCanonicalName())) {
-								if (!className.equals(DBRecursiveQuery.class.getCanonicalName())) {
-									if (!className.equals(DBTable.class.getCanonicalName())) {
-										final String entryLineString = entryLine.toString();
-										if (!entryLineString.isEmpty()) {
-											setQueryLabel(entryLineString);
-											break;
-										}
-									}
-								}
-							}
-						}
-					}
-				}
-			}
-		}
+	/**
+	 * Sets whether new queries are labelled with the code that created them.
+	 *
+	 * <p>
+	 * Labels appear in logging and error messages, and can always be set with
+	 * {@link #setQueryLabel(java.lang.String) }. Finding the calling code is
+	 * cheap but not free, so applications creating very many queries may
+	 * prefer to turn it off.
+	 *
+	 * <p>
+	 * The default is taken from the {@link #CALLER_LABELS_PROPERTY} system
+	 * property, and is enabled unless the property is "false".
+	 *
+	 * @param enabled FALSE to leave new queries unlabelled
+	 */
+	public static void setCallerLabelsEnabled(boolean enabled) {
+		callerLabelsEnabled = enabled;
+	}
+
+	/**
+	 * Indicates whether new queries are labelled with the code that created
+	 * them.
+	 *
+	 * @return TRUE if new queries are labelled with their caller
+	 */
+	public static boolean isCallerLabelsEnabled() {
+		return callerLabelsEnabled;
 	}
 
 	/**
@@ -291,6 +308,28 @@ public class DBQuery implements Serializable {
 		return database.getSQLForDBQuery(details);
 	}
 
+	/**
+	 * Converts this query to SQL once so that it can be executed many times.
+	 *
+	 * <p>
+	 * The values of the conditions become parameters that can be changed for
+	 * each execution of the {@link CompiledQuery}. Use a CompiledQuery for
+	 * queries that are run frequently with only the values changing.
+	 *
+	 * <p>
+	 * Changes made to this DBQuery after compiling do not affect the compiled
+	 * query.
+	 *
+	 * @return a compiled version of this query
+	 * @throws AccidentalBlankQueryException the query would return all rows
+	 * @throws AccidentalCartesianJoinException the query would create a
+	 * cartesian join
+	 */
+	public CompiledQuery compile() throws AccidentalBlankQueryException, AccidentalCartesianJoinException {
+		details.setQueryType(QueryType.SELECT);
+		return new CompiledQuery(database, details);
+	}
+
 	/**
 	 * Prints the actual SQL to be used by this query.
 	 *
@@ -549,6 +588,122 @@ public class DBQuery implements Serializable {
 		return arrayList;
 	}
 
+	/**
+	 * Executes the query and returns a cursor that reads the rows as they are
+	 * needed.
+	 *
+	 * <p>
+	 * Unlike {@link #getAllRows() } the rows are not retained by the query, so
+	 * results of any size can be processed in a fixed amount of memory. The
+	 * cursor holds a database connection until it is closed or the last row has
+	 * been read.
+	 *
+	 * <p>
+	 * Within a transaction the cursor reads from the transaction's connection.
+	 * For a cluster the cursor reads from a single database of the cluster.
+	 *
+	 * @return an open cursor over the query's results
+	 * @throws SQLException database errors
+	 * @see #setFetchSize(int)
+	 */
+	public DBCursor<DBQueryRow> iterator() throws SQLException {
+		return openCursor(row -> row);
+	}
+
+	/**
+	 * Executes the query and returns a Stream that reads the rows as they are
+	 * needed.
+	 *
+	 * <p>
+	 * The stream holds a database connection until it is closed, so use
+	 * try-with-resources or consume the whole stream.
+	 *
+	 * @return a stream of the query's results
+	 * @throws SQLException database errors
+	 * @see #iterator()
+	 */
+	public Stream<DBQueryRow> stream() throws SQLException {
+		return iterator().stream();
+	}
+
+	/**
+	 * Executes the query and returns a Stream of the instances of the exemplar
+	 * in each row.
+	 *
+	 * <p>
+	 * Rows are not de-duplicated, so an instance that appears in several rows of
+	 * the query will appear several times in the stream. Rows without an
+	 * instance of the exemplar, from optional tables, produce no element.
+	 *
+	 * @param <R> the DBRow subclass required
+	 * @param exemplar an instance of R that has been included in the query
+	 * @return a stream of the instances of R
+	 * @throws SQLException database errors
+	 */
+	public <R extends DBRow> Stream<R> streamInstancesOf(R exemplar) throws SQLException {
+		return stream().map(row -> row.get(exemplar)).filter(Objects::nonNull);
+	}
+
+	<T> DBCursor<T> openCursor(Function<DBQueryRow, T> mapper) throws SQLException {
+		details.setQueryType(QueryType.STREAM);
+		try {
+			database.executeDBQuery(details);
+		} finally {
+			details.setQueryType(QueryType.SELECT);
+		}
+		return new DBCursor<>(details.takeCursor(), mapper);
+	}
+
+	/**
+	 * Sets the number of rows retrieved from the database at a time when
+	 * streaming results.
+	 *
+	 * <p>
+	 * Larger fetch sizes reduce the number of round trips to the database,
+	 * smaller sizes reduce the memory used. Some drivers only stream results
+	 * when the fetch size is set and auto-commit is off, so use streams within
+	 * a transaction for those databases.
+	 *
+	 * @param rows the number of rows to fetch at a time, zero for the driver's
+	 * default
+	 * @return this DBQuery instance
+	 * @see #iterator()
+	 * @see #stream()
+	 */
+	public DBQuery setFetchSize(int rows) {
+		details.getOptions().setFetchSize(rows);
+		return this;
+	}
+
+	/**
+	 * Sets whether fields annotated with
+	 * {@link nz.co.gregs.dbvolution.annotations.AutoFillDuringQueryIfPossible}
+	 * are filled with the related rows found by the query.
+	 *
+	 * <p>
+	 * AutoFill is enabled by default. Disable it for large queries that do not
+	 * need the AutoFill fields to avoid indexing all the results after the query
+	 * has been executed.
+	 *
+	 * @param autoFillEnabled FALSE to leave AutoFill fields unchanged
+	 * @return this DBQuery instance
+	 */
+	public DBQuery setAutoFillEnabled(boolean autoFillEnabled) {
+		details.getOptions().setAutoFillEnabled(autoFillEnabled);
+		return this;
+	}
+
+	/**
+	 * Indicates whether fields annotated with
+	 * {@link nz.co.gregs.dbvolution.annotations.AutoFillDuringQueryIfPossible}
+	 * are filled with the related rows found by the query.
+	 *
+	 * @return TRUE if AutoFill fields will be filled, the default
+	 */
+	public boolean isAutoFillEnabled() {
+		return details.getOptions().isAutoFillEnabled();
+	}
+
 	/**
 	 * Convenience method to print all the rows in the current collection
 	 * Equivalent to: printAll(System.out);
@@ -724,6 +879,44 @@ public class DBQuery implements Serializable {
 		}
 	}
 
+	/**
+	 * Asynchronous version of {@link #getAllRows() }.
+	 *
+	 * <p>
+	 * The query runs on the database's
+	 * {@link DBDatabase#getAsyncExecutor() asynchronous executor}, so several
+	 * independent queries can be run at the same time. Do not change the query
+	 * until the future has completed.
+	 *
+	 * @return a future for the list of DBQueryRows
+	 */
+	public CompletableFuture<List<DBQueryRow>> getAllRowsAsync() {
+		return database.async(() -> getAllRows());
+	}
+
+	/**
+	 * Asynchronous version of
+	 * {@link #getAllInstancesOf(nz.co.gregs.dbvolution.DBRow) }.
+	 *
+	 * @param <R> the DBRow subclass required
+	 * @param exemplar an instance of R that has been included in the query
+	 * @return a future for the list of instances of R
+	 * @see #getAllRowsAsync()
+	 */
+	public <R extends DBRow> CompletableFuture<List<R>> getAllInstancesOfAsync(R exemplar) {
+		return database.async(() -> getAllInstancesOf(exemplar));
+	}
+
+	/**
+	 * Asynchronous version of {@link #count() }.
+	 *
+	 * @return a future for the number of rows
+	 * @see #getAllRowsAsync()
+	 */
+	public CompletableFuture<Long> countAsync() {
+		return database.async(() -> count());
+	}
+
 	/**
 	 * Test whether this DBQuery will create a query without limitations.
 	 *
@@ -1469,6 +1662,57 @@ public class DBQuery implements Serializable {
 		return details.getCurrentPage();
 	}
 
+	/**
+	 * Retrieves the DBQueryRows that follow the row supplied, using keyset
+	 * pagination.
+	 *
+	 * <p>
+	 * Keyset pagination finds the next page by selecting the rows that sort after
+	 * the last row of the previous page, rather than skipping the earlier pages,
+	 * so retrieving a page deep in the results is as fast as retrieving the
+	 * first page. Use {@link #setRowLimit(int) } to set the page size, then call
+	 * this method with null for the first page and with the last row of each page
+	 * to get the page after it.
+	 *
+	 * <p>
+	 * The query is sorted by its sort order followed by the primary keys of the
+	 * required tables, so that every row has a unique position. The sort order
+	 * may only contain columns of the tables in the query and the last row must
+	 * have a value for every sort column.
+	 *
+	 * @param lastRow the last row of the previous page, or null for the first
+	 * page
+	 * @return the rows of the page after lastRow, an empty list when there are no
+	 * more rows
+	 * @throws SQLException database exceptions
+	 * @throws UnableToUseKeysetPaginationException if the sort order can not be
+	 * used for keyset pagination
+	 * @throws nz.co.gregs.dbvolution.exceptions.AccidentalBlankQueryException
+	 * Thrown when no conditions are detectable within the query and blank queries
+	 * have not been explicitly set with {@link DBQuery#setBlankQueryAllowed(boolean)
+	 * } or similar.
+	 */
+	public List<DBQueryRow> getNextPage(DBQueryRow lastRow) throws SQLException, AccidentalCartesianJoinException, AccidentalBlankQueryException, UnableToUseKeysetPaginationException {
+		final Keyset keyset = new Keyset(details.getSortOrder(), details.getRequiredQueryTables());
+		if (lastRow == null) {
+			return getKeysetPage(keyset, null);
+		} else {
+			return getKeysetPage(keyset, (table) -> table instanceof DBRow ? lastRow.get((DBRow) table) : null);
+		}
+	}
+
+	List<DBQueryRow> getKeysetPage(Keyset keyset, Function<RowDefinition, RowDefinition> lastRow) throws SQLException, AccidentalCartesianJoinException, AccidentalBlankQueryException, UnableToUseKeysetPaginationException {
+		details.setKeyset(keyset, lastRow == null ? null : keyset.getConditionForRowsAfter(lastRow));
+		details.setQueryType(QueryType.KEYSETPAGE);
+		try {
+			database.executeDBQuery(details);
+			return new ArrayList<>(details.getCurrentPage());
+		} finally {
+			details.setQueryType(QueryType.SELECT);
+			details.setKeyset(null, null);
+		}
+	}
+
 	/**
 	 * Use this method to remove all existing conditions on the query and add the
 	 * supplied conditions to the DBQuery.
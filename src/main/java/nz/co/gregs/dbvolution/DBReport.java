@@ -29,9 +29,11 @@ import nz.co.gregs.dbvolution.exceptions.AccidentalCartesianJoinException;
 import nz.co.gregs.dbvolution.exceptions.UnableToAccessDBReportFieldException;
 import nz.co.gregs.dbvolution.exceptions.UnableToInstantiateDBReportSubclassException;
 import nz.co.gregs.dbvolution.exceptions.UnableToSetDBReportFieldException;
+import nz.co.gregs.dbvolution.exceptions.UnableToUseKeysetPaginationException;
 import nz.co.gregs.dbvolution.expressions.BooleanExpression;
 import nz.co.gregs.dbvolution.expressions.DBExpression;
 import nz.co.gregs.dbvolution.expressions.SortProvider;
+import nz.co.gregs.dbvolution.internal.query.Keyset;
 import nz.co.gregs.dbvolution.query.RowDefinition;
 
 /**
@@ -290,6 +292,62 @@ public class DBReport extends RowDefinition {
 		return reportRows;
 	}
 
+	/**
+	 * Gets the report rows that follow the row supplied, using keyset
+	 * pagination.
+	 *
+	 * <p>
+	 * Keyset pagination selects the rows that sort after the last row of the
+	 * previous page instead of skipping the earlier pages, so deep pages are as
+	 * fast as the first. Call this method with null for the first page and with
+	 * the last row of each page to get the page after it.
+	 *
+	 * <p>
+	 * The report must have a {@link #setSortOrder(nz.co.gregs.dbvolution.columns.ColumnProvider...) sort order}
+	 * made from its columns, and the sort order must identify each report row
+	 * uniquely.
+	 *
+	 * @param <A> DBReport type
+	 * @param database database
+	 * @param exampleReport exampleReport
+	 * @param lastRow the last row of the previous page, or null for the first
+	 * page
+	 * @param pageSize the maximum number of rows to return
+	 * @param rows example rows that provide extra criteria
+	 * @return a list of DBReport instances for the page after lastRow, an empty
+	 * list when there are no more rows
+	 * @throws java.sql.SQLException Database exceptions may be thrown
+	 * @throws nz.co.gregs.dbvolution.exceptions.AccidentalBlankQueryException thrown if no conditions are set on the report and blank queries have not been specifically permitted.
+	 * @throws UnableToUseKeysetPaginationException if the sort order can not be
+	 * used for keyset pagination
+	 */
+	public static <A extends DBReport> List<A> getNextPage(DBDatabase database, A exampleReport, A lastRow, int pageSize, DBRow... rows) throws SQLException, AccidentalCartesianJoinException, AccidentalBlankQueryException, UnableToUseKeysetPaginationException {
+		DBQuery query = getDBQuery(database, exampleReport, rows);
+		query.setBlankQueryAllowed(exampleReport.getBlankQueryAllowed());
+		query.setRowLimit(pageSize);
+		final Keyset keyset = new Keyset(exampleReport.getSortColumns(), new ArrayList<>(0));
+		List<DBQueryRow> page = query.getKeysetPage(keyset, lastRow == null ? null : (table) -> lastRow.getRowDefinitionFromReport(table));
+		return getReportsFromQueryResults(page, exampleReport);
+	}
+
+	RowDefinition getRowDefinitionFromReport(RowDefinition table) {
+		if (table.getClass().equals(getClass())) {
+			return this;
+		}
+		for (Field field : getClass().getDeclaredFields()) {
+			field.setAccessible(true);
+			try {
+				final Object value = field.get(this);
+				if (value != null && value.getClass().equals(table.getClass())) {
+					return (RowDefinition) value;
+				}
+			} catch (IllegalArgumentException | IllegalAccessException ex) {
+				throw new UnableToAccessDBReportFieldException(this, field, ex);
+			}
+		}
+		return null;
+	}
+
 	private static <A extends DBReport> List<A> getReportsFromQueryResults(List<DBQueryRow> allRows, A exampleReport) {
 		List<A> reportRows = new ArrayList<A>();
 		for (DBQueryRow row : allRows) {
@@ -138,6 +138,10 @@ abstract public class DBRow extends RowDefinition implements Serializable {
 	 * @return a new blank version of the specified class
 	 */
 	public static <T extends DBRow> T getDBRow(Class<T> requiredDBRowClass) throws UnableToInstantiateDBRowSubclassException {
+		final RowDefinitionMetadata<T> metadata = RowDefinitionMetadata.forClass(requiredDBRowClass);
+		if (metadata != null && metadata.getConstructor() != null) {
+			return newInstanceFromMetadata(metadata);
+		}
 		try {
 			Constructor<T> constructor = requiredDBRowClass.getConstructor();
 			constructor.setAccessible(true);
@@ -159,6 +163,10 @@ abstract public class DBRow extends RowDefinition implements Serializable {
 	 * @return a new blank version of the specified class
 	 */
 	public static <ROW extends RowDefinition> ROW getDBRow(RowDefinitionClassWrapper<ROW> requiredDBRowClass) throws UnableToInstantiateDBRowSubclassException {
+		final RowDefinitionMetadata<ROW> metadata = RowDefinitionMetadata.forClass(requiredDBRowClass.adapteeClass());
+		if (metadata != null && metadata.getConstructor() != null) {
+			return newInstanceFromMetadata(metadata);
+		}
 		try {
 			Constructor<ROW> constructor = requiredDBRowClass.adapteeClass().getConstructor();
 			constructor.setAccessible(true);
@@ -172,6 +180,14 @@ abstract public class DBRow extends RowDefinition implements Serializable {
 		}
 	}
 
+	private static <ROW extends RowDefinition> ROW newInstanceFromMetadata(RowDefinitionMetadata<ROW> metadata) throws UnableToInstantiateDBRowSubclassException {
+		try {
+			return metadata.getConstructor().get();
+		} catch (RuntimeException ex) {
+			throw new UnableToInstantiateDBRowSubclassException(metadata.getRowClass(), ex);
+		}
+	}
+
 	/**
 	 * Returns a new example of the sourceRow with only the primary key set for
 	 * use in a query.
@@ -27,8 +27,11 @@ import nz.co.gregs.dbvolution.exceptions.AccidentalCartesianJoinException;
 import nz.co.gregs.dbvolution.exceptions.IncorrectRowProviderInstanceSuppliedException;
 import nz.co.gregs.dbvolution.exceptions.UnexpectedNumberOfRowsException;
 import nz.co.gregs.dbvolution.expressions.SortProvider;
+import nz.co.gregs.dbvolution.internal.query.Keyset;
 import nz.co.gregs.dbvolution.internal.query.QueryOptions;
 import nz.co.gregs.separatedstring.util.MapList;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 /**
  * DBTable provides features for making simple queries on the database.
@@ -106,6 +109,8 @@ public class DBTable<E extends DBRow> {
 		query.setQueryLabel(options.getQueryLabel());
 		query.setRawSQL(options.getRawSQL());
 		query.setPrintSQLBeforeExecution(options.getPrintSQLBeforeExecution());
+		query.setFetchSize(options.getFetchSize());
+		query.setAutoFillEnabled(options.isAutoFillEnabled());
 
 		return query;
 	}
@@ -167,6 +172,40 @@ public class DBTable<E extends DBRow> {
 		}
 	}
 
+	/**
+	 * Opens a cursor over the rows of the table that match the example.
+	 *
+	 * <p>
+	 * Unlike {@link #getAllRows() } the rows are read from the database as they
+	 * are needed, so very large tables can be processed without loading them
+	 * into memory. The cursor holds a database connection until it is closed or
+	 * exhausted, so use try-with-resources.
+	 *
+	 * @return an open cursor over the appropriate rows of the table
+	 * @throws SQLException database exceptions
+	 * @see #setFetchSize(int)
+	 */
+	public DBCursor<E> iterator() throws SQLException {
+		final E example = exemplar;
+		return getQuery(database, example).openCursor(row -> row.get(example));
+	}
+
+	/**
+	 * Streams the rows of the table that match the example.
+	 *
+	 * <p>
+	 * The stream reads the rows from the database as they are consumed and holds
+	 * a database connection until it is closed, so use try-with-resources or
+	 * consume the whole stream.
+	 *
+	 * @return a stream of the appropriate rows of the table
+	 * @throws SQLException database exceptions
+	 * @see #iterator()
+	 */
+	public Stream<E> stream() throws SQLException {
+		return iterator().stream();
+	}
+
 	/**
 	 * Synonym for {@link #getAllRows()}
 	 *
@@ -390,6 +429,40 @@ public class DBTable<E extends DBRow> {
 		return getRowsForPage(pageNumber);
 	}
 
+	/**
+	 * Retrieves the DBRows that follow the row supplied, using keyset
+	 * pagination.
+	 *
+	 * <p>
+	 * Keyset pagination selects the rows that sort after the last row of the
+	 * previous page instead of skipping the earlier pages, so deep pages are as
+	 * fast as the first. Use {@link #setRowLimit(int) } to set the page size,
+	 * then call this method with null for the first page and with the last row
+	 * of each page to get the page after it.
+	 *
+	 * <p>
+	 * The rows are sorted by the {@link #setSortOrder(nz.co.gregs.dbvolution.columns.ColumnProvider...) sort order}
+	 * followed by the primary key.
+	 *
+	 * @param lastRow the last row of the previous page, or null for the first
+	 * page
+	 * @return the rows of the page after lastRow, an empty list when there are no
+	 * more rows
+	 * @throws java.sql.SQLException java.sql.SQLException
+	 * @see DBQuery#getNextPage(nz.co.gregs.dbvolution.DBQueryRow)
+	 */
+	public List<E> getNextPage(E lastRow) throws SQLException, AccidentalCartesianJoinException, AccidentalBlankQueryException {
+		final E example = exemplar;
+		DBQuery query = getQuery(database, example);
+		final Keyset keyset = new Keyset(options.getSortColumns(), Arrays.asList(example));
+		List<DBQueryRow> page = query.getKeysetPage(keyset, lastRow == null ? null : (table) -> lastRow);
+		List<E> rows = new ArrayList<>(page.size());
+		for (DBQueryRow row : page) {
+			rows.add(row.get(example));
+		}
+		return rows;
+	}
+
 	/**
 	 * Retrieves the row (or rows in a bad database) that has the specified
 	 * primary key.
@@ -531,6 +604,38 @@ public class DBTable<E extends DBRow> {
 		return getQuery(database, exemplar).count();
 	}
 
+	/**
+	 * Asynchronous version of {@link #getAllRows() }.
+	 *
+	 * <p>
+	 * The query runs on the database's
+	 * {@link DBDatabase#getAsyncExecutor() asynchronous executor}.
+	 *
+	 * @return a future for the appropriate rows of the table
+	 */
+	public CompletableFuture<List<E>> getAllRowsAsync() {
+		return database.async(() -> getAllRows());
+	}
+
+	/**
+	 * Asynchronous version of {@link #count() }.
+	 *
+	 * @return a future for the number of rows
+	 */
+	public CompletableFuture<Long> countAsync() {
+		return database.async(() -> count());
+	}
+
+	/**
+	 * Asynchronous version of {@link #insert(nz.co.gregs.dbvolution.DBRow) }.
+	 *
+	 * @param row the row to insert
+	 * @return a future for the actions performed
+	 */
+	public CompletableFuture<DBActionList> insertAsync(E row) {
+		return database.async(() -> insert(row));
+	}
+
 	/**
 	 * Convenience method to print all the rows in the current collection
 	 * Equivalent to: print(System.out)
@@ -607,17 +712,7 @@ public class DBTable<E extends DBRow> {
 	 * @throws java.sql.SQLException java.sql.SQLException
 	 */
 	public DBActionList insertOrUpdate(E row) throws SQLException {
-		DBActionList changes = new DBActionList();
-		try {
-			changes.addAll(insert(row));
-		} catch (SQLException exc1) {
-			try {
-				changes.addAll(update(row));
-			} catch (SQLException exc2) {
-				throw exc1;
-			}
-		}
-		return changes;
+		return database.insertOrUpdate(row);
 	}
 
 	/**
@@ -644,19 +739,7 @@ public class DBTable<E extends DBRow> {
 	 * @throws java.sql.SQLException java.sql.SQLException
 	 */
 	public DBActionList insertOrUpdate(Collection<E> newRows) throws SQLException {
-		DBActionList changes = new DBActionList();
-		for (E row : newRows) {
-			try {
-				changes.addAll(insert(row));
-			} catch (SQLException exc1) {
-				try {
-					changes.addAll(update(row));
-				} catch (SQLException exc2) {
-					throw exc1;
-				}
-			}
-		}
-		return changes;
+		return database.insertOrUpdate(newRows);
 	}
 
 	protected DBActionList updateAnyway(E row) throws SQLException {
@@ -808,13 +891,13 @@ public class DBTable<E extends DBRow> {
 	 * @throws java.sql.SQLException java.sql.SQLException
 	 */
 	public DBActionList update(Collection<E> oldRows) throws SQLException {
-		DBActionList changes = new DBActionList();
+		List<E> changedRows = new ArrayList<>();
 		for (E row : oldRows) {
 			if (row.hasChangedSimpleTypes()) {
-				changes.addAll(DBUpdate.update(database, row));
+				changedRows.add(row);
 			}
 		}
-		return changes;
+		return DBUpdate.update(database, changedRows);
 	}
 
 	/**
@@ -951,6 +1034,33 @@ public class DBTable<E extends DBRow> {
 		return setRowLimit(rowLimit);
 	}
 
+	/**
+	 * Sets the number of rows the JDBC driver should fetch from the database at
+	 * a time when {@link #stream() streaming} or {@link #iterator() iterating}
+	 * over the table.
+	 *
+	 * @param rows the number of rows to fetch at a time, or 0 to use the
+	 * driver's default
+	 * @return this DBTable instance
+	 */
+	public DBTable<E> setFetchSize(int rows) {
+		options.setFetchSize(rows);
+		return this;
+	}
+
+	/**
+	 * Sets whether fields annotated with
+	 * {@link nz.co.gregs.dbvolution.annotations.AutoFillDuringQueryIfPossible}
+	 * are filled when retrieving rows.
+	 *
+	 * @param autoFillEnabled FALSE to leave AutoFill fields unchanged
+	 * @return this DBTable instance
+	 */
+	public DBTable<E> setAutoFillEnabled(boolean autoFillEnabled) {
+		options.setAutoFillEnabled(autoFillEnabled);
+		return this;
+	}
+
 	/**
 	 * Removes the limit set with {@link #setRowLimit(int) }.
 	 *
@@ -17,6 +17,7 @@ package nz.co.gregs.dbvolution.actions;
 
 import java.io.Serializable;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import nz.co.gregs.dbvolution.DBRow;
 import nz.co.gregs.dbvolution.databases.DBDatabase;
@@ -26,6 +27,8 @@ import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
 import nz.co.gregs.dbvolution.datatypes.QueryableDatatype;
 import nz.co.gregs.dbvolution.exceptions.DBRuntimeException;
 import nz.co.gregs.dbvolution.internal.properties.PropertyWrapper;
+import nz.co.gregs.dbvolution.internal.query.BindParameters;
+import nz.co.gregs.dbvolution.internal.query.StatementDetails;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -55,8 +58,14 @@ public abstract class DBAction implements Serializable {
 	private static final long serialVersionUID = 1L;
 	private static final Log LOG = LogFactory.getLog(DBAction.class);
 
+	/**
+	 * Oracle refuses IN lists with more than 1000 values.
+	 */
+	private static final int MAXIMUM_PRIMARY_KEYS_PER_STATEMENT = 1000;
+
 	final DBRow row;
 	private RefetchRequirement refetchStatus = RefetchRequirement.REFETCH;
+	private Integer updateCount = null;
 
 	protected final QueryIntention intention;
 
@@ -140,6 +149,90 @@ public abstract class DBAction implements Serializable {
 		return sqlString.append(")").toString();
 	}
 
+	/**
+	 * Returns a string that can be used in the WHERE clause to identify all the
+	 * rows supplied using their primary keys.
+	 *
+	 * <p>
+	 * Single column keys are compared using IN, composite keys use a row value
+	 * IN where the database
+	 * {@link DBDefinition#supportsRowValueInComparison() supports it} and a
+	 * series of ORs otherwise.
+	 *
+	 * @param db the database to execute the DBAction on
+	 * @param rows rows from the same table with values for all their primary
+	 * keys
+	 * @return a string identifying all the rows
+	 */
+	protected static String getPrimaryKeysSQL(DBDatabase db, List<? extends DBRow> rows) {
+		final DBDefinition defn = db.getDefinition();
+		final DBRow example = rows.get(0);
+		List<String> columns = new ArrayList<>();
+		for (QueryableDatatype<?> pk : example.getPrimaryKeys()) {
+			columns.add(defn.formatColumnName(example.getPropertyWrapperOf(pk).columnName()));
+		}
+		List<String> keys = new ArrayList<>(rows.size());
+		if (columns.size() == 1) {
+			for (DBRow row : rows) {
+				keys.add(getPrimaryKeyValues(defn, row).get(0));
+			}
+			return defn.doInTransform(columns.get(0), keys);
+		} else if (defn.supportsRowValueInComparison()) {
+			for (DBRow row : rows) {
+				keys.add("(" + String.join(", ", getPrimaryKeyValues(defn, row)) + ")");
+			}
+			return defn.doInTransform("(" + String.join(", ", columns) + ")", keys);
+		} else {
+			StringBuilder sql = new StringBuilder("(");
+			String orSeparator = "";
+			for (DBRow row : rows) {
+				final List<String> values = getPrimaryKeyValues(defn, row);
+				sql.append(orSeparator);
+				String andSeparator = "(";
+				for (int i = 0; i < columns.size(); i++) {
+					sql.append(andSeparator)
+							.append(columns.get(i))
+							.append(defn.getEqualsComparator())
+							.append(values.get(i));
+					andSeparator = defn.beginAndLine();
+				}
+				sql.append(")");
+				orSeparator = defn.beginOrLine();
+			}
+			return sql.append(")").toString();
+		}
+	}
+
+	static List<String> getPrimaryKeyValues(DBDefinition defn, DBRow row) {
+		List<String> values = new ArrayList<>();
+		for (QueryableDatatype<?> pk : row.getPrimaryKeys()) {
+			values.add(pk.hasChanged() ? pk.getPreviousSQLValue(defn) : pk.toSQLString(defn));
+		}
+		return values;
+	}
+
+	/**
+	 * Splits the rows into groups small enough to be identified by
+	 * {@link #getPrimaryKeysSQL(nz.co.gregs.dbvolution.databases.DBDatabase, java.util.List) }.
+	 *
+	 * <p>
+	 * Groups are limited to the {@link DBDatabase#getBatchSize() batch size} and
+	 * to 1000 rows, the longest IN list Oracle accepts.
+	 *
+	 * @param <R> the type of the rows
+	 * @param db the database to execute the DBAction on
+	 * @param rows the rows to split
+	 * @return the rows in groups
+	 */
+	protected static <R extends DBRow> List<List<R>> splitForPrimaryKeysSQL(DBDatabase db, List<R> rows) {
+		final int size = Math.max(1, Math.min(db.getBatchSize(), MAXIMUM_PRIMARY_KEYS_PER_STATEMENT));
+		List<List<R>> groups = new ArrayList<>();
+		for (int i = 0; i < rows.size(); i += size) {
+			groups.add(rows.subList(i, Math.min(rows.size(), i + size)));
+		}
+		return groups;
+	}
+
 	/**
 	 * Returns a list of the SQL statements that this DBAction will produce for
 	 * the specified database.
@@ -154,6 +247,22 @@ public abstract class DBAction implements Serializable {
 	 */
 	public abstract List<String> getSQLStatements(DBDatabase db);
 
+	/**
+	 * Returns the SQL statements that this DBAction will execute on the
+	 * specified database.
+	 *
+	 * <p>
+	 * Identical to {@link #getSQLStatements(nz.co.gregs.dbvolution.databases.DBDatabase)
+	 * } except that the values will be bind parameters if the database has
+	 * requested them.
+	 *
+	 * @param db the database that the SQL must be appropriate for.
+	 * @return the statements to execute
+	 */
+	protected List<BindParameters> getSQLStatementsForExecution(DBDatabase db) {
+		return BindParameters.generate(db.getBindParametersWhenPossible(), () -> BindParameters.whileBinding(true, () -> getSQLStatements(db)));
+	}
+
 	/**
 	 * Performs the DB execute and returns a list of all actions performed in the
 	 * process.
@@ -170,6 +279,79 @@ public abstract class DBAction implements Serializable {
 	 */
 	public abstract DBActionList execute(DBDatabase db) throws SQLException;
 
+	/**
+	 * Indicates whether this action can be executed in a JDBC batch.
+	 *
+	 * <p>
+	 * Consecutive batchable actions of the same class on the same table are
+	 * grouped into batches when a {@link DBActionList} is executed on a database
+	 * that {@link DBDatabase#batchSQLStatementsWhenPossible() batches SQL when possible}.
+	 *
+	 * <p>
+	 * Batchable actions should override
+	 * {@link #prepareForBatch(nz.co.gregs.dbvolution.databases.DBDatabase) }
+	 * if they need to do anything before their SQL is executed, and may
+	 * override {@link #batchCompleted(nz.co.gregs.dbvolution.databases.DBDatabase) }.
+	 *
+	 * @return TRUE if this action can be batched, otherwise FALSE
+	 */
+	protected boolean isBatchable() {
+		return false;
+	}
+
+	/**
+	 * Performs the work required before this action's SQL is executed.
+	 *
+	 * <p>
+	 * Used when the action is executed in a JDBC batch. The action does
+	 * everything {@link #execute(nz.co.gregs.dbvolution.databases.DBDatabase) }
+	 * does before executing its SQL, such as saving the rows required to revert
+	 * the action.
+	 *
+	 * <p>
+	 * Only called for actions that are {@link #isBatchable() batchable}. The
+	 * default implementation does no preparation and returns this action.
+	 *
+	 * @param db the target database
+	 * @return the actions that
+	 * {@link #execute(nz.co.gregs.dbvolution.databases.DBDatabase) } would
+	 * return
+	 * @throws SQLException database errors
+	 */
+	protected DBActionList prepareForBatch(DBDatabase db) throws SQLException {
+		return new DBActionList(this);
+	}
+
+	/**
+	 * Performs the work required after this action's SQL has been executed in a
+	 * JDBC batch.
+	 *
+	 * <p>
+	 * The default implementation does nothing.
+	 *
+	 * @param db the target database
+	 * @throws SQLException database errors
+	 */
+	protected void batchCompleted(DBDatabase db) throws SQLException {
+	}
+
+	/**
+	 * The number of rows changed by this action, if known.
+	 *
+	 * <p>
+	 * Update counts are available on the actions returned by executing a
+	 * {@link DBActionList} in JDBC batches.
+	 *
+	 * @return the number of rows changed, or null if unknown
+	 */
+	public Integer getUpdateCount() {
+		return updateCount;
+	}
+
+	void setUpdateCount(Integer updateCount) {
+		this.updateCount = updateCount;
+	}
+
 	public boolean requiresRunOnIndividualDatabaseBeforeCluster() {
 		// this was FALSE to allow for effeciency
 		// but maintaining the cluster is more important
@@ -217,8 +399,8 @@ public abstract class DBAction implements Serializable {
 
 	protected void executeOnStatement(DBDatabase db) throws SQLException {
 		try (final DBStatement statement = db.getDBStatement()) {
-			for (String sql : getSQLStatements(db)) {
-				statement.execute(getIntent(), sql);
+			for (BindParameters sql : getSQLStatementsForExecution(db)) {
+				statement.execute(new StatementDetails(getIntent().toString(), getIntent(), sql, statement));
 			}
 		}
 	}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.actions;
+
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import nz.co.gregs.dbvolution.databases.DBDatabase;
+import nz.co.gregs.dbvolution.databases.DBStatement;
+import nz.co.gregs.dbvolution.internal.query.BindParameters;
+import nz.co.gregs.dbvolution.internal.query.StatementDetails;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Executes a DBActionList using JDBC batches where possible.
+ *
+ * <p>
+ * Consecutive {@link DBAction#isBatchable() batchable} actions of the same
+ * class on the same table are grouped, up to the batch size, and their SQL is
+ * executed as a single JDBC batch. When the database uses
+ * {@link DBDatabase#getBindParametersWhenPossible() bind parameters} and every
+ * action in the batch produces the same parameterised SQL, the batch uses one
+ * PreparedStatement, otherwise the literal SQL is batched. Other actions are
+ * executed individually with
+ * {@link DBDatabase#executeDBAction(nz.co.gregs.dbvolution.actions.DBAction) }.
+ * The order of the actions is preserved.
+ *
+ * <p>
+ * The returned actions have their {@link DBAction#getUpdateCount() update count}
+ * set when it is reported by the driver. Actions that update several rows with
+ * one statement return one action per row, and each gets a count of 1 or 0 when
+ * the total count makes that unambiguous.
+ *
+ * <p>
+ * If the batch fails with a BatchUpdateException, the actions that the driver
+ * did not report as successful are executed one at a time so that the failing
+ * action produces its own exception.
+ *
+ * @author Gregory Graham
+ */
+public class DBActionBatch {
+
+	private static final Log LOG = LogFactory.getLog(DBActionBatch.class);
+
+	private final DBDatabase database;
+	private final int batchSize;
+
+	/**
+	 * Creates a batch executor for the database.
+	 *
+	 * @param database the target database
+	 * @param batchSize the maximum number of actions in each JDBC batch
+	 */
+	public DBActionBatch(DBDatabase database, int batchSize) {
+		this.database = database;
+		this.batchSize = Math.max(1, batchSize);
+	}
+
+	/**
+	 * Executes all the actions.
+	 *
+	 * @param actions the actions to execute
+	 * @return a new DBActionList containing the DBActions after execution.
+	 * @throws SQLException database errors
+	 */
+	public DBActionList execute(DBActionList actions) throws SQLException {
+		DBActionList executed = new DBActionList();
+		List<DBAction> group = new ArrayList<>(Math.min(batchSize, actions.size()));
+		String groupKey = null;
+		for (DBAction action : actions) {
+			final String key = getBatchKey(action);
+			if (key == null) {
+				executeGroup(group, executed);
+				groupKey = null;
+				executed.addAll(database.executeDBAction(action));
+			} else {
+				if (!key.equals(groupKey) || group.size() >= batchSize) {
+					executeGroup(group, executed);
+					groupKey = key;
+				}
+				group.add(action);
+			}
+		}
+		executeGroup(group, executed);
+		return executed;
+	}
+
+	private String getBatchKey(DBAction action) {
+		if (action.row != null && action.isBatchable()) {
+			return action.getClass().getName() + ":" + action.row.getTableName();
+		}
+		return null;
+	}
+
+	private void executeGroup(List<DBAction> group, DBActionList executed) throws SQLException {
+		if (!group.isEmpty()) {
+			List<DBActionList> results = new ArrayList<>(group.size());
+			List<List<BindParameters>> statements = new ArrayList<>(group.size());
+			for (DBAction action : group) {
+				results.add(action.prepareForBatch(database));
+				statements.add(action.getSQLStatementsForExecution(database));
+			}
+			try (DBStatement statement = database.getDBStatement()) {
+				int[] counts = executeBatch(statement, group, statements);
+				int countIndex = 0;
+				for (int i = 0; i < group.size(); i++) {
+					final DBAction action = group.get(i);
+					Integer updateCount = 0;
+					boolean succeeded = true;
+					for (BindParameters sql : statements.get(i)) {
+						final int count = countIndex < counts.length ? counts[countIndex] : Statement.EXECUTE_FAILED;
+						countIndex++;
+						if (count == Statement.EXECUTE_FAILED) {
+							succeeded = false;
+						} else if (count == Statement.SUCCESS_NO_INFO || updateCount == null) {
+							updateCount = null;
+						} else {
+							updateCount += count;
+						}
+					}
+					if (!succeeded) {
+						updateCount = executeIndividually(statement, action, statements.get(i));
+					}
+					action.batchCompleted(database);
+					setUpdateCounts(results.get(i), updateCount);
+					executed.addAll(results.get(i));
+				}
+			} finally {
+				group.clear();
+			}
+		}
+	}
+
+	private int[] executeBatch(DBStatement statement, List<DBAction> group, List<List<BindParameters>> statements) throws SQLException {
+		try {
+			final List<StatementDetails> prepared = getPreparedBatch(statement, group, statements);
+			if (prepared != null) {
+				return statement.executePreparedBatch(prepared);
+			}
+			for (List<BindParameters> sqls : statements) {
+				for (BindParameters sql : sqls) {
+					statement.addBatch(sql.getLiteralSQL());
+				}
+			}
+			return statement.executeBatch();
+		} catch (BatchUpdateException ex) {
+			LOG.debug("Batch failed, executing the remaining actions individually: " + ex.getMessage());
+			statement.clearBatch();
+			final int[] counts = ex.getUpdateCounts();
+			return counts == null ? new int[]{} : counts;
+		}
+	}
+
+	/**
+	 * Returns the statements as a batch for a single PreparedStatement.
+	 *
+	 * @return the statements, or null if the actions do not share one
+	 * parameterised statement
+	 */
+	private List<StatementDetails> getPreparedBatch(DBStatement statement, List<DBAction> group, List<List<BindParameters>> statements) {
+		List<StatementDetails> batch = new ArrayList<>(statements.size());
+		String preparedSQL = null;
+		for (int i = 0; i < statements.size(); i++) {
+			final List<BindParameters> sqls = statements.get(i);
+			if (sqls.size() != 1 || !sqls.get(0).hasParameters()) {
+				return null;
+			}
+			final String sql = sqls.get(0).getSQL();
+			if (preparedSQL == null) {
+				preparedSQL = sql;
+			} else if (!preparedSQL.equals(sql)) {
+				return null;
+			}
+			batch.add(new StatementDetails("BATCH", group.get(i).getIntent(), sqls.get(0), statement));
+		}
+		return batch;
+	}
+
+	private int executeIndividually(DBStatement statement, DBAction action, List<BindParameters> sqls) throws SQLException {
+		int updateCount = 0;
+		for (BindParameters sql : sqls) {
+			statement.execute(new StatementDetails(action.getIntent().toString(), action.getIntent(), sql, statement));
+			updateCount += Math.max(0, statement.getUpdateCount());
+		}
+		return updateCount;
+	}
+
+	/**
+	 * Sets the update count on the executed actions.
+	 *
+	 * <p>
+	 * When one statement updated several rows, each row's action gets a count of
+	 * 1 or 0 if the total makes that unambiguous, and is left null otherwise.
+	 *
+	 * @param results the executed actions
+	 * @param updateCount the total update count reported by the driver
+	 */
+	static void setUpdateCounts(DBActionList results, Integer updateCount) {
+		if (results.size() == 1) {
+			results.get(0).setUpdateCount(updateCount);
+		} else if (updateCount != null && (updateCount == 0 || updateCount == results.size())) {
+			for (DBAction result : results) {
+				result.setUpdateCount(updateCount == 0 ? 0 : 1);
+			}
+		}
+	}
+}
@@ -84,18 +84,21 @@ public class DBActionList extends ArrayList<DBAction> {
 	/**
 	 * Executes every action in this DBActionList on the database provided.
 	 *
+	 * <p>
+	 * When the database
+	 * {@link DBDatabase#batchSQLStatementsWhenPossible() batches SQL when possible}
+	 * consecutive updates and deletes on the same table are executed together in
+	 * JDBC batches.
+	 *
 	 * @param database the target database.
 	 * <p style="color: #F90;">Support DBvolution at
 	 * <a href="http://patreon.com/dbvolution" target=new>Patreon</a></p>
 	 * @return a new DBActionList containing the DBActions after execution.
 	 * @throws SQLException Database actions may throw SQLException
+	 * @see DBDatabase#executeDBActions(nz.co.gregs.dbvolution.actions.DBActionList)
 	 */
 	public synchronized DBActionList execute(DBDatabase database) throws SQLException {
-		DBActionList executed = new DBActionList();
-		for (DBAction action : this) {
-			executed.addAll(database.executeDBAction(action));
-		}
-		return executed;
+		return database.executeDBActions(this);
 	}
 
 	/**
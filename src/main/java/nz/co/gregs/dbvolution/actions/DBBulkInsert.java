@@ -30,19 +30,55 @@
  */
 package nz.co.gregs.dbvolution.actions;
 
+import java.sql.BatchUpdateException;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import nz.co.gregs.dbvolution.DBRow;
 import nz.co.gregs.dbvolution.databases.DBDatabase;
 import nz.co.gregs.dbvolution.databases.DBStatement;
 import nz.co.gregs.dbvolution.databases.QueryIntention;
+import nz.co.gregs.dbvolution.databases.connections.DBConnection;
 import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
-import nz.co.gregs.dbvolution.datatypes.DBLargeObject;
+import nz.co.gregs.dbvolution.datatypes.DBInteger;
+import nz.co.gregs.dbvolution.datatypes.DBNumber;
+import nz.co.gregs.dbvolution.datatypes.InternalQueryableDatatypeProxy;
 import nz.co.gregs.dbvolution.datatypes.QueryableDatatype;
+import nz.co.gregs.dbvolution.internal.query.BindParameters;
+import nz.co.gregs.dbvolution.internal.query.StatementDetails;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 
 /**
+ * Inserts many rows using JDBC batches.
+ *
+ * <p>
+ * Each row is converted to a parameterised INSERT statement. Consecutive rows
+ * for the same table are executed together in batches of at most
+ * {@link DBDatabase#getBatchSize() } rows and
+ * {@link DBDefinition#getMaximumBulkInsertBatchCharacters() } characters. When
+ * every row in the batch has the same SQL a single PreparedStatement is used,
+ * otherwise the literal SQL is batched.
+ *
+ * <p>
+ * Auto-incremented primary keys are retrieved from the batch when the database
+ * {@link DBDefinition#supportsGeneratedKeysFromBatchInserts() supports it} and
+ * written back into the rows. Rows that can not be batched, for instance rows
+ * with large objects or rows needing a generated key the database can not
+ * return from a batch, are inserted individually with {@link DBInsert}.
+ *
+ * <p>
+ * Each batch is executed atomically, within a local transaction or a savepoint
+ * of the current transaction. If a batch fails it is rolled back and its rows
+ * are inserted individually so that problems are handled, and reported,
+ * exactly as they would be for a single insert. When the connection can not
+ * roll back the batch only the rows the database reported as failed are
+ * retried, so rows are never inserted twice.
  *
  * @author gregorygraham
  */
@@ -50,6 +86,8 @@ public class DBBulkInsert extends DBAction {
 
 	public static final long serialVersionUID = 1l;
 
+	private static final Log LOG = LogFactory.getLog(DBBulkInsert.class);
+
 	ArrayList<DBRow> rows = new ArrayList<>();
 
 	private <R extends DBRow> DBBulkInsert(R row) {
@@ -93,152 +131,262 @@ public class DBBulkInsert extends DBAction {
 	@Override
 	public ArrayList<String> getSQLStatements(DBDatabase db) {
 		ArrayList<String> sqlStatements = new ArrayList<String>();
-		List<DBRow> accumulated = new ArrayList<>();
+		final DBDefinition defn = db.getDefinition();
 		for (DBRow currentRow : rows) {
-			QueryableDatatype<?>[] pks = currentRow.getPrimaryKeysAsArray();
-			boolean pksAreSet = true;
-			for (QueryableDatatype<?> pk : pks) {
-				pksAreSet = pksAreSet && pk.hasBeenSet();
-			}
-			if (pksAreSet) {
-				accumulated.add(currentRow);
-			} else {
-				sqlStatements.addAll(generateSQLForAccumulatedRows(db, accumulated));
-				accumulated.clear();
-				sqlStatements.addAll(new DBInsert(currentRow).getSQLStatements(db));
-			}
+			sqlStatements.addAll(defn.getInsertPreparation(currentRow));
+			sqlStatements.add(DBInsert.getInsertStatement(db, currentRow));
+			sqlStatements.addAll(defn.getInsertCleanUp(currentRow));
 		}
-		sqlStatements.addAll(generateSQLForAccumulatedRows(db, accumulated));
 		return sqlStatements;
 	}
 
-	private DBInsert.InsertFields processAllFieldsForInsert(DBDatabase database, DBRow row, boolean isFirstRow) {
-		DBInsert.InsertFields fields = new DBInsert.InsertFields();
-		StringBuilder allColumns = fields.getAllColumns();
-		StringBuilder allValues = fields.getAllValues();
-		StringBuilder allChangedColumns = fields.getAllChangedColumns();
-		StringBuilder allSetValues = fields.getAllSetValues();
-		DBDefinition defn = database.getDefinition();
-		var props = row.getColumnPropertyWrappers();
-		String allColumnSeparator = "";
-		String columnSeparator = "";
-		String valuesSeparator = isFirstRow ? defn.beginValueClause() : defn.beginValueSeparatorClause();
-		String allValuesSeparator = isFirstRow ? defn.beginValueClause() : defn.beginValueSeparatorClause();
-		for (var prop : props) {
-			if (prop.isColumn() && !prop.hasColumnExpression()) {
-				final QueryableDatatype<?> qdt = prop.getQueryableDatatype();
-				if (qdt != null) {
-					// BLOBS are not inserted normally so don't include them
-					if (!(qdt instanceof DBLargeObject)) {
-						//support for inserting empty rows in a table with an autoincrementing pk
-						if (!prop.isAutoIncrement() || qdt.hasBeenSet()) {
-							allColumns
-									.append(allColumnSeparator)
-									.append(" ")
-									.append(defn.formatColumnName(prop.columnName()));
-							allColumnSeparator = defn.getValuesClauseColumnSeparator();
-							// add the value
-							allValues.append(allValuesSeparator);
-							if (!qdt.hasBeenSet() && qdt.hasDefaultInsertValue()) {
-								allValues.append(
-										qdt.getDefaultInsertValueSQLString(database.getDefinition())
-								);
-							} else {
-								allValues.append(
-										qdt.toSQLString(database.getDefinition())
-								);
-							}
-							allValuesSeparator = defn.getValuesClauseValueSeparator();
-						}
-						if (qdt.hasBeenSet() || qdt.hasDefaultInsertValue()) {
-							// nice normal columns
-							// Add the column
-							allChangedColumns
-									.append(columnSeparator)
-									.append(" ")
-									.append(defn.formatColumnName(prop.columnName()));
-							columnSeparator = defn.getValuesClauseColumnSeparator();
-							allSetValues.append(valuesSeparator);
-							// add the value
-							if (qdt.hasBeenSet()) {
-								allSetValues.append(
-										qdt.toSQLString(database.getDefinition())
-								);
-							} else if (qdt.hasDefaultInsertValue()) {
-								allSetValues.append(
-										qdt.getDefaultInsertValueSQLString(database.getDefinition())
-								);
-							}
-							valuesSeparator = defn.getValuesClauseValueSeparator();
-						}
+	@Override
+	public DBActionList execute(DBDatabase db) throws SQLException {
+		DBActionList actions = new DBActionList();
+		final DBDefinition defn = db.getDefinition();
+		final int maximumRows = Math.max(1, db.getBatchSize());
+		final int maximumCharacters = defn.getMaximumBulkInsertBatchCharacters();
+		final Batch batch = new Batch();
+		try (DBStatement statement = db.getDBStatement()) {
+			for (DBRow current : rows) {
+				if (canBeBulkInserted(defn, current)) {
+					final String generatedKeyColumn = getGeneratedKeyColumn(defn, current);
+					final BindParameters bound = BindParameters.generate(true, () -> BindParameters.whileBinding(true, () -> Collections.singletonList(DBInsert.getInsertStatement(db, current)))).get(0);
+					final String sql = bound.getLiteralSQL();
+					StatementDetails details = new StatementDetails("BULK INSERT", QueryIntention.BULK_INSERT, bound, statement);
+					if (generatedKeyColumn != null) {
+						details = details.withNamedPKColumn(generatedKeyColumn);
+					}
+					if (!batch.accepts(current, details, generatedKeyColumn, sql.length(), maximumRows, maximumCharacters)) {
+						actions.addAll(batch.execute(db, statement));
 					}
+					batch.add(current, sql, details, generatedKeyColumn);
+				} else {
+					actions.addAll(batch.execute(db, statement));
+					actions.addAll(new DBInsert(current).execute(db));
 				}
 			}
+			actions.addAll(batch.execute(db, statement));
 		}
-		allValues.append(defn.endValueClause());
-		allSetValues.append(defn.endValueClause());
-		return fields;
+		return actions;
 	}
 
-	@Override
-	public DBActionList execute(DBDatabase db) throws SQLException {
-		DBActionList actions = new DBActionList();
-		boolean allRowsCanBeBulkInserted = true;
-		for (DBRow current : rows) {
-			allRowsCanBeBulkInserted = allRowsCanBeBulkInserted && canBeBulkInserted(current);
-		}
-		if (allRowsCanBeBulkInserted) {
-			try (DBStatement statement = db.getDBStatement()) {
-				for (String sql : getSQLStatements(db)) {
-					statement.execute("BULK INSERT", QueryIntention.BULK_INSERT, sql);
+	public void addAll(DBRow[] listOfRowsToInsert) {
+		rows.addAll(Arrays.asList(listOfRowsToInsert));
+	}
+
+	private boolean canBeBulkInserted(DBDefinition defn, DBRow row) {
+		if (!defn.getInsertPreparation(row).isEmpty() || !defn.getInsertCleanUp(row).isEmpty()) {
+			return false;
+		}
+		if (row.hasLargeObjects()) {
+			for (QueryableDatatype<?> lob : row.getLargeObjects()) {
+				if (!lob.isNull()) {
+					return false;
 				}
 			}
-			for (DBRow current : rows) {
-				actions.add(new DBInsert(current));
+		}
+		final List<QueryableDatatype<?>> primaryKeys = row.getPrimaryKeys();
+		if (primaryKeys == null || row.getPrimaryKeysAllHaveValue()) {
+			return true;
+		}
+		return getGeneratedKeyColumn(defn, row) != null;
+	}
+
+	private String getGeneratedKeyColumn(DBDefinition defn, DBRow row) {
+		final List<QueryableDatatype<?>> primaryKeys = row.getPrimaryKeys();
+		if (primaryKeys == null || primaryKeys.size() != 1 || primaryKeys.get(0).hasBeenSet()) {
+			return null;
+		}
+		final QueryableDatatype<?> pk = primaryKeys.get(0);
+		final String columnName = row.getPrimaryKeyColumnNames().get(0);
+		if (defn.supportsGeneratedKeys()
+				&& defn.supportsGeneratedKeysFromBatchInserts()
+				&& (pk instanceof DBInteger || pk instanceof DBNumber)
+				&& columnName != null && !columnName.isEmpty()) {
+			return defn.formatPrimaryKeyForRetrievingGeneratedKeys(columnName);
+		}
+		return null;
+	}
+
+	/**
+	 * Accumulates the rows of a single JDBC batch.
+	 */
+	private static class Batch {
+
+		private final List<DBRow> batchRows = new ArrayList<>();
+		private final List<String> sqls = new ArrayList<>();
+		private final List<StatementDetails> statements = new ArrayList<>();
+		private String tableName = null;
+		private String generatedKeyColumn = null;
+		private boolean preparable = true;
+		private int characters = 0;
+
+		boolean accepts(DBRow row, StatementDetails details, String keyColumn, int length, int maximumRows, int maximumCharacters) {
+			if (batchRows.isEmpty()) {
+				return true;
 			}
-		} else {
-			for (DBRow current : rows) {
-				actions.addAll(new DBInsert(current).execute(db));
+			if (batchRows.size() >= maximumRows || characters + length > maximumCharacters) {
+				return false;
 			}
+			if (!row.getTableName().equals(tableName)) {
+				return false;
+			}
+			if (generatedKeyColumn != null || keyColumn != null) {
+				// generated keys are only available from a PreparedStatement
+				return details.getSql().equals(statements.get(0).getSql());
+			}
+			return true;
 		}
-		return actions;
-	}
 
-	/* In this method we need to generate the SQL and execute it */
-	private ArrayList<String> generateSQLForAccumulatedRows(DBDatabase database, List<DBRow> accumulated) {
-		ArrayList<String> strs = new ArrayList<>();
-		StringBuilder inserts = new StringBuilder();
-		if (accumulated.size() > 0) {
-			//generate and execute the SQL
-			DBRow table = accumulated.get(0);
-			DBDefinition defn = database.getDefinition();
-			DBInsert.InsertFields fields = processAllFieldsForInsert(database, table, true);
-
-			strs.addAll(defn.getInsertPreparation(table));
-			inserts.append(defn.beginInsertLine())
-					.append(defn.formatTableName(table))
-					.append(defn.beginInsertColumnList())
-					.append(fields.getAllColumns())
-					.append(defn.endInsertColumnList());
-			boolean isFirstRow = true;
-			for (DBRow currentRow : rows) {
-				fields = processAllFieldsForInsert(database, currentRow, isFirstRow);
-				inserts.append(fields.getAllValues().toString());
-				isFirstRow = false;
+		void add(DBRow row, String sql, StatementDetails details, String keyColumn) {
+			if (batchRows.isEmpty()) {
+				tableName = row.getTableName();
+				generatedKeyColumn = keyColumn;
+			} else {
+				preparable &= details.getSql().equals(statements.get(0).getSql());
 			}
-			inserts.append(defn.endInsertLine());
-			strs.add(inserts.toString());
-			strs.addAll(defn.getInsertCleanUp(table));
+			batchRows.add(row);
+			sqls.add(sql);
+			statements.add(details);
+			characters += sql.length();
 		}
-		return strs;
-	}
 
-	public void addAll(DBRow[] listOfRowsToInsert) {
-		rows.addAll(Arrays.asList(listOfRowsToInsert));
-	}
+		DBActionList execute(DBDatabase db, DBStatement statement) throws SQLException {
+			DBActionList actions = new DBActionList();
+			if (batchRows.size() == 1) {
+				actions.addAll(new DBInsert(batchRows.get(0)).execute(db));
+			} else if (batchRows.size() > 1) {
+				int[] counts = executeAtomically(statement);
+				for (int i = 0; i < batchRows.size(); i++) {
+					final DBRow current = batchRows.get(i);
+					if (i < counts.length && counts[i] != Statement.EXECUTE_FAILED) {
+						current.setDefined();
+						current.setSimpleTypesToUnchanged();
+						actions.add(new DBInsert(current));
+					} else {
+						actions.addAll(new DBInsert(current).execute(db));
+					}
+				}
+			}
+			clear();
+			return actions;
+		}
 
-	private boolean canBeBulkInserted(DBRow row) {
-		return row.getDefined();
-	}
+		/**
+		 * Executes the batch so that it either succeeds completely or has no
+		 * effect.
+		 *
+		 * @return the update counts, or an empty array if the batch was rolled
+		 * back
+		 */
+		private int[] executeAtomically(DBStatement statement) throws SQLException {
+			final DBConnection connection = statement.getConnection();
+			final boolean autoCommit = connection.getAutoCommit();
+			Savepoint savepoint = null;
+			try {
+				if (autoCommit) {
+					connection.setAutoCommit(false);
+				} else {
+					savepoint = connection.setSavepoint();
+				}
+			} catch (SQLException | UnsupportedOperationException ex) {
+				return executeWithoutRollback(statement);
+			}
+			try {
+				final int[] counts = executeBatch(statement);
+				final List<Long> keys = retrieveGeneratedKeys(statement);
+				if (autoCommit) {
+					connection.commit();
+				} else {
+					connection.releaseSavepoint(savepoint);
+				}
+				// only keep the keys once the rows are known to exist
+				setGeneratedKeys(keys);
+				return counts;
+			} catch (SQLException ex) {
+				LOG.debug("Bulk insert batch failed and was rolled back, inserting the rows individually: " + ex.getMessage());
+				if (autoCommit) {
+					connection.rollback();
+				} else {
+					connection.rollback(savepoint);
+				}
+				return new int[]{};
+			} finally {
+				if (autoCommit) {
+					connection.setAutoCommit(true);
+				}
+			}
+		}
+
+		/**
+		 * Executes the batch on a connection that can not roll it back.
+		 *
+		 * <p>
+		 * Only the update counts reported by the database identify the rows that
+		 * were inserted, so any failure that does not report them, or that leaves
+		 * generated keys unmatched to their rows, is thrown rather than retried.
+		 */
+		private int[] executeWithoutRollback(DBStatement statement) throws SQLException {
+			try {
+				final int[] counts = executeBatch(statement);
+				setGeneratedKeys(retrieveGeneratedKeys(statement));
+				return counts;
+			} catch (BatchUpdateException ex) {
+				if (generatedKeyColumn == null && ex.getUpdateCounts() != null) {
+					LOG.debug("Bulk insert batch failed, inserting the remaining rows individually: " + ex.getMessage());
+					return ex.getUpdateCounts();
+				}
+				throw ex;
+			}
+		}
+
+		private int[] executeBatch(DBStatement statement) throws SQLException {
+			if (preparable) {
+				return statement.executePreparedBatch(statements);
+			} else {
+				try {
+					for (String sql : sqls) {
+						statement.addBatch(sql);
+					}
+					return statement.executeBatch();
+				} catch (SQLException ex) {
+					statement.clearBatch();
+					throw ex;
+				}
+			}
+		}
 
+		private List<Long> retrieveGeneratedKeys(DBStatement statement) throws SQLException {
+			final List<Long> keys = new ArrayList<>();
+			if (generatedKeyColumn != null) {
+				try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+					while (generatedKeys.next() && keys.size() < batchRows.size()) {
+						keys.add(generatedKeys.getLong(1));
+					}
+				}
+				if (keys.size() < batchRows.size()) {
+					LOG.warn("Only " + keys.size() + " generated keys were returned for a batch of " + batchRows.size() + " rows inserted into " + tableName);
+				}
+			}
+			return keys;
+		}
+
+		private void setGeneratedKeys(List<Long> keys) {
+			for (int index = 0; index < keys.size(); index++) {
+				final QueryableDatatype<?> pk = batchRows.get(index).getPrimaryKeys().get(0);
+				new InternalQueryableDatatypeProxy<>(pk).setValueFromDatabase(keys.get(index));
+			}
+		}
+
+		private void clear() {
+			batchRows.clear();
+			sqls.clear();
+			statements.clear();
+			tableName = null;
+			generatedKeyColumn = null;
+			preparable = true;
+			characters = 0;
+		}
+	}
 }
@@ -0,0 +1,341 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ * 
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License. 
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/ 
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ * 
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ * 
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.               
+ *     Under the following terms:
+ *                 
+ *         Attribution - 
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made. 
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial - 
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike - 
+ *             If you remix, transform, or build upon the material, 
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions - 
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the 
+ *             license permits.
+ * 
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.actions;
+
+import com.mysql.cj.jdbc.JdbcStatement;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.databases.DBDatabase;
+import nz.co.gregs.dbvolution.databases.DBDatabaseCluster;
+import nz.co.gregs.dbvolution.databases.DBStatement;
+import nz.co.gregs.dbvolution.databases.DBTransactionStatement;
+import nz.co.gregs.dbvolution.databases.QueryIntention;
+import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
+import nz.co.gregs.dbvolution.exceptions.ExceptionThrownDuringTransaction;
+import nz.co.gregs.dbvolution.internal.bulkload.BulkLoadEncoder;
+import nz.co.gregs.dbvolution.internal.bulkload.BulkLoadFormat;
+import nz.co.gregs.dbvolution.internal.bulkload.BulkLoadMethod;
+import nz.co.gregs.dbvolution.internal.bulkload.BulkLoadRows;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.postgresql.PGConnection;
+
+/**
+ * Loads large numbers of rows using the fastest mechanism the database
+ * provides.
+ *
+ * <p>
+ * The rows are streamed from the Iterable or Stream supplied, so they do not
+ * need to be held in memory, and encoded directly into the format of the
+ * {@link DBDefinition#getPreferredBulkLoadMethod() database's native loader}:
+ * COPY FROM STDIN for PostgreSQL, LOAD DATA LOCAL INFILE for MySQL and MariaDB,
+ * and CSVREAD for H2. Other databases use batched inserts within a single
+ * transaction, and clusters use batched inserts so that every member receives
+ * the same rows.
+ *
+ * <p>
+ * Rows that the native loader can not handle, for instance rows with large
+ * objects or with datatypes other than strings, numbers, and local dates, are
+ * inserted using batched inserts instead.
+ *
+ * <p>
+ * Unlike {@link DBDatabase#insert(java.util.Collection) } the rows are not
+ * updated after loading, in particular generated primary keys are not
+ * retrieved, and the load can not be reverted.
+ *
+ * @author Gregory Graham
+ */
+public class DBBulkLoad extends DBAction {
+
+	private static final long serialVersionUID = 1l;
+
+	private static final Log LOG = LogFactory.getLog(DBBulkLoad.class);
+
+	private final transient Iterable<? extends DBRow> source;
+	private long rowsLoaded = 0;
+
+	/**
+	 * Creates a bulk load of the rows.
+	 *
+	 * @param rows the rows to load
+	 */
+	public DBBulkLoad(Iterable<? extends DBRow> rows) {
+		super(null, QueryIntention.BULK_INSERT);
+		this.source = rows;
+	}
+
+	/**
+	 * Creates a bulk load of the rows.
+	 *
+	 * <p>
+	 * The stream is consumed when the load is executed.
+	 *
+	 * @param rows the rows to load
+	 */
+	public DBBulkLoad(Stream<? extends DBRow> rows) {
+		this(() -> rows.map(DBRow.class::cast).iterator());
+	}
+
+	/**
+	 * Loads the rows into the database.
+	 *
+	 * @param database the target database
+	 * @return the number of rows loaded
+	 * @throws SQLException database errors
+	 */
+	public long load(DBDatabase database) throws SQLException {
+		if (database instanceof DBDatabaseCluster) {
+			// the rows can only be read once so use the cluster's inserts to copy them to every member
+			final BulkLoadRows rows = new BulkLoadRows(source.iterator());
+			rowsLoaded = 0;
+			while (rows.hasNext()) {
+				rowsLoaded += insertBatch(database, rows, null, false);
+			}
+			setUpdateCount((int) Math.min(Integer.MAX_VALUE, rowsLoaded));
+			return rowsLoaded;
+		}
+		if (database.getDefinition().getPreferredBulkLoadMethod() == BulkLoadMethod.BATCHED_INSERT
+				&& !isInATransaction(database)) {
+			try {
+				database.doTransaction((DBDatabase transaction) -> {
+					try {
+						return execute(transaction);
+					} catch (SQLException ex) {
+						throw new ExceptionThrownDuringTransaction(ex);
+					}
+				});
+			} catch (ExceptionThrownDuringTransaction ex) {
+				if (ex.getCause() instanceof SQLException) {
+					throw (SQLException) ex.getCause();
+				}
+				throw new SQLException(ex);
+			}
+		} else {
+			database.executeDBAction(this);
+		}
+		return rowsLoaded;
+	}
+
+	/**
+	 * The number of rows loaded by the last execution.
+	 *
+	 * @return the number of rows loaded
+	 */
+	public long getRowsLoaded() {
+		return rowsLoaded;
+	}
+
+	@Override
+	protected DBActionList getRevertDBActionList() {
+		throw new UnsupportedOperationException("Bulk loads can not be reverted.");
+	}
+
+	@Override
+	public DBRow getRow() {
+		return null;
+	}
+
+	/**
+	 * The SQL of a bulk load depends on the rows loaded, so no SQL is available
+	 * before execution.
+	 *
+	 * @param db the target database
+	 * @return an empty list
+	 */
+	@Override
+	public List<String> getSQLStatements(DBDatabase db) {
+		return new ArrayList<>(0);
+	}
+
+	@Override
+	public DBActionList execute(DBDatabase db) throws SQLException {
+		final BulkLoadMethod method = db.getDefinition().getPreferredBulkLoadMethod();
+		final BulkLoadFormat format = method.getFormat();
+		final BulkLoadRows rows = new BulkLoadRows(source.iterator());
+		rowsLoaded = 0;
+		try (DBStatement statement = db.getDBStatement()) {
+			final boolean loadNatively = format != null && canLoadNatively(db, statement, method);
+			while (rows.hasNext()) {
+				BulkLoadEncoder encoder = loadNatively ? new BulkLoadEncoder(format, rows.peek()) : null;
+				if (encoder != null && encoder.canEncode(rows.peek())) {
+					rowsLoaded += loadNatively(db, statement, method, encoder, rows);
+				} else {
+					rowsLoaded += insertBatch(db, rows, format, loadNatively);
+				}
+			}
+		}
+		setUpdateCount((int) Math.min(Integer.MAX_VALUE, rowsLoaded));
+		return new DBActionList(this);
+	}
+
+	private boolean isInATransaction(DBDatabase database) throws SQLException {
+		try (DBStatement statement = database.getDBStatement()) {
+			return statement instanceof DBTransactionStatement;
+		}
+	}
+
+	private boolean canLoadNatively(DBDatabase db, DBStatement statement, BulkLoadMethod method) throws SQLException {
+		switch (method) {
+			case H2_CSVREAD:
+				// CSVREAD reads files on the server so only embedded databases can use it
+				final String url = db.getJdbcURL();
+				return url != null && !url.startsWith("jdbc:h2:tcp:") && !url.startsWith("jdbc:h2:ssl:");
+			case POSTGRES_COPY:
+				return statement.getConnection().isWrapperFor(PGConnection.class);
+			case MYSQL_LOAD_DATA:
+				try (Statement mysql = createStatement(statement)) {
+					return mysql.isWrapperFor(JdbcStatement.class);
+				}
+			default:
+				return false;
+		}
+	}
+
+	private Statement createStatement(DBStatement statement) throws SQLException {
+		return statement.getConnection().createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+	}
+
+	/**
+	 * Inserts the next rows, stopping before any row that can be loaded
+	 * natively.
+	 */
+	private long insertBatch(DBDatabase db, BulkLoadRows rows, BulkLoadFormat format, boolean loadNatively) throws SQLException {
+		final int batchSize = Math.max(1, db.getBatchSize());
+		DBBulkInsert insert = new DBBulkInsert();
+		long count = 0;
+		do {
+			insert.addRow(rows.next());
+			count++;
+		} while (count < batchSize
+				&& rows.hasNext()
+				&& !(loadNatively && new BulkLoadEncoder(format, rows.peek()).canEncode(rows.peek())));
+		insert.insert(db);
+		return count;
+	}
+
+	private long loadNatively(DBDatabase db, DBStatement statement, BulkLoadMethod method, BulkLoadEncoder encoder, BulkLoadRows rows) throws SQLException {
+		final DBDefinition defn = db.getDefinition();
+		final DBRow table = rows.peek();
+		final StringBuilder columns = new StringBuilder();
+		for (String column : encoder.getColumnNames()) {
+			if (columns.length() > 0) {
+				columns.append(", ");
+			}
+			columns.append(defn.formatColumnName(column));
+		}
+		try {
+			switch (method) {
+				case H2_CSVREAD:
+					return loadUsingCSVRead(db, statement, table, columns.toString(), encoder, rows);
+				case POSTGRES_COPY:
+					return loadUsingCopy(db, statement, table, columns.toString(), encoder, rows);
+				case MYSQL_LOAD_DATA:
+					return loadUsingLoadData(db, statement, table, columns.toString(), encoder, rows);
+				default:
+					throw new UnsupportedOperationException("Unable To Bulk Load Using " + method);
+			}
+		} catch (IOException ex) {
+			throw new SQLException("Unable To Bulk Load " + table.getTableName() + ": " + ex.getMessage(), ex);
+		}
+	}
+
+	private long loadUsingCSVRead(DBDatabase db, DBStatement statement, DBRow table, String columns, BulkLoadEncoder encoder, BulkLoadRows rows) throws IOException, SQLException {
+		final DBDefinition defn = db.getDefinition();
+		final Path file = Files.createTempFile("dbvolution-bulk-load-", ".csv");
+		try {
+			final long count;
+			try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+				count = encoder.write(rows, writer);
+			}
+			StringBuilder csvColumns = new StringBuilder();
+			StringBuilder values = new StringBuilder();
+			for (int i = 0; i < encoder.getColumnNames().size(); i++) {
+				final String csvColumn = "C" + (i + 1);
+				if (i > 0) {
+					csvColumns.append(',');
+					values.append(", ");
+				}
+				csvColumns.append(csvColumn);
+				if (encoder.isStringColumn(i)) {
+					// remove the prefix that protects empty strings from becoming NULL
+					values.append("SUBSTRING(").append(csvColumn).append(", 2)");
+				} else {
+					values.append(csvColumn);
+				}
+			}
+			final String sql = "INSERT INTO " + defn.formatTableName(table) + " (" + columns + ")"
+					+ " SELECT " + values
+					+ " FROM CSVREAD(" + defn.doStringLiteralWrapping(file.toAbsolutePath().toString())
+					+ ", " + defn.doStringLiteralWrapping(csvColumns.toString())
+					+ ", 'charset=UTF-8 fieldSeparator=,')";
+			statement.execute("BULK LOAD", QueryIntention.BULK_INSERT, sql);
+			return count;
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	private long loadUsingCopy(DBDatabase db, DBStatement statement, DBRow table, String columns, BulkLoadEncoder encoder, BulkLoadRows rows) throws IOException, SQLException {
+		final String sql = "COPY " + db.getDefinition().formatTableName(table) + " (" + columns + ") FROM STDIN";
+		logLoad(db, sql);
+		return statement.getConnection().unwrap(PGConnection.class).getCopyAPI().copyIn(sql, encoder.asReader(rows));
+	}
+
+	private long loadUsingLoadData(DBDatabase db, DBStatement statement, DBRow table, String columns, BulkLoadEncoder encoder, BulkLoadRows rows) throws SQLException {
+		final String sql = "LOAD DATA LOCAL INFILE 'dbvolution-bulk-load' INTO TABLE " + db.getDefinition().formatTableName(table)
+				+ " CHARACTER SET utf8mb4"
+				+ " FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"' ESCAPED BY '\\\\'"
+				+ " LINES TERMINATED BY '\\n'"
+				+ " (" + columns + ")";
+		logLoad(db, sql);
+		try (Statement mysql = createStatement(statement)) {
+			mysql.unwrap(JdbcStatement.class).setLocalInfileInputStream(encoder.asInputStream(rows));
+			mysql.execute(sql);
+		}
+		return encoder.getRowsEncoded();
+	}
+
+	private void logLoad(DBDatabase db, String sql) {
+		final String logSQL = "EXECUTING on " + db.getLabel() + ": " + sql;
+		db.printSQLIfRequested(logSQL);
+		LOG.debug(logSQL);
+	}
+}
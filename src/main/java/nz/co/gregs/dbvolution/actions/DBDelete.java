@@ -16,6 +16,8 @@
 package nz.co.gregs.dbvolution.actions;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import nz.co.gregs.dbvolution.databases.DBDatabase;
@@ -70,9 +72,10 @@ public abstract class DBDelete extends DBAction {
 	 * @throws SQLException database exceptions
 	 */
 	public static DBActionList delete(DBDatabase database, DBRow firstRow, DBRow... rows) throws SQLException {
-		DBActionList delete = getDeletes(database, firstRow);
-		delete.addAll(getDeletes(database, rows));
-		return delete.execute(database);
+		List<DBRow> allRows = new ArrayList<>();
+		allRows.add(firstRow);
+		allRows.addAll(Arrays.asList(rows));
+		return delete(database, allRows);
 	}
 
 	/**
@@ -109,23 +112,7 @@ public abstract class DBDelete extends DBAction {
 	 * @throws SQLException Database actions can throw SQLException
 	 */
 	public static DBActionList getDeletes(DBDatabase db, DBRow... rows) throws SQLException {
-		DBActionList actions = new DBActionList();
-		for (DBRow row : rows) {
-			if (row.getDefined()) {
-				final List<QueryableDatatype<?>> primaryKeys = row.getPrimaryKeys();
-				if (primaryKeys == null || primaryKeys.isEmpty()) {
-					DBDeleteUsingAllColumns allCols = new DBDeleteUsingAllColumns(row);
-					actions.addAll(allCols.getActions(db, row));
-				} else {
-					DBDeleteByPrimaryKey pk = new DBDeleteByPrimaryKey(row);
-					actions.addAll(pk.getActions(db, row));
-				}
-			} else {
-				DBDeleteByExample example = new DBDeleteByExample(row);
-				actions.addAll(example.getActions(db, row));
-			}
-		}
-		return actions;
+		return getDeletes(db, Arrays.asList(rows));
 	}
 
 	/**
@@ -139,6 +126,10 @@ public abstract class DBDelete extends DBAction {
 	 * The DBDatabase instance will be used to create DBInsert actions for the
 	 * revert action list.
 	 *
+	 * <p>
+	 * Consecutive rows from the same table with primary keys are deleted together
+	 * using {@link DBDeleteByPrimaryKeys} when the database
+	 * {@link DBDatabase#batchSQLStatementsWhenPossible() batches SQL statements}.
 	 *
 	 * @param db the target database
 	 * @param rows the rows to be deleted
@@ -148,24 +139,67 @@ public abstract class DBDelete extends DBAction {
 	 */
 	public static DBActionList getDeletes(DBDatabase db, Collection<? extends DBRow> rows) throws SQLException {
 		DBActionList actions = new DBActionList();
+		List<DBRow> sameTable = new ArrayList<>();
 		for (DBRow row : rows) {
-			if (row.getDefined()) {
-				final List<QueryableDatatype<?>> primaryKeys = row.getPrimaryKeys();
-				if (primaryKeys == null || primaryKeys.isEmpty()) {
-					DBDeleteUsingAllColumns allCols = new DBDeleteUsingAllColumns(row);
-					actions.addAll(allCols.getActions(db, row));
-				} else {
-					DBDeleteByPrimaryKey pk = new DBDeleteByPrimaryKey(row);
-					actions.addAll(pk.getActions(db, row));
+			if (hasPrimaryKeyValues(row)) {
+				if (!sameTable.isEmpty() && !sameTable.get(0).getClass().equals(row.getClass())) {
+					actions.addAll(getDeletesByPrimaryKey(db, sameTable));
+					sameTable.clear();
 				}
+				sameTable.add(row);
 			} else {
-				DBDeleteByExample example = new DBDeleteByExample(row);
-				actions.addAll(example.getActions(db, row));
+				actions.addAll(getDeletesByPrimaryKey(db, sameTable));
+				sameTable.clear();
+				if (row.getDefined()) {
+					final List<QueryableDatatype<?>> primaryKeys = row.getPrimaryKeys();
+					if (primaryKeys == null || primaryKeys.isEmpty()) {
+						DBDeleteUsingAllColumns allCols = new DBDeleteUsingAllColumns(row);
+						actions.addAll(allCols.getActions(db, row));
+					} else {
+						DBDeleteByPrimaryKey pk = new DBDeleteByPrimaryKey(row);
+						actions.addAll(pk.getActions(db, row));
+					}
+				} else {
+					DBDeleteByExample example = new DBDeleteByExample(row);
+					actions.addAll(example.getActions(db, row));
+				}
 			}
 		}
+		actions.addAll(getDeletesByPrimaryKey(db, sameTable));
 		return actions;
 	}
 
+	private static boolean hasPrimaryKeyValues(DBRow row) {
+		if (!row.getDefined()) {
+			return false;
+		}
+		final List<QueryableDatatype<?>> primaryKeys = row.getPrimaryKeys();
+		if (primaryKeys == null || primaryKeys.isEmpty()) {
+			return false;
+		}
+		for (QueryableDatatype<?> pk : primaryKeys) {
+			if (pk.isNull()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static DBActionList getDeletesByPrimaryKey(DBDatabase db, List<DBRow> rows) throws SQLException {
+		if (rows.isEmpty()) {
+			return new DBActionList();
+		} else if (rows.size() == 1 || !db.batchSQLStatementsWhenPossible()) {
+			DBActionList actions = new DBActionList();
+			for (DBRow row : rows) {
+				DBDeleteByPrimaryKey pk = new DBDeleteByPrimaryKey(row);
+				actions.addAll(pk.getActions(db, row));
+			}
+			return actions;
+		} else {
+			return new DBActionList(new DBDeleteByPrimaryKeys(rows));
+		}
+	}
+
 	/**
 	 * Returns the list of actions required to delete the row supplied on the
 	 * database supplied.
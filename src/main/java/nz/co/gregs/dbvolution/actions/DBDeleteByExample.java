@@ -25,6 +25,8 @@ import nz.co.gregs.dbvolution.databases.QueryIntention;
 import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
 import nz.co.gregs.dbvolution.exceptions.AccidentalBlankQueryException;
 import nz.co.gregs.dbvolution.exceptions.AccidentalCartesianJoinException;
+import nz.co.gregs.dbvolution.internal.query.BindParameters;
+import nz.co.gregs.dbvolution.internal.query.StatementDetails;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
@@ -70,8 +72,8 @@ public class DBDeleteByExample extends DBDelete {
 			deleteAction.savedRows.add(DBRow.copyDBRow(deletingRow));
 		}
 		try (DBStatement statement = db.getDBStatement()) {
-			for (String sql : getSQLStatements(db)) {
-				statement.execute("DELETE ROW", QueryIntention.DELETE_ROW, sql);
+			for (BindParameters sql : getSQLStatementsForExecution(db)) {
+				statement.execute(new StatementDetails("DELETE ROW", QueryIntention.DELETE_ROW, sql, statement));
 			}
 		}
 		return actions;
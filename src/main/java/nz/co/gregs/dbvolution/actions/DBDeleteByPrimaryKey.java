@@ -24,6 +24,8 @@ import nz.co.gregs.dbvolution.databases.DBStatement;
 import nz.co.gregs.dbvolution.databases.QueryIntention;
 import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
 import nz.co.gregs.dbvolution.datatypes.QueryableDatatype;
+import nz.co.gregs.dbvolution.internal.query.BindParameters;
+import nz.co.gregs.dbvolution.internal.query.StatementDetails;
 
 /**
  * Provides support for the abstract concept of deleting rows based on a primary
@@ -52,6 +54,21 @@ public class DBDeleteByPrimaryKey extends DBDelete {
 		super(row, QueryIntention.DELETE_ROW);
 	}
 
+	/**
+	 * Creates an executed DBDeleteByPrimaryKey for a row deleted as part of a
+	 * larger statement.
+	 *
+	 * @param row the row that was deleted
+	 * @param savedRow the row as it was before deletion, or null if it did not
+	 * exist
+	 */
+	DBDeleteByPrimaryKey(DBRow row, DBRow savedRow) {
+		this(row);
+		if (savedRow != null) {
+			savedRows.add(savedRow);
+		}
+	}
+
 	private <R extends DBRow> DBDeleteByPrimaryKey(DBDatabase db, R row) throws SQLException {
 		this(row);
 		DBRow example = DBRow.getPrimaryKeyExample(row);
@@ -63,6 +80,22 @@ public class DBDeleteByPrimaryKey extends DBDelete {
 
 	@Override
 	public DBActionList execute(DBDatabase db) throws SQLException {
+		DBActionList actions = prepareForBatch(db);
+		try (DBStatement statement = db.getDBStatement()) {
+			for (BindParameters sql : getSQLStatementsForExecution(db)) {
+				statement.execute(new StatementDetails("DELETE ROW", QueryIntention.DELETE_ROW, sql, statement));
+			}
+		}
+		return actions;
+	}
+
+	@Override
+	protected boolean isBatchable() {
+		return true;
+	}
+
+	@Override
+	protected DBActionList prepareForBatch(DBDatabase db) throws SQLException {
 		DBRow table = getRow();
 		final DBDeleteByPrimaryKey newDeleteAction = new DBDeleteByPrimaryKey(table);
 		DBActionList actions = new DBActionList(newDeleteAction);
@@ -71,11 +104,6 @@ public class DBDeleteByPrimaryKey extends DBDelete {
 		for (DBRow deletingRow : rowsToBeDeleted) {
 			newDeleteAction.savedRows.add(DBRow.copyDBRow(deletingRow));
 		}
-		try (DBStatement statement = db.getDBStatement()) {
-			for (String sql : getSQLStatements(db)) {
-				statement.execute("DELETE ROW", QueryIntention.DELETE_ROW,sql);
-			}
-		}
 		return actions;
 	}
 
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.actions;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.databases.DBDatabase;
+import nz.co.gregs.dbvolution.databases.DBStatement;
+import nz.co.gregs.dbvolution.databases.QueryIntention;
+import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
+
+/**
+ * Deletes many rows from the same table using their primary keys.
+ *
+ * <p>
+ * The rows are deleted with as few DELETE statements as possible, each
+ * identifying the rows with an IN list of primary keys. The executed actions
+ * are returned as one {@link DBDeleteByPrimaryKey} per row, each able to revert
+ * its own deletion.
+ *
+ * <p>
+ * The best way to use this is by using {@link DBDelete#getDeletes(nz.co.gregs.dbvolution.databases.DBDatabase, java.util.Collection)
+ * } to automatically use this action.
+ *
+ * @author Gregory Graham
+ */
+public class DBDeleteByPrimaryKeys extends DBDelete {
+
+	private static final long serialVersionUID = 1l;
+
+	private final ArrayList<DBRow> rows = new ArrayList<>();
+
+	/**
+	 * Creates a DBDeleteByPrimaryKeys action for the supplied rows.
+	 *
+	 * @param rows the rows to be deleted, all from the same table
+	 */
+	protected DBDeleteByPrimaryKeys(List<? extends DBRow> rows) {
+		super(rows.get(0), QueryIntention.DELETE_ROW);
+		for (DBRow row : rows) {
+			this.rows.add(DBRow.copyDBRow(row));
+		}
+	}
+
+	@Override
+	public DBActionList execute(DBDatabase db) throws SQLException {
+		final DBDefinition defn = db.getDefinition();
+		final DBRow example = DBRow.getDBRow(rows.get(0).getClass());
+		Map<List<String>, DBRow> savedRows = new HashMap<>();
+		List<String> keysForGroups = new ArrayList<>();
+		for (List<DBRow> group : splitForPrimaryKeysSQL(db, rows)) {
+			final String keys = getPrimaryKeysSQL(db, group);
+			List<DBRow> rowsToBeDeleted = db.getDBTable(example)
+					.setBlankQueryAllowed(true)
+					.setRawSQL(defn.beginAndLine() + keys)
+					.getAllRows();
+			for (DBRow deletingRow : rowsToBeDeleted) {
+				savedRows.put(getPrimaryKeyValues(defn, deletingRow), DBRow.copyDBRow(deletingRow));
+			}
+			keysForGroups.add(keys);
+		}
+		try (DBStatement statement = db.getDBStatement()) {
+			for (String keys : keysForGroups) {
+				statement.execute("DELETE ROWS", QueryIntention.DELETE_ROW, getDeleteStatement(defn, keys));
+			}
+		}
+		DBActionList actions = new DBActionList();
+		for (DBRow row : rows) {
+			final DBRow savedRow = savedRows.remove(getPrimaryKeyValues(defn, row));
+			final DBDeleteByPrimaryKey deleted = new DBDeleteByPrimaryKey(row, savedRow);
+			deleted.setUpdateCount(savedRow == null ? 0 : 1);
+			actions.add(deleted);
+		}
+		return actions;
+	}
+
+	@Override
+	public ArrayList<String> getSQLStatements(DBDatabase db) {
+		final DBDefinition defn = db.getDefinition();
+		ArrayList<String> strs = new ArrayList<>();
+		for (List<DBRow> group : splitForPrimaryKeysSQL(db, rows)) {
+			strs.add(getDeleteStatement(defn, getPrimaryKeysSQL(db, group)));
+		}
+		return strs;
+	}
+
+	private String getDeleteStatement(DBDefinition defn, String keys) {
+		return defn.beginDeleteLine()
+				+ defn.formatTableName(rows.get(0))
+				+ defn.beginWhereClause()
+				+ keys
+				+ defn.endDeleteLine();
+	}
+
+	@Override
+	protected DBActionList getRevertDBActionList() {
+		return new DBActionList();
+	}
+
+	@Override
+	protected DBActionList getActions() {
+		return new DBActionList(new DBDeleteByPrimaryKeys(rows));
+	}
+
+	@Override
+	protected DBActionList getActions(DBDatabase db, DBRow row) throws SQLException {
+		return new DBActionList(new DBDeleteByPrimaryKeys(Arrays.asList(row)));
+	}
+}
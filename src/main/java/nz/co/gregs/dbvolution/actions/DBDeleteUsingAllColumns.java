@@ -24,6 +24,8 @@ import nz.co.gregs.dbvolution.DBRow;
 import nz.co.gregs.dbvolution.databases.QueryIntention;
 import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
 import nz.co.gregs.dbvolution.datatypes.QueryableDatatype;
+import nz.co.gregs.dbvolution.internal.query.BindParameters;
+import nz.co.gregs.dbvolution.internal.query.StatementDetails;
 
 /**
  * Provides support for the abstract concept of deleting rows based on a defined
@@ -62,6 +64,22 @@ public class DBDeleteUsingAllColumns extends DBDelete {
 
 	@Override
 	public DBActionList execute(DBDatabase db) throws SQLException {
+		DBActionList actions = prepareForBatch(db);
+		try (DBStatement statement = db.getDBStatement()) {
+			for (BindParameters sql : getSQLStatementsForExecution(db)) {
+				statement.execute(new StatementDetails("DELETE ROW", QueryIntention.DELETE_ROW, sql, statement));
+			}
+		}
+		return actions;
+	}
+
+	@Override
+	protected boolean isBatchable() {
+		return true;
+	}
+
+	@Override
+	protected DBActionList prepareForBatch(DBDatabase db) throws SQLException {
 		DBRow table = getRow();
 		final DBDeleteUsingAllColumns dbDeleteUsingAllColumns = new DBDeleteUsingAllColumns(table);
 		DBActionList actions = new DBActionList(dbDeleteUsingAllColumns);
@@ -69,11 +87,6 @@ public class DBDeleteUsingAllColumns extends DBDelete {
 		for (DBRow deletingRow : rowsToBeDeleted) {
 			dbDeleteUsingAllColumns.savedRows.add(DBRow.copyDBRow(deletingRow));
 		}
-		try (DBStatement statement = db.getDBStatement()) {
-			for (String sql : getSQLStatements(db)) {
-				statement.execute("DELETE ROW", QueryIntention.DELETE_ROW,sql);
-			}
-		}
 		return actions;
 	}
 
@@ -33,6 +33,7 @@ import nz.co.gregs.dbvolution.datatypes.DBString;
 import nz.co.gregs.dbvolution.datatypes.InternalQueryableDatatypeProxy;
 import nz.co.gregs.dbvolution.datatypes.QueryableDatatype;
 import nz.co.gregs.dbvolution.exceptions.DBSQLException;
+import nz.co.gregs.dbvolution.internal.query.BindParameters;
 import nz.co.gregs.dbvolution.internal.query.StatementDetails;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -114,30 +115,43 @@ public class DBInsert extends DBAction {
 	public ArrayList<String> getSQLStatements(DBDatabase db) {
 		DBRow table = getRow();
 		DBDefinition defn = db.getDefinition();
-		InsertFields fields = processAllFieldsForInsert(db, table);
 
 		ArrayList<String> strs = new ArrayList<>();
 		strs.addAll(defn.getInsertPreparation(table));
+		strs.add(getInsertStatement(db, table));
+		strs.addAll(defn.getInsertCleanUp(table));
+		return strs;
+	}
+
+	/**
+	 * Generates the INSERT statement for the row, without any preparation or
+	 * clean up SQL required by the database.
+	 *
+	 * @param db the target database
+	 * @param table the row to insert
+	 * @return the INSERT statement
+	 */
+	static String getInsertStatement(DBDatabase db, DBRow table) {
+		DBDefinition defn = db.getDefinition();
+		InsertFields fields = processAllFieldsForInsert(db, table);
 		final StringBuilder allChangedColumns = fields.getAllChangedColumns();
 		if (allChangedColumns.length() != 0) {
-			strs.add(defn.beginInsertLine()
+			return defn.beginInsertLine()
 					+ defn.formatTableName(table)
 					+ defn.beginInsertColumnList()
 					+ allChangedColumns
 					+ defn.endInsertColumnList()
 					+ fields.getAllSetValues()
-					+ defn.endInsertLine());
+					+ defn.endInsertLine();
 		} else {
-			strs.add(defn.beginInsertLine()
+			return defn.beginInsertLine()
 					+ defn.formatTableName(table)
 					+ defn.beginInsertColumnList()
 					+ fields.getAllColumns()
 					+ defn.endInsertColumnList()
 					+ fields.getAllValues()
-					+ defn.endInsertLine());
+					+ defn.endInsertLine();
 		}
-		strs.addAll(defn.getInsertCleanUp(table));
-		return strs;
 	}
 
 	@Override
@@ -149,7 +163,7 @@ public class DBInsert extends DBAction {
 //		int successfulInsertAt;
 
 		try (DBStatement statement = db.getDBStatement()) {
-			for (String sql : getSQLStatements(db)) {
+			for (BindParameters sql : getSQLStatementsForExecution(db)) {
 				StatementDetails statementDetails = new StatementDetails("INSERT ROW", QueryIntention.INSERT_ROW, sql, statement);
 				if (defn.supportsGeneratedKeys()) {
 					try {
@@ -213,7 +227,7 @@ public class DBInsert extends DBAction {
 								}
 							}
 						}
-						updateSequenceIfNecessary(defn, db, sql, table, statement);
+						updateSequenceIfNecessary(defn, db, sql.getSQL(), table, statement);
 					} catch (SQLException sqlex) {
 						try {
 							executeStatementAndHandleIntegrityConstraintViolation(statement, statementDetails, db, table);
@@ -227,7 +241,7 @@ public class DBInsert extends DBAction {
 						executeStatementAndHandleIntegrityConstraintViolation(statement, statementDetails, db, table);
 //						successfulInsertAt = 7;
 						updatePrimaryKeyByRetreivingLastInsert(statement, defn, table);
-						updateSequenceIfNecessary(defn, db, sql, table, statement);
+						updateSequenceIfNecessary(defn, db, sql.getSQL(), table, statement);
 					} catch (SQLException ex) {
 						throw ex;
 					}
@@ -343,7 +357,7 @@ public class DBInsert extends DBAction {
 		new InternalQueryableDatatypeProxy<>(pkQDT).setValueFromDatabase(pkValue);
 	}
 
-	private InsertFields processAllFieldsForInsert(DBDatabase database, DBRow row) {
+	private static InsertFields processAllFieldsForInsert(DBDatabase database, DBRow row) {
 		InsertFields fields = new InsertFields();
 		StringBuilder allColumns = fields.getAllColumns();
 		StringBuilder allValues = fields.getAllValues();
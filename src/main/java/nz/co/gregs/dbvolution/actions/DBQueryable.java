@@ -35,6 +35,7 @@ import nz.co.gregs.dbvolution.DBQueryRow;
 import nz.co.gregs.dbvolution.databases.DBDatabase;
 import nz.co.gregs.dbvolution.exceptions.AccidentalBlankQueryException;
 import nz.co.gregs.dbvolution.exceptions.AccidentalCartesianJoinException;
+import nz.co.gregs.dbvolution.internal.database.ReadHedging;
 
 /**
  *
@@ -65,6 +66,19 @@ public interface DBQueryable {
 
 	public void setQueryDatabase(DBDatabase db);
 
+	/**
+	 * Hedges the reads performed by the next query on the hedge's member.
+	 *
+	 * <p>
+	 * Used by {@link nz.co.gregs.dbvolution.databases.DBDatabaseCluster} to
+	 * repeat slow reads on a second member. Queries that do not support hedging
+	 * ignore the hedge.
+	 *
+	 * @param hedge the hedge to use, or null to stop hedging
+	 */
+	public default void setReadHedge(ReadHedging.Hedge hedge) {
+	}
+
 	public void setReturnEmptyStringForNullString(boolean produceEmptyStringsForNull);
 
 	public boolean getReturnEmptyStringForNullString();
@@ -16,12 +16,18 @@
 package nz.co.gregs.dbvolution.actions;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Set;
 import nz.co.gregs.dbvolution.databases.DBDatabase;
 import nz.co.gregs.dbvolution.DBRow;
 import nz.co.gregs.dbvolution.databases.QueryIntention;
+import nz.co.gregs.dbvolution.datatypes.DBLargeObject;
 import nz.co.gregs.dbvolution.datatypes.QueryableDatatype;
+import nz.co.gregs.dbvolution.expressions.DBExpression;
 import nz.co.gregs.dbvolution.exceptions.AccidentalUpdateOfUndefinedRowException;
 
 /**
@@ -63,18 +69,19 @@ public abstract class DBUpdate extends DBAction {
 	 * Use {@link DBRow#setSimpleTypesToUnchanged() } if you need to ignore the
 	 * changes to the row.
 	 *
+	 * <p>
+	 * Rows with the same changes are only updated together when the database
+	 * {@link DBDatabase#batchSQLStatementsWhenPossible() batches SQL statements}.
+	 * Either way the returned list contains the executed updates for each row.
+	 *
 	 * @param db the target database
 	 * @param rows the rows to be updated
 	 * @return a DBActionList of updates that have been executed.
 	 * @throws SQLException database exceptions
 	 */
 	public static DBActionList update(DBDatabase db, DBRow... rows) throws SQLException {
-		DBActionList actions = new DBActionList();
+		DBActionList actions = db.executeDBActions(getUpdates(db.batchSQLStatementsWhenPossible(), rows));
 		for (DBRow row : rows) {
-			DBActionList updates = getUpdates(row);
-			for (DBAction act : updates) {
-				actions.addAll(db.executeDBAction(act));
-			}
 			row.setSimpleTypesToUnchanged();
 		}
 		return actions;
@@ -104,14 +111,43 @@ public abstract class DBUpdate extends DBAction {
 	 * The actions created can be applied on a particular database using
 	 * {@link DBActionList#execute(nz.co.gregs.dbvolution.databases.DBDatabase)}
 	 *
+	 * <p>
+	 * Rows from the same table that have exactly the same changes are collected
+	 * into a single {@link DBUpdateSimpleTypesUsingPrimaryKeys} action so they
+	 * can be updated with one statement.
+	 *
 	 * @param rows the rows to be updated
 	 * @return a DBActionList of updates.
 	 * @throws SQLException database exceptions
 	 */
 	public static DBActionList getUpdates(DBRow... rows) throws SQLException {
+		return getUpdates(true, rows);
+	}
+
+	private static DBActionList getUpdates(boolean shareChanges, DBRow... rows) throws SQLException {
 		DBActionList updates = new DBActionList();
+		LinkedHashMap<List<Object>, List<DBRow>> sharedChanges = new LinkedHashMap<>();
+		Set<List<Object>> pendingRows = new HashSet<>();
+		DBActionList pendingLargeObjects = new DBActionList();
 		for (DBRow row : rows) {
 			if (row.isDefined()) {
+				List<Object> changes = shareChanges ? getSharedChanges(row) : null;
+				if (changes != null) {
+					if (!pendingRows.add(getRowIdentity(row))) {
+						addSharedChanges(updates, sharedChanges, pendingLargeObjects);
+						pendingRows.clear();
+						pendingRows.add(getRowIdentity(row));
+					}
+					sharedChanges.computeIfAbsent(changes, k -> new ArrayList<>()).add(row);
+					if (hasChangedLargeObjects(row)) {
+						pendingLargeObjects.add(new DBUpdateLargeObjects(row));
+					}
+					continue;
+				}
+				if (!sharedChanges.isEmpty()) {
+					addSharedChanges(updates, sharedChanges, pendingLargeObjects);
+					pendingRows.clear();
+				}
 				if (row.hasChangedSimpleTypes()) {
 					final List<QueryableDatatype<?>> primaryKeys = row.getPrimaryKeys();
 					if (primaryKeys == null || primaryKeys.isEmpty()) {
@@ -127,9 +163,79 @@ public abstract class DBUpdate extends DBAction {
 				throw new AccidentalUpdateOfUndefinedRowException(row);
 			}
 		}
+		addSharedChanges(updates, sharedChanges, pendingLargeObjects);
 		return updates;
 	}
 
+	private static void addSharedChanges(DBActionList updates, LinkedHashMap<List<Object>, List<DBRow>> sharedChanges, DBActionList pendingLargeObjects) {
+		for (List<DBRow> group : sharedChanges.values()) {
+			if (group.size() == 1) {
+				updates.add(new DBUpdateSimpleTypes(group.get(0)));
+			} else {
+				updates.add(new DBUpdateSimpleTypesUsingPrimaryKeys(group));
+			}
+		}
+		updates.addAll(pendingLargeObjects);
+		sharedChanges.clear();
+		pendingLargeObjects.clear();
+	}
+
+	/**
+	 * Describes the changes to the row's simple types independently of any
+	 * database, so that rows with the same changes can be updated together.
+	 *
+	 * <p>
+	 * Returns NULL if the row can not share its update, for instance because it
+	 * has no primary key, the primary key has changed, or a value is an
+	 * expression or default update value.
+	 *
+	 * @param row the row to be updated
+	 * @return the table and the changed columns and values, or NULL
+	 */
+	private static List<Object> getSharedChanges(DBRow row) {
+		if (!row.hasChangedSimpleTypes()) {
+			return null;
+		}
+		final List<QueryableDatatype<?>> primaryKeys = row.getPrimaryKeys();
+		if (primaryKeys == null || primaryKeys.isEmpty()) {
+			return null;
+		}
+		for (QueryableDatatype<?> pk : primaryKeys) {
+			if (pk.hasChanged() || pk.getValue() == null) {
+				return null;
+			}
+		}
+		List<Object> changes = new ArrayList<>();
+		changes.add(row.getClass());
+		for (var field : row.getColumnPropertyWrappers()) {
+			if (field.isColumn()) {
+				final QueryableDatatype<?> qdt = field.getQueryableDatatype();
+				if (qdt != null && !(qdt instanceof DBLargeObject)) {
+					if (qdt.hasDefaultUpdateValue()) {
+						return null;
+					} else if (qdt.hasChanged()) {
+						Object value = qdt.getValue();
+						if (value instanceof DBExpression || (value != null && value.getClass().isArray())) {
+							return null;
+						}
+						changes.add(field.columnName());
+						changes.add(value);
+					}
+				}
+			}
+		}
+		return changes;
+	}
+
+	private static List<Object> getRowIdentity(DBRow row) {
+		List<Object> identity = new ArrayList<>();
+		identity.add(row.getClass());
+		for (QueryableDatatype<?> pk : row.getPrimaryKeys()) {
+			identity.add(pk.getValue());
+		}
+		return identity;
+	}
+
 	private static boolean hasChangedLargeObjects(DBRow row) {
 		if (row.hasLargeObjects()) {
 			for (QueryableDatatype<?> qdt : row.getLargeObjects()) {
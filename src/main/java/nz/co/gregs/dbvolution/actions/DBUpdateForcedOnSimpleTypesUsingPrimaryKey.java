@@ -20,8 +20,6 @@ import java.util.ArrayList;
 import java.util.List;
 import nz.co.gregs.dbvolution.DBRow;
 import nz.co.gregs.dbvolution.databases.DBDatabase;
-import nz.co.gregs.dbvolution.databases.DBStatement;
-import nz.co.gregs.dbvolution.databases.QueryIntention;
 import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
 import nz.co.gregs.dbvolution.datatypes.DBLargeObject;
 import nz.co.gregs.dbvolution.datatypes.QueryableDatatype;
@@ -177,16 +175,8 @@ public class DBUpdateForcedOnSimpleTypesUsingPrimaryKey extends DBUpdateSimpleTy
 	}
 
 	@Override
-	public DBActionList execute(DBDatabase db) throws SQLException {
-		DBRow table = originalRow;
-		DBActionList actions = new DBActionList(new DBUpdateForcedOnSimpleTypesUsingPrimaryKey(table));
-		try ( DBStatement statement = db.getDBStatement()) {
-			for (String sql : getSQLStatements(db)) {
-				statement.execute("Update row", QueryIntention.UPDATE_ROW, sql);
-			}
-		}
-		refetchIfClusterRequires(db, originalRow);
-		return actions;
+	protected DBActionList prepareForBatch(DBDatabase db) {
+		return new DBActionList(new DBUpdateForcedOnSimpleTypesUsingPrimaryKey(originalRow));
 	}
 
 }
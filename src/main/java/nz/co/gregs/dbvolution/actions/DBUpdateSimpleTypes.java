@@ -25,6 +25,8 @@ import nz.co.gregs.dbvolution.databases.QueryIntention;
 import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
 import nz.co.gregs.dbvolution.datatypes.DBLargeObject;
 import nz.co.gregs.dbvolution.datatypes.QueryableDatatype;
+import nz.co.gregs.dbvolution.internal.query.BindParameters;
+import nz.co.gregs.dbvolution.internal.query.StatementDetails;
 
 /**
  * Provides support for the abstract concept of updating rows with standard
@@ -48,17 +50,31 @@ public class DBUpdateSimpleTypes extends DBUpdate {
 
 	@Override
 	public DBActionList execute(DBDatabase db) throws SQLException {
-		DBRow table = originalRow;
-		DBActionList actions = new DBActionList(new DBUpdateSimpleTypes(table));
+		DBActionList actions = prepareForBatch(db);
 		try (DBStatement statement = db.getDBStatement()) {
-			for (String sql : getSQLStatements(db)) {
-				statement.execute("Update row", QueryIntention.UPDATE_ROW, sql);
+			for (BindParameters sql : getSQLStatementsForExecution(db)) {
+				statement.execute(new StatementDetails("Update row", QueryIntention.UPDATE_ROW, sql, statement));
 			}
 		}
-		refetchIfClusterRequires(db, originalRow);
+		batchCompleted(db);
 		return actions;
 	}
 
+	@Override
+	protected boolean isBatchable() {
+		return true;
+	}
+
+	@Override
+	protected DBActionList prepareForBatch(DBDatabase db) {
+		return new DBActionList(new DBUpdateSimpleTypes(originalRow));
+	}
+
+	@Override
+	protected void batchCompleted(DBDatabase db) {
+		refetchIfClusterRequires(db, originalRow);
+	}
+
 	@Override
 	public List<String> getSQLStatements(DBDatabase db) {
 		DBRow table = getRow();
@@ -15,13 +15,10 @@
  */
 package nz.co.gregs.dbvolution.actions;
 
-import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import nz.co.gregs.dbvolution.databases.DBDatabase;
 import nz.co.gregs.dbvolution.DBRow;
-import nz.co.gregs.dbvolution.databases.DBStatement;
-import nz.co.gregs.dbvolution.databases.QueryIntention;
 import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
 import nz.co.gregs.dbvolution.datatypes.QueryableDatatype;
 import nz.co.gregs.dbvolution.expressions.BooleanExpression;
@@ -45,16 +42,8 @@ public class DBUpdateSimpleTypesUsingAllColumns extends DBUpdateSimpleTypes {
 	}
 
 	@Override
-	public DBActionList execute(DBDatabase db) throws SQLException {
-		DBRow table = originalRow;
-		DBActionList actions = new DBActionList(new DBUpdateSimpleTypesUsingAllColumns(table));
-		try (DBStatement statement = db.getDBStatement()) {
-			for (String sql : getSQLStatements(db)) {
-				statement.execute("Update row", QueryIntention.UPDATE_ROW, sql);
-			}
-		}
-		refetchIfClusterRequires(db, originalRow);
-		return actions;
+	protected DBActionList prepareForBatch(DBDatabase db) {
+		return new DBActionList(new DBUpdateSimpleTypesUsingAllColumns(originalRow));
 	}
 
 	@Override
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.actions;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.databases.DBDatabase;
+import nz.co.gregs.dbvolution.databases.DBStatement;
+import nz.co.gregs.dbvolution.databases.QueryIntention;
+import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
+import nz.co.gregs.dbvolution.internal.query.BindParameters;
+import nz.co.gregs.dbvolution.internal.query.StatementDetails;
+
+/**
+ * Updates many rows from the same table that have exactly the same changes.
+ *
+ * <p>
+ * The rows are updated with as few UPDATE statements as possible, each
+ * identifying the rows with a list of primary keys. The executed actions are
+ * returned as one {@link DBUpdateSimpleTypes} per row, so reverting restores
+ * the previous values of each row individually.
+ *
+ * <p>
+ * The best way to use this is by using {@link DBUpdate#getUpdates(nz.co.gregs.dbvolution.DBRow...)
+ * } to automatically use this action.
+ *
+ * @author Gregory Graham
+ */
+public class DBUpdateSimpleTypesUsingPrimaryKeys extends DBUpdateSimpleTypes {
+
+	private static final long serialVersionUID = 1l;
+
+	private final ArrayList<DBRow> originalRows = new ArrayList<>();
+	private final ArrayList<DBRow> rows = new ArrayList<>();
+
+	/**
+	 * Creates an update of the rows.
+	 *
+	 * <p>
+	 * All the rows must be from the same table and have the same changes.
+	 *
+	 * @param rows the rows to be updated
+	 */
+	DBUpdateSimpleTypesUsingPrimaryKeys(List<? extends DBRow> rows) {
+		super(rows.get(0));
+		for (DBRow row : rows) {
+			this.originalRows.add(row);
+			this.rows.add(DBRow.copyDBRow(row));
+		}
+	}
+
+	@Override
+	public DBActionList execute(DBDatabase db) throws SQLException {
+		DBActionList actions = prepareForBatch(db);
+		int updateCount = 0;
+		try (DBStatement statement = db.getDBStatement()) {
+			for (BindParameters sql : getSQLStatementsForExecution(db)) {
+				statement.execute(new StatementDetails("Update rows", QueryIntention.UPDATE_ROW, sql, statement));
+				updateCount += Math.max(0, statement.getUpdateCount());
+			}
+		}
+		batchCompleted(db);
+		DBActionBatch.setUpdateCounts(actions, updateCount);
+		return actions;
+	}
+
+	@Override
+	protected DBActionList prepareForBatch(DBDatabase db) {
+		DBActionList actions = new DBActionList();
+		for (DBRow row : originalRows) {
+			actions.add(new DBUpdateSimpleTypes(row));
+		}
+		return actions;
+	}
+
+	@Override
+	protected void batchCompleted(DBDatabase db) {
+		for (DBRow row : originalRows) {
+			refetchIfClusterRequires(db, row);
+		}
+	}
+
+	@Override
+	public List<String> getSQLStatements(DBDatabase db) {
+		final DBRow table = rows.get(0);
+		DBDefinition defn = db.getDefinition();
+		List<String> sqls = new ArrayList<>();
+		for (List<DBRow> group : splitForPrimaryKeysSQL(db, rows)) {
+			sqls.add(defn.beginUpdateLine()
+					+ defn.formatTableName(table)
+					+ defn.beginSetClause()
+					+ getSetClause(db, table)
+					+ defn.beginWhereClause()
+					+ getPrimaryKeysSQL(db, group)
+					+ defn.endDeleteLine());
+		}
+		return sqls;
+	}
+
+	@Override
+	protected DBActionList getRevertDBActionList() {
+		DBActionList reverts = new DBActionList();
+		for (DBRow row : rows) {
+			reverts.add(new DBUpdateToPreviousValues(row));
+		}
+		return reverts;
+	}
+}
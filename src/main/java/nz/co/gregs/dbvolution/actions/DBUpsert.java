@@ -0,0 +1,359 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.actions;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.databases.DBDatabase;
+import nz.co.gregs.dbvolution.databases.DBStatement;
+import nz.co.gregs.dbvolution.databases.QueryIntention;
+import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
+import nz.co.gregs.dbvolution.datatypes.DBLargeObject;
+import nz.co.gregs.dbvolution.datatypes.QueryableDatatype;
+import nz.co.gregs.dbvolution.internal.properties.PropertyWrapper;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Inserts rows, or updates the existing rows with the same primary keys, using
+ * the database's multi-row upsert statement.
+ *
+ * <p>
+ * Consecutive rows for the same table, with the same columns set, are saved
+ * together using
+ * {@link DBDefinition#getUpsertStatement(java.lang.String, java.util.List, java.util.List, java.util.List) }
+ * in statements of at most {@link DBDatabase#getBatchSize() } and
+ * {@link DBDefinition#getMaximumUpsertRows() } rows. Only the columns that have
+ * been set are inserted or updated, as with {@link DBInsert} and
+ * {@link DBUpdate}.
+ *
+ * <p>
+ * Rows that {@link #canUpsert(nz.co.gregs.dbvolution.DBRow) can not be upserted}
+ * and databases that do not {@link DBDefinition#supportsUpsert() support
+ * upserts} fall back to inserting each row and updating it if the insert fails.
+ *
+ * <p>
+ * The existing rows are retrieved before they are upserted so that the upsert
+ * can be reverted: the new rows are deleted and the existing rows are updated
+ * back to their original values.
+ *
+ * @author Gregory Graham
+ */
+public class DBUpsert extends DBAction {
+
+	private static final long serialVersionUID = 1l;
+
+	private static final Log LOG = LogFactory.getLog(DBUpsert.class);
+
+	private final ArrayList<DBRow> rows = new ArrayList<>();
+	private final ArrayList<DBRow> savedRows = new ArrayList<>();
+	private boolean existingRowsRetrieved = false;
+
+	/**
+	 * Creates an empty upsert, add rows with {@link #addRow(nz.co.gregs.dbvolution.DBRow)
+	 * }.
+	 */
+	public DBUpsert() {
+		super(null, QueryIntention.UPSERT_ROWS);
+	}
+
+	/**
+	 * Creates an upsert of the rows.
+	 *
+	 * @param rows the rows to insert or update
+	 */
+	public DBUpsert(Collection<? extends DBRow> rows) {
+		this();
+		this.rows.addAll(rows);
+	}
+
+	/**
+	 * Adds the row to the upsert.
+	 *
+	 * @param row the row to insert or update
+	 */
+	public void addRow(DBRow row) {
+		rows.add(row);
+	}
+
+	/**
+	 * Inserts, or updates, the rows on the database.
+	 *
+	 * @param database the target database
+	 * @return the actions performed
+	 * @throws SQLException database errors
+	 */
+	public DBActionList upsert(DBDatabase database) throws SQLException {
+		if (rows.isEmpty()) {
+			return new DBActionList();
+		}
+		return database.executeDBAction(this);
+	}
+
+	/**
+	 * Indicates whether the row can be saved with an upsert statement.
+	 *
+	 * <p>
+	 * Upserts are only possible for rows with values for all their primary keys
+	 * and no large objects. Rows with default update values, or with default
+	 * insert values that haven't been overridden, need separate insert and
+	 * update statements.
+	 *
+	 * @param row the row to save
+	 * @return TRUE if the row can be upserted, FALSE otherwise
+	 */
+	public static boolean canUpsert(DBRow row) {
+		if (!row.getPrimaryKeysAllHaveValue()) {
+			return false;
+		}
+		for (PropertyWrapper<?, ?, ?> prop : row.getColumnPropertyWrappers()) {
+			if (prop.isColumn() && !prop.hasColumnExpression()) {
+				final QueryableDatatype<?> qdt = prop.getQueryableDatatype();
+				if (qdt instanceof DBLargeObject && qdt.getValue() != null) {
+					return false;
+				}
+				if (qdt.hasDefaultUpdateValue() || (qdt.hasDefaultInsertValue() && !qdt.hasBeenSet())) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public DBRow getRow() {
+		return rows.isEmpty() ? null : DBRow.copyDBRow(rows.get(0));
+	}
+
+	@Override
+	public List<String> getSQLStatements(DBDatabase db) {
+		List<String> sqls = new ArrayList<>();
+		for (Chunk chunk : getChunks(db)) {
+			if (chunk.canUpsert) {
+				sqls.addAll(chunk.getSQLStatements(db));
+			} else {
+				sqls.addAll(new DBInsert(chunk.rows.get(0)).getSQLStatements(db));
+			}
+		}
+		return sqls;
+	}
+
+	@Override
+	public DBActionList execute(DBDatabase db) throws SQLException {
+		DBActionList actions = new DBActionList();
+		for (Chunk chunk : getChunks(db)) {
+			if (chunk.canUpsert) {
+				final DBUpsert executed = new DBUpsert();
+				executed.savedRows.addAll(getExistingRows(db, chunk.rows));
+				executed.existingRowsRetrieved = true;
+				try (DBStatement statement = db.getDBStatement()) {
+					for (String sql : chunk.getSQLStatements(db)) {
+						statement.execute("UPSERT ROWS", QueryIntention.UPSERT_ROWS, sql);
+					}
+				}
+				for (DBRow row : chunk.rows) {
+					row.setDefined();
+					row.setSimpleTypesToUnchanged();
+					executed.rows.add(DBRow.copyDBRow(row));
+				}
+				actions.add(executed);
+			} else {
+				actions.addAll(insertOrUpdateIndividually(db, chunk.rows.get(0)));
+			}
+		}
+		return actions;
+	}
+
+	private static List<DBRow> getExistingRows(DBDatabase db, List<DBRow> chunkRows) throws SQLException {
+		final DBDefinition defn = db.getDefinition();
+		final DBRow example = DBRow.getDBRow(chunkRows.get(0).getClass());
+		// the keys are new values, not changes to the keys of existing rows
+		List<DBRow> keys = new ArrayList<>(chunkRows.size());
+		for (DBRow row : chunkRows) {
+			final DBRow key = DBRow.copyDBRow(row);
+			key.setSimpleTypesToUnchanged();
+			keys.add(key);
+		}
+		List<DBRow> existing = new ArrayList<>();
+		for (List<DBRow> group : splitForPrimaryKeysSQL(db, keys)) {
+			final List<DBRow> found = db.getDBTable(example)
+					.setBlankQueryAllowed(true)
+					.setRawSQL(defn.beginAndLine() + getPrimaryKeysSQL(db, group))
+					.getAllRows();
+			for (DBRow existingRow : found) {
+				existing.add(DBRow.copyDBRow(existingRow));
+			}
+		}
+		return existing;
+	}
+
+	private static List<Object> getPrimaryKeyValues(DBRow row) {
+		List<Object> values = new ArrayList<>();
+		for (QueryableDatatype<?> pk : row.getPrimaryKeys()) {
+			values.add(pk.getValue());
+		}
+		return values;
+	}
+
+	private static DBActionList insertOrUpdateIndividually(DBDatabase db, DBRow row) throws SQLException {
+		DBActionList changes = new DBActionList();
+		try {
+			changes.addAll(db.insert(row));
+		} catch (SQLException exc1) {
+			try {
+				changes.addAll(db.update(row));
+			} catch (SQLException exc2) {
+				throw exc1;
+			}
+		}
+		return changes;
+	}
+
+	/**
+	 * Splits the rows into runs of consecutive rows that can share an upsert
+	 * statement.
+	 *
+	 * <p>
+	 * A run ends when the table or the columns set change, the run is full, or a
+	 * primary key is repeated as most databases refuse to affect a row twice in
+	 * one statement.
+	 */
+	private List<Chunk> getChunks(DBDatabase db) {
+		final DBDefinition defn = db.getDefinition();
+		final boolean supportsUpsert = defn.supportsUpsert();
+		final int maxRows = Math.max(1, Math.min(db.getBatchSize(), defn.getMaximumUpsertRows()));
+		List<Chunk> chunks = new ArrayList<>();
+		Chunk current = null;
+		for (DBRow row : rows) {
+			if (supportsUpsert && canUpsert(row)) {
+				final List<String> columns = new ArrayList<>();
+				final List<String> primaryKeys = new ArrayList<>();
+				final List<String> values = new ArrayList<>();
+				final List<String> primaryKeyValues = new ArrayList<>();
+				for (PropertyWrapper<?, ?, ?> prop : row.getColumnPropertyWrappers()) {
+					if (prop.isColumn() && !prop.hasColumnExpression()) {
+						final QueryableDatatype<?> qdt = prop.getQueryableDatatype();
+						if (prop.isPrimaryKey() || (!(qdt instanceof DBLargeObject) && (qdt.getValue() != null || qdt.hasBeenSet()))) {
+							final String column = defn.formatColumnName(prop.columnName());
+							final String value = qdt.toSQLString(defn);
+							columns.add(column);
+							values.add(value);
+							if (prop.isPrimaryKey()) {
+								primaryKeys.add(column);
+								primaryKeyValues.add(value);
+							}
+						}
+					}
+				}
+				if (current == null
+						|| !current.canUpsert
+						|| !current.rows.get(0).getClass().equals(row.getClass())
+						|| !current.columns.equals(columns)
+						|| current.rows.size() >= maxRows
+						|| current.primaryKeyValues.contains(primaryKeyValues)) {
+					current = new Chunk(true, columns, primaryKeys);
+					chunks.add(current);
+				}
+				current.add(row, values, primaryKeyValues);
+			} else {
+				current = new Chunk(false, null, null);
+				current.add(row, null, null);
+				chunks.add(current);
+			}
+		}
+		return chunks;
+	}
+
+	/**
+	 * Deletes the rows that were inserted and returns the rows that were updated
+	 * to their previous values.
+	 *
+	 * <p>
+	 * Only the upserts returned by {@link #execute(nz.co.gregs.dbvolution.databases.DBDatabase)
+	 * } know which rows existed before, other upserts can not be reverted.
+	 *
+	 * @return the actions required to revert this upsert
+	 */
+	@Override
+	protected DBActionList getRevertDBActionList() {
+		if (!existingRowsRetrieved) {
+			throw new UnsupportedOperationException("Only upserts that have been executed can be reverted.");
+		}
+		Set<List<Object>> existingKeys = new HashSet<>();
+		DBActionList reverts = new DBActionList();
+		for (DBRow savedRow : savedRows) {
+			existingKeys.add(getPrimaryKeyValues(savedRow));
+			reverts.add(new DBUpdateForcedOnSimpleTypesUsingPrimaryKey(DBRow.copyDBRow(savedRow)));
+		}
+		for (DBRow row : rows) {
+			if (!existingKeys.contains(getPrimaryKeyValues(row))) {
+				reverts.add(new DBDeleteByPrimaryKey(row));
+			}
+		}
+		return reverts;
+	}
+
+	@Override
+	public boolean requiresRunOnIndividualDatabaseBeforeCluster() {
+		return true;
+	}
+
+	@Override
+	public boolean runOnDatabaseDuringCluster(DBDatabase initialDatabase, DBDatabase next) {
+		return initialDatabase != next;
+	}
+
+	private static class Chunk {
+
+		private final boolean canUpsert;
+		private final List<String> columns;
+		private final List<String> primaryKeys;
+		private final List<DBRow> rows = new ArrayList<>();
+		private final List<List<String>> values = new ArrayList<>();
+		private final Set<List<String>> primaryKeyValues = new HashSet<>();
+
+		Chunk(boolean canUpsert, List<String> columns, List<String> primaryKeys) {
+			this.canUpsert = canUpsert;
+			this.columns = columns;
+			this.primaryKeys = primaryKeys;
+		}
+
+		void add(DBRow row, List<String> rowValues, List<String> rowPrimaryKeyValues) {
+			rows.add(row);
+			if (rowValues != null) {
+				values.add(rowValues);
+				primaryKeyValues.add(rowPrimaryKeyValues);
+			}
+		}
+
+		List<String> getSQLStatements(DBDatabase db) {
+			final DBDefinition defn = db.getDefinition();
+			final DBRow example = rows.get(0);
+			List<String> sqls = new ArrayList<>();
+			sqls.addAll(defn.getInsertPreparation(example));
+			final String sql = defn.getUpsertStatement(defn.formatTableName(example), columns, primaryKeys, values);
+			LOG.debug("UPSERTING " + rows.size() + " ROWS: " + sql);
+			sqls.add(sql);
+			sqls.addAll(defn.getInsertCleanUp(example));
+			return sqls;
+		}
+	}
+}
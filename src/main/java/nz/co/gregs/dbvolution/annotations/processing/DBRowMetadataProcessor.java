@@ -0,0 +1,395 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.annotations.processing;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Generates metadata classes for DBRow classes at compile time.
+ *
+ * <p>
+ * For every DBRow, or other RowDefinition, class using the DBvolution
+ * annotations this processor generates a
+ * {@link nz.co.gregs.dbvolution.internal.properties.RowDefinitionMetadata}
+ * subclass named after the row class with the suffix
+ * {@value nz.co.gregs.dbvolution.internal.properties.RowDefinitionMetadata#GENERATED_CLASS_SUFFIX}.
+ * The metadata lists the column and auto-fill properties of the class along
+ * with accessors and a constructor that do not need reflection. DBvolution uses
+ * the metadata when it is available, which avoids scanning the class the first
+ * time it is used and reduces the reflection required by native images.
+ *
+ * <p>
+ * The processor is optional and is not registered automatically. To use it add
+ * it to the compiler's processors, for instance with
+ * {@code -processor nz.co.gregs.dbvolution.annotations.processing.DBRowMetadataProcessor}
+ * or the annotationProcessors setting of the maven-compiler-plugin.
+ *
+ * <p>
+ * Private fields, and classes that are local, anonymous, or non-static inner
+ * classes, can not be accessed by generated code and continue to use
+ * reflection.
+ *
+ * @author Gregory Graham
+ */
+@SupportedAnnotationTypes({
+	"nz.co.gregs.dbvolution.annotations.DBTableName",
+	"nz.co.gregs.dbvolution.annotations.DBColumn",
+	"nz.co.gregs.dbvolution.annotations.DBPrimaryKey",
+	"nz.co.gregs.dbvolution.annotations.DBForeignKey",
+	"nz.co.gregs.dbvolution.annotations.DBAdaptType",
+	"nz.co.gregs.dbvolution.annotations.AutoFillDuringQueryIfPossible"
+})
+public class DBRowMetadataProcessor extends AbstractProcessor {
+
+	private static final String ROW_DEFINITION = "nz.co.gregs.dbvolution.query.RowDefinition";
+	private static final String DBROW = "nz.co.gregs.dbvolution.DBRow";
+	private static final String METADATA = "nz.co.gregs.dbvolution.internal.properties.RowDefinitionMetadata";
+	private static final String METADATA_SUFFIX = "_DBRowMetadata";
+	private static final String COLUMN = "nz.co.gregs.dbvolution.annotations.DBColumn";
+	private static final String AUTOFILL = "nz.co.gregs.dbvolution.annotations.AutoFillDuringQueryIfPossible";
+
+	private final Set<String> generatedClasses = new HashSet<>();
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		final TypeElement rowDefinition = processingEnv.getElementUtils().getTypeElement(ROW_DEFINITION);
+		if (rowDefinition == null) {
+			return false;
+		}
+		Set<TypeElement> rowClasses = new LinkedHashSet<>();
+		for (TypeElement annotation : annotations) {
+			for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+				Element type = element;
+				while (type != null && !(type instanceof TypeElement)) {
+					type = type.getEnclosingElement();
+				}
+				if (type != null && isSupported((TypeElement) type, rowDefinition)) {
+					rowClasses.add((TypeElement) type);
+				}
+			}
+		}
+		for (TypeElement rowClass : rowClasses) {
+			final String generatedName = getGeneratedClassName(rowClass);
+			if (generatedClasses.add(generatedName)) {
+				try {
+					writeMetadata(rowClass, generatedName);
+				} catch (IOException ex) {
+					processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Unable to generate DBRow metadata: " + ex.getMessage(), rowClass);
+				}
+			}
+		}
+		return false;
+	}
+
+	private boolean isSupported(TypeElement type, TypeElement rowDefinition) {
+		if (type.getKind() != ElementKind.CLASS || !isAccessibleFromPackage(type)) {
+			return false;
+		}
+		if (type.getNestingKind() != NestingKind.TOP_LEVEL && type.getNestingKind() != NestingKind.MEMBER) {
+			return false;
+		}
+		final TypeMirror erasure = processingEnv.getTypeUtils().erasure(type.asType());
+		return processingEnv.getTypeUtils().isSubtype(erasure, processingEnv.getTypeUtils().erasure(rowDefinition.asType()));
+	}
+
+	/**
+	 * Tests whether code in the same package can refer to the type.
+	 */
+	private boolean isAccessibleFromPackage(TypeElement type) {
+		Element element = type;
+		while (element instanceof TypeElement) {
+			if (element.getModifiers().contains(Modifier.PRIVATE)) {
+				return false;
+			}
+			if (((TypeElement) element).getNestingKind() == NestingKind.MEMBER && !element.getModifiers().contains(Modifier.STATIC)) {
+				return false;
+			}
+			element = element.getEnclosingElement();
+		}
+		return true;
+	}
+
+	private boolean isAccessibleFrom(Element element, TypeElement rowClass) {
+		if (element.getModifiers().contains(Modifier.PRIVATE)) {
+			return false;
+		}
+		if (element instanceof TypeElement) {
+			final TypeElement type = (TypeElement) element;
+			if (!type.getModifiers().contains(Modifier.PUBLIC) && !samePackage(type, rowClass)) {
+				return false;
+			}
+			if (type.getNestingKind() == NestingKind.MEMBER) {
+				return isAccessibleFrom(type.getEnclosingElement(), rowClass);
+			}
+			return true;
+		}
+		return element.getModifiers().contains(Modifier.PUBLIC) || samePackage(element, rowClass);
+	}
+
+	private boolean isAccessibleFrom(TypeMirror type, TypeElement rowClass) {
+		final TypeMirror erasure = processingEnv.getTypeUtils().erasure(type);
+		if (erasure.getKind() == TypeKind.ARRAY) {
+			return isAccessibleFrom(((ArrayType) erasure).getComponentType(), rowClass);
+		} else if (erasure.getKind() == TypeKind.DECLARED) {
+			return isAccessibleFrom(((DeclaredType) erasure).asElement(), rowClass);
+		}
+		return erasure.getKind().isPrimitive();
+	}
+
+	private boolean samePackage(Element element, TypeElement rowClass) {
+		return processingEnv.getElementUtils().getPackageOf(element).equals(processingEnv.getElementUtils().getPackageOf(rowClass));
+	}
+
+	private String getGeneratedClassName(TypeElement rowClass) {
+		final String binaryName = processingEnv.getElementUtils().getBinaryName(rowClass).toString();
+		final int lastDot = binaryName.lastIndexOf('.');
+		return binaryName.substring(0, lastDot + 1) + binaryName.substring(lastDot + 1).replace('$', '_') + METADATA_SUFFIX;
+	}
+
+	private void writeMetadata(TypeElement rowClass, String generatedName) throws IOException {
+		final String packageName = processingEnv.getElementUtils().getPackageOf(rowClass).getQualifiedName().toString();
+		final String simpleName = generatedName.substring(generatedName.lastIndexOf('.') + 1);
+		final String rowType = rowClass.getQualifiedName().toString();
+
+		List<String> properties = new ArrayList<>();
+		properties.addAll(getFieldProperties(rowClass, rowType));
+		properties.addAll(getBeanProperties(rowClass, rowType));
+
+		JavaFileObject file = processingEnv.getFiler().createSourceFile(generatedName, rowClass);
+		try (Writer writer = file.openWriter()) {
+			if (!packageName.isEmpty()) {
+				writer.write("package " + packageName + ";\n\n");
+			}
+			writer.write("/**\n * DBvolution metadata for {@link " + rowType + "}.\n *\n * <p>\n * Generated by " + getClass().getName() + ", do not edit.\n */\n");
+			writer.write("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+			writer.write("public final class " + simpleName + " extends " + METADATA + "<" + rowType + "> {\n\n");
+			writer.write("\tpublic " + simpleName + "() {\n");
+			writer.write("\t\tsuper(" + rowType + ".class,\n");
+			writer.write("\t\t\t\t" + (hasAccessibleConstructor(rowClass) ? rowType + "::new" : "null") + ",\n");
+			writer.write("\t\t\t\tjava.util.Arrays.<" + METADATA + ".Property<" + rowType + ">>asList(");
+			String separator = "\n";
+			for (String property : properties) {
+				writer.write(separator + "\t\t\t\t\t\t" + property);
+				separator = ",\n";
+			}
+			writer.write("\n\t\t\t\t));\n");
+			writer.write("\t}\n}\n");
+		}
+	}
+
+	private boolean hasAccessibleConstructor(TypeElement rowClass) {
+		if (rowClass.getModifiers().contains(Modifier.ABSTRACT)) {
+			return false;
+		}
+		for (ExecutableElement constructor : ElementFilter.constructorsIn(rowClass.getEnclosedElements())) {
+			if (constructor.getParameters().isEmpty()) {
+				return !constructor.getModifiers().contains(Modifier.PRIVATE);
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Lists the fields in the same order as JavaPropertyFinder finds them: public
+	 * fields of the class and its superclasses first, then the non-public fields
+	 * climbing up from the class.
+	 */
+	private List<String> getFieldProperties(TypeElement rowClass, String rowType) {
+		List<String> properties = new ArrayList<>();
+		Set<String> observedFieldNames = new HashSet<>();
+
+		for (TypeElement type = rowClass; type != null; type = getSuperclass(type)) {
+			for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+				if (field.getModifiers().contains(Modifier.PUBLIC)) {
+					if (isColumnOrAutoFill(field)) {
+						properties.add(getFieldProperty(rowClass, rowType, type, field));
+					}
+					observedFieldNames.add(field.getSimpleName().toString());
+				}
+			}
+		}
+
+		TypeElement type = rowClass;
+		do {
+			for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+				final String name = field.getSimpleName().toString();
+				if (!observedFieldNames.contains(name) && !name.equals("serialVersionUID") && isColumnOrAutoFill(field)) {
+					properties.add(getFieldProperty(rowClass, rowType, type, field));
+				}
+			}
+			type = getSuperclass(type);
+		} while (type != null
+				&& !isNamed(type, DBROW)
+				&& !isNamed(type, ROW_DEFINITION)
+				&& !isNamed(type, "java.lang.Object")
+				&& !isNamed(getSuperclass(type), ROW_DEFINITION));
+		return properties;
+	}
+
+	private String getFieldProperty(TypeElement rowClass, String rowType, TypeElement declaringClass, VariableElement field) {
+		final String name = field.getSimpleName().toString();
+		final String declaringType = declaringClass.getQualifiedName().toString();
+		final boolean accessible = !field.getModifiers().contains(Modifier.STATIC)
+				&& isAccessibleFrom(field, rowClass)
+				&& isAccessibleFrom(declaringClass, rowClass);
+		String getter = "null";
+		String setter = "null";
+		if (accessible) {
+			getter = "row -> ((" + declaringType + ") row)." + name;
+			if (!field.getModifiers().contains(Modifier.FINAL) && isAccessibleFrom(field.asType(), rowClass)) {
+				setter = "(row, value) -> ((" + declaringType + ") row)." + name + " = (" + getTypeName(field.asType()) + ") value";
+			}
+		}
+		return METADATA + ".Property.<" + rowType + ">field("
+				+ quote(processingEnv.getElementUtils().getBinaryName(declaringClass).toString()) + ", "
+				+ quote(name) + ", " + getter + ", " + setter + ")";
+	}
+
+	/**
+	 * Lists the bean properties sorted by name, as java.beans.Introspector does.
+	 */
+	private List<String> getBeanProperties(TypeElement rowClass, String rowType) {
+		Map<String, ExecutableElement> getters = new TreeMap<>();
+		Map<String, List<ExecutableElement>> setters = new TreeMap<>();
+		for (ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(rowClass))) {
+			if (!method.getModifiers().contains(Modifier.PUBLIC) || method.getModifiers().contains(Modifier.STATIC)) {
+				continue;
+			}
+			final String methodName = method.getSimpleName().toString();
+			final TypeKind returnKind = method.getReturnType().getKind();
+			if (method.getParameters().isEmpty()) {
+				if (methodName.startsWith("is") && methodName.length() > 2 && returnKind == TypeKind.BOOLEAN) {
+					getters.put(decapitalize(methodName.substring(2)), method);
+				} else if (methodName.startsWith("get") && methodName.length() > 3 && returnKind != TypeKind.VOID) {
+					getters.putIfAbsent(decapitalize(methodName.substring(3)), method);
+				}
+			} else if (method.getParameters().size() == 1 && methodName.startsWith("set") && methodName.length() > 3 && returnKind == TypeKind.VOID) {
+				setters.computeIfAbsent(decapitalize(methodName.substring(3)), k -> new ArrayList<>()).add(method);
+			}
+		}
+
+		Set<String> names = new TreeSet<>(getters.keySet());
+		names.addAll(setters.keySet());
+		names.remove("class");
+
+		List<String> properties = new ArrayList<>();
+		for (String name : names) {
+			final ExecutableElement getter = getters.get(name);
+			ExecutableElement setter = null;
+			for (ExecutableElement candidate : setters.getOrDefault(name, new ArrayList<>())) {
+				if (getter == null || processingEnv.getTypeUtils().isSameType(
+						processingEnv.getTypeUtils().erasure(candidate.getParameters().get(0).asType()),
+						processingEnv.getTypeUtils().erasure(getter.getReturnType()))) {
+					setter = candidate;
+					break;
+				}
+			}
+			if ((getter != null && isColumnOrAutoFill(getter)) || (setter != null && isColumnOrAutoFill(setter))) {
+				String getterLambda = "null";
+				String setterLambda = "null";
+				if (getter != null) {
+					getterLambda = "row -> row." + getter.getSimpleName() + "()";
+				}
+				if (setter != null && isAccessibleFrom(setter.getParameters().get(0).asType(), rowClass)) {
+					setterLambda = "(row, value) -> row." + setter.getSimpleName() + "((" + getTypeName(setter.getParameters().get(0).asType()) + ") value)";
+				}
+				properties.add(METADATA + ".Property.<" + rowType + ">beanProperty("
+						+ quote(name) + ", "
+						+ (getter == null ? "null" : quote(getter.getSimpleName().toString())) + ", "
+						+ (setter == null ? "null" : quote(setter.getSimpleName().toString())) + ", "
+						+ getterLambda + ", " + setterLambda + ")");
+			}
+		}
+		return properties;
+	}
+
+	private boolean isColumnOrAutoFill(Element element) {
+		for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+			final String name = ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString();
+			if (name.equals(COLUMN) || name.equals(AUTOFILL)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private TypeElement getSuperclass(TypeElement type) {
+		if (type == null) {
+			return null;
+		}
+		final TypeMirror superclass = type.getSuperclass();
+		if (superclass.getKind() == TypeKind.DECLARED) {
+			return (TypeElement) ((DeclaredType) superclass).asElement();
+		}
+		return null;
+	}
+
+	private static boolean isNamed(TypeElement type, String name) {
+		return type != null && type.getQualifiedName().contentEquals(name);
+	}
+
+	private String getTypeName(TypeMirror type) {
+		return processingEnv.getTypeUtils().erasure(type).toString();
+	}
+
+	/**
+	 * Same as java.beans.Introspector.decapitalize, which may not be available
+	 * to the compiler.
+	 */
+	private static String decapitalize(String name) {
+		if (name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+			return name;
+		}
+		return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+	}
+
+	private static String quote(String value) {
+		return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+	}
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.annotations.processing;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Writes an index of the DBRow, DBRequiredTable, and DBDatabase classes
+ * compiled with it.
+ *
+ * <p>
+ * The index is written to the class output as
+ * {@value #DBROW_INDEX}, {@value #REQUIRED_TABLE_INDEX}, and
+ * {@value #DBDATABASE_INDEX}, listing the binary name of one class per line.
+ * {@link nz.co.gregs.dbvolution.reflection.DataModel} reads the indexes of
+ * every jar and directory on the classpath instead of scanning the whole
+ * classpath.
+ *
+ * <p>
+ * This processor is registered automatically, so any project compiled against
+ * DBvolution gets an index. Local and anonymous classes are not indexed as
+ * they are not visible to annotation processors, and the index is rewritten by
+ * each compilation so partial recompilation may produce an incomplete index.
+ *
+ * @author Gregory Graham
+ */
+@SupportedAnnotationTypes("*")
+public class DataModelIndexProcessor extends AbstractProcessor {
+
+	/**
+	 * The resource listing DBRow subclasses.
+	 */
+	public static final String DBROW_INDEX = "META-INF/dbvolution/dbrow.index";
+
+	/**
+	 * The resource listing classes annotated with DBRequiredTable.
+	 */
+	public static final String REQUIRED_TABLE_INDEX = "META-INF/dbvolution/requiredtable.index";
+
+	/**
+	 * The resource listing DBDatabase implementations.
+	 */
+	public static final String DBDATABASE_INDEX = "META-INF/dbvolution/dbdatabase.index";
+
+	private static final String DBROW = "nz.co.gregs.dbvolution.DBRow";
+	private static final String DBDATABASE = "nz.co.gregs.dbvolution.databases.DBDatabase";
+	private static final String REQUIRED_TABLE = "nz.co.gregs.dbvolution.annotations.DBRequiredTable";
+
+	private final Set<String> dbRows = new TreeSet<>();
+	private final Set<String> requiredTables = new TreeSet<>();
+	private final Set<String> databases = new TreeSet<>();
+	private final List<Element> originatingElements = new ArrayList<>();
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		if (roundEnv.processingOver()) {
+			writeIndex(DBROW_INDEX, dbRows);
+			writeIndex(REQUIRED_TABLE_INDEX, requiredTables);
+			writeIndex(DBDATABASE_INDEX, databases);
+		} else {
+			final TypeElement dbRow = processingEnv.getElementUtils().getTypeElement(DBROW);
+			final TypeElement dbDatabase = processingEnv.getElementUtils().getTypeElement(DBDATABASE);
+			if (dbRow != null && dbDatabase != null) {
+				for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+					index(type, dbRow, dbDatabase);
+				}
+			}
+		}
+		return false;
+	}
+
+	private void index(TypeElement type, TypeElement dbRow, TypeElement dbDatabase) {
+		if (type.getKind() == ElementKind.CLASS || type.getKind() == ElementKind.INTERFACE || type.getKind() == ElementKind.ENUM) {
+			final String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+			boolean indexed = false;
+			if (isSubtype(type, dbRow)) {
+				dbRows.add(binaryName);
+				indexed = true;
+				if (isRequiredTable(type)) {
+					requiredTables.add(binaryName);
+				}
+			}
+			if (isSubtype(type, dbDatabase)) {
+				databases.add(binaryName);
+				indexed = true;
+			}
+			if (indexed) {
+				originatingElements.add(type);
+			}
+		}
+		for (TypeElement member : ElementFilter.typesIn(type.getEnclosedElements())) {
+			index(member, dbRow, dbDatabase);
+		}
+	}
+
+	private boolean isSubtype(TypeElement type, TypeElement superType) {
+		final Types types = processingEnv.getTypeUtils();
+		return !type.equals(superType) && types.isSubtype(types.erasure(type.asType()), types.erasure(superType.asType()));
+	}
+
+	private boolean isRequiredTable(TypeElement type) {
+		for (AnnotationMirror annotation : type.getAnnotationMirrors()) {
+			if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(REQUIRED_TABLE)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void writeIndex(String resourceName, Set<String> classNames) {
+		if (classNames.isEmpty()) {
+			return;
+		}
+		try {
+			FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", resourceName, originatingElements.toArray(new Element[0]));
+			try (Writer writer = new OutputStreamWriter(resource.openOutputStream(), StandardCharsets.UTF_8)) {
+				for (String className : classNames) {
+					writer.write(className);
+					writer.write("\n");
+				}
+			}
+		} catch (IOException ex) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Unable to write DBvolution index " + resourceName + ": " + ex.getMessage());
+		}
+	}
+}
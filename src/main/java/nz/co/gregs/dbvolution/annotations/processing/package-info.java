@@ -0,0 +1,10 @@
+/**
+ * Compile-Time Support For DBvolution Annotations.
+ * <p>
+ * The annotation processors in this package generate metadata for DBRow
+ * classes and an index of the DBvolution classes in a project, so they can be
+ * used without scanning them by reflection.
+ * <p>
+ * <b>Gregory Graham</b>
+ */
+package nz.co.gregs.dbvolution.annotations.processing;
@@ -0,0 +1,404 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License. 
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/ 
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ * 
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ * 
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.               
+ *     Under the following terms:
+ *                 
+ *         Attribution - 
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made. 
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial - 
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike - 
+ *             If you remix, transform, or build upon the material, 
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions - 
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the 
+ *             license permits.
+ * 
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.databases;
+
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Runs database work asynchronously for a DBDatabase.
+ *
+ * <p>
+ * Each task runs on the executor, which defaults to a virtual thread per task
+ * when the JVM supports them and to a shared pool of daemon threads otherwise,
+ * and completes the returned CompletableFuture with its result.
+ *
+ * <p>
+ * At most {@link #getConcurrencyLimit() the concurrency limit} tasks run at the
+ * same time, so asynchronous callers can not use up all the connections of the
+ * database. The rest are queued and only handed to the executor when a running
+ * task finishes, so waiting tasks do not occupy threads. The limit defaults to
+ * the maximum size of the database's connection pool.
+ *
+ * <p>
+ * Cancelling a returned future, or completing it with a TimeoutException using
+ * {@link CompletableFuture#orTimeout(long, java.util.concurrent.TimeUnit) },
+ * cancels the statements the task is executing using
+ * {@link DBStatement#cancel() }, and any further statements it tries to execute
+ * will fail.
+ *
+ * @author Gregory Graham
+ */
+public class DBAsyncExecutor {
+
+	private static final Log LOG = LogFactory.getLog(DBAsyncExecutor.class);
+
+	private static final ThreadLocal<Execution> CURRENT_EXECUTION = new ThreadLocal<>();
+	private static volatile Executor defaultExecutor = null;
+
+	private volatile Executor executor;
+	private int concurrencyLimit;
+	private int runningCount = 0;
+	private final Deque<Task<?>> waiting = new ArrayDeque<>();
+
+	/**
+	 * Creates an executor with the default executor and the concurrency limit
+	 * supplied.
+	 *
+	 * @param concurrencyLimit the maximum number of tasks to run at the same time
+	 */
+	public DBAsyncExecutor(int concurrencyLimit) {
+		this(getDefaultExecutor(), concurrencyLimit);
+	}
+
+	/**
+	 * Creates an executor that runs tasks on the executor supplied.
+	 *
+	 * @param executor the executor to run tasks on
+	 * @param concurrencyLimit the maximum number of tasks to run at the same time
+	 */
+	public DBAsyncExecutor(Executor executor, int concurrencyLimit) {
+		this.executor = executor;
+		this.concurrencyLimit = Math.max(1, concurrencyLimit);
+	}
+
+	/**
+	 * The executor used when none has been supplied.
+	 *
+	 * <p>
+	 * Uses a virtual thread per task when the JVM provides
+	 * {@code Executors.newVirtualThreadPerTaskExecutor()} and a shared cached
+	 * pool of daemon threads otherwise.
+	 *
+	 * @return the default executor
+	 */
+	public static Executor getDefaultExecutor() {
+		if (defaultExecutor == null) {
+			synchronized (DBAsyncExecutor.class) {
+				if (defaultExecutor == null) {
+					defaultExecutor = createDefaultExecutor();
+				}
+			}
+		}
+		return defaultExecutor;
+	}
+
+	private static Executor createDefaultExecutor() {
+		try {
+			Method virtualThreads = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) virtualThreads.invoke(null);
+		} catch (ReflectiveOperationException | RuntimeException ex) {
+			LOG.debug("Virtual threads are not available, using a cached thread pool for asynchronous queries");
+			final AtomicInteger threadCount = new AtomicInteger(0);
+			return Executors.newCachedThreadPool((runnable) -> {
+				Thread thread = new Thread(runnable, "DBvolution-async-" + threadCount.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+	}
+
+	/**
+	 * The executor that runs the tasks.
+	 *
+	 * @return the executor
+	 */
+	public Executor getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * Changes the executor used for future tasks.
+	 *
+	 * @param executor the executor to run tasks on, or null to use the default
+	 * @return this DBAsyncExecutor
+	 */
+	public DBAsyncExecutor setExecutor(Executor executor) {
+		this.executor = executor == null ? getDefaultExecutor() : executor;
+		return this;
+	}
+
+	/**
+	 * The maximum number of tasks that may run at the same time.
+	 *
+	 * @return the concurrency limit
+	 */
+	public synchronized int getConcurrencyLimit() {
+		return concurrencyLimit;
+	}
+
+	/**
+	 * Changes the maximum number of tasks that may run at the same time.
+	 *
+	 * <p>
+	 * Running tasks are not affected. Raising the limit starts waiting tasks
+	 * immediately, lowering it holds them until fewer than the new limit are
+	 * running.
+	 *
+	 * @param concurrencyLimit the new limit, at least 1
+	 * @return this DBAsyncExecutor
+	 */
+	public DBAsyncExecutor setConcurrencyLimit(int concurrencyLimit) {
+		final List<Task<?>> ready;
+		synchronized (this) {
+			this.concurrencyLimit = Math.max(1, concurrencyLimit);
+			ready = takeReadyTasks();
+		}
+		dispatch(ready);
+		return this;
+	}
+
+	/**
+	 * The number of tasks currently running.
+	 *
+	 * @return the number of running tasks
+	 */
+	public synchronized int getRunningCount() {
+		return runningCount;
+	}
+
+	/**
+	 * Runs the task asynchronously.
+	 *
+	 * <p>
+	 * The future completes with the task's result or exceptionally with the
+	 * exception it throws. Cancelling the future cancels any statement the task
+	 * is executing.
+	 *
+	 * @param <T> the type of the task's result
+	 * @param task the database work to run
+	 * @return a future for the result of the task
+	 */
+	public <T> CompletableFuture<T> submit(Callable<T> task) {
+		final Task<T> work = new Task<>(task);
+		final boolean start;
+		synchronized (this) {
+			start = runningCount < concurrencyLimit;
+			if (start) {
+				runningCount++;
+			} else {
+				waiting.add(work);
+			}
+		}
+		if (start) {
+			dispatch(work);
+		}
+		return work.result;
+	}
+
+	/**
+	 * Removes the waiting tasks that can start now, counting them as running.
+	 *
+	 * @return the tasks to dispatch
+	 */
+	private List<Task<?>> takeReadyTasks() {
+		List<Task<?>> ready = new ArrayList<>();
+		while (runningCount < concurrencyLimit && !waiting.isEmpty()) {
+			final Task<?> task = waiting.poll();
+			if (!task.result.isDone()) {
+				runningCount++;
+				ready.add(task);
+			}
+		}
+		return ready;
+	}
+
+	private void dispatch(List<Task<?>> tasks) {
+		for (Task<?> task : tasks) {
+			dispatch(task);
+		}
+	}
+
+	private void dispatch(Task<?> task) {
+		try {
+			executor.execute(task);
+		} catch (RejectedExecutionException ex) {
+			task.result.completeExceptionally(ex);
+			taskFinished();
+		}
+	}
+
+	private void taskFinished() {
+		final List<Task<?>> ready;
+		synchronized (this) {
+			runningCount--;
+			ready = takeReadyTasks();
+		}
+		dispatch(ready);
+	}
+
+	/**
+	 * A task submitted to the executor and the future for its result.
+	 *
+	 * @param <T> the type of the task's result
+	 */
+	private class Task<T> implements Runnable {
+
+		private final Callable<T> callable;
+		private final Execution execution = new Execution();
+		private final AsyncResult<T> result = new AsyncResult<>(execution);
+
+		Task(Callable<T> callable) {
+			this.callable = callable;
+		}
+
+		@Override
+		public void run() {
+			T value = null;
+			Throwable failure = null;
+			try {
+				if (!result.isDone()) {
+					final Execution previous = CURRENT_EXECUTION.get();
+					CURRENT_EXECUTION.set(execution);
+					try {
+						value = callable.call();
+					} finally {
+						if (previous == null) {
+							CURRENT_EXECUTION.remove();
+						} else {
+							CURRENT_EXECUTION.set(previous);
+						}
+					}
+				}
+			} catch (Throwable ex) {
+				failure = ex;
+			} finally {
+				taskFinished();
+			}
+			// complete after finishing the task so dependent stages can start
+			if (failure != null) {
+				result.completeExceptionally(failure);
+			} else {
+				result.complete(value);
+			}
+		}
+	}
+
+	/**
+	 * Records that the statement is executing on this thread so that it can be
+	 * cancelled with the asynchronous task that is running it.
+	 *
+	 * @param statement the statement about to execute
+	 * @throws SQLException if the asynchronous task has been cancelled
+	 */
+	static void statementStarted(DBStatement statement) throws SQLException {
+		final Execution execution = CURRENT_EXECUTION.get();
+		if (execution != null) {
+			execution.add(statement);
+		}
+	}
+
+	/**
+	 * Records that the statement has finished executing on this thread.
+	 *
+	 * @param statement the statement that has finished
+	 */
+	static void statementFinished(DBStatement statement) {
+		final Execution execution = CURRENT_EXECUTION.get();
+		if (execution != null) {
+			execution.remove(statement);
+		}
+	}
+
+	private static class Execution {
+
+		private final Set<DBStatement> statements = Collections.newSetFromMap(new IdentityHashMap<>());
+		private boolean cancelled = false;
+
+		synchronized void add(DBStatement statement) throws SQLException {
+			if (cancelled) {
+				throw new SQLException("Asynchronous execution was cancelled");
+			}
+			statements.add(statement);
+		}
+
+		synchronized void remove(DBStatement statement) {
+			statements.remove(statement);
+		}
+
+		void cancel() {
+			final DBStatement[] running;
+			synchronized (this) {
+				cancelled = true;
+				running = statements.toArray(new DBStatement[]{});
+			}
+			for (DBStatement statement : running) {
+				try {
+					statement.cancel();
+				} catch (SQLException ex) {
+					LOG.debug("Unable to cancel statement: " + ex.getMessage(), ex);
+				}
+			}
+		}
+	}
+
+	private static class AsyncResult<T> extends CompletableFuture<T> {
+
+		private final Execution execution;
+
+		AsyncResult(Execution execution) {
+			this.execution = execution;
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			final boolean cancelled = super.cancel(mayInterruptIfRunning);
+			if (cancelled) {
+				execution.cancel();
+			}
+			return cancelled;
+		}
+
+		@Override
+		public boolean completeExceptionally(Throwable ex) {
+			if (ex instanceof CancellationException || ex instanceof TimeoutException) {
+				execution.cancel();
+			}
+			return super.completeExceptionally(ex);
+		}
+	}
+}
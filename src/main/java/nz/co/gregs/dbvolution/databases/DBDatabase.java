@@ -42,6 +42,8 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import javax.sql.DataSource;
 import nz.co.gregs.dbvolution.*;
 import nz.co.gregs.dbvolution.actions.DBAction;
@@ -147,6 +149,28 @@ public interface DBDatabase extends Serializable {
 
 	public DBActionList executeDBAction(DBAction action) throws SQLException, NoAvailableDatabaseException;
 
+	/**
+	 * Executes all the actions in order.
+	 *
+	 * <p>
+	 * Implementations may combine consecutive actions into JDBC batches when
+	 * {@link #batchSQLStatementsWhenPossible() } is TRUE, using at most
+	 * {@link #getBatchSize() } actions in each batch.
+	 *
+	 * @param actions the actions to execute
+	 * @return the actions performed, suitable for reverting the changes
+	 * @throws SQLException database errors
+	 * @throws NoAvailableDatabaseException no database is available to execute
+	 * the actions
+	 */
+	public default DBActionList executeDBActions(DBActionList actions) throws SQLException, NoAvailableDatabaseException {
+		DBActionList executed = new DBActionList();
+		for (DBAction action : actions) {
+			executed.addAll(executeDBAction(action));
+		}
+		return executed;
+	}
+
 	public void handleErrorDuringExecutingSQL(DBDatabase suspectDatabase, Throwable sqlException, String sqlString);
 
 	void deleteAllRowsFromTable(DBRow table) throws SQLException;
@@ -277,6 +301,58 @@ public interface DBDatabase extends Serializable {
 	 */
 	boolean batchSQLStatementsWhenPossible();
 
+	/**
+	 * Returns the maximum number of actions that will be combined into a single
+	 * JDBC batch.
+	 *
+	 * @return the maximum number of actions in a batch
+	 */
+	default int getBatchSize() {
+		return 500;
+	}
+
+	/**
+	 * Sets the maximum number of actions that will be combined into a single
+	 * JDBC batch.
+	 *
+	 * <p>
+	 * A batch size of 1 or less disables batching of actions.
+	 *
+	 * @param batchSize the maximum number of actions in a batch
+	 */
+	default void setBatchSize(int batchSize) {
+	}
+
+	/**
+	 * Sets whether this DBDatabase will execute SQL using bind parameters.
+	 *
+	 * <p>
+	 * Normally DBvolution includes all values in the SQL as literals. With bind
+	 * parameters enabled the values of conditions, inserts, and updates are
+	 * replaced with "?" and the SQL is executed as a PreparedStatement. This
+	 * allows the database to reuse the query plan for every execution with
+	 * the same shape.
+	 *
+	 * <p>
+	 * Only strings and numbers are bound, other types and all values in the
+	 * SELECT, GROUP BY, and ORDER BY clauses remain literal. SQL produced for
+	 * display, for instance by {@link #getSQLForDBQuery(nz.co.gregs.dbvolution.actions.DBQueryable)
+	 * }, always contains literal values.
+	 *
+	 * @param bindParametersWhenPossible TRUE if this instance will try to use
+	 * bind parameters, FALSE otherwise
+	 */
+	void setBindParametersWhenPossible(boolean bindParametersWhenPossible);
+
+	/**
+	 * Returns whether this DBDatabase will execute SQL using bind parameters.
+	 *
+	 * @return TRUE if this instance will try to use bind parameters, FALSE
+	 * otherwise
+	 * @see #setBindParametersWhenPossible(boolean)
+	 */
+	boolean getBindParametersWhenPossible();
+
 	/**
 	 * Returns whether or not the example has any specified criteria.See
 	 * {@link DBRow#willCreateBlankQuery(nz.co.gregs.dbvolution.databases.definitions.DBDefinition) willCreateBlankQuery}
@@ -554,7 +630,12 @@ public interface DBDatabase extends Serializable {
 
 	/**
 	 *
-	 * Inserts DBRows and Lists of DBRows into the correct tables automatically
+	 * Inserts DBRows and Lists of DBRows into the correct tables automatically,
+	 * updating any rows that already exist.
+	 *
+	 * <p>
+	 * Where the database supports it the rows are saved using multi-row upsert
+	 * statements, see {@link nz.co.gregs.dbvolution.actions.DBUpsert}.
 	 *
 	 * @param listOfRowsToInsert a List of DBRows
 	 * @return a DBActionList of all the actions performed
@@ -729,6 +810,13 @@ public interface DBDatabase extends Serializable {
 	 * <p>
 	 * Otherwise the transaction is committed and changes are made permanent
 	 *
+	 * <p>
+	 * Each transaction uses its own connection, so several threads can run
+	 * transactions on the same DBDatabase at the same time. While the transaction
+	 * is running, work done on the calling thread with this DBDatabase is part of
+	 * the transaction, as is all work done with the DBDatabase supplied to the
+	 * DBTransaction.
+	 *
 	 * @param <V> the return type of the transaction
 	 * @param dbTransaction the transaction to execute
 	 * @return the object returned by the transaction
@@ -1199,6 +1287,136 @@ public interface DBDatabase extends Serializable {
 		return dbTable.count();
 	}
 
+	/**
+	 * The executor used by the asynchronous methods of this database.
+	 *
+	 * <p>
+	 * Use it to change the executor or the number of asynchronous tasks that
+	 * may use the database at the same time.
+	 *
+	 * @return the asynchronous executor for this database
+	 */
+	DBAsyncExecutor getAsyncExecutor();
+
+	/**
+	 * Runs the database work asynchronously.
+	 *
+	 * <p>
+	 * The work runs on the {@link #getAsyncExecutor() asynchronous executor} and
+	 * is limited by its concurrency limit. Cancelling the returned future cancels
+	 * any statement the work is executing.
+	 *
+	 * @param <T> the type of the result
+	 * @param work the database work to run
+	 * @return a future for the result of the work
+	 */
+	default <T> CompletableFuture<T> async(Callable<T> work) {
+		return getAsyncExecutor().submit(work);
+	}
+
+	/**
+	 * Asynchronous version of {@link #get(nz.co.gregs.dbvolution.DBRow) }.
+	 *
+	 * @param <R> the table affected
+	 * @param exampleRow the example
+	 * @return a future for the list of the selected rows
+	 */
+	default <R extends DBRow> CompletableFuture<List<R>> getAsync(R exampleRow) {
+		return async(() -> get(exampleRow));
+	}
+
+	/**
+	 * Asynchronous version of
+	 * {@link #get(nz.co.gregs.dbvolution.DBRow, nz.co.gregs.dbvolution.DBRow...) }.
+	 *
+	 * @param row the first table to query
+	 * @param rows the other tables to query
+	 * @return a future for the list of DBQueryRows
+	 */
+	default CompletableFuture<List<DBQueryRow>> getAsync(DBRow row, DBRow... rows) {
+		return async(() -> get(row, rows));
+	}
+
+	/**
+	 * Asynchronous version of
+	 * {@link #getAllRows(nz.co.gregs.dbvolution.DBReport, nz.co.gregs.dbvolution.DBRow...) }.
+	 *
+	 * @param <A> DBReport type
+	 * @param report report
+	 * @param examples examples
+	 * @return a future for the list of report rows
+	 */
+	default <A extends DBReport> CompletableFuture<List<A>> getAllRowsAsync(A report, DBRow... examples) {
+		return async(() -> getAllRows(report, examples));
+	}
+
+	/**
+	 * Asynchronous version of {@link #getCount(nz.co.gregs.dbvolution.DBRow) }.
+	 *
+	 * @param <R> the table affected
+	 * @param exampleRow the example
+	 * @return a future for the number of matching rows
+	 */
+	default <R extends DBRow> CompletableFuture<Long> countAsync(R exampleRow) {
+		return async(() -> getCount(exampleRow));
+	}
+
+	/**
+	 * Asynchronous version of {@link #insert(nz.co.gregs.dbvolution.DBRow...) }.
+	 *
+	 * @param rows the rows to insert
+	 * @return a future for the actions performed
+	 */
+	default CompletableFuture<DBActionList> insertAsync(DBRow... rows) {
+		return async(() -> insert(rows));
+	}
+
+	/**
+	 * Asynchronous version of {@link #update(nz.co.gregs.dbvolution.DBRow...) }.
+	 *
+	 * @param rows the rows to update
+	 * @return a future for the actions performed
+	 */
+	default CompletableFuture<DBActionList> updateAsync(DBRow... rows) {
+		return async(() -> update(rows));
+	}
+
+	/**
+	 * Asynchronous version of {@link #delete(nz.co.gregs.dbvolution.DBRow...) }.
+	 *
+	 * @param rows the rows to delete
+	 * @return a future for the actions performed
+	 */
+	default CompletableFuture<DBActionList> deleteAsync(DBRow... rows) {
+		return async(() -> delete(rows));
+	}
+
+	/**
+	 * Asynchronous version of
+	 * {@link #executeDBQuery(nz.co.gregs.dbvolution.actions.DBQueryable) }.
+	 *
+	 * @param query the query to execute
+	 * @return a future for the executed query
+	 */
+	default CompletableFuture<DBQueryable> executeDBQueryAsync(DBQueryable query) {
+		return async(() -> executeDBQuery(query));
+	}
+
+	/**
+	 * Asynchronous version of
+	 * {@link #doTransaction(nz.co.gregs.dbvolution.transactions.DBTransaction) }.
+	 *
+	 * <p>
+	 * The whole transaction runs on one thread of the asynchronous executor.
+	 *
+	 * @param <V> the return type of the transaction
+	 * @param dbTransaction the transaction to perform
+	 * @return a future for the result of the transaction
+	 */
+	default <V> CompletableFuture<V> doTransactionAsync(DBTransaction<V> dbTransaction) {
+		return async(() -> doTransaction(dbTransaction));
+	}
+
 	void setPreventAccidentalDeletingAllRowsFromTable(boolean b);
 
 	public DBDatabaseMetaData getDBDatabaseMetaData(Options options) throws SQLException;
@@ -54,6 +54,10 @@ import nz.co.gregs.dbvolution.databases.settingsbuilders.SettingsBuilder;
 import nz.co.gregs.dbvolution.exceptions.*;
 import nz.co.gregs.dbvolution.transactions.DBTransaction;
 import nz.co.gregs.dbvolution.internal.database.ClusterCleanupActions;
+import nz.co.gregs.dbvolution.internal.database.MemberStatistics;
+import nz.co.gregs.dbvolution.internal.database.ReadHedging;
+import nz.co.gregs.dbvolution.internal.database.ReadRoutingStrategy;
+import nz.co.gregs.dbvolution.internal.database.SynchronisationProgress;
 import nz.co.gregs.dbvolution.internal.query.StatementDetails;
 import nz.co.gregs.dbvolution.utility.RegularProcess;
 import org.apache.commons.logging.Log;
@@ -108,6 +112,7 @@ public class DBDatabaseCluster extends DBDatabaseImplementation {
 	private boolean startupIsNeeded = true;
 	private boolean failOnQuarantine = false;
 	private boolean hasQuarantined = false;
+	private transient volatile ReadHedging readHedging = null;
 
 	public DBDatabaseCluster(DBDatabaseClusterSettingsBuilder builder) throws SQLException {
 		super(builder);
@@ -673,7 +678,10 @@ public class DBDatabaseCluster extends DBDatabaseImplementation {
 	}
 
 	/**
-	 * Returns a single random database that is ready for queries
+	 * Returns a single database that is ready for queries.
+	 *
+	 * <p>
+	 * The database is chosen by the cluster's {@link ReadRoutingStrategy}.
 	 *
 	 * @return a ready database
 	 * @throws nz.co.gregs.dbvolution.exceptions.NoAvailableDatabaseException the
@@ -684,6 +692,117 @@ public class DBDatabaseCluster extends DBDatabaseImplementation {
 		return ready;
 	}
 
+	/**
+	 * Sets the strategy used to choose which member runs each query.
+	 *
+	 * <p>
+	 * By default members are chosen at random, use
+	 * {@link ReadRoutingStrategy#leastOutstandingRequests() }, {@link ReadRoutingStrategy#latencyWeighted()
+	 * }, {@link ReadRoutingStrategy#powerOfTwoChoices() }, or
+	 * {@link ReadRoutingStrategy#preferLocal(nz.co.gregs.dbvolution.internal.database.ReadRoutingStrategy)
+	 * } to favour the faster members of a mixed cluster.
+	 *
+	 * <p>
+	 * A preferred database, if set, is always used before the strategy.
+	 *
+	 * @param strategy the read routing strategy, or null for random routing
+	 */
+	public void setReadRoutingStrategy(ReadRoutingStrategy strategy) {
+		getDetails().setReadRoutingStrategy(strategy);
+	}
+
+	/**
+	 * Returns the strategy used to choose which member runs each query.
+	 *
+	 * @return the read routing strategy
+	 */
+	public ReadRoutingStrategy getReadRoutingStrategy() {
+		return getDetails().getReadRoutingStrategy();
+	}
+
+	/**
+	 * Returns the load and latency of the queries the cluster has sent to the
+	 * member.
+	 *
+	 * @param database a member of the cluster
+	 * @return the statistics for the member
+	 */
+	public MemberStatistics getMemberStatistics(DBDatabase database) {
+		return getDetails().getMemberStatistics(database);
+	}
+
+	/**
+	 * Returns the progress of the latest synchronisation of the member.
+	 *
+	 * <p>
+	 * If the synchronisation failed and the cluster has not changed since, the
+	 * next synchronisation of the member resumes from the tables already
+	 * copied.
+	 *
+	 * @param database a member of the cluster
+	 * @return the synchronisation progress, or null if the member has not been
+	 * synchronised
+	 */
+	public SynchronisationProgress getSynchronisationProgress(DBDatabase database) {
+		return getDetails().getSynchronisationProgress(database);
+	}
+
+	/**
+	 * Sets the number of rows read from the template and inserted into the new
+	 * member at a time during synchronisation.
+	 *
+	 * <p>
+	 * Only one chunk of each table is held in memory, so large tables can be
+	 * synchronised without running out of memory.
+	 *
+	 * @param rows the number of rows in each chunk
+	 */
+	public void setSynchronisationChunkSize(int rows) {
+		getDetails().setSynchronisationChunkSize(rows);
+	}
+
+	/**
+	 * Sets the maximum number of tables copied at the same time during
+	 * synchronisation.
+	 *
+	 * <p>
+	 * Tables are always copied after the tables they reference, and clusters
+	 * including databases that do not support concurrent connections copy one
+	 * table at a time.
+	 *
+	 * @param tables the number of tables to copy in parallel
+	 */
+	public void setSynchronisationParallelism(int tables) {
+		getDetails().setSynchronisationParallelism(tables);
+	}
+
+	/**
+	 * Sets the hedging used for slow reads.
+	 *
+	 * <p>
+	 * With hedging enabled, a query that takes longer than most recent queries
+	 * is also sent to a second ready member and the first results to arrive are
+	 * used. This reduces the effect of a slow member on the response time of
+	 * the cluster at the cost of a little extra load.
+	 *
+	 * <p>
+	 * Queries within transactions are never hedged.
+	 *
+	 * @param hedging the hedging to use, or null to disable hedging
+	 */
+	public void setReadHedging(ReadHedging hedging) {
+		this.readHedging = hedging;
+	}
+
+	/**
+	 * Returns the hedging used for slow reads.
+	 *
+	 * @return the read hedging, or null if reads are not hedged
+	 */
+	public ReadHedging getReadHedging() {
+		return readHedging;
+	}
+
 	@Override
 	public ResponseToException addFeatureToFixException(Exception exp, QueryIntention intent, StatementDetails details) throws Exception {
 		throw new UnsupportedOperationException("DBDatabaseCluster.addFeatureToFixException(Exception) should not be called");
@@ -726,6 +845,15 @@ public class DBDatabaseCluster extends DBDatabaseImplementation {
 		}
 	}
 
+	@Override
+	public synchronized void setBindParametersWhenPossible(boolean bindParametersWhenPossible) {
+		super.setBindParametersWhenPossible(bindParametersWhenPossible);
+		DBDatabase[] dbs = getDetails().getReadyDatabases();
+		for (DBDatabase next : dbs) {
+			next.setBindParametersWhenPossible(bindParametersWhenPossible);
+		}
+	}
+
 	@Override
 	public synchronized boolean batchSQLStatementsWhenPossible() {
 		super.batchSQLStatementsWhenPossible();
@@ -974,6 +1102,27 @@ public class DBDatabaseCluster extends DBDatabaseImplementation {
 		return new DBActionList();
 	}
 
+	/**
+	 * Executes the actions one at a time on every member of the cluster.
+	 *
+	 * <p>
+	 * Each action is executed on the cluster members separately so that the
+	 * action queue and the member databases stay in step.
+	 *
+	 * @param actions the actions to execute
+	 * @return the actions performed
+	 * @throws SQLException database errors
+	 * @throws NoAvailableDatabaseException no database is available
+	 */
+	@Override
+	public DBActionList executeDBActions(DBActionList actions) throws SQLException, NoAvailableDatabaseException {
+		DBActionList executed = new DBActionList();
+		for (DBAction action : actions) {
+			executed.addAll(executeDBAction(action));
+		}
+		return executed;
+	}
+
 	private synchronized DBActionList executeDBActionOnClusterMembers(DBAction action) throws NoAvailableDatabaseException, SQLException {
 		LOG.debug("EXECUTING ACTION: " + action.getSQLStatements(this));
 		addActionToQueue(action);
@@ -1044,13 +1193,13 @@ public class DBDatabaseCluster extends DBDatabaseImplementation {
 			// set oracle compatibility 
 			query.setReturnEmptyStringForNullString(query.getReturnEmptyStringForNullString() || !workingDB.getDefinition().canProduceNullStrings());
 			// hand the job down to the next layer
-			return workingDB.executeDBQuery(query);
+			return executeDBQueryOnMember(workingDB, query);
 		} catch (AccidentalBlankQueryException | AccidentalCartesianJoinException | NoAvailableDatabaseException errorWithTheQueryException) {
 			throw errorWithTheQueryException;
 		} catch (SQLException e) {
 			advice = handleExceptionDuringQuery(e, workingDB);
 			if (advice.equals(HandlerAdvice.REQUERY) && requeryPermitted()) {
-				return workingDB.executeDBQuery(query);
+				return executeDBQueryOnMember(workingDB, query);
 			} else {
 				getDetails().quarantineDatabaseAutomatically(workingDB, e);
 				throw e;
@@ -1058,6 +1207,36 @@ public class DBDatabaseCluster extends DBDatabaseImplementation {
 		}
 	}
 
+	private DBQueryable executeDBQueryOnMember(DBDatabase member, DBQueryable query) throws SQLException {
+		final MemberStatistics statistics = getDetails().getMemberStatistics(member);
+		final long started = statistics.queryStarted();
+		boolean succeeded = false;
+		try {
+			final DBQueryable result;
+			if (isHedgingPermitted(member)) {
+				query.setReadHedge(readHedging.hedge(getDetails(), member));
+				try {
+					result = member.executeDBQuery(query);
+				} finally {
+					query.setReadHedge(null);
+				}
+			} else {
+				result = member.executeDBQuery(query);
+			}
+			succeeded = true;
+			return result;
+		} finally {
+			statistics.queryFinished(started, succeeded);
+		}
+	}
+
+	private boolean isHedgingPermitted(DBDatabase member) {
+		return readHedging != null
+				&& !(member instanceof DBDatabaseCluster)
+				&& getCurrentThreadTransaction() == null
+				&& !(member instanceof DBDatabaseImplementation && ((DBDatabaseImplementation) member).getCurrentThreadTransaction() != null);
+	}
+
 	@Override
 	public void handleErrorDuringExecutingSQL(DBDatabase suspectDatabase, Throwable sqlException, String sqlString) {
 		getDetails().quarantineDatabaseAutomatically(suspectDatabase, sqlException);
@@ -1180,10 +1359,7 @@ public class DBDatabaseCluster extends DBDatabaseImplementation {
 	}
 
 	private void addActionToQueue(DBAction action) {
-		for (DBDatabase db : getDetails().getAllDatabases()) {
-			Queue<DBAction> queue = getDetails().getActionQueue(db);
-			queue.add(action);
-		}
+		getDetails().queueAction(action);
 	}
 
 	private void removeActionFromQueue(DBAction action) {
@@ -1278,7 +1454,17 @@ public class DBDatabaseCluster extends DBDatabaseImplementation {
 			result.append(this.getDatabaseStatus(db).name())
 					.append(": ")
 					.append(db.getSettings().toString().replaceAll("DATABASECONNECTIONSETTINGS: ", ""))
-					.append("\n");
+					.append(" ")
+					.append(getDetails().getMemberStatistics(db));
+			final SynchronisationProgress progress = getDetails().getSynchronisationProgress(db);
+			if (progress != null && !progress.isFinished()) {
+				result.append(" ").append(progress);
+			}
+			result.append("\n");
+		}
+		final ReadHedging hedging = readHedging;
+		if (hedging != null) {
+			result.append(hedging).append("\n");
 		}
 		return result.toString();
 	}
@@ -315,6 +315,11 @@ public class DBDatabaseHandle implements DBDatabase {
 		return wrappedDatabase.doTransaction(dbTransaction);
 	}
 
+	@Override
+	public DBAsyncExecutor getAsyncExecutor() {
+		return wrappedDatabase.getAsyncExecutor();
+	}
+
 	@Override
 	public <V> V doTransaction(DBTransaction<V> dbTransaction, Boolean commit) throws SQLException, ExceptionThrownDuringTransaction {
 		return wrappedDatabase.doTransaction(dbTransaction, commit);
@@ -375,11 +380,31 @@ public class DBDatabaseHandle implements DBDatabase {
 		return wrappedDatabase.getBatchSQLStatementsWhenPossible();
 	}
 
+	@Override
+	public void setBindParametersWhenPossible(boolean bindParametersWhenPossible) {
+		wrappedDatabase.setBindParametersWhenPossible(bindParametersWhenPossible);
+	}
+
+	@Override
+	public boolean getBindParametersWhenPossible() {
+		return wrappedDatabase.getBindParametersWhenPossible();
+	}
+
 	@Override
 	public boolean batchSQLStatementsWhenPossible() {
 		return wrappedDatabase.batchSQLStatementsWhenPossible();
 	}
 
+	@Override
+	public int getBatchSize() {
+		return wrappedDatabase.getBatchSize();
+	}
+
+	@Override
+	public void setBatchSize(int batchSize) {
+		wrappedDatabase.setBatchSize(batchSize);
+	}
+
 	@Override
 	public boolean willCreateBlankQuery(DBRow row) throws NoAvailableDatabaseException {
 		return wrappedDatabase.willCreateBlankQuery(row);
@@ -663,6 +688,11 @@ public class DBDatabaseHandle implements DBDatabase {
 		return wrappedDatabase.executeDBAction(action);
 	}
 
+	@Override
+	public DBActionList executeDBActions(DBActionList actions) throws SQLException, NoAvailableDatabaseException {
+		return wrappedDatabase.executeDBActions(actions);
+	}
+
 	@Override
 	public synchronized DBDefinition getDefinition() throws NoAvailableDatabaseException {
 		return wrappedDatabase.getDefinition();
@@ -15,6 +15,7 @@
  */
 package nz.co.gregs.dbvolution.databases;
 
+import nz.co.gregs.dbvolution.databases.connections.PreparedStatementCache;
 import nz.co.gregs.dbvolution.exceptions.ExceptionDuringDatabaseFeatureSetup;
 import nz.co.gregs.dbvolution.actions.DBBulkInsert;
 import nz.co.gregs.dbvolution.exceptions.UnableToDropDatabaseException;
@@ -28,10 +29,13 @@ import java.sql.*;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.sql.DataSource;
@@ -46,6 +50,7 @@ import nz.co.gregs.dbvolution.DBTable;
 import nz.co.gregs.dbvolution.actions.*;
 import nz.co.gregs.dbvolution.columns.ColumnProvider;
 import nz.co.gregs.dbvolution.databases.connections.DBConnection;
+import nz.co.gregs.dbvolution.databases.connections.DBConnectionPool;
 import nz.co.gregs.dbvolution.databases.connections.DBConnectionSingle;
 import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
 import nz.co.gregs.dbvolution.databases.metadata.DBDatabaseMetaData;
@@ -84,6 +89,16 @@ import nz.co.gregs.dbvolution.utility.StringCheck;
  * Very few programmers will need to construct an actual DBDatabase as the
  * subclasses provide most of the required details for connecting to databases.
  *
+ * <p>
+ * Connections are taken from a {@link DBConnectionPool connection pool}
+ * that is shared by every DBDatabase with the same connection settings,
+ * including the copies used for transactions. By default the pool allows at
+ * most 100 connections to be in use at once and a thread that needs another
+ * connection waits up to 30 seconds for one to be released before an
+ * SQLTransientConnectionException is thrown. Use
+ * {@link #setConnectionPoolConfiguration(nz.co.gregs.dbvolution.databases.connections.DBConnectionPool.Configuration) }
+ * to change the limits.
+ *
  * @author Gregory Graham
  */
 public abstract class DBDatabaseImplementation implements DBDatabase, Serializable, Cloneable, AutoCloseable {
@@ -91,22 +106,36 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	private static final long serialVersionUID = 1l;
 	static final private Log LOG = LogFactory.getLog(DBDatabaseImplementation.class);
 
-	private String driverName = "";
-	private boolean printSQLBeforeExecuting = false;
-	boolean isInATransaction = false;
+	private volatile String driverName = "";
+	private volatile boolean printSQLBeforeExecuting = false;
+	volatile boolean isInATransaction = false;
 	transient DBTransactionStatement transactionStatement;
-	private DBDefinition definition = null;
-	private boolean batchIfPossible = true;
+	private volatile DBDefinition definition = null;
+	private volatile boolean batchIfPossible = true;
+	private volatile int batchSize = 500;
+	private volatile boolean bindParametersIfPossible = false;
 	private boolean preventAccidentalDroppingOfTables = true;
 	private boolean preventAccidentalDroppingDatabase = true;
-	private transient final Object getStatementSynchronizeObject = new Object();
-	private transient final Object getConnectionSynchronizeObject = new Object();
+	/*
+	 * ReentrantLocks rather than monitors so that virtual threads blocked on
+	 * connecting to the database do not pin their carrier threads.
+	 */
+	private transient ReentrantLock getStatementLock = new ReentrantLock();
+	private transient final ReentrantLock getConnectionLock = new ReentrantLock();
+	private transient final Condition connectionRetryCondition = getConnectionLock.newCondition();
+	private transient final ReentrantLock databaseFeaturesLock = new ReentrantLock();
 	transient DBConnection transactionConnection;
-	private static final transient Map<String, List<DBConnection>> BUSY_CONNECTIONS = new HashMap<>();
-	private static final transient Map<String, List<DBConnection>> FREE_CONNECTIONS = new HashMap<>();
-	private Boolean needToAddDatabaseSpecificFeatures = true;
+	/*
+	 * The transaction the current thread is running on this database, shared
+	 * with the clones that run the transactions.
+	 */
+	private transient final ThreadLocal<DBDatabaseImplementation> currentThreadTransaction = new ThreadLocal<>();
+	private static final transient Map<String, DBConnectionPool> CONNECTION_POOLS = new ConcurrentHashMap<>();
+	private transient volatile DBConnectionPool connectionPool;
+	private transient volatile DBAsyncExecutor asyncExecutor;
+	private volatile boolean needToAddDatabaseSpecificFeatures = true;
 	private final DatabaseConnectionSettings settings = new DatabaseConnectionSettings();
-	private boolean terminated = false;
+	private volatile boolean terminated = false;
 	private transient final List<RegularProcess> REGULAR_PROCESSORS = new ArrayList<>();
 	private static final ScheduledExecutorService REGULAR_THREAD_POOL = Executors.newSingleThreadScheduledExecutor();
 	private Throwable exception = null;
@@ -147,7 +176,9 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	@Override
 	public DBDatabase clone() throws CloneNotSupportedException {
 		Object clone = super.clone();
-		DBDatabase newInstance = (DBDatabase) clone;
+		DBDatabaseImplementation newInstance = (DBDatabaseImplementation) clone;
+		// each clone has its own transaction statement so needs its own lock
+		newInstance.getStatementLock = new ReentrantLock();
 		return newInstance;
 	}
 
@@ -286,6 +317,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 			this.setDatabaseName(((NamedDatabaseCapableSettingsBuilder) suppliedSettings).getDatabaseName());
 		}
 		setDBDatabaseClassInSettings(suppliedSettings);
+		connectionPool = null;
 		createRequiredTables();
 		checkForTimezoneIssues();
 	}
@@ -310,7 +342,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 
 	@Override
 	public DBTransactionStatement getDBTransactionStatement() throws SQLException {
-		final DBStatement dbStatement = getDBStatement();
+		final DBStatement dbStatement = getDBStatementForThisDatabase();
 		if (dbStatement instanceof DBTransactionStatement) {
 			return (DBTransactionStatement) dbStatement;
 		} else {
@@ -328,28 +360,58 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 * However you will not need a DBStatement to use DBvolution. Your path lies
 	 * elsewhere.
 	 *
+	 * <p>
+	 * While the current thread is running a transaction on this database, using
+	 * {@link #doTransaction(nz.co.gregs.dbvolution.transactions.DBTransaction, java.lang.Boolean) },
+	 * the transaction's statement is returned so that work done with this
+	 * DBDatabase on that thread is part of the transaction.
+	 *
 	 * @return the DBStatement to be used: either a new one, or the current
 	 * transaction statement.
 	 * @throws java.sql.SQLException interacts with the database layer.
 	 */
 	@Override
 	public DBStatement getDBStatement() throws SQLException {
+		final DBDatabaseImplementation transaction = getCurrentThreadTransaction();
+		if (transaction != null && transaction != this) {
+			return transaction.getDBStatement();
+		}
+		return getDBStatementForThisDatabase();
+	}
+
+	/**
+	 * The transaction the current thread is running on this database, if any.
+	 *
+	 * @return the DBDatabase running the current thread's transaction, or null
+	 * if the thread is not running a transaction
+	 */
+	protected DBDatabaseImplementation getCurrentThreadTransaction() {
+		if (isInATransaction) {
+			return this;
+		}
+		return currentThreadTransaction.get();
+	}
+
+	private DBStatement getDBStatementForThisDatabase() throws SQLException {
 		DBStatement statement;
-		synchronized (getStatementSynchronizeObject) {
-			if (isInATransaction) {
+		if (isInATransaction) {
+			getStatementLock.lock();
+			try {
 				statement = this.transactionStatement;
 				if (statement.isClosed()) {
 					this.transactionStatement = new DBTransactionStatement(this, getLowLevelStatement());
 				}
 				/* TODO: this looks like it can return a closed statement unnecessarily */
-			} else {
-				statement = getLowLevelStatement();
+			} finally {
+				getStatementLock.unlock();
 			}
+		} else {
+			statement = getLowLevelStatement();
 		}
 		return statement;
 	}
 
-	protected synchronized DBStatement getLowLevelStatement() throws UnableToCreateDatabaseConnectionException, UnableToFindJDBCDriver, SQLException {
+	protected DBStatement getLowLevelStatement() throws UnableToCreateDatabaseConnectionException, UnableToFindJDBCDriver, SQLException {
 		if (!terminated) {
 			DBConnection connection = getConnection();
 			try {
@@ -383,7 +445,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 * to work with those databases.
 	 */
 	@Override
-	public synchronized DBConnection getConnection() throws UnableToCreateDatabaseConnectionException, UnableToFindJDBCDriver, SQLException {
+	public DBConnection getConnection() throws UnableToCreateDatabaseConnectionException, UnableToFindJDBCDriver, SQLException {
 		if (terminated) {
 			return null;
 		} else {
@@ -393,28 +455,17 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 			DBConnection conn = null;
 			while (conn == null) {
 				if (supportsPooledConnections()) {
-					if (FREE_CONNECTIONS.isEmpty() || getFreeConnections().isEmpty()) {
-						conn = getRawConnection();
-					} else {
-						conn = getFreeConnections().get(0);
-					}
+					conn = getConnectionPool().acquire(this::getRawConnection);
 				} else {
 					conn = getRawConnection();
 				}
-				try {
-					if (conn.isClosed()) {
-						discardConnection(conn);
-						conn = null;
-					}
-				} catch (SQLException ex) {
-					Logger.getLogger(DBDatabase.class.getName()).log(Level.FINEST, null, ex);
+				if (conn == null) {
+					return null;
 				}
 				if (connectionUsedForPersistentConnection(conn)) {
-          usedConnection(conn);
 					conn = null;
 				}
 			}
-			usedConnection(conn);
 			return conn;
 		}
 	}
@@ -426,7 +477,8 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 		if (!terminated) {
 			DBConnection connection = null;
 			int retries = 0;
-			synchronized (getConnectionSynchronizeObject) {
+			getConnectionLock.lock();
+			try {
 				if (this.getDataSource() == null) {
 					try {
 						if (getDriverName() != null && !getDriverName().isEmpty()) {
@@ -448,7 +500,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 							if (retries < MAX_CONNECTION_RETRIES) {
 								retries++;
 								try {
-									getConnectionSynchronizeObject.wait(SLEEP_BETWEEN_CONNECTION_RETRIES_MILLIS);
+									connectionRetryCondition.await(SLEEP_BETWEEN_CONNECTION_RETRIES_MILLIS, TimeUnit.MILLISECONDS);
 								} catch (InterruptedException ex) {
 									Logger.getLogger(DBDatabase.class.getName()).log(Level.SEVERE, null, ex);
 								}
@@ -464,27 +516,33 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 						throw new UnableToCreateDatabaseConnectionException(getDataSource(), noConnection);
 					}
 				}
+			} finally {
+				getConnectionLock.unlock();
 			}
-			synchronized (this) {
-				if (needToAddDatabaseSpecificFeatures) {
-					try (DBStatement createStatement = connection.createDBStatement()) {
-						try {
-							addDatabaseSpecificFeatures(createStatement.getInternalStatement());
-						} catch (ExceptionDuringDatabaseFeatureSetup exceptionDuringDBCreation) {
-							System.out.println("AN EXCEPTION OCCURRED DURING DATABASE SETUP: " + exceptionDuringDBCreation.getMessage());
+			if (needToAddDatabaseSpecificFeatures) {
+				databaseFeaturesLock.lock();
+				try {
+					if (needToAddDatabaseSpecificFeatures) {
+						try (DBStatement createStatement = connection.createDBStatement()) {
+							try {
+								addDatabaseSpecificFeatures(createStatement.getInternalStatement());
+							} catch (ExceptionDuringDatabaseFeatureSetup exceptionDuringDBCreation) {
+								System.out.println("AN EXCEPTION OCCURRED DURING DATABASE SETUP: " + exceptionDuringDBCreation.getMessage());
+							}
+							needToAddDatabaseSpecificFeatures = false;
 						}
-						needToAddDatabaseSpecificFeatures = false;
 					}
+				} finally {
+					databaseFeaturesLock.unlock();
 				}
 			}
-			getFreeConnections().add(connection);
 			return connection;
 		}
 		return null;
 	}
 
 	public DBConnection getDatabaseSpecificDBConnection(Connection connection) throws SQLException {
-		return new DBConnectionSingle(this, connection);
+		return new DBConnectionSingle(this, connection, getConnectionPoolConfiguration().getStatementCacheSize());
 	}
 
 	private final int SLEEP_BETWEEN_CONNECTION_RETRIES_MILLIS;
@@ -504,7 +562,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 			if (storedConnection == null) {
 				this.storedConnection = connection;
 				this.storedConnection.createDBStatement();
-        usedConnection(connection);
+				getConnectionPool().detach(connection);
 			}
 			if (storedConnection.equals(connection)) {
 				return true;
@@ -620,37 +678,17 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 */
 	@Override
 	public DBActionList insertOrUpdate(Collection<? extends DBRow> listOfRowsToInsert) throws SQLException {
-		DBActionList changes = new DBActionList();
-		if (listOfRowsToInsert.size() > 0) {
-			for (DBRow row : listOfRowsToInsert) {
-				changes.addAll(insertOrUpdate(row));
-			}
-		}
-		return changes;
+		return new DBUpsert(listOfRowsToInsert).upsert(this);
 	}
 
 	@Override
 	public DBActionList insertOrUpdate(DBRow row) throws SQLException {
-		DBActionList changes = new DBActionList();
-		try {
-			changes.addAll(insert(row));
-		} catch (SQLException exc1) {
-			try {
-				changes.addAll(update(row));
-			} catch (SQLException exc2) {
-				throw exc1;
-			}
-		}
-		return changes;
+		return insertOrUpdate(Arrays.asList(row));
 	}
 
 	@Override
 	public DBActionList insertOrUpdate(DBRow... rows) throws SQLException {
-		DBActionList changes = new DBActionList();
-		for (DBRow row : rows) {
-			changes.addAll(insertOrUpdate(row));
-		}
-		return changes;
+		return insertOrUpdate(Arrays.asList(rows));
 	}
 
 	/**
@@ -663,11 +701,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 */
 	@Override
 	public final DBActionList delete(DBRow... rows) throws SQLException {
-		DBActionList changes = new DBActionList();
-		for (DBRow row : rows) {
-			changes.addAll(this.getDBTable(row).delete(row));
-		}
-		return changes;
+		return delete(Arrays.asList(rows));
 	}
 
 	/**
@@ -680,13 +714,10 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 */
 	@Override
 	public final DBActionList delete(Collection<? extends DBRow> list) throws SQLException {
-		DBActionList changes = new DBActionList();
 		if (list.size() > 0) {
-			for (DBRow row : list) {
-				changes.addAll(this.getDBTable(row).delete(row));
-			}
+			return DBDelete.delete(this, list);
 		}
-		return changes;
+		return new DBActionList();
 	}
 
 	/**
@@ -909,7 +940,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 * DBDatabase#doReadOnlyTransaction(nz.co.gregs.dbvolution.transactions.DBTransaction)
 	 */
 	@Override
-	public synchronized <V> V doTransaction(DBTransaction<V> dbTransaction, Boolean commit) throws SQLException, ExceptionThrownDuringTransaction {
+	public <V> V doTransaction(DBTransaction<V> dbTransaction, Boolean commit) throws SQLException, ExceptionThrownDuringTransaction {
 		DBDatabaseImplementation db;
 		try {
 			db = (DBDatabaseImplementation) this.clone();
@@ -918,10 +949,12 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 		}
 		V returnValues = null;
 		db.transactionStatement = db.getDBTransactionStatement();
+		final DBDatabaseImplementation outerTransaction = currentThreadTransaction.get();
 		try {
 			db.isInATransaction = true;
 			db.transactionConnection = db.transactionStatement.getConnection();
 			db.transactionConnection.setAutoCommit(false);
+			currentThreadTransaction.set(db);
 			try {
 				returnValues = dbTransaction.doTransaction(db);
 				if (commit) {
@@ -942,6 +975,11 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 				throw ex;
 			}
 		} finally {
+			if (outerTransaction == null) {
+				currentThreadTransaction.remove();
+			} else {
+				currentThreadTransaction.set(outerTransaction);
+			}
 			db.isInATransaction = false;
 			db.transactionStatement.transactionFinished();
 			discardConnection(db.transactionConnection);
@@ -952,7 +990,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	}
 
 	@Override
-	public synchronized <V> IncompleteTransaction<V> doTransactionWithoutCompleting(DBTransaction<V> dbTransaction) throws SQLException, ExceptionThrownDuringTransaction {
+	public <V> IncompleteTransaction<V> doTransactionWithoutCompleting(DBTransaction<V> dbTransaction) throws SQLException, ExceptionThrownDuringTransaction {
 		DBDatabaseImplementation db;
 		try {
 			db = (DBDatabaseImplementation) this.clone();
@@ -1072,7 +1110,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 * @return the driverName
 	 */
 	@Override
-	public synchronized String getDriverName() {
+	public String getDriverName() {
 		return driverName;
 	}
 
@@ -1091,7 +1129,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 * @return the jdbcURL
 	 */
 	@Override
-	public final synchronized String getJdbcURL() {
+	public final String getJdbcURL() {
 		return getUrlFromSettings(getSettings());
 	}
 
@@ -1101,7 +1139,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 * @return the username
 	 */
 	@Override
-	final public synchronized String getUsername() {
+	final public String getUsername() {
 		return settings.getUsername();
 	}
 
@@ -1111,7 +1149,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 * @return the password
 	 */
 	@Override
-	final public synchronized String getPassword() {
+	final public String getPassword() {
 		return settings.getPassword();
 	}
 
@@ -1237,7 +1275,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	}
 
 	@Override
-	public synchronized void printSQLIfRequested(String sqlString, PrintStream out) {
+	public void printSQLIfRequested(String sqlString, PrintStream out) {
 		if (printSQLBeforeExecuting) {
 			out.println(sqlString);
 		}
@@ -1622,7 +1660,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 * @return the DBDefinition used by this DBDatabase instance
 	 */
 	@Override
-	public synchronized DBDefinition getDefinition() throws NoAvailableDatabaseException {
+	public DBDefinition getDefinition() throws NoAvailableDatabaseException {
 		return definition;
 	}
 
@@ -1708,7 +1746,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 * @return the database name
 	 */
 	@Override
-	final public synchronized String getDatabaseName() {
+	final public String getDatabaseName() {
 		return settings.getDatabaseName();
 	}
 
@@ -1719,6 +1757,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 */
 	public synchronized void setDatabaseName(String databaseName) {
 		getSettings().setDatabaseName(databaseName);
+		connectionPool = null;
 	}
 
 	/**
@@ -1765,7 +1804,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 * otherwise
 	 */
 	@Override
-	public synchronized boolean batchSQLStatementsWhenPossible() {
+	public boolean batchSQLStatementsWhenPossible() {
 		return batchIfPossible;
 	}
 
@@ -1788,8 +1827,39 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 		batchIfPossible = batchSQLStatementsWhenPossible;
 	}
 
-	public synchronized void preventAccidentalDDLDuringTransaction(DBAction action) throws AutoCommitActionDuringTransactionException {
-		if (isInATransaction && action.getIntent().isDDL()) {
+	@Override
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	@Override
+	public void setBatchSize(int batchSize) {
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Sets whether this DBDatabase will execute SQL using bind parameters.
+	 *
+	 * <p>
+	 * With bind parameters enabled the values of conditions, inserts, and
+	 * updates are replaced with "?" and the SQL is executed as a
+	 * PreparedStatement, allowing the database to reuse query plans.
+	 *
+	 * @param bindParametersWhenPossible TRUE if this instance will try to use
+	 * bind parameters, FALSE otherwise
+	 */
+	@Override
+	public synchronized void setBindParametersWhenPossible(boolean bindParametersWhenPossible) {
+		bindParametersIfPossible = bindParametersWhenPossible;
+	}
+
+	@Override
+	public boolean getBindParametersWhenPossible() {
+		return bindParametersIfPossible;
+	}
+
+	public void preventAccidentalDDLDuringTransaction(DBAction action) throws AutoCommitActionDuringTransactionException {
+		if (action.getIntent().isDDL() && getCurrentThreadTransaction() != null) {
 			throw new AutoCommitActionDuringTransactionException(action.getClass().getSimpleName());
 		}
 	}
@@ -1923,8 +1993,9 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 * @param jdbcURL the jdbcURL to set
 	 */
 	final protected synchronized void setJdbcURL(String jdbcURL) {
-		if (FREE_CONNECTIONS.isEmpty()) {
+		if (!getConnectionPool().hasConnections()) {
 			settings.setUrl(jdbcURL);
+			connectionPool = null;
 		}
 	}
 
@@ -1932,8 +2003,9 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 * @param username the username to set
 	 */
 	final protected synchronized void setUsername(String username) {
-		if (FREE_CONNECTIONS.isEmpty()) {
+		if (!getConnectionPool().hasConnections()) {
 			getSettings().setUsername(username);
+			connectionPool = null;
 		}
 	}
 
@@ -1941,8 +2013,9 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 * @param password the password to set
 	 */
 	final protected synchronized void setPassword(String password) {
-		if (FREE_CONNECTIONS.isEmpty()) {
+		if (!getConnectionPool().hasConnections()) {
 			getSettings().setPassword(password);
+			connectionPool = null;
 		}
 	}
 
@@ -1957,19 +2030,14 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 * @throws java.sql.SQLException java.sql.SQLException
 	 */
 	@Override
-	public synchronized void unusedConnection(DBConnection connection) throws SQLException {
+	public void unusedConnection(DBConnection connection) throws SQLException {
 		if (supportsPooledConnections()) {
-			getBusyConnections().remove(connection);
-			getFreeConnections().add(connection);
+			getConnectionPool().release(connection);
 		} else {
 			discardConnection(connection);
 		}
 	}
 
-	private List<DBConnection> getBusyConnections() {
-		return getConnectionList(BUSY_CONNECTIONS);
-	}
-
 	/**
 	 * Used to indicate that the DBDatabase class supports Connection Pooling.
 	 *
@@ -1984,17 +2052,6 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 		return true;
 	}
 
-	private synchronized void usedConnection(DBConnection connection) {
-		if (supportsPooledConnections()) {
-			getFreeConnections().remove(connection);
-			getBusyConnections().add(connection);
-		}
-	}
-
-	private List<DBConnection> getFreeConnections() {
-		return getConnectionList(FREE_CONNECTIONS);
-	}
-
 	/**
 	 * Removes a connection from the available pool.
 	 *
@@ -2004,27 +2061,115 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	 * @param connection the JDBC connection to be removed
 	 */
 	@Override
-	public synchronized void discardConnection(DBConnection connection) {
+	public void discardConnection(DBConnection connection) {
 		if (connection != null) {
-			getBusyConnections().remove(connection);
-			getFreeConnections().remove(connection);
-			try {
-				connection.close();
-			} catch (SQLException ex) {
-				Logger.getLogger(DBDatabase.class
-						.getName()).log(Level.WARNING, null, ex);
-			}
+			getConnectionPool().discard(connection);
 		}
 	}
 
-	private synchronized List<DBConnection> getConnectionList(Map<String, List<DBConnection>> connectionMap) {
-		final String key = this.getSettings().encode();
-		List<DBConnection> connList = connectionMap.get(key);
-		if (connList == null) {
-			connList = new ArrayList<>();
-			connectionMap.put(key, connList);
+	/**
+	 * The connection pool used by this database.
+	 *
+	 * <p>
+	 * Pools are keyed by the {@link #getSettings() connection settings}, so
+	 * every instance with the same settings, including the clones used for
+	 * transactions, shares one pool and its limits. The limits therefore apply
+	 * to all the connections made to that database by this JVM.
+	 *
+	 * @return the connection pool for this database's settings
+	 */
+	protected final DBConnectionPool getConnectionPool() {
+		DBConnectionPool pool = connectionPool;
+		if (pool == null) {
+			pool = CONNECTION_POOLS.computeIfAbsent(getSettings().encode(), key -> new DBConnectionPool());
+			connectionPool = pool;
 		}
-		return connList;
+		return pool;
+	}
+
+	/**
+	 * Changes the size limits, timeouts, and validation used by the connection
+	 * pool.
+	 *
+	 * <p>
+	 * Databases with the same connection settings share a pool so the change
+	 * affects all of them, including instances created before and after this
+	 * call. Use different settings, for instance a different username, for
+	 * databases that need separate limits.
+	 *
+	 * <p>
+	 * The default configuration allows 100 connections in use at once. When
+	 * they are all in use, getting a statement or connection blocks until one
+	 * is released, and throws SQLTransientConnectionException if none is
+	 * released within the 30 second acquire timeout. Use
+	 * {@link DBConnectionPool.Configuration#withMaximumSize(int) } and
+	 * {@link DBConnectionPool.Configuration#withAcquireTimeout(java.time.Duration) }
+	 * to change this.
+	 *
+	 * @param configuration the new pool configuration
+	 */
+	public void setConnectionPoolConfiguration(DBConnectionPool.Configuration configuration) {
+		getConnectionPool().setConfiguration(configuration);
+	}
+
+	/**
+	 * The configuration of the connection pool used by this database.
+	 *
+	 * @return the current pool configuration
+	 */
+	public DBConnectionPool.Configuration getConnectionPoolConfiguration() {
+		return getConnectionPool().getConfiguration();
+	}
+
+	/**
+	 * A snapshot of the connection pool's activity.
+	 *
+	 * <p>
+	 * Includes the active and idle connections, the threads waiting for a
+	 * connection, and the time taken to acquire connections.
+	 *
+	 * @return the current pool statistics
+	 */
+	public DBConnectionPool.Statistics getConnectionPoolStatistics() {
+		return getConnectionPool().getStatistics();
+	}
+
+	/**
+	 * A snapshot of the PreparedStatement caches of the pooled connections.
+	 *
+	 * <p>
+	 * The cache size is set with
+	 * {@link DBConnectionPool.Configuration#withStatementCacheSize(int) }.
+	 *
+	 * @return the combined statement cache statistics
+	 */
+	public PreparedStatementCache.Statistics getPreparedStatementCacheStatistics() {
+		return getConnectionPool().getPreparedStatementCacheStatistics();
+	}
+
+	/**
+	 * The executor used by the asynchronous methods of this database.
+	 *
+	 * <p>
+	 * The concurrency limit defaults to the maximum size of the connection pool
+	 * so that asynchronous tasks wait for each other rather than for a
+	 * connection.
+	 *
+	 * @return the asynchronous executor for this database
+	 */
+	@Override
+	public DBAsyncExecutor getAsyncExecutor() {
+		DBAsyncExecutor executor = asyncExecutor;
+		if (executor == null) {
+			synchronized (DBAsyncExecutor.class) {
+				executor = asyncExecutor;
+				if (executor == null) {
+					executor = new DBAsyncExecutor(getConnectionPoolConfiguration().getMaximumSize());
+					asyncExecutor = executor;
+				}
+			}
+		}
+		return executor;
 	}
 
 	/**
@@ -2255,6 +2400,20 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 		return action.execute(this);
 	}
 
+	@Override
+	public DBActionList executeDBActions(DBActionList actions) throws SQLException, NoAvailableDatabaseException {
+		if (batchSQLStatementsWhenPossible() && getBatchSize() > 1 && actions.size() > 1) {
+			for (DBAction action : actions) {
+				preventAccidentalDDLDuringTransaction(action);
+				preventAccidentalDroppingOfDatabases(action);
+				preventAccidentalDroppingOfTables(action);
+				preventAccidentalDeletingAllRowsFromTable(action);
+			}
+			return new DBActionBatch(this, getBatchSize()).execute(actions);
+		}
+		return DBDatabase.super.executeDBActions(actions);
+	}
+
 	@Override
 	public void setQuietExceptionsPreference(boolean b) {
 		this.quietExceptionsPreference = b;
@@ -2415,6 +2574,7 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	protected void setSettings(DatabaseConnectionSettings newSettings) {
 		settings.copy(newSettings);
 		setDBDatabaseClassInSettings();
+		connectionPool = null;
 	}
 
 	private void setDBDatabaseClassInSettings() {
@@ -2509,22 +2669,8 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 				} catch (Exception ex) {
 				}
 			}
-			final List<DBConnection> freeConnections = getFreeConnections();
-			synchronized (freeConnections) {
-				final DBConnection[] free = freeConnections.toArray(new DBConnection[]{});
-				for (DBConnection connection : free) {
-					LOG.info(stopping+ " free connection");
-					discardConnection(connection);
-				}
-			}
-			final List<DBConnection> busyConnections = getBusyConnections();
-			synchronized (busyConnections) {
-				final DBConnection[] busy = busyConnections.toArray(new DBConnection[]{});
-				for (DBConnection connection : busy) {
-					LOG.info(stopping+ " busy connection");
-					discardConnection(connection);
-				}
-			}
+			LOG.info(stopping+ " pooled connections");
+			getConnectionPool().clear();
 			try {
 				if (storedConnection != null) {
 					LOG.info(stopping+ " stored connection");
@@ -2537,12 +2683,12 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 	}
 
 	@Override
-	public synchronized boolean getPrintSQLBeforeExecuting() {
+	public boolean getPrintSQLBeforeExecuting() {
 		return printSQLBeforeExecuting;
 	}
 
 	@Override
-	public synchronized boolean getBatchSQLStatementsWhenPossible() {
+	public boolean getBatchSQLStatementsWhenPossible() {
 		return batchIfPossible;
 	}
 
@@ -2592,6 +2738,9 @@ public abstract class DBDatabaseImplementation implements DBDatabase, Serializab
 
 		@Override
 		public void run() {
+			if (!terminated && supportsPooledConnections()) {
+				getConnectionPool().evictExpiredConnections(DBDatabaseImplementation.this::getRawConnection);
+			}
 			for (RegularProcess process : getRegularProcessors()) {
 				if (process.canRun() && process.isDueToRun()) {
 					try {
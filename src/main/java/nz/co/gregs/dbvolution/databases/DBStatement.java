@@ -20,9 +20,11 @@ import java.sql.*;
 import nz.co.gregs.dbvolution.exceptions.LoopDetectedInRecursiveSQL;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 import nz.co.gregs.dbvolution.databases.DBDatabaseImplementation.ResponseToException;
 import static nz.co.gregs.dbvolution.databases.DBDatabaseImplementation.ResponseToException.*;
 import nz.co.gregs.dbvolution.databases.connections.DBConnection;
+import nz.co.gregs.dbvolution.databases.connections.PreparedStatementCache;
 import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
 import nz.co.gregs.dbvolution.exceptions.UnableToCreateDatabaseConnectionException;
 import nz.co.gregs.dbvolution.exceptions.UnableToFindJDBCDriver;
@@ -57,10 +59,23 @@ public class DBStatement implements AutoCloseable {
 
 	static final private Log LOG = LogFactory.getLog(DBStatement.class);
 
-	private Statement internalStatement;
+	private volatile Statement internalStatement;
+	private volatile PreparedStatement preparedStatement;
+	private PreparedStatementCache preparedStatementCache;
+	private boolean preparedStatementIsModified = false;
 	final DBDatabase database;
-	private DBConnection connection;
-	private boolean isClosed = false;
+	private volatile DBConnection connection;
+	private volatile boolean isClosed = false;
+	/**
+	 * Guards the statement and connection fields.
+	 *
+	 * <p>
+	 * A ReentrantLock rather than a monitor so that virtual threads waiting for
+	 * it, or holding it while connecting, do not pin their carrier thread.
+	 * {@link #cancel() } does not use the lock so that it can interrupt an
+	 * executing statement.
+	 */
+	private final ReentrantLock lock = new ReentrantLock();
 	private final List<String> localBatchList = new ArrayList<>();
 	private final Long TIMEOUT_IN_MILLISECONDS = 10000L;
 
@@ -88,7 +103,7 @@ public class DBStatement implements AutoCloseable {
 	}
 
 	public ResultSet executeQueryWithRecovery(StatementDetails details) throws SQLException {
-		String sql = details.getSql();
+		String sql = getSQLForLogging(details);
 		String label = details.getLabel();
 		final String logSQL = "EXECUTING QUERY \"" + label + "\" on " + this.database.getJdbcURL() + ": \n" + sql;
 		database.printSQLIfRequested(logSQL);
@@ -111,6 +126,7 @@ public class DBStatement implements AutoCloseable {
 
 	private ResultSet executeQueryWithTimeout(StatementDetails details) throws SQLException {
 		final Long timeoutTime = details.getTimeout();
+		DBAsyncExecutor.statementStarted(this);
 		QueryTimeout timer = new QueryTimeout(details, timeoutTime);
 
 		ResultSet queryResult = null;
@@ -122,12 +138,31 @@ public class DBStatement implements AutoCloseable {
 			}
 		} finally {
 			timer.noLongerRequired();
+			DBAsyncExecutor.statementFinished(this);
 		}
 		return queryResult;
 	}
 
 	private ResultSet executeQueryWithInternalStatement(StatementDetails details) throws SQLException {
-		return getInternalStatement().executeQuery(details.getSql());
+		if (details.hasBindParameters()) {
+			final PreparedStatement prepared = getPreparedStatement(details);
+			if (details.hasFetchSize()) {
+				prepared.setFetchSize(details.getFetchSize());
+				lock.lock();
+				try {
+					preparedStatementIsModified = true;
+				} finally {
+					lock.unlock();
+				}
+			}
+			return prepared.executeQuery();
+		}
+		closePreparedStatement();
+		final Statement statement = getInternalStatement();
+		if (details.hasFetchSize()) {
+			statement.setFetchSize(details.getFetchSize());
+		}
+		return statement.executeQuery(details.getSql());
 	}
 
 	private ResultSet addFeatureAndAttemptQueryAgain(StatementDetails details) throws SQLException, Exception, LoopDetectedInRecursiveSQL {
@@ -213,14 +248,124 @@ public class DBStatement implements AutoCloseable {
 			// with an exception during the close method????????
 			LOG.warn("Exception occurred during close(): " + e.getMessage(), e);
 		}
+		closePreparedStatement();
 		closeInternalStatement();
 	}
 
+	/**
+	 * Closes the JDBC statements without returning the connection to the
+	 * database.
+	 *
+	 * <p>
+	 * Used by statements that share a connection owned by something else, such
+	 * as a transaction.
+	 */
+	protected void closeWithoutReleasingConnection() {
+		isClosed = true;
+		closePreparedStatement();
+		closeInternalStatement();
+	}
+
+	/**
+	 * Returns the PreparedStatement used for the last parameterised execution,
+	 * if any, to the statement cache of its connection.
+	 *
+	 * <p>
+	 * Any ResultSet produced by the PreparedStatement is closed. Statements
+	 * whose settings were changed for the execution, such as the fetch size,
+	 * are closed rather than cached.
+	 */
+	protected void closePreparedStatement() {
+		PreparedStatement statementToClose;
+		PreparedStatementCache cache;
+		boolean modified;
+		lock.lock();
+		try {
+			statementToClose = preparedStatement;
+			cache = preparedStatementCache;
+			modified = preparedStatementIsModified;
+			preparedStatement = null;
+			preparedStatementCache = null;
+			preparedStatementIsModified = false;
+		} finally {
+			lock.unlock();
+		}
+		if (statementToClose != null) {
+			if (cache == null) {
+				try {
+					statementToClose.close();
+				} catch (SQLException e) {
+					LOG.warn("Exception occurred during close(): " + e.getMessage(), e);
+				}
+			} else if (modified) {
+				cache.discard(statementToClose);
+			} else {
+				cache.release(statementToClose);
+			}
+		}
+	}
+
+	/**
+	 * Prepares the SQL, with its bind parameters, on the current connection.
+	 *
+	 * <p>
+	 * The PreparedStatement replaces any previous PreparedStatement and becomes
+	 * the source for {@link #getResultSet() }, {@link #getUpdateCount() }, and
+	 * {@link #getGeneratedKeys() } until the next execution.
+	 *
+	 * @param details the SQL and bind parameters
+	 * @return a PreparedStatement ready to execute
+	 * @throws SQLException database errors
+	 */
+	protected PreparedStatement getPreparedStatement(StatementDetails details) throws SQLException {
+		lock.lock();
+		try {
+			closePreparedStatement();
+			if (connection == null || connection.isClosed()) {
+				replaceBrokenConnection();
+			}
+			preparedStatement = details.prepare(connection);
+			preparedStatementCache = connection.getPreparedStatementCache();
+			return preparedStatement;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the JDBC statement that executed the most recent SQL.
+	 *
+	 * @return the PreparedStatement used for the last parameterised execution,
+	 * or the internal Statement
+	 * @throws SQLException database errors
+	 */
+	protected Statement getCurrentStatement() throws SQLException {
+		final PreparedStatement prepared = preparedStatement;
+		if (prepared != null) {
+			return prepared;
+		}
+		final Statement internal = internalStatement;
+		if (internal != null) {
+			return internal;
+		}
+		return getInternalStatement();
+	}
+
+	private String getSQLForLogging(StatementDetails details) {
+		if (details.hasBindParameters()) {
+			return details.getSql() + " /* PARAMETERS: " + details.getBindParameters().getValues() + " */";
+		}
+		return details.getSql();
+	}
+
 	private void closeInternalStatement() {
 		Statement statementToClose;
-		synchronized (this) {
+		lock.lock();
+		try {
 			statementToClose = internalStatement;
 			internalStatement = null;
+		} finally {
+			lock.unlock();
 		}
 		if (statementToClose != null) {
 			try {
@@ -354,9 +499,9 @@ public class DBStatement implements AutoCloseable {
 	 *
 	 * @throws SQLException Database exceptions may be thrown
 	 */
-	public synchronized void cancel() throws SQLException {
+	public void cancel() throws SQLException {
 		try {
-			getInternalStatement().cancel();
+			getCurrentStatement().cancel();
 			if (database.getDefinition().willCloseConnectionOnStatementCancel()) {
 				replaceBrokenConnection();
 			}
@@ -381,9 +526,11 @@ public class DBStatement implements AutoCloseable {
 	 * and MS SQLserver, in particular, need to be added to the path if you wish
 	 * to work with those databases.
 	 */
-	protected synchronized void replaceBrokenConnection() throws SQLException, UnableToCreateDatabaseConnectionException, UnableToFindJDBCDriver {
+	protected void replaceBrokenConnection() throws SQLException, UnableToCreateDatabaseConnectionException, UnableToFindJDBCDriver {
+		lock.lock();
 		try {
 			database.discardConnection(connection);
+			closePreparedStatement();
 			connection = database.getConnection();
 			if (internalStatement != null) {
 				try {
@@ -394,8 +541,8 @@ public class DBStatement implements AutoCloseable {
 				internalStatement = null;
 				getInternalStatement();
 			}
-		} catch (SQLException sqlex) {
-			throw sqlex;
+		} finally {
+			lock.unlock();
 		}
 	}
 
@@ -525,7 +672,7 @@ public class DBStatement implements AutoCloseable {
 
 	private void executeWithRecovery(StatementDetails details) throws SQLException {
 		details.setDBStatement(this);
-		String sql = details.getSql();
+		String sql = getSQLForLogging(details);
 		final String logSQL = "EXECUTING on " + database.getLabel() + ": " + sql;
 		database.printSQLIfRequested(logSQL);
 		LOG.debug(logSQL);
@@ -542,6 +689,7 @@ public class DBStatement implements AutoCloseable {
 
 	private void executeWithTimeout(StatementDetails details) throws SQLException {
 		final Long timeoutTime = this.getTIMEOUT_IN_MILLISECONDS();
+		DBAsyncExecutor.statementStarted(this);
 		QueryTimeout timer = new QueryTimeout(details, timeoutTime);
 
 		try {
@@ -552,12 +700,18 @@ public class DBStatement implements AutoCloseable {
 			}
 		} finally {
 			timer.noLongerRequired();
+			DBAsyncExecutor.statementFinished(this);
 		}
 	}
 
 	private void executeOnInternalStatement(StatementDetails details) throws UnableToCreateDatabaseConnectionException, SQLException, UnableToFindJDBCDriver {
-		Statement stmt = getInternalStatement();
-		details.execute(stmt);
+		if (details.hasBindParameters()) {
+			getPreparedStatement(details).execute();
+		} else {
+			closePreparedStatement();
+			Statement stmt = getInternalStatement();
+			details.execute(stmt);
+		}
 	}
 
 	static final Regex DROP_INTENTION_MATCHER = Regex.startingAnywhere().literal("DROP").toRegex();
@@ -639,7 +793,7 @@ public class DBStatement implements AutoCloseable {
 	 * @throws java.sql.SQLException java.sql.SQLException
 	 */
 	public ResultSet getResultSet() throws SQLException {
-		return getInternalStatement().getResultSet();
+		return getCurrentStatement().getResultSet();
 	}
 
 	/**
@@ -655,7 +809,7 @@ public class DBStatement implements AutoCloseable {
 	 * @throws java.sql.SQLException java.sql.SQLException
 	 */
 	public int getUpdateCount() throws SQLException {
-		return getInternalStatement().getUpdateCount();
+		return getCurrentStatement().getUpdateCount();
 	}
 
 	/**
@@ -677,7 +831,7 @@ public class DBStatement implements AutoCloseable {
 	 * @throws java.sql.SQLException java.sql.SQLException
 	 */
 	public boolean getMoreResults() throws SQLException {
-		return getInternalStatement().getMoreResults();
+		return getCurrentStatement().getMoreResults();
 	}
 
 	/**
@@ -845,7 +999,60 @@ public class DBStatement implements AutoCloseable {
 		if (database.isPrintSQLBeforeExecuting()) {
 			localBatchList.stream().forEach((t) -> database.printSQLIfRequested(t));
 		}
-		return getInternalStatement().executeBatch();
+		try {
+			return getInternalStatement().executeBatch();
+		} finally {
+			localBatchList.clear();
+		}
+	}
+
+	/**
+	 * Executes several parameterised statements as a single JDBC batch on one
+	 * PreparedStatement.
+	 *
+	 * <p>
+	 * All the statements must have the same SQL once their bind parameters have
+	 * been replaced with "?". The first statement is used to prepare the
+	 * PreparedStatement so it also determines whether generated keys are
+	 * requested. Generated keys are available from {@link #getGeneratedKeys() }
+	 * after the batch has executed.
+	 *
+	 * @param batch the statements to execute
+	 * @return an array of update counts containing one element for each
+	 * statement in the batch.
+	 * @throws SQLException database errors, including BatchUpdateException
+	 */
+	public int[] executePreparedBatch(List<StatementDetails> batch) throws SQLException {
+		if (batch.isEmpty()) {
+			return new int[]{};
+		}
+		final StatementDetails first = batch.get(0);
+		first.setDBStatement(this);
+		final String logSQL = "EXECUTING BATCH OF " + batch.size() + " on " + database.getLabel() + ": " + getSQLForLogging(first);
+		database.printSQLIfRequested(logSQL);
+		LOG.debug(logSQL);
+		DBAsyncExecutor.statementStarted(this);
+		try {
+			final PreparedStatement prepared = getPreparedStatement(first);
+			try {
+				prepared.addBatch();
+				for (int i = 1; i < batch.size(); i++) {
+					batch.get(i).getBindParameters().setParameters(prepared);
+					prepared.addBatch();
+				}
+				return prepared.executeBatch();
+			} catch (SQLException ex) {
+				lock.lock();
+				try {
+					preparedStatementIsModified = true;
+				} finally {
+					lock.unlock();
+				}
+				throw ex;
+			}
+		} finally {
+			DBAsyncExecutor.statementFinished(this);
+		}
 	}
 
 	/**
@@ -879,7 +1086,7 @@ public class DBStatement implements AutoCloseable {
 	 * @throws java.sql.SQLException java.sql.SQLException
 	 */
 	public boolean getMoreResults(int i) throws SQLException {
-		return getInternalStatement().getMoreResults();
+		return getCurrentStatement().getMoreResults();
 	}
 
 	/**
@@ -896,7 +1103,7 @@ public class DBStatement implements AutoCloseable {
 	 * @throws java.sql.SQLException java.sql.SQLException
 	 */
 	public ResultSet getGeneratedKeys() throws SQLException {
-		return getInternalStatement().getGeneratedKeys();
+		return getCurrentStatement().getGeneratedKeys();
 	}
 
 	/**
@@ -1126,23 +1333,28 @@ public class DBStatement implements AutoCloseable {
 	 * @return the internalStatement
 	 * @throws java.sql.SQLException database errors
 	 */
-	protected synchronized Statement getInternalStatement() throws SQLException {
-		if (connection == null) {
-			replaceBrokenConnection();
-		}
-		if (connection.isClosed()) {
-			replaceBrokenConnection();
-		}
-		if (this.internalStatement == null) {
-			this.setInternalStatement(connection.getInternalStatement());
+	protected Statement getInternalStatement() throws SQLException {
+		lock.lock();
+		try {
+			if (connection == null) {
+				replaceBrokenConnection();
+			}
+			if (connection.isClosed()) {
+				replaceBrokenConnection();
+			}
+			if (this.internalStatement == null) {
+				this.setInternalStatement(connection.getInternalStatement());
+			}
+			return this.internalStatement;
+		} finally {
+			lock.unlock();
 		}
-		return this.internalStatement;
 	}
 
 	/**
 	 * @param realStatement the internalStatement to set
 	 */
-	protected synchronized void setInternalStatement(Statement realStatement) {
+	protected void setInternalStatement(Statement realStatement) {
 		this.internalStatement = realStatement;
 	}
 //Could not create connection to database server
@@ -193,12 +193,12 @@ public class DBStatementCluster extends DBStatement {
 	}
 
 	@Override
-	protected synchronized void replaceBrokenConnection() throws SQLException, UnableToCreateDatabaseConnectionException, UnableToFindJDBCDriver {
+	protected void replaceBrokenConnection() throws SQLException, UnableToCreateDatabaseConnectionException, UnableToFindJDBCDriver {
 		throw new UnsupportedOperationException("DBStatementCluster.getWarnings should not be used.");
 	}
 
 	@Override
-	public synchronized void cancel() throws SQLException {
+	public void cancel() throws SQLException {
 		ArrayList<DBStatement> dbStatements = databaseCluster.getDBStatements();
 		for (DBStatement next : dbStatements) {
 			next.cancel();
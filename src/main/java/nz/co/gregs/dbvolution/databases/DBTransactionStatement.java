@@ -17,6 +17,7 @@ package nz.co.gregs.dbvolution.databases;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.sql.SQLException;
+import nz.co.gregs.dbvolution.databases.connections.DBConnection;
 import nz.co.gregs.dbvolution.DBScript;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -78,6 +79,7 @@ public class DBTransactionStatement extends DBStatement {
 			justification = "We try twice, is there a better way to do this?")
 	@Override
 	public void close() throws SQLException {
+		closePreparedStatement();
 		try {
 			getInternalStatement().close();
 		} catch (SQLException ex) {
@@ -106,12 +108,12 @@ public class DBTransactionStatement extends DBStatement {
 			value = "OBL_UNSATISFIED_OBLIGATION_EXCEPTION_EDGE", 
 			justification = "We try twice, is there a better way to do this?")
 	@Override
-	public synchronized void cancel() throws SQLException {
+	public void cancel() throws SQLException {
 		try {
-			getInternalStatement().cancel();
+			getCurrentStatement().cancel();
 		} catch (Exception ex) {
 			try {
-				getInternalStatement().cancel();
+				getCurrentStatement().cancel();
 			} catch (SQLException ex1) {
 				LOG.info("Exception while closing transaction, continuing regardless.");
 			}
@@ -145,4 +147,31 @@ public class DBTransactionStatement extends DBStatement {
 	public void transactionFinished() throws SQLException {
 		super.close();
 	}
+
+	/**
+	 * Creates a separate statement on the transaction's connection.
+	 *
+	 * <p>
+	 * Used by cursors that remain open while the transaction continues. Closing
+	 * the statement closes its JDBC statement and ResultSet but leaves the
+	 * connection with the transaction.
+	 *
+	 * @return a new statement using the transaction's connection
+	 * @throws SQLException database errors
+	 */
+	public DBStatement createCursorStatement() throws SQLException {
+		return new CursorStatement(database, getConnection());
+	}
+
+	private static class CursorStatement extends DBStatement {
+
+		CursorStatement(DBDatabase database, DBConnection connection) {
+			super(database, connection);
+		}
+
+		@Override
+		public void close() throws SQLException {
+			closeWithoutReleasingConnection();
+		}
+	}
 }
@@ -75,7 +75,8 @@ public enum QueryIntention {
 	UPDATE_ROW_WITH_LARGE_OBJECT,
 	ADD_MISSING_COLUMNS_TO_TABLE(true),
 	MIGRATION,
-	INSERT_QUERY;
+	INSERT_QUERY,
+	UPSERT_ROWS;
 	
 	private boolean isDDL;
 	
@@ -163,4 +163,18 @@ public interface DBConnection {
 
 	public Statement getInternalStatement() throws SQLException;
 
+	/**
+	 * The cache of PreparedStatements created on this connection.
+	 *
+	 * <p>
+	 * Connections that do not cache their statements return NULL, and callers
+	 * prepare and close statements directly instead.
+	 *
+	 * @return the statement cache for this connection, or NULL if statements
+	 * are not cached
+	 */
+	public default PreparedStatementCache getPreparedStatementCache() {
+		return null;
+	}
+
 }
@@ -0,0 +1,860 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License. 
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/ 
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ * 
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ * 
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.               
+ *     Under the following terms:
+ *                 
+ *         Attribution - 
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made. 
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial - 
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike - 
+ *             If you remix, transform, or build upon the material, 
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions - 
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the 
+ *             license permits.
+ * 
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.databases.connections;
+
+import java.io.Serializable;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * A bounded pool of database connections.
+ *
+ * <p>
+ * DBDatabase uses the pool to share connections between statements. The pool
+ * limits the number of connections in use at once, queues callers fairly when
+ * the limit is reached, evicts idle and aged connections, and keeps statistics
+ * about its use.</p>
+ *
+ * <p>
+ * Acquiring and releasing a connection does not take a lock: idle connections
+ * are kept in a concurrent deque and the limit is enforced with a fair
+ * semaphore that only blocks when the pool is exhausted.</p>
+ *
+ * <p>
+ * You should not need to use this class directly, use
+ * {@link nz.co.gregs.dbvolution.databases.DBDatabaseImplementation#setConnectionPoolConfiguration(nz.co.gregs.dbvolution.databases.connections.DBConnectionPool.Configuration) }
+ * to change the pool's behaviour and
+ * {@link nz.co.gregs.dbvolution.databases.DBDatabaseImplementation#getConnectionPoolStatistics() }
+ * to monitor it.</p>
+ *
+ * @author Gregory Graham
+ */
+public class DBConnectionPool {
+
+	private static final Log LOG = LogFactory.getLog(DBConnectionPool.class);
+
+	private static final int IDLE = 0;
+	private static final int ACTIVE = 1;
+	private static final int REMOVED = 2;
+
+	private final Map<DBConnection, PooledConnection> connections = new ConcurrentHashMap<>();
+	private final Deque<PooledConnection> idleConnections = new ConcurrentLinkedDeque<>();
+	private final AtomicInteger idleCount = new AtomicInteger(0);
+	private final AtomicInteger totalCount = new AtomicInteger(0);
+	private final AdjustableSemaphore permits;
+	private volatile Configuration configuration;
+
+	private final LongAdder createdCount = new LongAdder();
+	private final LongAdder destroyedCount = new LongAdder();
+	private final LongAdder acquisitionCount = new LongAdder();
+	private final LongAdder timeoutCount = new LongAdder();
+	private final LongAdder totalAcquireNanos = new LongAdder();
+	private final AtomicLong maxAcquireNanos = new AtomicLong(0);
+
+	/**
+	 * Creates a pool with the default configuration.
+	 */
+	public DBConnectionPool() {
+		this(Configuration.defaults());
+	}
+
+	/**
+	 * Creates a pool with the supplied configuration.
+	 *
+	 * @param config the limits and timeouts for this pool
+	 */
+	public DBConnectionPool(Configuration config) {
+		this.configuration = config;
+		this.permits = new AdjustableSemaphore(config.getMaximumSize());
+	}
+
+	/**
+	 * Retrieves a connection from the pool, creating one with the source if
+	 * there are no usable idle connections.
+	 *
+	 * <p>
+	 * If the pool is exhausted the caller waits, in turn, for a connection to
+	 * be released. If no connection is available within the acquire timeout a
+	 * {@link SQLTransientConnectionException} is thrown.</p>
+	 *
+	 * @param source creates new connections for the pool
+	 * @return a connection reserved for the caller, or null if the source was
+	 * unable to provide one
+	 * @throws SQLException database errors or a timeout waiting for a
+	 * connection
+	 */
+	public DBConnection acquire(ConnectionSource source) throws SQLException {
+		final long start = System.nanoTime();
+		final Configuration config = configuration;
+		try {
+			if (!permits.tryAcquire(config.getAcquireTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+				timeoutCount.increment();
+				throw new SQLTransientConnectionException(
+						"Connection pool exhausted: no connection became available within " + config.getAcquireTimeout().toMillis() + "ms "
+						+ getStatistics());
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new SQLTransientConnectionException("Interrupted while waiting for a connection", ex);
+		}
+		try {
+			DBConnection connection = reuseIdleConnection(config);
+			if (connection == null) {
+				connection = createConnection(source, config);
+			}
+			if (connection == null) {
+				permits.release();
+			} else {
+				recordAcquisition(System.nanoTime() - start);
+			}
+			return connection;
+		} catch (SQLException | RuntimeException ex) {
+			permits.release();
+			throw ex;
+		}
+	}
+
+	private DBConnection reuseIdleConnection(Configuration config) {
+		PooledConnection pooled = idleConnections.pollFirst();
+		while (pooled != null) {
+			if (pooled.state.compareAndSet(IDLE, ACTIVE)) {
+				idleCount.decrementAndGet();
+				final long now = System.nanoTime();
+				if (pooled.isExpired(now, config) || !pooled.isUsable(now, config)) {
+					retireWhileHoldingPermit(pooled);
+				} else {
+					return pooled.connection;
+				}
+			}
+			pooled = idleConnections.pollFirst();
+		}
+		return null;
+	}
+
+	private DBConnection createConnection(ConnectionSource source, Configuration config) throws SQLException {
+		while (!reserveSlot(config.getMaximumSize())) {
+			// the other slots are held by idle connections, so use one of them
+			final DBConnection idle = reuseIdleConnection(config);
+			if (idle != null) {
+				return idle;
+			}
+			if (idleCount.get() == 0) {
+				// only possible after the maximum size is reduced, the permit still limits the active connections
+				totalCount.incrementAndGet();
+				break;
+			}
+		}
+		final DBConnection connection;
+		try {
+			connection = source.createConnection();
+		} catch (SQLException | RuntimeException ex) {
+			totalCount.decrementAndGet();
+			throw ex;
+		}
+		if (connection == null) {
+			totalCount.decrementAndGet();
+		} else {
+			PooledConnection pooled = new PooledConnection(connection, ACTIVE);
+			connections.put(connection, pooled);
+			createdCount.increment();
+		}
+		return connection;
+	}
+
+	/**
+	 * Reserves a place in the pool for a new connection.
+	 *
+	 * <p>
+	 * The place is reserved before the connection is created so that
+	 * concurrent callers can not take the pool past its maximum size.</p>
+	 *
+	 * @return TRUE if the pool had room and the total count has been
+	 * incremented
+	 */
+	private boolean reserveSlot(int maximumSize) {
+		int total = totalCount.get();
+		while (total < maximumSize) {
+			if (totalCount.compareAndSet(total, total + 1)) {
+				return true;
+			}
+			total = totalCount.get();
+		}
+		return false;
+	}
+
+	/**
+	 * Returns a connection to the pool so that it can be used again.
+	 *
+	 * <p>
+	 * Connections that have exceeded their maximum lifetime, or that would
+	 * exceed the maximum pool size, are closed instead. Connections that the
+	 * pool does not manage, or that have already been released, are
+	 * ignored.</p>
+	 *
+	 * @param connection the connection that is no longer required
+	 */
+	public void release(DBConnection connection) {
+		if (connection == null) {
+			return;
+		}
+		PooledConnection pooled = connections.get(connection);
+		if (pooled == null) {
+			return;
+		}
+		final Configuration config = configuration;
+		final long now = System.nanoTime();
+		if (pooled.isPastLifetime(now, config) || totalCount.get() > config.getMaximumSize()) {
+			destroy(pooled, ACTIVE);
+		} else if (pooled.state.compareAndSet(ACTIVE, IDLE)) {
+			pooled.lastUsed = now;
+			idleCount.incrementAndGet();
+			idleConnections.offerFirst(pooled);
+			permits.release();
+		}
+	}
+
+	/**
+	 * Removes the connection from the pool and closes it.
+	 *
+	 * @param connection the connection to close
+	 */
+	public void discard(DBConnection connection) {
+		if (connection == null) {
+			return;
+		}
+		PooledConnection pooled = connections.get(connection);
+		if (pooled == null) {
+			close(connection);
+		} else {
+			destroy(pooled);
+		}
+	}
+
+	/**
+	 * Removes the connection from the pool without closing it.
+	 *
+	 * <p>
+	 * Used for connections that must be held open for the life of the database
+	 * and should not count towards the pool's limits.</p>
+	 *
+	 * @param connection the connection to remove from the pool
+	 */
+	public void detach(DBConnection connection) {
+		if (connection == null) {
+			return;
+		}
+		PooledConnection pooled = connections.remove(connection);
+		if (pooled != null) {
+			int previous = pooled.state.getAndSet(REMOVED);
+			releaseAccountingFor(previous);
+		}
+	}
+
+	private void destroy(PooledConnection pooled) {
+		int state = pooled.state.get();
+		while (state != REMOVED && !destroy(pooled, state)) {
+			state = pooled.state.get();
+		}
+	}
+
+	private boolean destroy(PooledConnection pooled, int expectedState) {
+		if (pooled.state.compareAndSet(expectedState, REMOVED)) {
+			connections.remove(pooled.connection, pooled);
+			releaseAccountingFor(expectedState);
+			destroyedCount.increment();
+			close(pooled.connection);
+			return true;
+		}
+		return false;
+	}
+
+	private void retireWhileHoldingPermit(PooledConnection pooled) {
+		if (pooled.state.compareAndSet(ACTIVE, REMOVED)) {
+			connections.remove(pooled.connection, pooled);
+			totalCount.decrementAndGet();
+			destroyedCount.increment();
+			close(pooled.connection);
+		}
+	}
+
+	private void releaseAccountingFor(int previousState) {
+		if (previousState == ACTIVE) {
+			totalCount.decrementAndGet();
+			permits.release();
+		} else if (previousState == IDLE) {
+			totalCount.decrementAndGet();
+			idleCount.decrementAndGet();
+		}
+	}
+
+	private void close(DBConnection connection) {
+		try {
+			connection.close();
+		} catch (SQLException ex) {
+			LOG.warn("Exception occurred while closing a pooled connection: " + ex.getMessage(), ex);
+		}
+	}
+
+	/**
+	 * Closes idle connections that have exceeded the idle timeout or maximum
+	 * lifetime, then tops the pool back up to the minimum idle size.
+	 *
+	 * <p>
+	 * DBDatabase calls this regularly so you should not need to.</p>
+	 *
+	 * @param source creates new connections when the pool is below its minimum
+	 * size, may be null to skip the top up
+	 * @return the number of connections closed
+	 */
+	public int evictExpiredConnections(ConnectionSource source) {
+		final Configuration config = configuration;
+		final long now = System.nanoTime();
+		int evicted = 0;
+		for (PooledConnection pooled : idleConnections) {
+			if (idleCount.get() <= config.getMinimumIdle() && !pooled.isPastLifetime(now, config)) {
+				continue;
+			}
+			if (pooled.isExpired(now, config) && destroy(pooled, IDLE)) {
+				evicted++;
+			}
+		}
+		idleConnections.removeIf(pooled -> pooled.state.get() == REMOVED);
+		if (source != null) {
+			fillToMinimumIdle(source, config);
+		}
+		return evicted;
+	}
+
+	private void fillToMinimumIdle(ConnectionSource source, Configuration config) {
+		while (idleCount.get() < config.getMinimumIdle() && reserveSlot(config.getMaximumSize())) {
+			try {
+				DBConnection connection = source.createConnection();
+				if (connection == null) {
+					totalCount.decrementAndGet();
+					return;
+				}
+				PooledConnection pooled = new PooledConnection(connection, IDLE);
+				connections.put(connection, pooled);
+				createdCount.increment();
+				idleCount.incrementAndGet();
+				idleConnections.offerLast(pooled);
+			} catch (SQLException | RuntimeException ex) {
+				totalCount.decrementAndGet();
+				LOG.warn("Unable to create a connection to maintain the minimum pool size: " + ex.getMessage(), ex);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Closes all connections, idle and active, and empties the pool.
+	 *
+	 * <p>
+	 * The pool can still be used after clearing it.</p>
+	 */
+	public void clear() {
+		List<PooledConnection> all = new ArrayList<>(connections.values());
+		for (PooledConnection pooled : all) {
+			destroy(pooled);
+		}
+		idleConnections.clear();
+	}
+
+	/**
+	 * Changes the limits and timeouts of this pool.
+	 *
+	 * <p>
+	 * Reducing the maximum size does not close active connections, instead
+	 * new callers wait until enough connections have been returned.</p>
+	 *
+	 * <p>
+	 * Changing the statement cache size resizes the caches of the existing
+	 * connections.</p>
+	 *
+	 * @param newConfiguration the new limits and timeouts
+	 */
+	public synchronized void setConfiguration(Configuration newConfiguration) {
+		final Configuration previous = configuration;
+		final int difference = newConfiguration.getMaximumSize() - previous.getMaximumSize();
+		if (difference > 0) {
+			permits.release(difference);
+		} else if (difference < 0) {
+			permits.reducePermits(-difference);
+		}
+		configuration = newConfiguration;
+		if (newConfiguration.getStatementCacheSize() != previous.getStatementCacheSize()) {
+			for (DBConnection connection : connections.keySet()) {
+				final PreparedStatementCache cache = connection.getPreparedStatementCache();
+				if (cache != null) {
+					cache.setMaximumSize(newConfiguration.getStatementCacheSize());
+				}
+			}
+		}
+	}
+
+	/**
+	 * The current limits and timeouts of this pool.
+	 *
+	 * @return the pool configuration
+	 */
+	public Configuration getConfiguration() {
+		return configuration;
+	}
+
+	/**
+	 * Indicates whether the pool currently manages any connections.
+	 *
+	 * @return TRUE if the pool has idle or active connections, FALSE otherwise
+	 */
+	public boolean hasConnections() {
+		return totalCount.get() > 0;
+	}
+
+	/**
+	 * The combined statistics of the PreparedStatement caches of the
+	 * connections currently in the pool.
+	 *
+	 * @return the statement cache statistics for this pool
+	 */
+	public PreparedStatementCache.Statistics getPreparedStatementCacheStatistics() {
+		PreparedStatementCache.Statistics stats = new PreparedStatementCache.Statistics(0, 0, 0, 0, 0);
+		for (DBConnection connection : connections.keySet()) {
+			final PreparedStatementCache cache = connection.getPreparedStatementCache();
+			if (cache != null) {
+				stats = stats.plus(cache.getStatistics());
+			}
+		}
+		return stats;
+	}
+
+	/**
+	 * A snapshot of the pool's current state and history.
+	 *
+	 * @return the statistics for this pool
+	 */
+	public Statistics getStatistics() {
+		final int total = totalCount.get();
+		final int idle = idleCount.get();
+		final long acquisitions = acquisitionCount.sum();
+		return new Statistics(
+				Math.max(0, total - idle),
+				idle,
+				permits.getQueueLength(),
+				createdCount.sum(),
+				destroyedCount.sum(),
+				acquisitions,
+				timeoutCount.sum(),
+				acquisitions == 0 ? 0 : totalAcquireNanos.sum() / acquisitions,
+				maxAcquireNanos.get()
+		);
+	}
+
+	private void recordAcquisition(long nanos) {
+		acquisitionCount.increment();
+		totalAcquireNanos.add(nanos);
+		long max = maxAcquireNanos.get();
+		while (nanos > max && !maxAcquireNanos.compareAndSet(max, nanos)) {
+			max = maxAcquireNanos.get();
+		}
+	}
+
+	/**
+	 * Creates new connections for the pool.
+	 */
+	@FunctionalInterface
+	public static interface ConnectionSource {
+
+		/**
+		 * Creates a new connection to the database.
+		 *
+		 * @return a new connection or NULL if no connection can be created
+		 * @throws SQLException database errors
+		 */
+		DBConnection createConnection() throws SQLException;
+	}
+
+	/**
+	 * The methods available to check that an idle connection can still be
+	 * used.
+	 */
+	public static enum Validation {
+		/**
+		 * Idle connections are assumed to be usable.
+		 */
+		NONE,
+		/**
+		 * Idle connections are checked with {@link DBConnection#isClosed() },
+		 * which does not contact the database.
+		 */
+		IS_CLOSED,
+		/**
+		 * Idle connections are checked with {@link DBConnection#isValid(int) },
+		 * which usually contacts the database.
+		 *
+		 * <p>
+		 * To avoid a round trip on every acquire the check is only made for
+		 * connections that have been idle longer than the validation interval,
+		 * otherwise {@link #IS_CLOSED} is used.</p>
+		 */
+		IS_VALID
+	}
+
+	/**
+	 * The limits and timeouts used by a connection pool.
+	 *
+	 * <p>
+	 * Configurations are immutable, use the "with" methods to create a modified
+	 * copy.</p>
+	 */
+	public static class Configuration implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		public static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+
+		private final int maximumSize;
+		private final int minimumIdle;
+		private final Duration acquireTimeout;
+		private final Duration idleTimeout;
+		private final Duration maximumLifetime;
+		private final Validation validation;
+		private final Duration validationInterval;
+		private final int statementCacheSize;
+
+		public Configuration(int maximumSize, int minimumIdle, Duration acquireTimeout, Duration idleTimeout, Duration maximumLifetime, Validation validation, Duration validationInterval) {
+			this(maximumSize, minimumIdle, acquireTimeout, idleTimeout, maximumLifetime, validation, validationInterval, DEFAULT_STATEMENT_CACHE_SIZE);
+		}
+
+		public Configuration(int maximumSize, int minimumIdle, Duration acquireTimeout, Duration idleTimeout, Duration maximumLifetime, Validation validation, Duration validationInterval, int statementCacheSize) {
+			if (maximumSize < 1) {
+				throw new IllegalArgumentException("Maximum pool size must be at least 1: " + maximumSize);
+			}
+			this.maximumSize = maximumSize;
+			this.minimumIdle = Math.max(0, Math.min(minimumIdle, maximumSize));
+			this.acquireTimeout = acquireTimeout;
+			this.idleTimeout = idleTimeout;
+			this.maximumLifetime = maximumLifetime;
+			this.validation = validation;
+			this.validationInterval = validationInterval;
+			this.statementCacheSize = Math.max(0, statementCacheSize);
+		}
+
+		/**
+		 * The default configuration: at most 100 connections, no minimum, a 30
+		 * second acquire timeout, 10 minute idle timeout, 30 minute maximum
+		 * lifetime, closed connection validation, and 64 cached statements per
+		 * connection.
+		 *
+		 * <p>
+		 * The maximum size is enforced: when 100 connections are in use the
+		 * next caller blocks until one is released and fails with
+		 * SQLTransientConnectionException after 30 seconds. Applications that
+		 * hold many connections at once, for instance in long transactions or
+		 * open cursors, should raise the maximum size or the acquire timeout.
+		 *
+		 * @return the default configuration
+		 */
+		public static Configuration defaults() {
+			return new Configuration(100, 0, Duration.ofSeconds(30), Duration.ofMinutes(10), Duration.ofMinutes(30), Validation.IS_CLOSED, Duration.ofSeconds(30), DEFAULT_STATEMENT_CACHE_SIZE);
+		}
+
+		public Configuration withMaximumSize(int newMaximumSize) {
+			return new Configuration(newMaximumSize, minimumIdle, acquireTimeout, idleTimeout, maximumLifetime, validation, validationInterval, statementCacheSize);
+		}
+
+		public Configuration withMinimumIdle(int newMinimumIdle) {
+			return new Configuration(maximumSize, newMinimumIdle, acquireTimeout, idleTimeout, maximumLifetime, validation, validationInterval, statementCacheSize);
+		}
+
+		public Configuration withAcquireTimeout(Duration newAcquireTimeout) {
+			return new Configuration(maximumSize, minimumIdle, newAcquireTimeout, idleTimeout, maximumLifetime, validation, validationInterval, statementCacheSize);
+		}
+
+		/**
+		 * Sets the time a connection may be idle before it is closed.
+		 *
+		 * @param newIdleTimeout the idle timeout, zero or negative to never
+		 * close idle connections
+		 * @return a modified copy of this configuration
+		 */
+		public Configuration withIdleTimeout(Duration newIdleTimeout) {
+			return new Configuration(maximumSize, minimumIdle, acquireTimeout, newIdleTimeout, maximumLifetime, validation, validationInterval, statementCacheSize);
+		}
+
+		/**
+		 * Sets the time a connection may be used before it is closed.
+		 *
+		 * @param newMaximumLifetime the lifetime, zero or negative to keep
+		 * connections indefinitely
+		 * @return a modified copy of this configuration
+		 */
+		public Configuration withMaximumLifetime(Duration newMaximumLifetime) {
+			return new Configuration(maximumSize, minimumIdle, acquireTimeout, idleTimeout, newMaximumLifetime, validation, validationInterval, statementCacheSize);
+		}
+
+		public Configuration withValidation(Validation newValidation) {
+			return new Configuration(maximumSize, minimumIdle, acquireTimeout, idleTimeout, maximumLifetime, newValidation, validationInterval, statementCacheSize);
+		}
+
+		public Configuration withValidationInterval(Duration newValidationInterval) {
+			return new Configuration(maximumSize, minimumIdle, acquireTimeout, idleTimeout, maximumLifetime, validation, newValidationInterval, statementCacheSize);
+		}
+
+		/**
+		 * Sets the number of idle PreparedStatements each connection keeps for
+		 * reuse.
+		 *
+		 * <p>
+		 * Statements are only prepared when bind parameters are used, see
+		 * {@link nz.co.gregs.dbvolution.databases.DBDatabase#setBindParametersWhenPossible(boolean) }.</p>
+		 *
+		 * @param newStatementCacheSize the number of statements to cache per
+		 * connection, zero to disable the cache
+		 * @return a modified copy of this configuration
+		 */
+		public Configuration withStatementCacheSize(int newStatementCacheSize) {
+			return new Configuration(maximumSize, minimumIdle, acquireTimeout, idleTimeout, maximumLifetime, validation, validationInterval, newStatementCacheSize);
+		}
+
+		public int getMaximumSize() {
+			return maximumSize;
+		}
+
+		public int getMinimumIdle() {
+			return minimumIdle;
+		}
+
+		public Duration getAcquireTimeout() {
+			return acquireTimeout;
+		}
+
+		public Duration getIdleTimeout() {
+			return idleTimeout;
+		}
+
+		public Duration getMaximumLifetime() {
+			return maximumLifetime;
+		}
+
+		public Validation getValidation() {
+			return validation;
+		}
+
+		public Duration getValidationInterval() {
+			return validationInterval;
+		}
+
+		public int getStatementCacheSize() {
+			return statementCacheSize;
+		}
+
+		@Override
+		public String toString() {
+			return "Configuration{" + "maximumSize=" + maximumSize + ", minimumIdle=" + minimumIdle + ", acquireTimeout=" + acquireTimeout + ", idleTimeout=" + idleTimeout + ", maximumLifetime=" + maximumLifetime + ", validation=" + validation + ", validationInterval=" + validationInterval + ", statementCacheSize=" + statementCacheSize + '}';
+		}
+	}
+
+	/**
+	 * A snapshot of a connection pool's state.
+	 */
+	public static class Statistics implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int active;
+		private final int idle;
+		private final int waiters;
+		private final long created;
+		private final long destroyed;
+		private final long acquisitions;
+		private final long timeouts;
+		private final long averageAcquireNanos;
+		private final long maximumAcquireNanos;
+
+		Statistics(int active, int idle, int waiters, long created, long destroyed, long acquisitions, long timeouts, long averageAcquireNanos, long maximumAcquireNanos) {
+			this.active = active;
+			this.idle = idle;
+			this.waiters = waiters;
+			this.created = created;
+			this.destroyed = destroyed;
+			this.acquisitions = acquisitions;
+			this.timeouts = timeouts;
+			this.averageAcquireNanos = averageAcquireNanos;
+			this.maximumAcquireNanos = maximumAcquireNanos;
+		}
+
+		/**
+		 * @return the number of connections currently in use
+		 */
+		public int getActive() {
+			return active;
+		}
+
+		/**
+		 * @return the number of connections waiting to be used
+		 */
+		public int getIdle() {
+			return idle;
+		}
+
+		/**
+		 * @return the number of connections in the pool
+		 */
+		public int getTotal() {
+			return active + idle;
+		}
+
+		/**
+		 * @return the approximate number of threads waiting for a connection
+		 */
+		public int getWaiters() {
+			return waiters;
+		}
+
+		/**
+		 * @return the number of connections created by the pool
+		 */
+		public long getCreated() {
+			return created;
+		}
+
+		/**
+		 * @return the number of connections closed by the pool
+		 */
+		public long getDestroyed() {
+			return destroyed;
+		}
+
+		/**
+		 * @return the number of successful acquisitions
+		 */
+		public long getAcquisitions() {
+			return acquisitions;
+		}
+
+		/**
+		 * @return the number of acquisitions that timed out
+		 */
+		public long getTimeouts() {
+			return timeouts;
+		}
+
+		/**
+		 * @return the average time taken to acquire a connection
+		 */
+		public Duration getAverageAcquireTime() {
+			return Duration.ofNanos(averageAcquireNanos);
+		}
+
+		/**
+		 * @return the longest time taken to acquire a connection
+		 */
+		public Duration getMaximumAcquireTime() {
+			return Duration.ofNanos(maximumAcquireNanos);
+		}
+
+		@Override
+		public String toString() {
+			return "Statistics{" + "active=" + active + ", idle=" + idle + ", waiters=" + waiters + ", created=" + created + ", destroyed=" + destroyed + ", acquisitions=" + acquisitions + ", timeouts=" + timeouts + ", averageAcquireTime=" + getAverageAcquireTime() + ", maximumAcquireTime=" + getMaximumAcquireTime() + '}';
+		}
+	}
+
+	private static class PooledConnection {
+
+		final DBConnection connection;
+		final AtomicInteger state;
+		final long created;
+		volatile long lastUsed;
+
+		PooledConnection(DBConnection connection, int initialState) {
+			this.connection = connection;
+			this.state = new AtomicInteger(initialState);
+			this.created = System.nanoTime();
+			this.lastUsed = created;
+		}
+
+		boolean isPastLifetime(long now, Configuration config) {
+			final long lifetime = config.getMaximumLifetime().toNanos();
+			return lifetime > 0 && now - created > lifetime;
+		}
+
+		boolean isExpired(long now, Configuration config) {
+			final long idleTimeout = config.getIdleTimeout().toNanos();
+			return isPastLifetime(now, config)
+					|| (idleTimeout > 0 && now - lastUsed > idleTimeout);
+		}
+
+		boolean isUsable(long now, Configuration config) {
+			try {
+				switch (config.getValidation()) {
+					case NONE:
+						return true;
+					case IS_VALID:
+						if (now - lastUsed >= config.getValidationInterval().toNanos()) {
+							final long seconds = Math.max(1, config.getValidationInterval().getSeconds());
+							return connection.isValid((int) Math.min(seconds, 5));
+						}
+						return !connection.isClosed();
+					default:
+						return !connection.isClosed();
+				}
+			} catch (SQLException ex) {
+				return false;
+			}
+		}
+	}
+
+	private static class AdjustableSemaphore extends Semaphore {
+
+		private static final long serialVersionUID = 1L;
+
+		AdjustableSemaphore(int permits) {
+			super(permits, true);
+		}
+
+		@Override
+		protected void reducePermits(int reduction) {
+			super.reducePermits(reduction);
+		}
+	}
+}
@@ -56,10 +56,25 @@ public class DBConnectionSingle implements DBConnection {
 
 	private final Connection connection;
 	private final DBDatabase database;
+	private final PreparedStatementCache statementCache;
 
 	public DBConnectionSingle(DBDatabase database, Connection connection) {
+		this(database, connection, DBConnectionPool.Configuration.DEFAULT_STATEMENT_CACHE_SIZE);
+	}
+
+	/**
+	 * Creates a connection that keeps up to statementCacheSize idle
+	 * PreparedStatements for reuse.
+	 *
+	 * @param database the database that created the connection
+	 * @param connection the JDBC connection to wrap
+	 * @param statementCacheSize the number of idle statements to cache, zero to
+	 * disable caching
+	 */
+	public DBConnectionSingle(DBDatabase database, Connection connection, int statementCacheSize) {
 		this.database = database; 
 		this.connection = connection;
+		this.statementCache = new PreparedStatementCache(this, statementCacheSize);
 	}
 	
 	protected Connection getInternalConnection(){
@@ -108,6 +123,7 @@ public class DBConnectionSingle implements DBConnection {
 
 	@Override
 	public void close() throws SQLException {
+		statementCache.close();
 		connection.close();
 	}
 
@@ -346,4 +362,9 @@ public class DBConnectionSingle implements DBConnection {
 		return this.connection.createStatement();
 	}
 
+	@Override
+	public PreparedStatementCache getPreparedStatementCache() {
+		return statementCache;
+	}
+
 }
@@ -0,0 +1,417 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License. 
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/ 
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ * 
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ * 
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.               
+ *     Under the following terms:
+ *                 
+ *         Attribution - 
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made. 
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial - 
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike - 
+ *             If you remix, transform, or build upon the material, 
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions - 
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the 
+ *             license permits.
+ * 
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.databases.connections;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * A least-recently-used cache of the PreparedStatements created on a single
+ * connection.
+ *
+ * <p>
+ * Statements are keyed by their SQL and the way generated keys are requested,
+ * so repeated executions of the same SQL shape only parse and plan the SQL
+ * once per connection.</p>
+ *
+ * <p>
+ * A statement is removed from the cache while it is in use and returned with
+ * {@link #release(java.sql.PreparedStatement) }, so a statement is never
+ * shared by two executions. When the cache is full the least recently used
+ * idle statement is closed.</p>
+ *
+ * <p>
+ * The cache is owned by the connection, closing the connection closes all the
+ * cached statements and any statements released afterwards.</p>
+ *
+ * @author Gregory Graham
+ */
+public class PreparedStatementCache {
+
+	private static final Log LOG = LogFactory.getLog(PreparedStatementCache.class);
+
+	private final DBConnection connection;
+	private final LinkedHashMap<Key, PreparedStatement> idleStatements = new LinkedHashMap<>(16, 0.75f, true);
+	private final Map<PreparedStatement, Key> borrowedStatements = new IdentityHashMap<>();
+	private int maximumSize;
+	private boolean closed = false;
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder evictionCount = new LongAdder();
+
+	/**
+	 * Creates a cache for the connection.
+	 *
+	 * @param connection the connection that prepares the statements
+	 * @param maximumSize the number of idle statements to keep, zero or less to
+	 * disable caching
+	 */
+	public PreparedStatementCache(DBConnection connection, int maximumSize) {
+		this.connection = connection;
+		this.maximumSize = Math.max(0, maximumSize);
+	}
+
+	/**
+	 * Returns a PreparedStatement for the SQL, reusing an idle statement if
+	 * possible.
+	 *
+	 * @param sql the SQL to prepare
+	 * @return a PreparedStatement for the SQL
+	 * @throws SQLException database errors
+	 */
+	public PreparedStatement prepare(String sql) throws SQLException {
+		return prepare(new Key(sql, Statement.NO_GENERATED_KEYS, null));
+	}
+
+	/**
+	 * Returns a PreparedStatement for the SQL, reusing an idle statement if
+	 * possible.
+	 *
+	 * @param sql the SQL to prepare
+	 * @param autoGeneratedKeys {@link Statement#RETURN_GENERATED_KEYS} or
+	 * {@link Statement#NO_GENERATED_KEYS}
+	 * @return a PreparedStatement for the SQL
+	 * @throws SQLException database errors
+	 */
+	public PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+		return prepare(new Key(sql, autoGeneratedKeys, null));
+	}
+
+	/**
+	 * Returns a PreparedStatement for the SQL that returns the named column as
+	 * a generated key, reusing an idle statement if possible.
+	 *
+	 * @param sql the SQL to prepare
+	 * @param generatedColumn the column to return as a generated key
+	 * @return a PreparedStatement for the SQL
+	 * @throws SQLException database errors
+	 */
+	public PreparedStatement prepare(String sql, String generatedColumn) throws SQLException {
+		return prepare(new Key(sql, Statement.RETURN_GENERATED_KEYS, generatedColumn));
+	}
+
+	private PreparedStatement prepare(Key key) throws SQLException {
+		synchronized (this) {
+			final PreparedStatement cached = idleStatements.remove(key);
+			if (cached != null) {
+				hitCount.increment();
+				borrowedStatements.put(cached, key);
+				return cached;
+			}
+			missCount.increment();
+		}
+		final PreparedStatement prepared = key.prepareOn(connection);
+		synchronized (this) {
+			borrowedStatements.put(prepared, key);
+		}
+		return prepared;
+	}
+
+	/**
+	 * Returns a statement to the cache once it is no longer needed.
+	 *
+	 * <p>
+	 * The statement's parameters and current ResultSet are cleared. Statements
+	 * that were not created by this cache, that duplicate an idle statement, or
+	 * that can not be reset are closed instead.</p>
+	 *
+	 * @param statement a statement returned by one of the prepare methods
+	 */
+	public void release(PreparedStatement statement) {
+		if (statement == null) {
+			return;
+		}
+		final Key key;
+		synchronized (this) {
+			key = borrowedStatements.remove(statement);
+		}
+		if (key == null || !reset(statement)) {
+			closeStatement(statement);
+			return;
+		}
+		final List<PreparedStatement> toClose = new ArrayList<>(1);
+		synchronized (this) {
+			if (closed || maximumSize == 0 || idleStatements.containsKey(key)) {
+				toClose.add(statement);
+			} else {
+				idleStatements.put(key, statement);
+				evictExcess(toClose);
+			}
+		}
+		toClose.forEach(PreparedStatementCache::closeStatement);
+	}
+
+	/**
+	 * Closes a statement without returning it to the cache.
+	 *
+	 * <p>
+	 * Use this for statements that have failed in a way that might leave them
+	 * unusable.</p>
+	 *
+	 * @param statement a statement returned by one of the prepare methods
+	 */
+	public void discard(PreparedStatement statement) {
+		if (statement != null) {
+			synchronized (this) {
+				borrowedStatements.remove(statement);
+			}
+			closeStatement(statement);
+		}
+	}
+
+	/**
+	 * Closes all the idle statements.
+	 *
+	 * <p>
+	 * Statements in use are unaffected and may be returned to the cache
+	 * later.</p>
+	 */
+	public void clear() {
+		final List<PreparedStatement> toClose;
+		synchronized (this) {
+			toClose = new ArrayList<>(idleStatements.values());
+			idleStatements.clear();
+		}
+		toClose.forEach(PreparedStatementCache::closeStatement);
+	}
+
+	/**
+	 * Closes all the idle statements and prevents further caching.
+	 *
+	 * <p>
+	 * Called when the connection is closed, statements released after this are
+	 * closed immediately.</p>
+	 */
+	public void close() {
+		synchronized (this) {
+			closed = true;
+		}
+		clear();
+	}
+
+	/**
+	 * Changes the number of idle statements kept by the cache.
+	 *
+	 * @param newMaximumSize the number of idle statements to keep, zero or less
+	 * to disable caching
+	 */
+	public void setMaximumSize(int newMaximumSize) {
+		final List<PreparedStatement> toClose = new ArrayList<>(0);
+		synchronized (this) {
+			maximumSize = Math.max(0, newMaximumSize);
+			evictExcess(toClose);
+		}
+		toClose.forEach(PreparedStatementCache::closeStatement);
+	}
+
+	public synchronized int getMaximumSize() {
+		return maximumSize;
+	}
+
+	/**
+	 * A snapshot of the cache's current state and history.
+	 *
+	 * @return the statistics for this cache
+	 */
+	public Statistics getStatistics() {
+		final int idle;
+		final int inUse;
+		synchronized (this) {
+			idle = idleStatements.size();
+			inUse = borrowedStatements.size();
+		}
+		return new Statistics(idle, inUse, hitCount.sum(), missCount.sum(), evictionCount.sum());
+	}
+
+	private void evictExcess(List<PreparedStatement> toClose) {
+		final Iterator<PreparedStatement> eldest = idleStatements.values().iterator();
+		while (idleStatements.size() > maximumSize && eldest.hasNext()) {
+			toClose.add(eldest.next());
+			eldest.remove();
+			evictionCount.increment();
+		}
+	}
+
+	private static boolean reset(PreparedStatement statement) {
+		try {
+			if (statement.isClosed()) {
+				return false;
+			}
+			final ResultSet resultSet = statement.getResultSet();
+			if (resultSet != null) {
+				resultSet.close();
+			}
+			statement.clearParameters();
+			statement.clearWarnings();
+			return true;
+		} catch (SQLException ex) {
+			LOG.debug("Unable to reset cached statement: " + ex.getMessage(), ex);
+			return false;
+		}
+	}
+
+	private static void closeStatement(PreparedStatement statement) {
+		try {
+			statement.close();
+		} catch (SQLException ex) {
+			LOG.warn("Exception occurred during close(): " + ex.getMessage(), ex);
+		}
+	}
+
+	private static class Key {
+
+		private final String sql;
+		private final int autoGeneratedKeys;
+		private final String generatedColumn;
+		private final int hash;
+
+		Key(String sql, int autoGeneratedKeys, String generatedColumn) {
+			this.sql = sql;
+			this.autoGeneratedKeys = autoGeneratedKeys;
+			this.generatedColumn = generatedColumn;
+			this.hash = Objects.hash(sql, autoGeneratedKeys, generatedColumn);
+		}
+
+		PreparedStatement prepareOn(DBConnection connection) throws SQLException {
+			if (generatedColumn != null) {
+				return connection.prepareStatement(sql, new String[]{generatedColumn});
+			} else if (autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS) {
+				return connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+			} else {
+				return connection.prepareStatement(sql);
+			}
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			final Key other = (Key) obj;
+			return autoGeneratedKeys == other.autoGeneratedKeys
+					&& sql.equals(other.sql)
+					&& Objects.equals(generatedColumn, other.generatedColumn);
+		}
+	}
+
+	/**
+	 * A snapshot of a statement cache's state.
+	 */
+	public static class Statistics implements Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int idle;
+		private final int inUse;
+		private final long hits;
+		private final long misses;
+		private final long evictions;
+
+		Statistics(int idle, int inUse, long hits, long misses, long evictions) {
+			this.idle = idle;
+			this.inUse = inUse;
+			this.hits = hits;
+			this.misses = misses;
+			this.evictions = evictions;
+		}
+
+		/**
+		 * Combines the statistics of two caches.
+		 *
+		 * @param other the statistics of another cache
+		 * @return the sum of both statistics
+		 */
+		public Statistics plus(Statistics other) {
+			return new Statistics(idle + other.idle, inUse + other.inUse, hits + other.hits, misses + other.misses, evictions + other.evictions);
+		}
+
+		/**
+		 * @return the number of statements waiting to be reused
+		 */
+		public int getIdle() {
+			return idle;
+		}
+
+		/**
+		 * @return the number of statements currently executing or holding
+		 * results
+		 */
+		public int getInUse() {
+			return inUse;
+		}
+
+		/**
+		 * @return the number of times an idle statement was reused
+		 */
+		public long getHits() {
+			return hits;
+		}
+
+		/**
+		 * @return the number of times a new statement was prepared
+		 */
+		public long getMisses() {
+			return misses;
+		}
+
+		/**
+		 * @return the number of idle statements closed to make room for others
+		 */
+		public long getEvictions() {
+			return evictions;
+		}
+
+		@Override
+		public String toString() {
+			return "Statistics{" + "idle=" + idle + ", inUse=" + inUse + ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + '}';
+		}
+	}
+}
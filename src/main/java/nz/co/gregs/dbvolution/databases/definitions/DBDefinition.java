@@ -15,6 +15,7 @@
  */
 package nz.co.gregs.dbvolution.databases.definitions;
 
+import nz.co.gregs.dbvolution.internal.bulkload.BulkLoadMethod;
 import nz.co.gregs.dbvolution.internal.query.LargeObjectHandlerType;
 import com.vividsolutions.jts.geom.*;
 import java.io.Serializable;
@@ -3765,6 +3766,20 @@ public abstract class DBDefinition implements Serializable {
 		return builder.toString();
 	}
 
+	/**
+	 * Indicates whether the database can compare row values with the IN operator,
+	 * for instance "(col1, col2) IN ((1, 2), (3, 4))".
+	 *
+	 * <p>
+	 * Used when deleting or updating many rows with composite primary keys. When
+	 * this returns FALSE the keys are compared with a series of ORs instead.
+	 *
+	 * @return TRUE if row value IN comparisons are supported, FALSE otherwise.
+	 */
+	public boolean supportsRowValueInComparison() {
+		return false;
+	}
+
 	/**
 	 * Produce SQL that will compare the first value to all the other values using
 	 * the NOT IN operator.
@@ -6793,6 +6808,160 @@ public abstract class DBDefinition implements Serializable {
 		return true;
 	}
 
+	/**
+	 * Indicates that the JDBC driver returns the generated keys for every row
+	 * inserted by a batched PreparedStatement.
+	 *
+	 * <p>
+	 * When this returns FALSE, rows that require an auto-incremented primary key
+	 * are inserted individually during bulk inserts so that their keys can be
+	 * retrieved.
+	 *
+	 * @return TRUE if generated keys are returned for batched inserts, FALSE
+	 * otherwise.
+	 */
+	public boolean supportsGeneratedKeysFromBatchInserts() {
+		return false;
+	}
+
+	/**
+	 * The approximate maximum size, in characters, of the SQL and values sent in
+	 * a single bulk insert batch.
+	 *
+	 * <p>
+	 * Bulk inserts are split into several batches when they would exceed this
+	 * limit or {@link DBDatabase#getBatchSize() the batch size}.
+	 *
+	 * @return the maximum number of characters in one bulk insert batch
+	 */
+	public int getMaximumBulkInsertBatchCharacters() {
+		return 4 * 1024 * 1024;
+	}
+
+	/**
+	 * Indicates that dates can be sent to the database as bind parameters.
+	 *
+	 * <p>
+	 * When this returns TRUE, and bind parameters are being used, DBDate values
+	 * are set with {@link java.sql.PreparedStatement#setTimestamp(int, java.sql.Timestamp)
+	 * } instead of being formatted with
+	 * {@link #getDateFormattedForQuery(java.util.Date) }. Only return TRUE if
+	 * the database stores and compares the timestamp exactly as it would the
+	 * formatted date.
+	 *
+	 * @return TRUE if dates can be bound, FALSE otherwise.
+	 */
+	public boolean supportsBindParametersForDates() {
+		return false;
+	}
+
+	/**
+	 * Indicates that several connections may read and write the database at the
+	 * same time.
+	 *
+	 * <p>
+	 * When this returns FALSE, tables are copied one at a time while
+	 * synchronising a cluster that includes the database.
+	 *
+	 * @return TRUE if concurrent connections are supported, FALSE otherwise.
+	 */
+	public boolean supportsConcurrentConnections() {
+		return true;
+	}
+
+	/**
+	 * Indicates the fastest mechanism this database provides for loading large
+	 * numbers of rows.
+	 *
+	 * <p>
+	 * Used by {@link nz.co.gregs.dbvolution.actions.DBBulkLoad}. By default
+	 * rows are loaded with batched inserts within a single transaction.
+	 *
+	 * @return the preferred bulk load method
+	 */
+	public BulkLoadMethod getPreferredBulkLoadMethod() {
+		return BulkLoadMethod.BATCHED_INSERT;
+	}
+
+	/**
+	 * Indicates that the database can insert, or update, many rows in a single
+	 * statement.
+	 *
+	 * <p>
+	 * When this returns TRUE
+	 * {@link DBDatabase#insertOrUpdate(java.util.Collection) } uses
+	 * {@link #getUpsertStatement(java.lang.String, java.util.List, java.util.List, java.util.List) }
+	 * to save the rows, otherwise each row is inserted and then updated if the
+	 * insert fails.
+	 *
+	 * @return TRUE if the database supports multi-row upserts, FALSE otherwise.
+	 */
+	public boolean supportsUpsert() {
+		return false;
+	}
+
+	/**
+	 * The maximum number of rows included in a single upsert statement.
+	 *
+	 * <p>
+	 * Upserts are split into several statements when they would exceed this
+	 * limit or {@link DBDatabase#getBatchSize() the batch size}.
+	 *
+	 * @return the maximum number of rows in one upsert statement
+	 */
+	public int getMaximumUpsertRows() {
+		return 1000;
+	}
+
+	/**
+	 * Generates a statement that inserts the rows, or updates the existing rows
+	 * with the same primary key.
+	 *
+	 * <p>
+	 * The default implementation uses the standard MERGE statement with a VALUES
+	 * table constructor.
+	 *
+	 * @param formattedTableName the table name, formatted for this database
+	 * @param columns the formatted names of the columns, including the primary
+	 * key columns
+	 * @param primaryKeyColumns the formatted names of the primary key columns
+	 * @param rows the SQL values of each row, in the same order as the columns
+	 * @return the upsert statement
+	 */
+	public String getUpsertStatement(String formattedTableName, List<String> columns, List<String> primaryKeyColumns, List<List<String>> rows) {
+		final String target = "DBV_TARGET";
+		final String source = "DBV_SOURCE";
+		StringBuilder sql = new StringBuilder("MERGE INTO ")
+				.append(formattedTableName).append(" AS ").append(target)
+				.append(" USING (VALUES ");
+		String rowSeparator = "";
+		for (List<String> row : rows) {
+			sql.append(rowSeparator).append("(").append(String.join(", ", row)).append(")");
+			rowSeparator = ", ";
+		}
+		sql.append(") AS ").append(source).append(" (").append(String.join(", ", columns)).append(")")
+				.append(" ON ");
+		String separator = "";
+		for (String pk : primaryKeyColumns) {
+			sql.append(separator).append(target).append(".").append(pk).append(" = ").append(source).append(".").append(pk);
+			separator = " AND ";
+		}
+		separator = " WHEN MATCHED THEN UPDATE SET ";
+		for (String column : columns) {
+			if (!primaryKeyColumns.contains(column)) {
+				sql.append(separator).append(column).append(" = ").append(source).append(".").append(column);
+				separator = ", ";
+			}
+		}
+		sql.append(" WHEN NOT MATCHED THEN INSERT (").append(String.join(", ", columns)).append(") VALUES (");
+		separator = "";
+		for (String column : columns) {
+			sql.append(separator).append(source).append(".").append(column);
+			separator = ", ";
+		}
+		return sql.append(")").append(endInsertLine()).toString();
+	}
+
 	public boolean supportsWindowingFunctionsInTheHavingClause() {
 		return false;
 	}
@@ -7161,6 +7330,23 @@ public abstract class DBDefinition implements Serializable {
 		return newInstance;
 	}
 
+	/**
+	 * Identifies the SQL dialect produced by this definition.
+	 *
+	 * <p>
+	 * Expressions with stable SQL render identically for every definition with
+	 * the same dialect, so their SQL can be reused for all of them.
+	 *
+	 * @return the class of this definition, or null if this instance has been
+	 * configured differently from the other instances of its class
+	 */
+	public Class<? extends DBDefinition> getSQLDialect() {
+		if (requiredToProduceEmptyStringsForNull() || hasLocalDateTimeOffset()) {
+			return null;
+		}
+		return getClass();
+	}
+
 	public boolean hasLocalDateTimeOffset() {
 		final boolean hasLocalDateTimeOffset = getLocalDateTimeOffsetHours() != 0 || getLocalDateTimeOffsetMinutes() != 0;
 		return hasLocalDateTimeOffset;
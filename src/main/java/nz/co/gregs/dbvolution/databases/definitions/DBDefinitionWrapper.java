@@ -50,6 +50,7 @@ import nz.co.gregs.dbvolution.expressions.DBExpression;
 import nz.co.gregs.dbvolution.expressions.SortProvider;
 import nz.co.gregs.dbvolution.expressions.StringExpression;
 import nz.co.gregs.dbvolution.generation.DBTableField;
+import nz.co.gregs.dbvolution.internal.bulkload.BulkLoadMethod;
 import nz.co.gregs.dbvolution.internal.properties.PropertyWrapper;
 import nz.co.gregs.dbvolution.internal.query.LargeObjectHandlerType;
 import nz.co.gregs.dbvolution.internal.query.QueryOptions;
@@ -2352,6 +2353,51 @@ class DBDefinitionWrapper extends DBDefinition {
 		return base.supportsBulkInserts();
 	}
 
+	@Override
+	public boolean supportsGeneratedKeysFromBatchInserts() {
+		return base.supportsGeneratedKeysFromBatchInserts();
+	}
+
+	@Override
+	public int getMaximumBulkInsertBatchCharacters() {
+		return base.getMaximumBulkInsertBatchCharacters();
+	}
+
+	@Override
+	public boolean supportsBindParametersForDates() {
+		return base.supportsBindParametersForDates();
+	}
+
+	@Override
+	public boolean supportsConcurrentConnections() {
+		return base.supportsConcurrentConnections();
+	}
+
+	@Override
+	public BulkLoadMethod getPreferredBulkLoadMethod() {
+		return base.getPreferredBulkLoadMethod();
+	}
+
+	@Override
+	public boolean supportsUpsert() {
+		return base.supportsUpsert();
+	}
+
+	@Override
+	public int getMaximumUpsertRows() {
+		return base.getMaximumUpsertRows();
+	}
+
+	@Override
+	public String getUpsertStatement(String formattedTableName, List<String> columns, List<String> primaryKeyColumns, List<List<String>> rows) {
+		return base.getUpsertStatement(formattedTableName, columns, primaryKeyColumns, rows);
+	}
+
+	@Override
+	public boolean supportsRowValueInComparison() {
+		return base.supportsRowValueInComparison();
+	}
+
 	@Override
 	public boolean supportsWindowingFunctionsInTheHavingClause() {
 		return base.supportsWindowingFunctionsInTheHavingClause();
@@ -15,10 +15,12 @@
  */
 package nz.co.gregs.dbvolution.databases.definitions;
 
+import nz.co.gregs.dbvolution.internal.bulkload.BulkLoadMethod;
 import nz.co.gregs.dbvolution.internal.query.LargeObjectHandlerType;
 import com.vividsolutions.jts.geom.Polygon;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.List;
 import java.util.TimeZone;
 import nz.co.gregs.dbvolution.DBRow;
 import nz.co.gregs.dbvolution.databases.H2DB;
@@ -680,6 +682,45 @@ public class H2DBDefinition extends DBDefinition implements SupportsPolygonDatat
 		return false;
 	}
 
+	@Override
+	public boolean supportsGeneratedKeysFromBatchInserts() {
+		return true;
+	}
+
+	@Override
+	public boolean supportsBindParametersForDates() {
+		return true;
+	}
+
+	@Override
+	public BulkLoadMethod getPreferredBulkLoadMethod() {
+		return BulkLoadMethod.H2_CSVREAD;
+	}
+
+	@Override
+	public boolean supportsUpsert() {
+		return true;
+	}
+
+	@Override
+	public boolean supportsRowValueInComparison() {
+		return true;
+	}
+
+	@Override
+	public String getUpsertStatement(String formattedTableName, List<String> columns, List<String> primaryKeyColumns, List<List<String>> rows) {
+		StringBuilder sql = new StringBuilder("MERGE INTO ").append(formattedTableName)
+				.append(" (").append(String.join(", ", columns)).append(")")
+				.append(" KEY (").append(String.join(", ", primaryKeyColumns)).append(")")
+				.append(" VALUES ");
+		String separator = "";
+		for (List<String> row : rows) {
+			sql.append(separator).append("(").append(String.join(", ", row)).append(")");
+			separator = ", ";
+		}
+		return sql.append(endInsertLine()).toString();
+	}
+
 	@Override
 	public String doStringAccumulateTransform(String accumulateColumn, String separator, String referencedTable) {
 		return "GROUP_CONCAT(" + accumulateColumn + " SEPARATOR " + doStringLiteralWrapping(separator) + ")";
@@ -1440,4 +1440,9 @@ public class MSSQLServerDBDefinition extends DBDefinition {
 		return DUPLICATE_COLUMN_EXCEPTION.matchesWithinString(exc.getMessage());
 	}
 
+	@Override
+	public boolean supportsUpsert() {
+		return true;
+	}
+
 }
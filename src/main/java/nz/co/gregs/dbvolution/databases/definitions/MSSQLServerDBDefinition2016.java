@@ -1192,4 +1192,9 @@ public class MSSQLServerDBDefinition2016 extends DBDefinition {
 	public boolean requiresReversingLineStringsFromDatabase() {
 		return false;
 	}
+
+	@Override
+	public boolean supportsUpsert() {
+		return true;
+	}
 }
@@ -18,8 +18,10 @@ package nz.co.gregs.dbvolution.databases.definitions;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.List;
 import nz.co.gregs.dbvolution.databases.MariaClusterDB;
 import nz.co.gregs.dbvolution.databases.MariaDB;
+import nz.co.gregs.dbvolution.internal.bulkload.BulkLoadMethod;
 import nz.co.gregs.dbvolution.datatypes.DBLargeBinary;
 import nz.co.gregs.dbvolution.datatypes.DBLargeText;
 import nz.co.gregs.dbvolution.datatypes.DBDate;
@@ -50,6 +52,45 @@ public class MariaDBDefinition extends DBDefinition {
 		return " STR_TO_DATE('" + DATETIME_FORMAT.format(date) + "', '%d,%m,%Y %H:%i:%s') ";
 	}
 
+	@Override
+	public BulkLoadMethod getPreferredBulkLoadMethod() {
+		return BulkLoadMethod.MYSQL_LOAD_DATA;
+	}
+
+	@Override
+	public boolean supportsUpsert() {
+		return true;
+	}
+
+	@Override
+	public boolean supportsRowValueInComparison() {
+		return true;
+	}
+
+	@Override
+	public String getUpsertStatement(String formattedTableName, List<String> columns, List<String> primaryKeyColumns, List<List<String>> rows) {
+		StringBuilder sql = new StringBuilder(beginInsertLine()).append(formattedTableName)
+				.append(" (").append(String.join(", ", columns)).append(") VALUES ");
+		String separator = "";
+		for (List<String> row : rows) {
+			sql.append(separator).append("(").append(String.join(", ", row)).append(")");
+			separator = ", ";
+		}
+		separator = " ON DUPLICATE KEY UPDATE ";
+		for (String column : columns) {
+			if (!primaryKeyColumns.contains(column)) {
+				sql.append(separator).append(column).append(" = VALUES(").append(column).append(")");
+				separator = ", ";
+			}
+		}
+		if (separator.startsWith(" ON")) {
+			// nothing to update but MySQL requires an assignment
+			final String pk = primaryKeyColumns.get(0);
+			sql.append(separator).append(pk).append(" = ").append(pk);
+		}
+		return sql.append(endInsertLine()).toString();
+	}
+
 	@Override
 	public String getDatePartsFormattedForQuery(String years, String months, String days, String hours, String minutes, String seconds, String subsecond, String timeZoneSign, String timeZoneHourOffset, String timeZoneMinuteOffSet) {
 		return " STR_TO_DATE('" 
@@ -15,6 +15,7 @@
  */
 package nz.co.gregs.dbvolution.databases.definitions;
 
+import nz.co.gregs.dbvolution.internal.bulkload.BulkLoadMethod;
 import nz.co.gregs.dbvolution.internal.query.LargeObjectHandlerType;
 import com.vividsolutions.jts.geom.*;
 import com.vividsolutions.jts.io.WKTReader;
@@ -58,6 +59,45 @@ public class MySQLDBDefinition extends DBDefinition {
 		return " STR_TO_DATE('" + DATETIME_FORMAT.format(date) + "', '%d,%m,%Y %H:%i:%s.%f') ";
 	}
 
+	@Override
+	public BulkLoadMethod getPreferredBulkLoadMethod() {
+		return BulkLoadMethod.MYSQL_LOAD_DATA;
+	}
+
+	@Override
+	public boolean supportsUpsert() {
+		return true;
+	}
+
+	@Override
+	public boolean supportsRowValueInComparison() {
+		return true;
+	}
+
+	@Override
+	public String getUpsertStatement(String formattedTableName, List<String> columns, List<String> primaryKeyColumns, List<List<String>> rows) {
+		StringBuilder sql = new StringBuilder(beginInsertLine()).append(formattedTableName)
+				.append(" (").append(String.join(", ", columns)).append(") VALUES ");
+		String separator = "";
+		for (List<String> row : rows) {
+			sql.append(separator).append("(").append(String.join(", ", row)).append(")");
+			separator = ", ";
+		}
+		separator = " ON DUPLICATE KEY UPDATE ";
+		for (String column : columns) {
+			if (!primaryKeyColumns.contains(column)) {
+				sql.append(separator).append(column).append(" = VALUES(").append(column).append(")");
+				separator = ", ";
+			}
+		}
+		if (separator.startsWith(" ON")) {
+			// nothing to update but MySQL requires an assignment
+			final String pk = primaryKeyColumns.get(0);
+			sql.append(separator).append(pk).append(" = ").append(pk);
+		}
+		return sql.append(endInsertLine()).toString();
+	}
+
 	@Override
 	public String getEqualsComparator() {
 		return " = ";
@@ -927,4 +927,64 @@ public class OracleDBDefinition extends DBDefinition {
 		return result;
 	}
 
+	@Override
+	public boolean supportsUpsert() {
+		return true;
+	}
+
+	@Override
+	public boolean supportsRowValueInComparison() {
+		return true;
+	}
+
+	/**
+	 * Oracle does not support the VALUES table constructor so the rows are
+	 * selected from DUAL instead.
+	 *
+	 * @param formattedTableName the table name, formatted for this database
+	 * @param columns the formatted names of the columns, including the primary
+	 * key columns
+	 * @param primaryKeyColumns the formatted names of the primary key columns
+	 * @param rows the SQL values of each row, in the same order as the columns
+	 * @return the upsert statement
+	 */
+	@Override
+	public String getUpsertStatement(String formattedTableName, List<String> columns, List<String> primaryKeyColumns, List<List<String>> rows) {
+		final String target = "DBV_TARGET";
+		final String source = "DBV_SOURCE";
+		StringBuilder sql = new StringBuilder("MERGE INTO ")
+				.append(formattedTableName).append(" ").append(target)
+				.append(" USING (");
+		String rowSeparator = "";
+		for (List<String> row : rows) {
+			sql.append(rowSeparator).append("SELECT ");
+			for (int i = 0; i < columns.size(); i++) {
+				sql.append(i == 0 ? "" : ", ").append(row.get(i)).append(" AS ").append(columns.get(i));
+			}
+			sql.append(" FROM DUAL");
+			rowSeparator = " UNION ALL ";
+		}
+		sql.append(") ").append(source).append(" ON (");
+		String separator = "";
+		for (String pk : primaryKeyColumns) {
+			sql.append(separator).append(target).append(".").append(pk).append(" = ").append(source).append(".").append(pk);
+			separator = " AND ";
+		}
+		sql.append(")");
+		separator = " WHEN MATCHED THEN UPDATE SET ";
+		for (String column : columns) {
+			if (!primaryKeyColumns.contains(column)) {
+				sql.append(separator).append(target).append(".").append(column).append(" = ").append(source).append(".").append(column);
+				separator = ", ";
+			}
+		}
+		sql.append(" WHEN NOT MATCHED THEN INSERT (").append(String.join(", ", columns)).append(") VALUES (");
+		separator = "";
+		for (String column : columns) {
+			sql.append(separator).append(source).append(".").append(column);
+			separator = ", ";
+		}
+		return sql.append(")").append(endInsertLine()).toString();
+	}
+
 }
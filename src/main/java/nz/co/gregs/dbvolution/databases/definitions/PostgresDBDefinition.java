@@ -15,6 +15,7 @@
  */
 package nz.co.gregs.dbvolution.databases.definitions;
 
+import nz.co.gregs.dbvolution.internal.bulkload.BulkLoadMethod;
 import nz.co.gregs.dbvolution.internal.query.LargeObjectHandlerType;
 import com.vividsolutions.jts.geom.*;
 import java.sql.SQLException;
@@ -214,6 +215,49 @@ public class PostgresDBDefinition extends DBDefinition {
 		return false;
 	}
 
+	@Override
+	public boolean supportsGeneratedKeysFromBatchInserts() {
+		return true;
+	}
+
+	@Override
+	public BulkLoadMethod getPreferredBulkLoadMethod() {
+		return BulkLoadMethod.POSTGRES_COPY;
+	}
+
+	@Override
+	public boolean supportsUpsert() {
+		return true;
+	}
+
+	@Override
+	public boolean supportsRowValueInComparison() {
+		return true;
+	}
+
+	@Override
+	public String getUpsertStatement(String formattedTableName, List<String> columns, List<String> primaryKeyColumns, List<List<String>> rows) {
+		StringBuilder sql = new StringBuilder(beginInsertLine()).append(formattedTableName)
+				.append(" (").append(String.join(", ", columns)).append(") VALUES ");
+		String separator = "";
+		for (List<String> row : rows) {
+			sql.append(separator).append("(").append(String.join(", ", row)).append(")");
+			separator = ", ";
+		}
+		sql.append(" ON CONFLICT (").append(String.join(", ", primaryKeyColumns)).append(")");
+		separator = " DO UPDATE SET ";
+		for (String column : columns) {
+			if (!primaryKeyColumns.contains(column)) {
+				sql.append(separator).append(column).append(" = EXCLUDED.").append(column);
+				separator = ", ";
+			}
+		}
+		if (separator.startsWith(" DO")) {
+			sql.append(" DO NOTHING");
+		}
+		return sql.append(endInsertLine()).toString();
+	}
+
 	@Override
 	public String doSecondAndSubsecondTransform(String dateExpression) {
 		return "(EXTRACT(MICROSECOND FROM " + dateExpression + ")/1000000.0)";
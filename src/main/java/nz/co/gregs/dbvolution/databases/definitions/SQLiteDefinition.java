@@ -80,6 +80,11 @@ public class SQLiteDefinition extends DBDefinition implements SupportsPolygonDat
 		return false;
 	}
 
+	@Override
+	public boolean supportsConcurrentConnections() {
+		return false;
+	}
+
 	@Override
 	public String formatTableName(DBRow table) {
 		return super.formatTableName(table).toUpperCase();
@@ -1114,4 +1119,9 @@ public class SQLiteDefinition extends DBDefinition implements SupportsPolygonDat
 		}
 	}
 
+	@Override
+	public boolean supportsRowValueInComparison() {
+		return true;
+	}
+
 }
@@ -255,6 +255,15 @@ public class DBBoolean extends QueryableDatatype<Boolean> implements BooleanResu
 		return dbValue;
 	}
 
+	@Override
+	protected Boolean getFromResultSetColumn(DBDefinition database, ResultSet resultSet, int columnIndex, String fullColumnName) throws SQLException {
+		Boolean dbValue = resultSet.getBoolean(columnIndex);
+		if (resultSet.wasNull()) {
+			dbValue = null;
+		}
+		return dbValue;
+	}
+
 	@Override
 	public StringExpression stringResult() {
 		return BooleanExpression.value(this).stringResult();
@@ -34,6 +34,7 @@ import nz.co.gregs.dbvolution.exceptions.DBRuntimeException;
 import nz.co.gregs.dbvolution.exceptions.IncorrectRowProviderInstanceSuppliedException;
 import nz.co.gregs.dbvolution.expressions.DateExpression;
 import nz.co.gregs.dbvolution.expressions.StringExpression;
+import nz.co.gregs.dbvolution.internal.query.BindParameters;
 import nz.co.gregs.dbvolution.operators.DBGreaterThanOperator;
 import nz.co.gregs.dbvolution.operators.DBGreaterThanOrEqualsOperator;
 import nz.co.gregs.dbvolution.operators.DBLessThanOperator;
@@ -265,6 +266,14 @@ public class DBDate extends QueryableDatatype<Date> implements DateResult {
 		return db.getDateFormattedForQuery(dateValue());
 	}
 
+	@Override
+	protected String formatValueAsBindParameter(DBDefinition db) {
+		if (db.supportsBindParametersForDates()) {
+			return BindParameters.parameter(this, BindParameters.Type.TIMESTAMP, dateValue(), formatValueForSQLStatement(db));
+		}
+		return formatValueForSQLStatement(db);
+	}
+
 	@Override
 	protected Date getFromResultSet(DBDefinition defn, ResultSet resultSet, String fullColumnName) {
 		Date dbValue;
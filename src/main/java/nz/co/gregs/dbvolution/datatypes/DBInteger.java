@@ -27,6 +27,7 @@ import nz.co.gregs.dbvolution.exceptions.IncorrectRowProviderInstanceSuppliedExc
 import nz.co.gregs.dbvolution.expressions.IntegerExpression;
 import nz.co.gregs.dbvolution.expressions.NumberExpression;
 import nz.co.gregs.dbvolution.expressions.StringExpression;
+import nz.co.gregs.dbvolution.internal.query.BindParameters;
 import nz.co.gregs.dbvolution.results.NumberResult;
 import nz.co.gregs.dbvolution.operators.DBPermittedRangeExclusiveOperator;
 import nz.co.gregs.dbvolution.operators.DBPermittedRangeInclusiveOperator;
@@ -732,6 +733,14 @@ public class DBInteger extends QueryableDatatype<Long> implements IntegerResult
 		return defn.beginNumberValue() + getLiteralValue() + defn.endNumberValue();
 	}
 
+	@Override
+	protected String formatValueAsBindParameter(DBDefinition defn) {
+		if (isNull()) {
+			return defn.getNull();
+		}
+		return BindParameters.parameter(this, BindParameters.Type.LONG, getLiteralValue(), formatValueForSQLStatement(defn));
+	}
+
 	@Override
 	public boolean isAggregator() {
 		return false;
@@ -742,6 +751,11 @@ public class DBInteger extends QueryableDatatype<Long> implements IntegerResult
 		return resultSet.getLong(fullColumnName);
 	}
 
+	@Override
+	protected Long getFromResultSetColumn(DBDefinition database, ResultSet resultSet, int columnIndex, String fullColumnName) throws SQLException {
+		return resultSet.getLong(columnIndex);
+	}
+
 	@Override
 	public DBInteger copy() {
 		return (DBInteger) super.copy();
@@ -31,6 +31,7 @@ import nz.co.gregs.dbvolution.exceptions.IncorrectRowProviderInstanceSuppliedExc
 import nz.co.gregs.dbvolution.expressions.IntegerExpression;
 import nz.co.gregs.dbvolution.expressions.NumberExpression;
 import nz.co.gregs.dbvolution.expressions.StringExpression;
+import nz.co.gregs.dbvolution.internal.query.BindParameters;
 import nz.co.gregs.dbvolution.results.NumberResult;
 import nz.co.gregs.dbvolution.operators.DBPermittedRangeExclusiveOperator;
 import nz.co.gregs.dbvolution.operators.DBPermittedRangeInclusiveOperator;
@@ -239,6 +240,14 @@ public class DBNumber extends QueryableDatatype<Number> implements NumberResult
 		return defn.beginNumberValue() + getLiteralValue().toString() + defn.endNumberValue();
 	}
 
+	@Override
+	protected String formatValueAsBindParameter(DBDefinition defn) {
+		if (isNull()) {
+			return defn.getNull();
+		}
+		return BindParameters.parameter(this, BindParameters.Type.DECIMAL, getLiteralValue(), formatValueForSQLStatement(defn));
+	}
+
 	/**
 	 * Gets the current literal value of this DBNumber, without any formatting.
 	 *
@@ -719,6 +728,19 @@ public class DBNumber extends QueryableDatatype<Number> implements NumberResult
 		}
 	}
 
+	@Override
+	protected Number getFromResultSetColumn(DBDefinition defn, ResultSet resultSet, int columnIndex, String fullColumnName) throws SQLException {
+		try {
+			return resultSet.getBigDecimal(columnIndex);
+		} catch (SQLException ex) {
+			try {
+				return resultSet.getLong(columnIndex);
+			} catch (SQLException ex2) {
+				return null;
+			}
+		}
+	}
+
 	@Override
 	public StringExpression stringResult() {
 		return NumberExpression.value(this).stringResult();
@@ -24,6 +24,7 @@ import nz.co.gregs.dbvolution.columns.StringColumn;
 import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
 import nz.co.gregs.dbvolution.exceptions.IncorrectRowProviderInstanceSuppliedException;
 import nz.co.gregs.dbvolution.expressions.StringExpression;
+import nz.co.gregs.dbvolution.internal.query.BindParameters;
 import nz.co.gregs.dbvolution.results.StringResult;
 import nz.co.gregs.dbvolution.operators.*;
 import nz.co.gregs.dbvolution.query.RowDefinition;
@@ -161,6 +162,16 @@ public class DBString extends QueryableDatatype<String> implements StringResult
 		}
 	}
 
+	@Override
+	protected String formatValueAsBindParameter(DBDefinition defn) {
+		if (getLiteralValue().isEmpty()) {
+			return defn.getEmptyString();
+		} else {
+			String unsafeValue = getLiteralValue();
+			return BindParameters.parameter(this, BindParameters.Type.STRING, unsafeValue, defn.beginStringValue() + defn.safeString(unsafeValue) + defn.endStringValue());
+		}
+	}
+
 	@Override
 	public DBString copy() {
 		return (DBString) super.copy();
@@ -753,6 +764,20 @@ public class DBString extends QueryableDatatype<String> implements StringResult
 		}
 	}
 
+	@Override
+	protected String getFromResultSetColumn(DBDefinition defn, ResultSet resultSet, int columnIndex, String fullColumnName) throws SQLException {
+		String gotString = resultSet.getString(columnIndex);
+		if (resultSet.wasNull() || gotString == null) {
+			if (defn.requiredToProduceEmptyStringsForNull()) {
+				return "";
+			} else {
+				return null;
+			}
+		} else {
+			return gotString;
+		}
+	}
+
 	/**
 	 * Perform case-insensitive searches based on using database compatible
 	 * pattern matching.
@@ -826,6 +826,11 @@ public class DBStringEnum<E extends Enum<E> & DBEnumValue<String>> extends DBEnu
 		return resultSet.getString(fullColumnName);
 	}
 
+	@Override
+	protected String getFromResultSetColumn(DBDefinition database, ResultSet resultSet, int columnIndex, String fullColumnName) throws SQLException {
+		return resultSet.getString(columnIndex);
+	}
+
 	@Override
 	protected void setValueFromStandardStringEncoding(String encodedValue) {
 		setValue(encodedValue);
@@ -66,6 +66,11 @@ public class DBStringTrimmed extends DBString {
 		return db.doTrimFunction(super.formatValueForSQLStatement(db));
 	}
 
+	@Override
+	protected String formatValueAsBindParameter(DBDefinition db) {
+		return db.doTrimFunction(super.formatValueAsBindParameter(db));
+	}
+
 	@Override
 	public String formatColumnForSQLStatement(DBDefinition db, String formattedColumnName) {
 		return db.doTrimFunction(formattedColumnName);
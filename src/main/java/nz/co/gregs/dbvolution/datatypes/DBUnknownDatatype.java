@@ -87,6 +87,11 @@ public class DBUnknownDatatype extends QueryableDatatype<Object> {
 		return resultSet.getString(fullColumnName);
 	}
 
+	@Override
+	protected Object getFromResultSetColumn(DBDefinition defn, ResultSet resultSet, int columnIndex, String fullColumnName) throws SQLException {
+		return resultSet.getString(columnIndex);
+	}
+
 	@Override
 	protected void setValueFromStandardStringEncoding(String encodedValue) {
 		throw new UnsupportedOperationException("DBUnknownDatatype does not support setValueFromStandardStringEncoding(String) yet."); //To change body of generated methods, choose Tools | Templates.
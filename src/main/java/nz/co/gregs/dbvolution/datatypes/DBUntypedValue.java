@@ -89,6 +89,17 @@ public class DBUntypedValue extends QueryableDatatype<Object> implements StringR
 		return gotString;
 	}
 
+	@Override
+	protected String getFromResultSetColumn(DBDefinition database, ResultSet resultSet, int columnIndex, String fullColumnName) throws SQLException {
+		String gotString = resultSet.getString(columnIndex);
+		if (!database.canProduceNullStrings()) {
+			if (gotString != null && gotString.isEmpty()) {
+				return null;
+			}
+		}
+		return gotString;
+	}
+
 	@Override
 	public UntypedColumn getColumn(RowDefinition row) throws IncorrectRowProviderInstanceSuppliedException {
 		return new UntypedColumn(row, this);
@@ -39,6 +39,7 @@ import nz.co.gregs.dbvolution.results.LargeObjectResult;
 import nz.co.gregs.dbvolution.results.NumberResult;
 import nz.co.gregs.dbvolution.results.StringResult;
 import nz.co.gregs.dbvolution.internal.properties.PropertyWrapperDefinition;
+import nz.co.gregs.dbvolution.internal.query.BindParameters;
 import nz.co.gregs.dbvolution.operators.DBEqualsOperator;
 import nz.co.gregs.dbvolution.operators.DBIsNullOperator;
 import nz.co.gregs.dbvolution.operators.DBOperator;
@@ -62,7 +63,7 @@ import nz.co.gregs.dbvolution.utility.comparators.HashCodeComparator;
 public abstract class QueryableDatatype<T> extends Object implements Serializable, DBExpression, Comparable<QueryableDatatype<T>> {
 
 	private static final long serialVersionUID = 1L;
-	private T literalValue = null;
+	private volatile T literalValue = null;
 	private boolean isDBNull = false;
 	private DBOperator operator = null;
 	private boolean undefined = true;
@@ -93,7 +94,7 @@ public abstract class QueryableDatatype<T> extends Object implements Serializabl
 	private Boolean sort = SORT_ASCENDING;
 	transient PropertyWrapperDefinition<?, T> propertyWrapperDefn; // no guarantees whether this gets set
 	private DBExpression[] columnExpression = new DBExpression[]{};
-	private boolean setValueHasBeenCalled = false;
+	private volatile boolean setValueHasBeenCalled = false;
 	private T defaultInsertValue = null;
 	private AnyResult<T> defaultInsertExpression;
 	private AnyResult<T> defaultUpdateExpression;
@@ -704,11 +705,32 @@ public abstract class QueryableDatatype<T> extends Object implements Serializabl
 			return defn.getNull();
 		} else if (getLiteralValue() instanceof DBExpression) {
 			return "(" + ((HasSQLString) getLiteralValue()).toSQLString(defn) + ")";
+		} else if (BindParameters.isBinding()) {
+			return formatValueAsBindParameter(defn);
 		} else {
 			return formatValueForSQLStatement(defn);
 		}
 	}
 
+	/**
+	 * Formats the value as a bind parameter for use in a PreparedStatement.
+	 *
+	 * <p>
+	 * Called by toSQLString when bind parameters have been requested. The
+	 * default implementation returns the literal value produced by
+	 * {@link #formatValueForSQLStatement(nz.co.gregs.dbvolution.databases.definitions.DBDefinition)
+	 * }, subclasses that can be bound should override this method and use
+	 * {@link BindParameters#parameter(java.lang.Object, nz.co.gregs.dbvolution.internal.query.BindParameters.Type, java.lang.Object, java.lang.String)
+	 * }.
+	 *
+	 * @param defn the DBDefinition
+	 * @return the "?" placeholder, or the literal value if this value can not
+	 * be bound
+	 */
+	protected String formatValueAsBindParameter(DBDefinition defn) {
+		return formatValueForSQLStatement(defn);
+	}
+
 	/**
 	 *
 	 * Returns the value of the object formatted for the database
@@ -793,13 +815,52 @@ public abstract class QueryableDatatype<T> extends Object implements Serializabl
 	 * @throws java.sql.SQLException Database exceptions may be thrown
 	 */
 	public void setFromResultSet(DBDefinition defn, ResultSet resultSet, String resultSetColumnName) throws SQLException {
+		setFromResultSetColumn(defn, resultSet, resultSetColumnName, 0);
+	}
+
+	/**
+	 * Sets the value of this QDT from the column at the supplied position of
+	 * the ResultSet.
+	 *
+	 * <p>
+	 * Used while mapping query results, where the position of each column is
+	 * found once per query instead of looking up the column by name for every
+	 * row.
+	 *
+	 * <p>
+	 * The position is only used if this QDT reads its value with
+	 * {@link #getFromResultSetColumn(DBDefinition, ResultSet, int, String)} and
+	 * has not overridden {@link #setFromResultSet(DBDefinition, ResultSet, String)
+	 * }, otherwise, or if the position is less than 1, the column is found by
+	 * name.
+	 *
+	 * @param defn database
+	 * @param resultSet resultSet
+	 * @param resultSetColumnName the alias of the column in the ResultSet
+	 * @param resultSetColumnIndex the position of the column in the ResultSet,
+	 * starting at 1
+	 * @throws java.sql.SQLException Database exceptions may be thrown
+	 */
+	public void setFromResultSet(DBDefinition defn, ResultSet resultSet, String resultSetColumnName, int resultSetColumnIndex) throws SQLException {
+		if (resultSetColumnIndex < 1 || !READS_COLUMNS_BY_INDEX.get(getClass())) {
+			setFromResultSet(defn, resultSet, resultSetColumnName);
+		} else {
+			setFromResultSetColumn(defn, resultSet, resultSetColumnName, resultSetColumnIndex);
+		}
+	}
+
+	private void setFromResultSetColumn(DBDefinition defn, ResultSet resultSet, String resultSetColumnName, int resultSetColumnIndex) throws SQLException {
 		removeConstraints();
 		if (resultSet == null || resultSetColumnName == null) {
 			this.setToNull(defn);
 		} else {
 			T dbValue;
 			try {
-				dbValue = getFromResultSet(defn, resultSet, resultSetColumnName);
+				if (resultSetColumnIndex < 1) {
+					dbValue = getFromResultSet(defn, resultSet, resultSetColumnName);
+				} else {
+					dbValue = getFromResultSetColumn(defn, resultSet, resultSetColumnIndex, resultSetColumnName);
+				}
 				if (checkForNullDuringSetFromResultSet() && resultSet.wasNull()) {
 					dbValue = null;
 				}
@@ -833,6 +894,60 @@ public abstract class QueryableDatatype<T> extends Object implements Serializabl
 	 */
 	abstract protected T getFromResultSet(DBDefinition database, ResultSet resultSet, String fullColumnName) throws SQLException;
 
+	/**
+	 * Returns the correct object from the column at the supplied position of
+	 * the ResultSet.
+	 *
+	 * <p>
+	 * The default implementation finds the column by name using
+	 * {@link #getFromResultSet(DBDefinition, ResultSet, String)}. QDTs that
+	 * override this method should read the same value by position.
+	 *
+	 * @param database database
+	 * @param resultSet resultSet
+	 * @param columnIndex the position of the column, starting at 1
+	 * @param fullColumnName the alias of the column
+	 * @return the expected object from the ResultSet.
+	 * @throws java.sql.SQLException Database exceptions may be thrown
+	 */
+	protected T getFromResultSetColumn(DBDefinition database, ResultSet resultSet, int columnIndex, String fullColumnName) throws SQLException {
+		return getFromResultSet(database, resultSet, fullColumnName);
+	}
+
+	/**
+	 * Records whether each QDT class can be read by column position.
+	 *
+	 * <p>
+	 * A class can only be read by position if the method reading by position
+	 * is at least as specific as the one reading by name, so that subclasses
+	 * that only override the latter keep their behaviour.
+	 */
+	private static final ClassValue<Boolean> READS_COLUMNS_BY_INDEX = new ClassValue<Boolean>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			final Class<?> setter = getDeclaringClass(type, "setFromResultSet", DBDefinition.class, ResultSet.class, String.class);
+			final Class<?> readByName = getDeclaringClass(type, "getFromResultSet", DBDefinition.class, ResultSet.class, String.class);
+			final Class<?> readByIndex = getDeclaringClass(type, "getFromResultSetColumn", DBDefinition.class, ResultSet.class, int.class, String.class);
+			return QueryableDatatype.class.equals(setter)
+					&& readByName != null
+					&& readByIndex != null
+					&& !QueryableDatatype.class.equals(readByIndex)
+					&& readByName.isAssignableFrom(readByIndex);
+		}
+	};
+
+	private static Class<?> getDeclaringClass(Class<?> type, String methodName, Class<?>... parameterTypes) {
+		for (Class<?> clazz = type; clazz != null; clazz = clazz.getSuperclass()) {
+			try {
+				clazz.getDeclaredMethod(methodName, parameterTypes);
+				return clazz;
+			} catch (NoSuchMethodException ex) {
+				// keep looking in the superclass
+			}
+		}
+		return null;
+	}
+
 	private synchronized void moveCurrentValueToPreviousValue(T newLiteralValue) {
 		if ((this.isDBNull && newLiteralValue != null)
 				|| (!this.isDBNull && (newLiteralValue == null || !newLiteralValue.equals(literalValue)))) {
@@ -1142,7 +1257,7 @@ public abstract class QueryableDatatype<T> extends Object implements Serializabl
 	 *
 	 * @return the setValue method has been called
 	 */
-	public synchronized boolean hasBeenSet() {
+	public boolean hasBeenSet() {
 		return setValueHasBeenCalled;
 	}
 
@@ -1160,7 +1275,7 @@ public abstract class QueryableDatatype<T> extends Object implements Serializabl
 	 *
 	 * @return the literalValue
 	 */
-	protected synchronized T getLiteralValue() {
+	protected T getLiteralValue() {
 		return literalValue;
 	}
 
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.exceptions;
+
+/**
+ * Thrown when the sort order of a query can not be used to find the next page
+ * of results with keyset pagination.
+ *
+ * <p>
+ * Keyset pagination requires every sort column to be a column of a table or
+ * report in the query, the column's type to support range comparisons, and the
+ * last row of the previous page to have a value for every sort column.
+ *
+ * @author Gregory Graham
+ */
+public class UnableToUseKeysetPaginationException extends DBRuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Thrown when the sort order of a query can not be used for keyset
+	 * pagination.
+	 *
+	 * @param message a description of the problem with the sort order
+	 */
+	public UnableToUseKeysetPaginationException(String message) {
+		super("Unable To Use Keyset Pagination: " + message);
+	}
+}
@@ -42,6 +42,7 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import nz.co.gregs.dbvolution.DBRow;
 import nz.co.gregs.dbvolution.databases.DBDatabase;
 import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
@@ -65,6 +66,8 @@ public abstract class AnyExpression<B extends Object, R extends AnyResult<B>, D
 
 	private final AnyResult<?> innerResult;
 	private final boolean nullProtectionRequired;
+	private transient Boolean stableSQL;
+	private transient volatile Map<Class<? extends DBDefinition>, String> renderedSQL;
 
 	/**
 	 * Returns an expression that will evaluate to NULL in SQL.
@@ -122,11 +125,132 @@ public abstract class AnyExpression<B extends Object, R extends AnyResult<B>, D
 
 	@Override
 	public String toSQLString(DBDefinition db) {
-		if (getInnerResult() == null) {
-			return this.nullExpression().toSQLString(db);// db.getNull();
+		if (hasStableSQL()) {
+			return getStableSQL(db);
+		} else {
+			StringBuilder builder = new StringBuilder();
+			renderSQL(db, builder);
+			return builder.toString();
+		}
+	}
+
+	@Override
+	public void appendSQL(DBDefinition db, StringBuilder builder) {
+		if (!RENDERS_BY_APPENDING.get(getClass())) {
+			builder.append(toSQLString(db));
+		} else if (hasStableSQL()) {
+			builder.append(getStableSQL(db));
 		} else {
-			return getInnerResult().toSQLString(db);
+			renderSQL(db, builder);
+		}
+	}
+
+	/**
+	 * Appends the SQL for this expression to the builder.
+	 *
+	 * <p>
+	 * This is the append-style equivalent of {@link #toSQLString(nz.co.gregs.dbvolution.databases.definitions.DBDefinition)
+	 * } and is used by both it and {@link #appendSQL(nz.co.gregs.dbvolution.databases.definitions.DBDefinition, java.lang.StringBuilder)
+	 * }. Subclasses that override toSQLString instead of this method are
+	 * still rendered using toSQLString.
+	 *
+	 * @param db the target database
+	 * @param builder the buffer the SQL is appended to
+	 */
+	protected void renderSQL(DBDefinition db, StringBuilder builder) {
+		final AnyResult<?> inner = getInnerResult();
+		if (inner == null) {
+			this.nullExpression().appendSQL(db, builder);
+		} else {
+			inner.appendSQL(db, builder);
+		}
+	}
+
+	/**
+	 * Indicates that the SQL for this expression depends only on the type of
+	 * the database.
+	 *
+	 * <p>
+	 * Stable expressions render their SQL once for each type of database and
+	 * reuse it afterwards. Only expressions rendered by {@link #renderSQL(nz.co.gregs.dbvolution.databases.definitions.DBDefinition, java.lang.StringBuilder)
+	 * } can be stable, see {@link #rendersStableSQL() }.
+	 *
+	 * @return TRUE if the SQL can be reused, otherwise FALSE
+	 */
+	@Override
+	public final boolean hasStableSQL() {
+		Boolean stable = stableSQL;
+		if (stable == null) {
+			stable = RENDERS_BY_APPENDING.get(getClass()) && rendersStableSQL();
+			stableSQL = stable;
+		}
+		return stable;
+	}
+
+	/**
+	 * Indicates that {@link #renderSQL(nz.co.gregs.dbvolution.databases.definitions.DBDefinition, java.lang.StringBuilder)
+	 * } depends only on the type of the database and on sub-expressions that
+	 * have stable SQL.
+	 *
+	 * <p>
+	 * Subclasses that render literal values or any other changeable state must
+	 * return FALSE.
+	 *
+	 * @return TRUE if the inner expression has stable SQL, otherwise FALSE
+	 */
+	protected boolean rendersStableSQL() {
+		final AnyResult<?> inner = getInnerResult();
+		return inner != null && inner.hasStableSQL();
+	}
+
+	private String getStableSQL(DBDefinition db) {
+		final Class<? extends DBDefinition> dialect = db.getSQLDialect();
+		String sql = null;
+		Map<Class<? extends DBDefinition>, String> rendered = renderedSQL;
+		if (dialect != null) {
+			if (rendered == null) {
+				rendered = new ConcurrentHashMap<>(2);
+				renderedSQL = rendered;
+			} else {
+				sql = rendered.get(dialect);
+			}
+		}
+		if (sql == null) {
+			StringBuilder builder = new StringBuilder();
+			renderSQL(db, builder);
+			sql = builder.toString();
+			if (dialect != null) {
+				rendered.put(dialect, sql);
+			}
+		}
+		return sql;
+	}
+
+	/**
+	 * Records whether renderSQL is at least as specific as toSQLString, so that
+	 * subclasses which only override toSQLString keep their behaviour.
+	 */
+	private static final ClassValue<Boolean> RENDERS_BY_APPENDING = new ClassValue<Boolean>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			final Class<?> toSQLString = getDeclaringClass(type, "toSQLString", DBDefinition.class);
+			final Class<?> renderSQL = getDeclaringClass(type, "renderSQL", DBDefinition.class, StringBuilder.class);
+			return toSQLString != null
+					&& renderSQL != null
+					&& toSQLString.isAssignableFrom(renderSQL);
+		}
+	};
+
+	private static Class<?> getDeclaringClass(Class<?> type, String methodName, Class<?>... parameterTypes) {
+		for (Class<?> clazz = type; clazz != null; clazz = clazz.getSuperclass()) {
+			try {
+				clazz.getDeclaredMethod(methodName, parameterTypes);
+				return clazz;
+			} catch (NoSuchMethodException ex) {
+				// keep looking in the superclass
+			}
 		}
+		return null;
 	}
 
 	/**
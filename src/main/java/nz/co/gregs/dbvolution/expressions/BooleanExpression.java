@@ -2007,15 +2007,26 @@ public class BooleanExpression extends EqualExpression<Boolean, BooleanResult, D
 		}
 
 		@Override
-		public String toSQLString(DBDefinition db) {
-			StringBuilder returnStr = new StringBuilder();
+		protected void renderSQL(DBDefinition db, StringBuilder builder) {
 			String separator = "";
 			String op = this.getEquationOperator(db);
+			builder.append("(");
 			for (BooleanResult boo : bools) {
-				returnStr.append(separator).append(boo.toSQLString(db));
+				builder.append(separator);
+				boo.appendSQL(db, builder);
 				separator = op;
 			}
-			return "(" + returnStr + ")";
+			builder.append(")");
+		}
+
+		@Override
+		protected boolean rendersStableSQL() {
+			for (BooleanResult boo : bools) {
+				if (boo == null || !boo.hasStableSQL()) {
+					return false;
+				}
+			}
+			return true;
 		}
 
 		@Override
@@ -2069,29 +2080,38 @@ public class BooleanExpression extends EqualExpression<Boolean, BooleanResult, D
 		}
 
 		@Override
-		public String toSQLString(DBDefinition db) {
+		protected void renderSQL(DBDefinition db, StringBuilder builder) {
 			if (db.supportsComparingBooleanResults()) {
-				return simpleToSQLString(db);
+				simpleRenderSQL(db, builder);
 			} else {
 				BooleanExpression firstParameter = this.getFirst();
 				BooleanExpression secondParameter = this.getSecond();
-				String returnString
-						= firstParameter.getComparableBooleanSQL(db)
-						+ getEquationOperator(db)
-						+ secondParameter.getComparableBooleanSQL(db);
-				return returnString;
+				builder.append(firstParameter.getComparableBooleanSQL(db))
+						.append(getEquationOperator(db))
+						.append(secondParameter.getComparableBooleanSQL(db));
 			}
 		}
 
-		private String simpleToSQLString(DBDefinition db) {
-			String sqlString = getFirst().toSQLString(db) + this.getEquationOperator(db) + getSecond().toSQLString(db);
-			if (getFirst().getIncludesNull()) {
-				sqlString = getSecond().toSQLString(db) + " IS " + db.getNull() + db.beginOrLine() + sqlString;
-			}
+		private void simpleRenderSQL(DBDefinition db, StringBuilder builder) {
+			builder.append("(");
 			if (getSecond().getIncludesNull()) {
-				sqlString = getFirst().toSQLString(db) + " IS " + db.getNull() + db.beginOrLine() + sqlString;
+				getFirst().appendSQL(db, builder);
+				builder.append(" IS ").append(db.getNull()).append(db.beginOrLine());
 			}
-			return "(" + sqlString + ")";
+			if (getFirst().getIncludesNull()) {
+				getSecond().appendSQL(db, builder);
+				builder.append(" IS ").append(db.getNull()).append(db.beginOrLine());
+			}
+			getFirst().appendSQL(db, builder);
+			builder.append(this.getEquationOperator(db));
+			getSecond().appendSQL(db, builder);
+			builder.append(")");
+		}
+
+		@Override
+		protected boolean rendersStableSQL() {
+			return getFirst() != null && getSecond() != null
+					&& getFirst().hasStableSQL() && getSecond().hasStableSQL();
 		}
 
 		protected abstract String getEquationOperator(DBDefinition db);
@@ -2682,8 +2702,13 @@ public class BooleanExpression extends EqualExpression<Boolean, BooleanResult, D
 		private final static long serialVersionUID = 1l;
 
 		@Override
-		public String toSQLString(DBDefinition db) {
-			return db.getNull();
+		protected void renderSQL(DBDefinition db, StringBuilder builder) {
+			builder.append(db.getNull());
+		}
+
+		@Override
+		protected boolean rendersStableSQL() {
+			return true;
 		}
 
 		@Override
@@ -2823,8 +2848,10 @@ public class BooleanExpression extends EqualExpression<Boolean, BooleanResult, D
 		private final static long serialVersionUID = 1l;
 
 		@Override
-		public String toSQLString(DBDefinition db) {
-			return db.getNegationFunctionName() + "(" + getInnerResult().toSQLString(db) + ")";
+		protected void renderSQL(DBDefinition db, StringBuilder builder) {
+			builder.append(db.getNegationFunctionName()).append("(");
+			getInnerResult().appendSQL(db, builder);
+			builder.append(")");
 		}
 
 		@Override
@@ -3246,8 +3273,13 @@ public class BooleanExpression extends EqualExpression<Boolean, BooleanResult, D
 		private final static long serialVersionUID = 1l;
 
 		@Override
-		public String toSQLString(DBDefinition db) {
-			return db.getFalseOperation();
+		protected void renderSQL(DBDefinition db, StringBuilder builder) {
+			builder.append(db.getFalseOperation());
+		}
+
+		@Override
+		protected boolean rendersStableSQL() {
+			return true;
 		}
 
 		@Override
@@ -3268,8 +3300,13 @@ public class BooleanExpression extends EqualExpression<Boolean, BooleanResult, D
 		private final static long serialVersionUID = 1l;
 
 		@Override
-		public String toSQLString(DBDefinition db) {
-			return db.getTrueOperation();
+		protected void renderSQL(DBDefinition db, StringBuilder builder) {
+			builder.append(db.getTrueOperation());
+		}
+
+		@Override
+		protected boolean rendersStableSQL() {
+			return true;
 		}
 
 		@Override
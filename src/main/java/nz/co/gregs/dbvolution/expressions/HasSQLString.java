@@ -56,5 +56,38 @@ public interface HasSQLString {
 	 * @return the DBValue formatted as a SQL snippet
 	 */
 	String toSQLString(DBDefinition defn);
-	
+
+	/**
+	 * Appends the snippet provided by this class to the builder.
+	 *
+	 * <p>
+	 * This is only used internally.
+	 *
+	 * <p>
+	 * Produces the same SQL as {@link #toSQLString(nz.co.gregs.dbvolution.databases.definitions.DBDefinition)
+	 * }, but allows a tree of expressions to be rendered into a single buffer
+	 * rather than creating a String at every node.
+	 *
+	 * @param defn the target database
+	 * @param builder the buffer the SQL snippet is appended to
+	 */
+	default void appendSQL(DBDefinition defn, StringBuilder builder) {
+		builder.append(toSQLString(defn));
+	}
+
+	/**
+	 * Indicates that the SQL produced by this object depends only on the type of
+	 * the database.
+	 *
+	 * <p>
+	 * Objects with stable SQL contain no literal values, columns, or other
+	 * changeable state, so their SQL can be rendered once and reused for every
+	 * database of the same type.
+	 *
+	 * @return TRUE if the SQL can be reused, otherwise FALSE
+	 */
+	default boolean hasStableSQL() {
+		return false;
+	}
+
 }
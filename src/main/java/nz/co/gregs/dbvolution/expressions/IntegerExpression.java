@@ -212,12 +212,10 @@ public class IntegerExpression extends SimpleNumericExpression<Long, IntegerResu
 	}
 
 	@Override
-	public String toSQLString(DBDefinition db) {
+	protected void renderSQL(DBDefinition db, StringBuilder builder) {
 		final AnyResult<?> inner = getInnerResult();
 		if (inner != null) {
-			return inner.toSQLString(db);
-		} else {
-			return "";
+			inner.appendSQL(db, builder);
 		}
 	}
 
@@ -3398,14 +3396,22 @@ public class IntegerExpression extends SimpleNumericExpression<Long, IntegerResu
 		}
 
 		@Override
-		public String toSQLString(DBDefinition db) {
+		protected void renderSQL(DBDefinition db, StringBuilder builder) {
 			if (this.getIncludesNull()) {
-				return BooleanExpression.isNull(first).toSQLString(db);
+				BooleanExpression.isNull(first).appendSQL(db, builder);
 			} else {
-				return first.toSQLString(db) + this.getEquationOperator(db) + second.toSQLString(db);
+				first.appendSQL(db, builder);
+				builder.append(this.getEquationOperator(db));
+				second.appendSQL(db, builder);
 			}
 		}
 
+		@Override
+		protected boolean rendersStableSQL() {
+			return !this.getIncludesNull()
+					&& first.hasStableSQL() && second.hasStableSQL();
+		}
+
 		protected abstract String getEquationOperator(DBDefinition db);
 
 		@Override
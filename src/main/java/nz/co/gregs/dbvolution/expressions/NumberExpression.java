@@ -3671,14 +3671,22 @@ public class NumberExpression extends SimpleNumericExpression<Number, NumberResu
 		}
 
 		@Override
-		public String toSQLString(DBDefinition db) {
+		protected void renderSQL(DBDefinition db, StringBuilder builder) {
 			if (this.getIncludesNull()) {
-				return BooleanExpression.isNull(first).toSQLString(db);
+				BooleanExpression.isNull(first).appendSQL(db, builder);
 			} else {
-				return first.toSQLString(db) + this.getEquationOperator(db) + second.toSQLString(db);
+				first.appendSQL(db, builder);
+				builder.append(this.getEquationOperator(db));
+				second.appendSQL(db, builder);
 			}
 		}
 
+		@Override
+		protected boolean rendersStableSQL() {
+			return !this.getIncludesNull()
+					&& first.hasStableSQL() && second.hasStableSQL();
+		}
+
 		@Override
 		public DBBinaryBooleanArithmetic copy() {
 			DBBinaryBooleanArithmetic newInstance;
@@ -253,7 +253,7 @@ public class SortProvider implements DBExpression, Serializable {
 		return innerColumn != null;
 	}
 
-	protected AbstractColumn getColumn() {
+	public AbstractColumn getColumn() {
 		return innerColumn;
 	}
 
@@ -347,6 +347,31 @@ public class SortProvider implements DBExpression, Serializable {
 		return direction;
 	}
 
+	/**
+	 * Indicates whether this sort orders the values from largest to smallest.
+	 *
+	 * <p>
+	 * Matches the direction produced by
+	 * {@link #getSortDirectionSQL(nz.co.gregs.dbvolution.databases.definitions.DBDefinition)}.</p>
+	 *
+	 * @return TRUE if the values are sorted in descending order
+	 */
+	public boolean isDescending() {
+		switch (getOrdering()) {
+			case DESCENDING:
+				return true;
+			case ASCENDING:
+				return false;
+			default:
+				if (hasQueryColumn()) {
+					return getQueryColumn().getColumn().getSortDirection() == QueryableDatatype.SORT_DESCENDING;
+				} else if (hasColumn()) {
+					return getColumn().getSortDirection() == QueryableDatatype.SORT_DESCENDING;
+				}
+				return false;
+		}
+	}
+
 	public SortProvider nullsLast() {
 		return new SortProvider.NullsLast(this);
 	}
@@ -237,7 +237,7 @@ public class StringExpression extends RangeExpression<String, StringResult, DBSt
 	}
 
 	@Override
-	public String toSQLString(DBDefinition db) {
+	protected void renderSQL(DBDefinition db, StringBuilder builder) {
 		AnyResult<?> stringInput = getInnerResult();
 		if (stringInput == null) {
 			stringInput = StringExpression.value("<NULL>");
@@ -245,7 +245,13 @@ public class StringExpression extends RangeExpression<String, StringResult, DBSt
 				&& (stringInput instanceof ExpressionHasStandardStringResult)) {
 			stringInput = ((ExpressionHasStandardStringResult) stringInput).stringResult();
 		}
-		return stringInput.toSQLString(db);
+		stringInput.appendSQL(db, builder);
+	}
+
+	@Override
+	protected boolean rendersStableSQL() {
+		final AnyResult<?> inner = getInnerResult();
+		return (inner instanceof StringResult) && inner.hasStableSQL();
 	}
 
 	@Override
@@ -3299,8 +3305,16 @@ public class StringExpression extends RangeExpression<String, StringResult, DBSt
 		}
 
 		@Override
-		public String toSQLString(DBDefinition db) {
-			return first.toSQLString(db) + this.getEquationOperator(db) + second.toSQLString(db);
+		protected void renderSQL(DBDefinition db, StringBuilder builder) {
+			first.appendSQL(db, builder);
+			builder.append(this.getEquationOperator(db));
+			second.appendSQL(db, builder);
+		}
+
+		@Override
+		protected boolean rendersStableSQL() {
+			return first != null && second != null
+					&& first.hasStableSQL() && second.hasStableSQL();
 		}
 
 		protected abstract String getEquationOperator(DBDefinition db);
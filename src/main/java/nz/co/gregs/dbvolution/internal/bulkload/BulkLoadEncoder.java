@@ -0,0 +1,355 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ * 
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License. 
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/ 
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ * 
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ * 
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.               
+ *     Under the following terms:
+ *                 
+ *         Attribution - 
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made. 
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial - 
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike - 
+ *             If you remix, transform, or build upon the material, 
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions - 
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the 
+ *             license permits.
+ * 
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.internal.bulkload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.datatypes.DBInteger;
+import nz.co.gregs.dbvolution.datatypes.DBLargeObject;
+import nz.co.gregs.dbvolution.datatypes.DBLocalDate;
+import nz.co.gregs.dbvolution.datatypes.DBLocalDateTime;
+import nz.co.gregs.dbvolution.datatypes.DBNumber;
+import nz.co.gregs.dbvolution.datatypes.DBString;
+import nz.co.gregs.dbvolution.datatypes.QueryableDatatype;
+import nz.co.gregs.dbvolution.internal.properties.PropertyWrapperDefinition;
+
+/**
+ * Encodes DBRows directly into the text format of a native bulk loader.
+ *
+ * <p>
+ * The encoder is created for one table, using the first row to be loaded to
+ * decide which columns are included: every insertable column except large
+ * objects, and auto-incrementing columns only if the first row has a value
+ * for them.
+ *
+ * <p>
+ * Only DBString, DBInteger, DBNumber, DBLocalDate, and DBLocalDateTime values
+ * can be encoded. Use {@link #canEncode(nz.co.gregs.dbvolution.DBRow) } to
+ * check each row before encoding it; rows that can not be encoded need to be
+ * inserted normally.
+ *
+ * @author Gregory Graham
+ */
+public class BulkLoadEncoder {
+
+	private final BulkLoadFormat format;
+	private final Class<? extends DBRow> rowClass;
+	private final List<PropertyWrapperDefinition<?, ?>> columns = new ArrayList<>();
+	private final List<String> columnNames = new ArrayList<>();
+	private final List<Boolean> autoIncrementColumns = new ArrayList<>();
+	private final List<Boolean> stringColumns = new ArrayList<>();
+	private final List<PropertyWrapperDefinition<?, ?>> mustBeNull = new ArrayList<>();
+	private final DateTimeFormatter dateTimeFormat;
+	private long rowsEncoded = 0;
+
+	/**
+	 * Creates an encoder for the table of the example row.
+	 *
+	 * @param format the format to produce
+	 * @param example the first row to be encoded
+	 */
+	public BulkLoadEncoder(BulkLoadFormat format, DBRow example) {
+		this.format = format;
+		this.rowClass = example.getClass();
+		for (var prop : example.getColumnPropertyWrappers()) {
+			if (prop.isColumn() && !prop.hasColumnExpression()) {
+				final QueryableDatatype<?> qdt = prop.getQueryableDatatype();
+				if (qdt instanceof DBLargeObject || (prop.isAutoIncrement() && qdt.isNull())) {
+					mustBeNull.add(prop.getPropertyWrapperDefinition());
+				} else {
+					columns.add(prop.getPropertyWrapperDefinition());
+					columnNames.add(prop.columnName());
+					autoIncrementColumns.add(prop.isAutoIncrement());
+					stringColumns.add(DBString.class.equals(qdt.getClass()));
+				}
+			}
+		}
+		this.dateTimeFormat = new DateTimeFormatterBuilder()
+				.appendPattern("yyyy-MM-dd HH:mm:ss")
+				.appendFraction(ChronoField.NANO_OF_SECOND, format.getFractionalSecondDigits(), format.getFractionalSecondDigits(), true)
+				.toFormatter();
+	}
+
+	/**
+	 * The names of the columns, in the order they are encoded.
+	 *
+	 * @return the column names
+	 */
+	public List<String> getColumnNames() {
+		return Collections.unmodifiableList(columnNames);
+	}
+
+	/**
+	 * Indicates whether the column is encoded as a string.
+	 *
+	 * @param index the index of the column within {@link #getColumnNames() }
+	 * @return TRUE if the column's values are strings
+	 */
+	public boolean isStringColumn(int index) {
+		return stringColumns.get(index);
+	}
+
+	/**
+	 * The number of rows encoded so far.
+	 *
+	 * @return the number of rows encoded
+	 */
+	public long getRowsEncoded() {
+		return rowsEncoded;
+	}
+
+	/**
+	 * Checks that the row belongs to the same table as the example row and that
+	 * all its values can be encoded.
+	 *
+	 * @param row the row to check
+	 * @return TRUE if the row can be encoded by this encoder
+	 */
+	public boolean canEncode(DBRow row) {
+		if (row == null || !rowClass.equals(row.getClass())) {
+			return false;
+		}
+		for (PropertyWrapperDefinition<?, ?> column : mustBeNull) {
+			if (!column.getQueryableDatatype(row).isNull()) {
+				return false;
+			}
+		}
+		for (int i = 0; i < columns.size(); i++) {
+			final QueryableDatatype<?> qdt = columns.get(i).getQueryableDatatype(row);
+			if (qdt.isNull()) {
+				if (qdt.hasDefaultInsertValue() && !qdt.hasBeenSet()) {
+					return false;
+				}
+				if (autoIncrementColumns.get(i)) {
+					return false;
+				}
+			} else if (!isSupported(qdt)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isSupported(QueryableDatatype<?> qdt) {
+		final Class<?> type = qdt.getClass();
+		return DBString.class.equals(type)
+				|| DBInteger.class.equals(type)
+				|| DBNumber.class.equals(type)
+				|| DBLocalDate.class.equals(type)
+				|| DBLocalDateTime.class.equals(type);
+	}
+
+	/**
+	 * Encodes the row as a single line, including the line terminator.
+	 *
+	 * @param row a row accepted by {@link #canEncode(nz.co.gregs.dbvolution.DBRow)
+	 * }
+	 * @return the encoded row
+	 */
+	public String encode(DBRow row) {
+		StringBuilder out = new StringBuilder(columns.size() * 16);
+		encode(row, out);
+		return out.toString();
+	}
+
+	/**
+	 * Encodes the row as a single line, including the line terminator, and
+	 * appends it to the StringBuilder.
+	 *
+	 * @param row a row accepted by {@link #canEncode(nz.co.gregs.dbvolution.DBRow)
+	 * }
+	 * @param out the destination of the encoded row
+	 */
+	public void encode(DBRow row, StringBuilder out) {
+		for (int i = 0; i < columns.size(); i++) {
+			if (i > 0) {
+				out.append(format.getFieldSeparator());
+			}
+			final QueryableDatatype<?> qdt = columns.get(i).getQueryableDatatype(row);
+			if (qdt.isNull()) {
+				out.append(format.getNullValue());
+			} else if (qdt instanceof DBString) {
+				format.appendString(out, ((DBString) qdt).getValue());
+			} else if (qdt instanceof DBInteger) {
+				out.append(((DBInteger) qdt).getValue());
+			} else if (qdt instanceof DBNumber) {
+				final Number number = ((DBNumber) qdt).getValue();
+				if (number instanceof BigDecimal) {
+					out.append(((BigDecimal) number).toPlainString());
+				} else {
+					out.append(number);
+				}
+			} else if (qdt instanceof DBLocalDate) {
+				out.append(((DBLocalDate) qdt).getValue());
+			} else if (qdt instanceof DBLocalDateTime) {
+				dateTimeFormat.formatTo(((DBLocalDateTime) qdt).getValue(), out);
+			} else {
+				throw new IllegalArgumentException("Unable To Encode " + qdt.getClass().getSimpleName() + " For Bulk Loading");
+			}
+		}
+		out.append('\n');
+		rowsEncoded++;
+	}
+
+	/**
+	 * Encodes rows to the writer until there are no more rows or the next row
+	 * can not be encoded.
+	 *
+	 * @param rows the rows to encode
+	 * @param writer the destination of the encoded rows
+	 * @return the number of rows written
+	 * @throws IOException if the writer fails
+	 */
+	public long write(BulkLoadRows rows, Writer writer) throws IOException {
+		long written = 0;
+		StringBuilder out = new StringBuilder();
+		while (rows.hasNext() && canEncode(rows.peek())) {
+			out.setLength(0);
+			encode(rows.next(), out);
+			writer.append(out);
+			written++;
+		}
+		return written;
+	}
+
+	/**
+	 * Provides the encoded rows as a Reader.
+	 *
+	 * <p>
+	 * Rows are encoded as the Reader is read, and the Reader ends when there
+	 * are no more rows or the next row can not be encoded.
+	 *
+	 * @param rows the rows to encode
+	 * @return a Reader of the encoded rows
+	 */
+	public Reader asReader(BulkLoadRows rows) {
+		return new Reader() {
+			private final StringBuilder buffer = new StringBuilder();
+			private int position = 0;
+
+			@Override
+			public int read(char[] cbuf, int off, int len) throws IOException {
+				if (len == 0) {
+					return 0;
+				}
+				if (!fill()) {
+					return -1;
+				}
+				final int count = Math.min(len, buffer.length() - position);
+				buffer.getChars(position, position + count, cbuf, off);
+				position += count;
+				return count;
+			}
+
+			private boolean fill() {
+				while (position >= buffer.length()) {
+					if (rows.hasNext() && canEncode(rows.peek())) {
+						buffer.setLength(0);
+						position = 0;
+						encode(rows.next(), buffer);
+					} else {
+						return false;
+					}
+				}
+				return true;
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+	}
+
+	/**
+	 * Provides the encoded rows as a UTF-8 InputStream.
+	 *
+	 * <p>
+	 * Rows are encoded as the stream is read, and the stream ends when there
+	 * are no more rows or the next row can not be encoded.
+	 *
+	 * @param rows the rows to encode
+	 * @return an InputStream of the encoded rows
+	 */
+	public InputStream asInputStream(BulkLoadRows rows) {
+		return new InputStream() {
+			private final StringBuilder line = new StringBuilder();
+			private byte[] buffer = new byte[0];
+			private int position = 0;
+
+			@Override
+			public int read() throws IOException {
+				if (!fill()) {
+					return -1;
+				}
+				return buffer[position++] & 0xFF;
+			}
+
+			@Override
+			public int read(byte[] b, int off, int len) throws IOException {
+				if (len == 0) {
+					return 0;
+				}
+				if (!fill()) {
+					return -1;
+				}
+				final int count = Math.min(len, buffer.length - position);
+				System.arraycopy(buffer, position, b, off, count);
+				position += count;
+				return count;
+			}
+
+			private boolean fill() {
+				while (position >= buffer.length) {
+					if (rows.hasNext() && canEncode(rows.peek())) {
+						line.setLength(0);
+						encode(rows.next(), line);
+						buffer = line.toString().getBytes(StandardCharsets.UTF_8);
+						position = 0;
+					} else {
+						return false;
+					}
+				}
+				return true;
+			}
+		};
+	}
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ * 
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License. 
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/ 
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ * 
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ * 
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.               
+ *     Under the following terms:
+ *                 
+ *         Attribution - 
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made. 
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial - 
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike - 
+ *             If you remix, transform, or build upon the material, 
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions - 
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the 
+ *             license permits.
+ * 
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.internal.bulkload;
+
+/**
+ * The text formats understood by the native bulk loaders.
+ *
+ * <p>
+ * Each format encodes one row per line with the values separated by the
+ * field separator. Only values that are plain strings are escaped; numbers
+ * and dates never contain characters that need escaping.
+ *
+ * @author Gregory Graham
+ */
+public enum BulkLoadFormat {
+	/**
+	 * CSV as read by H2's CSVREAD.
+	 *
+	 * <p>
+	 * CSVREAD reads empty strings as NULL so every string is prefixed with
+	 * {@link #STRING_PREFIX} which the loader removes again. NULL is an empty,
+	 * unquoted, value.
+	 */
+	H2_CSV(',', "", 9) {
+		@Override
+		void appendString(StringBuilder out, String value) {
+			out.append('"').append(STRING_PREFIX);
+			for (int i = 0; i < value.length(); i++) {
+				final char c = value.charAt(i);
+				if (c == '"') {
+					out.append('"');
+				}
+				out.append(c);
+			}
+			out.append('"');
+		}
+	},
+	/**
+	 * CSV as read by MySQL's LOAD DATA using FIELDS TERMINATED BY ','
+	 * OPTIONALLY ENCLOSED BY '"' ESCAPED BY '\\'.
+	 */
+	MYSQL_CSV(',', "\\N", 6) {
+		@Override
+		void appendString(StringBuilder out, String value) {
+			out.append('"');
+			for (int i = 0; i < value.length(); i++) {
+				final char c = value.charAt(i);
+				switch (c) {
+					case '\\':
+						out.append("\\\\");
+						break;
+					case '"':
+						out.append("\\\"");
+						break;
+					case '\n':
+						out.append("\\n");
+						break;
+					case '\r':
+						out.append("\\r");
+						break;
+					case '\0':
+						out.append("\\0");
+						break;
+					default:
+						out.append(c);
+				}
+			}
+			out.append('"');
+		}
+	},
+	/**
+	 * The text format of PostgreSQL's COPY command.
+	 */
+	POSTGRES_TEXT('\t', "\\N", 6) {
+		@Override
+		void appendString(StringBuilder out, String value) {
+			for (int i = 0; i < value.length(); i++) {
+				final char c = value.charAt(i);
+				switch (c) {
+					case '\\':
+						out.append("\\\\");
+						break;
+					case '\t':
+						out.append("\\t");
+						break;
+					case '\n':
+						out.append("\\n");
+						break;
+					case '\r':
+						out.append("\\r");
+						break;
+					default:
+						out.append(c);
+				}
+			}
+		}
+	};
+
+	/**
+	 * The character added to the start of every string value in the
+	 * {@link #H2_CSV} format.
+	 */
+	public static final char STRING_PREFIX = '~';
+
+	private final char fieldSeparator;
+	private final String nullValue;
+	private final int fractionalSecondDigits;
+
+	BulkLoadFormat(char fieldSeparator, String nullValue, int fractionalSecondDigits) {
+		this.fieldSeparator = fieldSeparator;
+		this.nullValue = nullValue;
+		this.fractionalSecondDigits = fractionalSecondDigits;
+	}
+
+	abstract void appendString(StringBuilder out, String value);
+
+	/**
+	 * The character placed between values.
+	 *
+	 * @return the field separator
+	 */
+	public char getFieldSeparator() {
+		return fieldSeparator;
+	}
+
+	/**
+	 * The text used for NULL values.
+	 *
+	 * @return the encoding of NULL
+	 */
+	public String getNullValue() {
+		return nullValue;
+	}
+
+	/**
+	 * The number of digits used for fractions of a second in timestamps.
+	 *
+	 * @return the precision of encoded timestamps
+	 */
+	public int getFractionalSecondDigits() {
+		return fractionalSecondDigits;
+	}
+}
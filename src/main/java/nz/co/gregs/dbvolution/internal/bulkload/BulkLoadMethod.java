@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ * 
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License. 
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/ 
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ * 
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ * 
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.               
+ *     Under the following terms:
+ *                 
+ *         Attribution - 
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made. 
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial - 
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike - 
+ *             If you remix, transform, or build upon the material, 
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions - 
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the 
+ *             license permits.
+ * 
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.internal.bulkload;
+
+/**
+ * The mechanisms available for loading large numbers of rows.
+ *
+ * <p>
+ * Each DBDefinition declares the fastest mechanism available using
+ * {@link nz.co.gregs.dbvolution.databases.definitions.DBDefinition#getPreferredBulkLoadMethod() }.
+ *
+ * @author Gregory Graham
+ */
+public enum BulkLoadMethod {
+	/**
+	 * Batched, prepared INSERT statements executed within a single transaction.
+	 */
+	BATCHED_INSERT(null),
+	/**
+	 * H2's CSVREAD function reading a temporary CSV file.
+	 */
+	H2_CSVREAD(BulkLoadFormat.H2_CSV),
+	/**
+	 * MySQL's LOAD DATA LOCAL INFILE reading directly from a stream.
+	 *
+	 * <p>
+	 * The connection must allow local infiles, i.e. allowLoadLocalInfile=true
+	 * in the JDBC URL.
+	 */
+	MYSQL_LOAD_DATA(BulkLoadFormat.MYSQL_CSV),
+	/**
+	 * PostgreSQL's COPY FROM STDIN using the pgjdbc CopyManager.
+	 */
+	POSTGRES_COPY(BulkLoadFormat.POSTGRES_TEXT);
+
+	private final BulkLoadFormat format;
+
+	BulkLoadMethod(BulkLoadFormat format) {
+		this.format = format;
+	}
+
+	/**
+	 * The format the rows are encoded in for this method.
+	 *
+	 * @return the format used by the native loader, or null if this method does
+	 * not use a native loader
+	 */
+	public BulkLoadFormat getFormat() {
+		return format;
+	}
+}
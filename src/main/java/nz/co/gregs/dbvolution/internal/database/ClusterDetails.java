@@ -36,16 +36,24 @@ import java.lang.reflect.InvocationTargetException;
 import java.sql.SQLException;
 import java.util.*;
 import nz.co.gregs.dbvolution.exceptions.NoAvailableDatabaseException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import nz.co.gregs.dbvolution.DBCursor;
 import nz.co.gregs.dbvolution.DBRow;
 import nz.co.gregs.dbvolution.DBTable;
 import nz.co.gregs.dbvolution.actions.DBAction;
+import nz.co.gregs.dbvolution.databases.DBAsyncExecutor;
 import nz.co.gregs.dbvolution.databases.DBDatabase;
 import nz.co.gregs.dbvolution.databases.DBDatabaseCluster;
 import nz.co.gregs.dbvolution.databases.DatabaseConnectionSettings;
@@ -73,6 +81,7 @@ public class ClusterDetails implements Serializable {
 	private transient final Set<DBRow> requiredTables = Collections.synchronizedSet(DataModel.getRequiredTables());
 	private transient final Set<DBRow> trackedTables = Collections.synchronizedSet(new HashSet<DBRow>());
 	private transient final Map<DBDatabase, Queue<DBAction>> queuedActions = Collections.synchronizedMap(new HashMap<DBDatabase, Queue<DBAction>>(0));
+	private transient final Map<DBDatabase, MemberStatistics> memberStatistics = new ConcurrentHashMap<>(0);
 
 	private transient final PreferencesImproved prefs = PreferencesImproved.userNodeForPackage(this.getClass());
 	private String clusterLabel = "NotDefined";
@@ -91,8 +100,13 @@ public class ClusterDetails implements Serializable {
 
 	private final static Random RANDOM = new Random();
 	private boolean preferredDatabaseRequired;
+	private ReadRoutingStrategy readRoutingStrategy = ReadRoutingStrategy.random();
 	private boolean stillRunning = true;
 	private final PropertyChangeSupport propertyChangeSupport;
+	private transient final Map<DBDatabase, SynchronisationProgress> synchronisationProgress = new ConcurrentHashMap<>(0);
+	private transient final AtomicLong clusterChanges = new AtomicLong(0);
+	private int synchronisationChunkSize = 1000;
+	private int synchronisationParallelism = 4;
 
 	public ClusterDetails(String label) {
 		this.clusterLabel = label;
@@ -222,6 +236,8 @@ public class ClusterDetails implements Serializable {
 			throw new UnableToRemoveLastDatabaseFromClusterException();
 		} else {
 			members.remove(database);
+			memberStatistics.remove(database);
+			synchronisationProgress.remove(database);
 			propertyChangeSupport.firePropertyChange("removed database", null, database);
 			setAuthoritativeDatabase();
 			saveClusterSettingsToPrefs();
@@ -351,11 +367,18 @@ public class ClusterDetails implements Serializable {
 			waitUntilDatabaseHasSynchronised(preferredDatabase);
 			return preferredDatabase;
 		} else {
-			return getRandomReadyDatabase();
+			return readRoutingStrategy.chooseDatabase(getAvailableReadyDatabases(), this);
 		}
 	}
 
 	private DBDatabase getRandomReadyDatabase() throws NoAvailableDatabaseException {
+		DBDatabase[] dbs = getAvailableReadyDatabases();
+		final int randNumber = RANDOM.nextInt(dbs.length);
+		DBDatabase randomElement = dbs[randNumber];
+		return randomElement;
+	}
+
+	private DBDatabase[] getAvailableReadyDatabases() throws NoAvailableDatabaseException {
 		DBDatabase[] dbs = getReadyDatabases();
 		int tries = 0;
 		while (dbs.length < 1 && members.countPausedDatabases() > 0 && tries <= 10) {
@@ -364,13 +387,89 @@ public class ClusterDetails implements Serializable {
 			tries++;
 		}
 		if (dbs.length > 0) {
-			final int randNumber = RANDOM.nextInt(dbs.length);
-			DBDatabase randomElement = dbs[randNumber];
-			return randomElement;
+			return dbs;
 		}
 		throw new NoAvailableDatabaseException();
 	}
 
+	/**
+	 * Returns the load and latency gathered for the member.
+	 *
+	 * @param database a member of the cluster
+	 * @return the statistics for the member
+	 */
+	public MemberStatistics getMemberStatistics(DBDatabase database) {
+		return memberStatistics.computeIfAbsent(database, db -> new MemberStatistics());
+	}
+
+	public ReadRoutingStrategy getReadRoutingStrategy() {
+		return readRoutingStrategy;
+	}
+
+	public void setReadRoutingStrategy(ReadRoutingStrategy strategy) {
+		final ReadRoutingStrategy oldValue = readRoutingStrategy;
+		readRoutingStrategy = strategy == null ? ReadRoutingStrategy.random() : strategy;
+		propertyChangeSupport.firePropertyChange("read routing strategy", oldValue, readRoutingStrategy);
+	}
+
+	/**
+	 * Adds the action to the queue of every member.
+	 *
+	 * <p>
+	 * The queued actions are removed as each member completes them.
+	 *
+	 * @param action the action about to be executed on the cluster
+	 */
+	public void queueAction(DBAction action) {
+		clusterChanges.incrementAndGet();
+		for (DBDatabase db : getAllDatabases()) {
+			getActionQueue(db).add(action);
+		}
+	}
+
+	/**
+	 * Returns the progress of the latest synchronisation of the member.
+	 *
+	 * @param database a member of the cluster
+	 * @return the synchronisation progress, or null if the member has not been
+	 * synchronised
+	 */
+	public SynchronisationProgress getSynchronisationProgress(DBDatabase database) {
+		return synchronisationProgress.get(database);
+	}
+
+	public int getSynchronisationChunkSize() {
+		return synchronisationChunkSize;
+	}
+
+	/**
+	 * Sets the number of rows read and inserted at a time while synchronising
+	 * members.
+	 *
+	 * @param rows the number of rows in each chunk
+	 */
+	public void setSynchronisationChunkSize(int rows) {
+		final int oldValue = synchronisationChunkSize;
+		synchronisationChunkSize = Math.max(1, rows);
+		propertyChangeSupport.firePropertyChange("synchronisation chunk size", oldValue, synchronisationChunkSize);
+	}
+
+	public int getSynchronisationParallelism() {
+		return synchronisationParallelism;
+	}
+
+	/**
+	 * Sets the maximum number of tables copied at the same time while
+	 * synchronising members.
+	 *
+	 * @param tables the number of tables to copy in parallel
+	 */
+	public void setSynchronisationParallelism(int tables) {
+		final int oldValue = synchronisationParallelism;
+		synchronisationParallelism = Math.max(1, tables);
+		propertyChangeSupport.firePropertyChange("synchronisation parallelism", oldValue, synchronisationParallelism);
+	}
+
 	private void awaitReadyDatabase() {
 		synchronisingLock.lock();
 		try {
@@ -757,6 +856,7 @@ public class ClusterDetails implements Serializable {
 		boolean proceedWithSynchronization = true;
 		final String secondaryLabel = secondary.getLabel();
 		LOG.log(Level.FINEST, "{0} SYNCHRONISING: {1}", new Object[]{clusterLabel, secondaryLabel});
+		final SynchronisationProgress progress = startSynchronisationProgress(secondary);
 		try {
 			// we need to unpause the template no matter what happens so use a finally clause
 			try {
@@ -766,77 +866,29 @@ public class ClusterDetails implements Serializable {
 					if (!template.getSettings().equals(secondary.getSettings())) {
 						LOG.log(Level.FINEST, "{0} CAN SYNCHRONISE: {1}", new Object[]{clusterLabel, secondaryLabel});
 						copyTemplateActionQueueToSecondary(template, secondary);
-						// TODO change to use a queue of tables so we can re-try tables that require another table to exist
-						for (DBRow table : getRequiredAndTrackedTables()) {
-							final String tableName = table.getTableName();
-							if (proceedWithSynchronization) {
-								LOG.log(Level.FINEST, "{0} CHECKING TABLE: {1}", new Object[]{clusterLabel, tableName});
-								// make sure the table exists in the cluster already
-								if (template.tableExists(table)) {
-									LOG.log(Level.FINEST, "{0} INCLUDES TABLE: {1}", new Object[]{clusterLabel, tableName});
-									// Make sure it exists in the new database
-									if (secondary.tableExists(table) == true) {
-										LOG.log(Level.FINEST, "{0} REMOVING DATA FROM {1}: {2}", new Object[]{clusterLabel, secondaryLabel, tableName});
-										secondary.preventDroppingOfTables(false);
-										secondary.dropTable(table);
-										LOG.log(Level.FINEST, "{0} REMOVED DATA FROM {1}: {2}", new Object[]{clusterLabel, secondaryLabel, tableName});
-									}
-									LOG.log(Level.FINEST, "{0} CREATING ON {1}: {2}", new Object[]{clusterLabel, secondaryLabel, tableName});
-									secondary.createTable(table);
-									LOG.log(Level.FINEST, "{0} CREATED ON {1}: {2}", new Object[]{clusterLabel, secondaryLabel, tableName});
-									// Check that the table has data
-									final DBTable<DBRow> primaryTable = template.getDBTable(table);
-									try {
-										final Long primaryTableCount = primaryTable.count();
-										try {
-											if (primaryTableCount > 0) {
-												final DBTable<DBRow> primaryData = primaryTable.setBlankQueryAllowed(true).setTimeoutToForever();
-												// Check that the new database has data
-												LOG.log(Level.FINEST, "{0} CLUSTER FILLING TABLE ON {1}:{2}", new Object[]{clusterLabel, secondaryLabel, tableName});
-												List<DBRow> allRows = primaryData.getAllRows();
-												LOG.log(Level.FINEST, "{0} CLUSTER FILLING TABLE ON {1}:{2} with {3} rows", new Object[]{clusterLabel, secondaryLabel, tableName, allRows.size()});
-												final DBTable<DBRow> secondaryTable = secondary.getDBTable(table);
-												try {
-													secondaryTable.insert(allRows);
-													LOG.log(Level.FINEST, "{0} FILLED TABLE ON {1}:{2}", new Object[]{clusterLabel, secondaryLabel, tableName});
-												} catch (SQLException ex) {
-													proceedWithSynchronization = false;
-													LOG.log(Level.SEVERE, "QUARANTINING DATABASE {0}: {1}", new Object[]{secondaryLabel, ex.getLocalizedMessage()});
-													quarantineDatabaseAutomatically(secondary, ex);
-													//exit the loop, to avoid unnecessary tests
-													break;
-												}
-											}
-										} catch (SQLException exceptionGettingData) {
-											LOG.log(Level.WARNING, "FAIL TO RETREIVE TABLE DATA: {0} - {1}", new Object[]{tableName, exceptionGettingData.getLocalizedMessage()});
-											LOG.log(Level.WARNING, "SKIPPING TABLE: {0} - {1}", new Object[]{tableName, exceptionGettingData.getLocalizedMessage()});
-											// lets just skip this table since it seems to be broken
-										}
-									} catch (SQLException exceptionCountingPrimaryTable) {
-										LOG.log(Level.WARNING, "FAILED TO COUNT TABLE: {0} - {1}", new Object[]{tableName, exceptionCountingPrimaryTable.getLocalizedMessage()});
-										LOG.log(Level.WARNING, "SKIPPING TABLE: {0} - {1}", new Object[]{tableName, exceptionCountingPrimaryTable.getLocalizedMessage()});
-										// lets just skip this table since it seems to be broken
-									}
-								}
-							}
-							LOG.log(Level.FINEST, "{0} FINISHED WITH TABLE: {1}", new Object[]{clusterLabel, tableName});
-						}
+						proceedWithSynchronization = copyTablesToSecondary(template, secondary, progress);
 					}
 				}
 			} catch (NoAvailableDatabaseException except) {
 				// must be the first database
 			} catch (Exception exc) {
 				proceedWithSynchronization = false;
+				progress.failed(exc);
 				LOG.log(Level.SEVERE, "Exception during synchronising: {0}", exc.getLocalizedMessage());
 			} catch (Throwable throwable) {
 				proceedWithSynchronization = false;
+				progress.failed(throwable);
 				LOG.log(Level.SEVERE, "Throwable during synchronising: {0}", throwable.getLocalizedMessage());
 			}
 			if (proceedWithSynchronization) {
 				LOG.log(Level.FINEST, "{0} START SYNCHRONISING ACTIONS ON: {1}", new Object[]{clusterLabel, secondaryLabel});
 				synchronizeActions(secondary);
+				if (members.isReady(secondary)) {
+					progress.finished();
+				}
 			}
 		} catch (Exception exc) {
+			progress.failed(exc);
 			members.setUnsynchronised(secondary);
 		} finally {
 			releaseTemplateDatabase(template);
@@ -844,6 +896,235 @@ public class ClusterDetails implements Serializable {
 		// Successfully synchronised the new database :)
 	}
 
+	/**
+	 * Resumes the previous synchronisation of the database if nothing has
+	 * changed since it failed, otherwise starts again.
+	 */
+	private SynchronisationProgress startSynchronisationProgress(DBDatabase secondary) {
+		SynchronisationProgress progress = synchronisationProgress.get(secondary);
+		if (progress == null || progress.isFinished() || progress.getClusterChanges() != clusterChanges.get()) {
+			progress = new SynchronisationProgress(secondary.getLabel(), clusterChanges.get());
+			synchronisationProgress.put(secondary, progress);
+		}
+		progress.started();
+		return progress;
+	}
+
+	/**
+	 * Recreates the tables on the secondary database and streams the rows from
+	 * the template into them.
+	 *
+	 * <p>
+	 * Tables are copied in parallel, except that a table is only copied after
+	 * the tables it references.
+	 *
+	 * @return TRUE if all the tables were copied, FALSE if the secondary
+	 * database has been quarantined
+	 */
+	private boolean copyTablesToSecondary(DBDatabase template, DBDatabase secondary, SynchronisationProgress progress) throws SQLException {
+		final String secondaryLabel = secondary.getLabel();
+		final List<DBRow> tablesToCopy = new ArrayList<>();
+		final Set<String> tablesChecked = new HashSet<>();
+		for (DBRow table : getRequiredAndTrackedTables()) {
+			final String tableName = table.getTableName();
+			if (!tablesChecked.add(tableName)) {
+				// the same table may be listed more than once
+				continue;
+			}
+			LOG.log(Level.FINEST, "{0} CHECKING TABLE: {1}", new Object[]{clusterLabel, tableName});
+			// make sure the table exists in the cluster already
+			if (template.tableExists(table)) {
+				LOG.log(Level.FINEST, "{0} INCLUDES TABLE: {1}", new Object[]{clusterLabel, tableName});
+				if (progress.isTableComplete(tableName) && secondary.tableExists(table)) {
+					LOG.log(Level.FINEST, "{0} ALREADY COPIED TO {1}: {2}", new Object[]{clusterLabel, secondaryLabel, tableName});
+				} else {
+					// Make sure it exists in the new database
+					if (secondary.tableExists(table) == true) {
+						LOG.log(Level.FINEST, "{0} REMOVING DATA FROM {1}: {2}", new Object[]{clusterLabel, secondaryLabel, tableName});
+						secondary.preventDroppingOfTables(false);
+						secondary.dropTable(table);
+						LOG.log(Level.FINEST, "{0} REMOVED DATA FROM {1}: {2}", new Object[]{clusterLabel, secondaryLabel, tableName});
+					}
+					LOG.log(Level.FINEST, "{0} CREATING ON {1}: {2}", new Object[]{clusterLabel, secondaryLabel, tableName});
+					secondary.createTable(table);
+					LOG.log(Level.FINEST, "{0} CREATED ON {1}: {2}", new Object[]{clusterLabel, secondaryLabel, tableName});
+					tablesToCopy.add(table);
+				}
+			}
+		}
+
+		final int parallelism = template.getDefinition().supportsConcurrentConnections() && secondary.getDefinition().supportsConcurrentConnections()
+				? synchronisationParallelism
+				: 1;
+		final DBAsyncExecutor executor = new DBAsyncExecutor(parallelism);
+		final Map<Class<?>, CompletableFuture<Long>> copies = new LinkedHashMap<>();
+		final List<DBRow> remaining = new ArrayList<>(tablesToCopy);
+		final Set<Class<?>> waitingFor = new HashSet<>();
+		for (DBRow table : remaining) {
+			waitingFor.add(table.getClass());
+		}
+		while (!remaining.isEmpty()) {
+			DBRow next = null;
+			for (DBRow table : remaining) {
+				if (referencesOnlyCopiedTables(table, waitingFor, copies)) {
+					next = table;
+					break;
+				}
+			}
+			if (next == null) {
+				// the remaining tables reference each other so just pick one
+				next = remaining.get(0);
+			}
+			remaining.remove(next);
+			final List<CompletableFuture<Long>> dependencies = new ArrayList<>();
+			for (Class<? extends DBRow> referenced : next.getReferencedTables()) {
+				final CompletableFuture<Long> dependency = copies.get(referenced);
+				if (dependency != null) {
+					dependencies.add(dependency);
+				}
+			}
+			final CopyTableTask task = new CopyTableTask(template, secondary, next, progress, synchronisationChunkSize);
+			copies.put(next.getClass(),
+					CompletableFuture.allOf(dependencies.toArray(new CompletableFuture<?>[dependencies.size()]))
+							.thenCompose((ignored) -> executor.submit(task)));
+		}
+
+		SQLException firstException = null;
+		for (CompletableFuture<Long> copy : copies.values()) {
+			try {
+				copy.get();
+			} catch (ExecutionException ex) {
+				Throwable cause = ex.getCause();
+				while (cause instanceof CompletionException && cause.getCause() != null) {
+					cause = cause.getCause();
+				}
+				if (firstException == null) {
+					firstException = cause instanceof SQLException ? (SQLException) cause : new SQLException(cause);
+				}
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				if (firstException == null) {
+					firstException = new SQLException("Interrupted while synchronising " + secondaryLabel, ex);
+				}
+			}
+		}
+		if (firstException != null) {
+			progress.failed(firstException);
+			LOG.log(Level.SEVERE, "QUARANTINING DATABASE {0}: {1}", new Object[]{secondaryLabel, firstException.getLocalizedMessage()});
+			quarantineDatabaseAutomatically(secondary, firstException);
+			return false;
+		}
+		return true;
+	}
+
+	private static boolean referencesOnlyCopiedTables(DBRow table, Set<Class<?>> tablesToCopy, Map<Class<?>, CompletableFuture<Long>> copies) {
+		for (Class<? extends DBRow> referenced : table.getReferencedTables()) {
+			if (!referenced.equals(table.getClass())
+					&& tablesToCopy.contains(referenced)
+					&& !copies.containsKey(referenced)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Streams the rows of a table from the template database to the secondary
+	 * database in chunks.
+	 *
+	 * <p>
+	 * Only a single chunk of rows is held in memory at any time. Failures
+	 * reading from the template skip the table, as it seems to be broken, but
+	 * failures writing to the secondary database stop the synchronisation.
+	 */
+	private static class CopyTableTask implements Callable<Long> {
+
+		private final DBDatabase template;
+		private final DBDatabase secondary;
+		private final DBRow table;
+		private final SynchronisationProgress progress;
+		private final int chunkSize;
+		private SQLException insertException = null;
+
+		CopyTableTask(DBDatabase template, DBDatabase secondary, DBRow table, SynchronisationProgress progress, int chunkSize) {
+			this.template = template;
+			this.secondary = secondary;
+			this.table = table;
+			this.progress = progress;
+			this.chunkSize = chunkSize;
+		}
+
+		@Override
+		public Long call() throws SQLException {
+			final String tableName = table.getTableName();
+			final String secondaryLabel = secondary.getLabel();
+			// Check that the table has data
+			final DBTable<DBRow> primaryTable = template.getDBTable(table);
+			final Long primaryTableCount;
+			try {
+				primaryTableCount = primaryTable.count();
+			} catch (SQLException exceptionCountingPrimaryTable) {
+				LOG.log(Level.WARNING, "FAILED TO COUNT TABLE: {0} - {1}", new Object[]{tableName, exceptionCountingPrimaryTable.getLocalizedMessage()});
+				LOG.log(Level.WARNING, "SKIPPING TABLE: {0} - {1}", new Object[]{tableName, exceptionCountingPrimaryTable.getLocalizedMessage()});
+				// lets just skip this table since it seems to be broken
+				return 0L;
+			}
+			progress.tableStarted(tableName, primaryTableCount);
+			long rowsCopied = 0;
+			if (primaryTableCount > 0) {
+				LOG.log(Level.FINEST, "CLUSTER FILLING TABLE ON {0}:{1} with {2} rows", new Object[]{secondaryLabel, tableName, primaryTableCount});
+				final List<DBRow> chunk = new ArrayList<>(Math.min(chunkSize, primaryTableCount.intValue()));
+				try (DBCursor<DBRow> rows = primaryTable.setBlankQueryAllowed(true).setTimeoutToForever().setFetchSize(chunkSize).iterator()) {
+					while (rows.hasNext()) {
+						chunk.add(rows.next());
+						if (chunk.size() >= chunkSize) {
+							rowsCopied += insertChunk(chunk);
+						}
+						if (insertException != null) {
+							throw insertException;
+						}
+						if (progress.hasFailed()) {
+							// another table has failed so stop copying
+							return rowsCopied;
+						}
+					}
+				} catch (SQLException | DBRuntimeException exceptionGettingData) {
+					if (insertException != null) {
+						throw insertException;
+					}
+					LOG.log(Level.WARNING, "FAIL TO RETREIVE TABLE DATA: {0} - {1}", new Object[]{tableName, exceptionGettingData.getLocalizedMessage()});
+					LOG.log(Level.WARNING, "SKIPPING TABLE: {0} - {1}", new Object[]{tableName, exceptionGettingData.getLocalizedMessage()});
+					// lets just skip this table since it seems to be broken
+					return rowsCopied;
+				}
+				rowsCopied += insertChunk(chunk);
+				if (insertException != null) {
+					throw insertException;
+				}
+			}
+			progress.tableCompleted(tableName);
+			LOG.log(Level.FINEST, "FILLED TABLE ON {0}:{1}", new Object[]{secondaryLabel, tableName});
+			return rowsCopied;
+		}
+
+		private int insertChunk(List<DBRow> chunk) {
+			final int size = chunk.size();
+			if (size > 0) {
+				try {
+					secondary.insert(chunk);
+					progress.rowsCopied(table.getTableName(), size);
+				} catch (SQLException ex) {
+					insertException = ex;
+					progress.failed(ex);
+					return 0;
+				} finally {
+					chunk.clear();
+				}
+			}
+			return size;
+		}
+	}
+
 	private synchronized void releaseTemplateDatabase(DBDatabase primary) throws NoAvailableDatabaseException {
 		if (primary != null) {
 			if (clusterContains(primary)) {
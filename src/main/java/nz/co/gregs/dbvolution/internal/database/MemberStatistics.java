@@ -0,0 +1,188 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ * 
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License. 
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/ 
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ * 
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ * 
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.               
+ *     Under the following terms:
+ *                 
+ *         Attribution - 
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made. 
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial - 
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike - 
+ *             If you remix, transform, or build upon the material, 
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions - 
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the 
+ *             license permits.
+ * 
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.internal.database;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the load and latency of a single member of a DBDatabaseCluster.
+ *
+ * <p>
+ * The cluster records every query it sends to a member so that the
+ * {@link ReadRoutingStrategy} can prefer the fast and lightly loaded
+ * members.
+ *
+ * <p>
+ * Latency is tracked as an exponentially weighted moving average so that
+ * recent queries count more than old ones.
+ *
+ * @author gregorygraham
+ */
+public class MemberStatistics {
+
+	/**
+	 * The weight given to each new latency sample.
+	 */
+	static final double LATENCY_WEIGHT = 0.2;
+
+	private final AtomicInteger inFlight = new AtomicInteger(0);
+	private final AtomicLong completed = new AtomicLong(0);
+	private final AtomicLong failed = new AtomicLong(0);
+	private final AtomicLong averageLatencyBits = new AtomicLong(Double.doubleToLongBits(Double.NaN));
+
+	/**
+	 * Records that a query has been sent to the member.
+	 *
+	 * @return the start time to be supplied to {@link #queryFinished(long, boolean)
+	 * }
+	 */
+	public long queryStarted() {
+		inFlight.incrementAndGet();
+		return System.nanoTime();
+	}
+
+	/**
+	 * Records that a query sent to the member has finished.
+	 *
+	 * <p>
+	 * Only successful queries contribute to the average latency, failed queries
+	 * are counted separately.
+	 *
+	 * @param startTime the value returned by {@link #queryStarted() }
+	 * @param succeeded TRUE if the query returned results
+	 */
+	public void queryFinished(long startTime, boolean succeeded) {
+		inFlight.decrementAndGet();
+		if (succeeded) {
+			completed.incrementAndGet();
+			addLatencySample(System.nanoTime() - startTime);
+		} else {
+			failed.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Records that a query sent to the member was cancelled because it was no
+	 * longer required.
+	 *
+	 * <p>
+	 * Abandoned queries are neither completed nor failed.
+	 */
+	public void queryAbandoned() {
+		inFlight.decrementAndGet();
+	}
+
+	void addLatencySample(long latencyNanos) {
+		long oldBits;
+		long newBits;
+		do {
+			oldBits = averageLatencyBits.get();
+			final double oldAverage = Double.longBitsToDouble(oldBits);
+			final double newAverage = Double.isNaN(oldAverage)
+					? latencyNanos
+					: oldAverage + LATENCY_WEIGHT * (latencyNanos - oldAverage);
+			newBits = Double.doubleToLongBits(newAverage);
+		} while (!averageLatencyBits.compareAndSet(oldBits, newBits));
+	}
+
+	/**
+	 * The number of queries currently running on the member.
+	 *
+	 * @return the number of outstanding queries
+	 */
+	public int getInFlightQueries() {
+		return inFlight.get();
+	}
+
+	/**
+	 * The number of queries the member has completed successfully.
+	 *
+	 * @return the number of successful queries
+	 */
+	public long getCompletedQueries() {
+		return completed.get();
+	}
+
+	/**
+	 * The number of queries that failed on the member.
+	 *
+	 * @return the number of failed queries
+	 */
+	public long getFailedQueries() {
+		return failed.get();
+	}
+
+	/**
+	 * Indicates whether the member has completed any queries.
+	 *
+	 * @return TRUE if {@link #getAverageLatencyNanos() } is known
+	 */
+	public boolean hasLatency() {
+		return !Double.isNaN(getAverageLatencyNanos());
+	}
+
+	/**
+	 * The moving average of the latency of the member's successful queries.
+	 *
+	 * @return the average latency in nanoseconds, or NaN if no queries have
+	 * completed
+	 */
+	public double getAverageLatencyNanos() {
+		return Double.longBitsToDouble(averageLatencyBits.get());
+	}
+
+	/**
+	 * Estimates how long a new query would take on the member.
+	 *
+	 * <p>
+	 * The estimate is the average latency scaled by the number of queries that
+	 * would be running on the member, so a busy member appears slower. Members
+	 * without a latency are estimated at zero so that they are tried and
+	 * measured.
+	 *
+	 * @return the estimated latency in nanoseconds
+	 */
+	public double getExpectedLatencyNanos() {
+		final double average = getAverageLatencyNanos();
+		return Double.isNaN(average) ? 0.0 : average * (getInFlightQueries() + 1);
+	}
+
+	@Override
+	public String toString() {
+		final double average = getAverageLatencyNanos();
+		return "in-flight=" + getInFlightQueries()
+				+ " completed=" + getCompletedQueries()
+				+ " failed=" + getFailedQueries()
+				+ " latency=" + (Double.isNaN(average) ? "unknown" : String.format("%.3fms", average / TimeUnit.MILLISECONDS.toNanos(1)));
+	}
+}
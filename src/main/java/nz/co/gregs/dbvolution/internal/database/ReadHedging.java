@@ -0,0 +1,297 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ * 
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License. 
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/ 
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ * 
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ * 
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.               
+ *     Under the following terms:
+ *                 
+ *         Attribution - 
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made. 
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial - 
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike - 
+ *             If you remix, transform, or build upon the material, 
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions - 
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the 
+ *             license permits.
+ * 
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.internal.database;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import nz.co.gregs.dbvolution.databases.DBAsyncExecutor;
+import nz.co.gregs.dbvolution.databases.DBDatabase;
+import nz.co.gregs.dbvolution.databases.DBDatabaseCluster;
+import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
+
+/**
+ * Hedges slow reads on a DBDatabaseCluster.
+ *
+ * <p>
+ * When a query has not returned within the delay, the same SQL is issued to
+ * a second ready member and the first result to arrive is used. The delay is
+ * the chosen percentile of the recent query latencies, so only the slowest
+ * queries are hedged.
+ *
+ * <p>
+ * Hedging is budgeted: the number of hedged queries never exceeds the budget
+ * percentage of the queries read. Only members using the same SQL dialect as
+ * the original member are used as the second member, so that the SQL can be
+ * reused.
+ *
+ * @author gregorygraham
+ */
+public class ReadHedging {
+
+	/**
+	 * The number of recent latencies used to calculate the delay.
+	 */
+	static final int LATENCY_SAMPLES = 256;
+
+	/**
+	 * The number of latencies required before any queries are hedged.
+	 */
+	static final int MINIMUM_SAMPLES = 20;
+
+	private static final int SAMPLES_BETWEEN_DELAY_UPDATES = 16;
+
+	private final double percentile;
+	private final double budgetPercentage;
+	private final long minimumDelayNanos;
+
+	private final long[] latencies = new long[LATENCY_SAMPLES];
+	private int latencyCount = 0;
+	private int nextLatency = 0;
+	private volatile long delayNanos = Long.MAX_VALUE;
+
+	private final AtomicLong reads = new AtomicLong(0);
+	private final AtomicLong hedges = new AtomicLong(0);
+	private final AtomicLong hedgesWon = new AtomicLong(0);
+
+	/**
+	 * Hedges queries slower than the percentile of recent queries.
+	 *
+	 * @param percentile the percentile of recent latencies to wait before
+	 * hedging, for instance 95
+	 * @param budgetPercentage the maximum percentage of queries that may be
+	 * hedged, for instance 5
+	 */
+	public ReadHedging(double percentile, double budgetPercentage) {
+		this(percentile, budgetPercentage, 1, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Hedges queries slower than the percentile of recent queries.
+	 *
+	 * @param percentile the percentile of recent latencies to wait before
+	 * hedging, for instance 95
+	 * @param budgetPercentage the maximum percentage of queries that may be
+	 * hedged, for instance 5
+	 * @param minimumDelay the shortest delay before hedging a query
+	 * @param unit the units of the minimum delay
+	 */
+	public ReadHedging(double percentile, double budgetPercentage, long minimumDelay, TimeUnit unit) {
+		if (percentile <= 0 || percentile > 100) {
+			throw new IllegalArgumentException("Percentile must be greater than 0 and no more than 100: " + percentile);
+		}
+		if (budgetPercentage < 0 || budgetPercentage > 100) {
+			throw new IllegalArgumentException("Budget percentage must be between 0 and 100: " + budgetPercentage);
+		}
+		this.percentile = percentile;
+		this.budgetPercentage = budgetPercentage;
+		this.minimumDelayNanos = unit.toNanos(Math.max(0, minimumDelay));
+	}
+
+	/**
+	 * Creates the hedge for a query about to run on the member.
+	 *
+	 * <p>
+	 * The hedge is supplied to the query with
+	 * {@link nz.co.gregs.dbvolution.actions.DBQueryable#setReadHedge(nz.co.gregs.dbvolution.internal.database.ReadHedging.Hedge) }.
+	 *
+	 * @param details the details of the cluster the member belongs to
+	 * @param member the member about to run the query
+	 * @return the hedge for the query
+	 */
+	public Hedge hedge(ClusterDetails details, DBDatabase member) {
+		return new Hedge(details, member);
+	}
+
+	public double getPercentile() {
+		return percentile;
+	}
+
+	public double getBudgetPercentage() {
+		return budgetPercentage;
+	}
+
+	/**
+	 * The current delay before a query is hedged.
+	 *
+	 * @param unit the units required
+	 * @return the delay, or Long.MAX_VALUE if too few queries have been measured
+	 */
+	public long getDelay(TimeUnit unit) {
+		final long delay = delayNanos;
+		return delay == Long.MAX_VALUE ? delay : unit.convert(delay, TimeUnit.NANOSECONDS);
+	}
+
+	public long getReads() {
+		return reads.get();
+	}
+
+	public long getHedges() {
+		return hedges.get();
+	}
+
+	public long getHedgesWon() {
+		return hedgesWon.get();
+	}
+
+	synchronized void addLatency(long latencyNanos) {
+		latencies[nextLatency] = latencyNanos;
+		nextLatency = (nextLatency + 1) % latencies.length;
+		if (latencyCount < latencies.length) {
+			latencyCount++;
+		}
+		if (latencyCount >= MINIMUM_SAMPLES && (latencyCount < latencies.length || nextLatency % SAMPLES_BETWEEN_DELAY_UPDATES == 0)) {
+			final long[] sorted = Arrays.copyOf(latencies, latencyCount);
+			Arrays.sort(sorted);
+			final int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+			delayNanos = Math.max(minimumDelayNanos, sorted[Math.max(0, index)]);
+		}
+	}
+
+	private boolean acquireBudget() {
+		long used;
+		do {
+			used = hedges.get();
+			if (used + 1 > reads.get() * budgetPercentage / 100.0) {
+				return false;
+			}
+		} while (!hedges.compareAndSet(used, used + 1));
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		final long delay = getDelay(TimeUnit.MICROSECONDS);
+		return "hedged reads: percentile=" + percentile
+				+ " budget=" + budgetPercentage + "%"
+				+ " delay=" + (delay == Long.MAX_VALUE ? "unknown" : String.format("%.3fms", delay / 1000.0))
+				+ " reads=" + getReads()
+				+ " hedges=" + getHedges()
+				+ " won=" + getHedgesWon();
+	}
+
+	/**
+	 * The hedging of the reads performed by a single query on a member of the
+	 * cluster.
+	 */
+	public class Hedge {
+
+		private final ClusterDetails details;
+		private final DBDatabase primary;
+
+		private Hedge(ClusterDetails details, DBDatabase primary) {
+			this.details = details;
+			this.primary = primary;
+		}
+
+		/**
+		 * The member the query was sent to.
+		 *
+		 * @return the original member
+		 */
+		public DBDatabase getPrimary() {
+			return primary;
+		}
+
+		/**
+		 * The executor used to run the hedged statements.
+		 *
+		 * @return an executor
+		 */
+		public Executor getExecutor() {
+			return DBAsyncExecutor.getDefaultExecutor();
+		}
+
+		/**
+		 * Records that a statement is about to be read.
+		 *
+		 * @return the delay in nanoseconds before the statement should be hedged
+		 */
+		public long readStarted() {
+			reads.incrementAndGet();
+			return delayNanos;
+		}
+
+		/**
+		 * Records how long the statement took to produce its results.
+		 *
+		 * @param latencyNanos the time taken in nanoseconds
+		 * @param hedged TRUE if the results came from the second member
+		 */
+		public void readFinished(long latencyNanos, boolean hedged) {
+			addLatency(latencyNanos);
+			if (hedged) {
+				hedgesWon.incrementAndGet();
+			}
+		}
+
+		/**
+		 * Chooses the member to hedge the statement on.
+		 *
+		 * <p>
+		 * The member is ready, is not the original member, and uses the same
+		 * SQL dialect. No member is returned if the hedging budget has been used.
+		 *
+		 * @return a second member, or null if the statement should not be hedged
+		 */
+		public DBDatabase chooseBackup() {
+			final Class<? extends DBDefinition> dialect = primary.getDefinition().getSQLDialect();
+			if (dialect == null) {
+				return null;
+			}
+			final List<DBDatabase> candidates = new ArrayList<>(2);
+			for (DBDatabase db : details.getReadyDatabases()) {
+				if (db != primary
+						&& !(db instanceof DBDatabaseCluster)
+						&& dialect.equals(db.getDefinition().getSQLDialect())) {
+					candidates.add(db);
+				}
+			}
+			if (candidates.isEmpty() || !acquireBudget()) {
+				return null;
+			}
+			return details.getReadRoutingStrategy().chooseDatabase(candidates.toArray(new DBDatabase[candidates.size()]), details);
+		}
+
+		/**
+		 * Returns the load and latency gathered for the member.
+		 *
+		 * @param database a member of the cluster
+		 * @return the statistics for the member
+		 */
+		public MemberStatistics getMemberStatistics(DBDatabase database) {
+			return details.getMemberStatistics(database);
+		}
+	}
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ * 
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License. 
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/ 
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ * 
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ * 
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.               
+ *     Under the following terms:
+ *                 
+ *         Attribution - 
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made. 
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial - 
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike - 
+ *             If you remix, transform, or build upon the material, 
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions - 
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the 
+ *             license permits.
+ * 
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.internal.database;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import nz.co.gregs.dbvolution.databases.DBDatabase;
+
+/**
+ * Chooses which ready member of a DBDatabaseCluster will run a query.
+ *
+ * <p>
+ * Strategies are supplied with the ready members and the cluster details,
+ * which provide the {@link MemberStatistics} gathered for each member.
+ *
+ * <p>
+ * The standard strategies are available from the static methods of this
+ * interface.
+ *
+ * @author gregorygraham
+ */
+public interface ReadRoutingStrategy extends Serializable {
+
+	/**
+	 * Chooses one of the ready databases.
+	 *
+	 * @param readyDatabases the members available for reading, never empty
+	 * @param details the cluster details providing the statistics for each
+	 * member
+	 * @return one of the ready databases
+	 */
+	DBDatabase chooseDatabase(DBDatabase[] readyDatabases, ClusterDetails details);
+
+	/**
+	 * Chooses a member uniformly at random.
+	 *
+	 * <p>
+	 * This is the default strategy.
+	 *
+	 * @return a random strategy
+	 */
+	static ReadRoutingStrategy random() {
+		return new RandomChoice();
+	}
+
+	/**
+	 * Chooses the member with the fewest queries running on it.
+	 *
+	 * @return a least-outstanding-requests strategy
+	 */
+	static ReadRoutingStrategy leastOutstandingRequests() {
+		return new LeastOutstandingRequests();
+	}
+
+	/**
+	 * Chooses a member at random, favouring members in proportion to their
+	 * speed.
+	 *
+	 * <p>
+	 * Each member is weighted by the inverse of its expected latency: the moving
+	 * average of its latency scaled by the queries already running on it.
+	 *
+	 * @return a latency weighted strategy
+	 */
+	static ReadRoutingStrategy latencyWeighted() {
+		return new LatencyWeighted();
+	}
+
+	/**
+	 * Chooses two members at random and uses the one with the lower expected
+	 * latency.
+	 *
+	 * @return a power-of-two-choices strategy
+	 */
+	static ReadRoutingStrategy powerOfTwoChoices() {
+		return new PowerOfTwoChoices();
+	}
+
+	/**
+	 * Prefers the members running on this machine.
+	 *
+	 * <p>
+	 * Members without a host, like in-memory and file databases, and those on
+	 * localhost are considered local. The fallback chooses between the local
+	 * members, or between all members if none of them are local.
+	 *
+	 * @param fallback the strategy used to choose between the preferred members
+	 * @return a locality preferring strategy
+	 */
+	static ReadRoutingStrategy preferLocal(ReadRoutingStrategy fallback) {
+		return new PreferLocal(fallback, "localhost", "127.0.0.1", "::1");
+	}
+
+	/**
+	 * Prefers the members running on the hosts supplied.
+	 *
+	 * <p>
+	 * Members without a host, like in-memory and file databases, are also
+	 * considered local. The fallback chooses between the local members, or
+	 * between all members if none of them are local.
+	 *
+	 * @param fallback the strategy used to choose between the preferred members
+	 * @param localHosts the host names of the preferred members
+	 * @return a locality preferring strategy
+	 */
+	static ReadRoutingStrategy preferLocal(ReadRoutingStrategy fallback, String... localHosts) {
+		return new PreferLocal(fallback, localHosts);
+	}
+
+	public static class RandomChoice implements ReadRoutingStrategy {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public DBDatabase chooseDatabase(DBDatabase[] readyDatabases, ClusterDetails details) {
+			return readyDatabases[ThreadLocalRandom.current().nextInt(readyDatabases.length)];
+		}
+
+		@Override
+		public String toString() {
+			return "random";
+		}
+	}
+
+	public static class LeastOutstandingRequests implements ReadRoutingStrategy {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public DBDatabase chooseDatabase(DBDatabase[] readyDatabases, ClusterDetails details) {
+			DBDatabase chosen = null;
+			int fewest = Integer.MAX_VALUE;
+			int ties = 0;
+			for (DBDatabase db : readyDatabases) {
+				final int inFlight = details.getMemberStatistics(db).getInFlightQueries();
+				if (inFlight < fewest) {
+					chosen = db;
+					fewest = inFlight;
+					ties = 1;
+				} else if (inFlight == fewest) {
+					// spread the load evenly between equally busy members
+					ties++;
+					if (ThreadLocalRandom.current().nextInt(ties) == 0) {
+						chosen = db;
+					}
+				}
+			}
+			return chosen;
+		}
+
+		@Override
+		public String toString() {
+			return "least outstanding requests";
+		}
+	}
+
+	public static class LatencyWeighted implements ReadRoutingStrategy {
+
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * Stops the fastest members receiving all the queries.
+		 */
+		private static final double MINIMUM_LATENCY_NANOS = 10_000.0;
+
+		@Override
+		public DBDatabase chooseDatabase(DBDatabase[] readyDatabases, ClusterDetails details) {
+			final double[] weights = new double[readyDatabases.length];
+			double heaviest = 0.0;
+			for (int i = 0; i < readyDatabases.length; i++) {
+				final MemberStatistics stats = details.getMemberStatistics(readyDatabases[i]);
+				if (stats.hasLatency()) {
+					weights[i] = 1.0 / (stats.getExpectedLatencyNanos() + MINIMUM_LATENCY_NANOS);
+					heaviest = Math.max(heaviest, weights[i]);
+				}
+			}
+			double total = 0.0;
+			for (int i = 0; i < weights.length; i++) {
+				if (weights[i] == 0.0) {
+					// members that have not been measured yet are treated like the best member
+					weights[i] = heaviest == 0.0 ? 1.0 : heaviest;
+				}
+				total += weights[i];
+			}
+			double choice = ThreadLocalRandom.current().nextDouble(total);
+			for (int i = 0; i < weights.length; i++) {
+				choice -= weights[i];
+				if (choice < 0.0) {
+					return readyDatabases[i];
+				}
+			}
+			return readyDatabases[readyDatabases.length - 1];
+		}
+
+		@Override
+		public String toString() {
+			return "latency weighted";
+		}
+	}
+
+	public static class PowerOfTwoChoices implements ReadRoutingStrategy {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		public DBDatabase chooseDatabase(DBDatabase[] readyDatabases, ClusterDetails details) {
+			if (readyDatabases.length == 1) {
+				return readyDatabases[0];
+			}
+			final ThreadLocalRandom random = ThreadLocalRandom.current();
+			final int first = random.nextInt(readyDatabases.length);
+			int second = random.nextInt(readyDatabases.length - 1);
+			if (second >= first) {
+				second++;
+			}
+			final MemberStatistics firstStats = details.getMemberStatistics(readyDatabases[first]);
+			final MemberStatistics secondStats = details.getMemberStatistics(readyDatabases[second]);
+			final int comparison = Double.compare(firstStats.getExpectedLatencyNanos(), secondStats.getExpectedLatencyNanos());
+			if (comparison < 0 || (comparison == 0 && firstStats.getInFlightQueries() <= secondStats.getInFlightQueries())) {
+				return readyDatabases[first];
+			} else {
+				return readyDatabases[second];
+			}
+		}
+
+		@Override
+		public String toString() {
+			return "power of two choices";
+		}
+	}
+
+	public static class PreferLocal implements ReadRoutingStrategy {
+
+		private static final long serialVersionUID = 1L;
+
+		private final ReadRoutingStrategy fallback;
+		private final Set<String> localHosts = new HashSet<>();
+
+		public PreferLocal(ReadRoutingStrategy fallback, String... localHosts) {
+			this.fallback = fallback == null ? new RandomChoice() : fallback;
+			for (String host : localHosts) {
+				this.localHosts.add(host.toLowerCase(Locale.ROOT));
+			}
+		}
+
+		@Override
+		public DBDatabase chooseDatabase(DBDatabase[] readyDatabases, ClusterDetails details) {
+			List<DBDatabase> local = new ArrayList<>(readyDatabases.length);
+			for (DBDatabase db : readyDatabases) {
+				if (isLocal(db)) {
+					local.add(db);
+				}
+			}
+			if (local.isEmpty() || local.size() == readyDatabases.length) {
+				return fallback.chooseDatabase(readyDatabases, details);
+			} else {
+				return fallback.chooseDatabase(local.toArray(new DBDatabase[local.size()]), details);
+			}
+		}
+
+		/**
+		 * Indicates whether the database is local.
+		 *
+		 * @param db a member of the cluster
+		 * @return TRUE if the database has no host or its host is one of the local
+		 * hosts
+		 */
+		protected boolean isLocal(DBDatabase db) {
+			final String host = db.getSettings().getHost();
+			return host == null || host.isEmpty() || localHosts.contains(host.toLowerCase(Locale.ROOT));
+		}
+
+		@Override
+		public String toString() {
+			return "prefer local " + Arrays.toString(localHosts.toArray()) + " then " + fallback;
+		}
+	}
+}
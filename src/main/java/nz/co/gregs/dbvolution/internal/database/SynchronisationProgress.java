@@ -0,0 +1,220 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ * 
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License. 
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/ 
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ * 
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ * 
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.               
+ *     Under the following terms:
+ *                 
+ *         Attribution - 
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made. 
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial - 
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike - 
+ *             If you remix, transform, or build upon the material, 
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions - 
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the 
+ *             license permits.
+ * 
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.internal.database;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The progress of synchronising a member of a cluster.
+ *
+ * <p>
+ * Records the tables and rows copied from the template database so that the
+ * progress can be reported while the synchronisation is running, and so that
+ * a failed synchronisation can resume without copying the completed tables
+ * again.
+ *
+ * @author gregorygraham
+ */
+public class SynchronisationProgress {
+
+	private final String databaseLabel;
+	private final long clusterChanges;
+	private final Set<String> completedTables = Collections.newSetFromMap(new ConcurrentHashMap<>());
+	private final Map<String, AtomicLong> rowsCopied = new ConcurrentHashMap<>();
+	private final AtomicInteger tablesToCopy = new AtomicInteger(0);
+	private final AtomicLong rowsExpected = new AtomicLong(0);
+	private final AtomicInteger attempts = new AtomicInteger(0);
+	private volatile boolean finished = false;
+	private volatile Throwable failure = null;
+
+	SynchronisationProgress(String databaseLabel, long clusterChanges) {
+		this.databaseLabel = databaseLabel;
+		this.clusterChanges = clusterChanges;
+	}
+
+	/**
+	 * The number of changes made to the cluster when the synchronisation
+	 * started.
+	 *
+	 * <p>
+	 * Completed tables can only be reused if the cluster has not changed since.
+	 *
+	 * @return the cluster's change count
+	 */
+	long getClusterChanges() {
+		return clusterChanges;
+	}
+
+	void started() {
+		attempts.incrementAndGet();
+		tablesToCopy.set(completedTables.size());
+		rowsExpected.set(0);
+		for (String table : completedTables) {
+			rowsExpected.addAndGet(rowsCopied.get(table).get());
+		}
+		rowsCopied.keySet().retainAll(completedTables);
+		failure = null;
+		finished = false;
+	}
+
+	void tableStarted(String tableName, long expectedRows) {
+		tablesToCopy.incrementAndGet();
+		rowsExpected.addAndGet(expectedRows);
+		rowsCopied.put(tableName, new AtomicLong(0));
+	}
+
+	void rowsCopied(String tableName, long rows) {
+		rowsCopied.computeIfAbsent(tableName, (t) -> new AtomicLong(0)).addAndGet(rows);
+	}
+
+	void tableCompleted(String tableName) {
+		rowsCopied.computeIfAbsent(tableName, (t) -> new AtomicLong(0));
+		completedTables.add(tableName);
+	}
+
+	void finished() {
+		finished = true;
+	}
+
+	void failed(Throwable cause) {
+		failure = cause;
+	}
+
+	/**
+	 * The label of the database being synchronised.
+	 *
+	 * @return the database label
+	 */
+	public String getDatabaseLabel() {
+		return databaseLabel;
+	}
+
+	/**
+	 * Indicates the table has been copied completely.
+	 *
+	 * @param tableName the name of a table
+	 * @return TRUE if the table has been copied, otherwise FALSE
+	 */
+	public boolean isTableComplete(String tableName) {
+		return completedTables.contains(tableName);
+	}
+
+	/**
+	 * The number of tables that have been copied completely.
+	 *
+	 * @return the number of completed tables
+	 */
+	public int getTablesCompleted() {
+		return completedTables.size();
+	}
+
+	/**
+	 * The number of tables found so far that need to be copied.
+	 *
+	 * @return the number of tables to copy
+	 */
+	public int getTablesToCopy() {
+		return tablesToCopy.get();
+	}
+
+	/**
+	 * The number of rows copied to the database.
+	 *
+	 * @return the rows copied
+	 */
+	public long getRowsCopied() {
+		long total = 0;
+		for (AtomicLong rows : rowsCopied.values()) {
+			total += rows.get();
+		}
+		return total;
+	}
+
+	/**
+	 * The number of rows the template database contained when each table was
+	 * started.
+	 *
+	 * @return the rows expected
+	 */
+	public long getRowsExpected() {
+		return rowsExpected.get();
+	}
+
+	/**
+	 * The number of times the synchronisation has been attempted.
+	 *
+	 * @return the number of attempts
+	 */
+	public int getAttempts() {
+		return attempts.get();
+	}
+
+	/**
+	 * Indicates the synchronisation finished successfully.
+	 *
+	 * @return TRUE if all the tables have been copied, otherwise FALSE
+	 */
+	public boolean isFinished() {
+		return finished;
+	}
+
+	/**
+	 * Indicates the synchronisation failed.
+	 *
+	 * @return TRUE if the last attempt failed, otherwise FALSE
+	 */
+	public boolean hasFailed() {
+		return failure != null;
+	}
+
+	/**
+	 * The reason the last attempt failed.
+	 *
+	 * @return the cause of the failure, or null
+	 */
+	public Throwable getFailure() {
+		return failure;
+	}
+
+	@Override
+	public String toString() {
+		return "synchronisation of " + databaseLabel + ": "
+				+ (finished ? "finished" : (failure != null ? "failed" : "running"))
+				+ " tables=" + getTablesCompleted() + "/" + getTablesToCopy()
+				+ " rows=" + getRowsCopied() + "/" + getRowsExpected()
+				+ " attempts=" + getAttempts();
+	}
+}
@@ -23,6 +23,8 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import nz.co.gregs.dbvolution.exceptions.DBRuntimeException;
 import nz.co.gregs.dbvolution.exceptions.DBThrownByEndUserCodeException;
 import nz.co.gregs.dbvolution.exceptions.ReferenceToUndefinedPrimaryKeyException;
@@ -40,18 +42,55 @@ public class JavaBeanProperty<BASETYPE> implements JavaProperty<BASETYPE>, Seria
 	private Type genericType;
 	private transient final Method getter;
 	private transient final Method setter;
+	private transient final Function<Object, Object> getterFunction;
+	private transient final BiConsumer<Object, Object> setterFunction;
+	private transient final Class<?> getterTarget;
+	private transient final Class<?> setterTarget;
+	private transient final Class<?> setterValueType;
 
 	/**
 	 * Create a new JavaBeanProperty from the supplied descriptor.
 	 *
+	 * <p>
+	 * Lambda accessors are created for the getter and setter when possible and
+	 * reflection is used otherwise.
+	 *
 	 * @param descriptor	descriptor
 	 */
-	@SuppressWarnings("unchecked")
 	public JavaBeanProperty(PropertyDescriptor descriptor) {
+		this(descriptor, null, null, null);
+	}
+
+	/**
+	 * Create a new JavaBeanProperty from the supplied descriptor using generated
+	 * accessors.
+	 *
+	 * @param descriptor	descriptor
+	 * @param getterFunction the generated getter, or NULL to create one
+	 * @param setterFunction the generated setter, or NULL to create one
+	 * @param rowClass the class the generated accessors accept
+	 */
+	@SuppressWarnings("unchecked")
+	JavaBeanProperty(PropertyDescriptor descriptor, Function<Object, Object> getterFunction, BiConsumer<Object, Object> setterFunction, Class<?> rowClass) {
 		this.name = descriptor.getName();
 		this.type = (Class<BASETYPE>) descriptor.getPropertyType();
 		this.getter = descriptor.getReadMethod();
 		this.setter = descriptor.getWriteMethod();
+		if (getterFunction == null) {
+			this.getterFunction = JavaPropertyAccessors.getter(getter);
+			this.getterTarget = getter == null ? null : getter.getDeclaringClass();
+		} else {
+			this.getterFunction = getterFunction;
+			this.getterTarget = rowClass;
+		}
+		this.setterValueType = setter == null || setter.getParameterCount() != 1 ? null : setter.getParameterTypes()[0];
+		if (setterFunction == null) {
+			this.setterFunction = JavaPropertyAccessors.setter(setter);
+			this.setterTarget = setter == null ? null : setter.getDeclaringClass();
+		} else {
+			this.setterFunction = setterFunction;
+			this.setterTarget = rowClass;
+		}
 		if (this.getter != null) {
 			this.genericType = this.getter.getGenericReturnType();
 		} else if (this.setter != null) {
@@ -188,6 +227,13 @@ public class JavaBeanProperty<BASETYPE> implements JavaProperty<BASETYPE>, Seria
 			// caller should have checked the isReadable() method first
 			throw new IllegalStateException("Internal error attempting to read non-readable property " + qualifiedName() + " (this is probably a DBvolution bug)");
 		}
+		if (getterFunction != null && getterTarget.isInstance(target)) {
+			try {
+				return getterFunction.apply(target);
+			} catch (Throwable cause) {
+				throw thrownByEndUserCode(cause, "reading property");
+			}
+		}
 		try {
 			return getter.invoke(target);
 		} catch (IllegalArgumentException e) {
@@ -201,9 +247,7 @@ public class JavaBeanProperty<BASETYPE> implements JavaProperty<BASETYPE>, Seria
 			throw new DBRuntimeException("Java security error reading property " + qualifiedName() + ": " + e.getLocalizedMessage(), e);
 		} catch (InvocationTargetException e) {
 			// any checked or runtime exception thrown by the setter method itself
-			Throwable cause = (e.getCause() == null) ? e : e.getCause();
-			String msg = (cause.getLocalizedMessage() == null) ? "" : ": " + cause.getLocalizedMessage();
-			throw new DBThrownByEndUserCodeException("Accessor method threw " + cause.getClass().getSimpleName() + " reading property " + qualifiedName() + msg, cause);
+			throw thrownByEndUserCode((e.getCause() == null) ? e : e.getCause(), "reading property");
 		}
 	}
 
@@ -213,6 +257,16 @@ public class JavaBeanProperty<BASETYPE> implements JavaProperty<BASETYPE>, Seria
 			// caller should have checked the isWritable method first
 			throw new IllegalStateException("Internal error attempting to write to non-writable property " + qualifiedName() + " (this is probably a DBvolution bug)");
 		}
+		if (setterFunction != null
+				&& setterTarget.isInstance(target)
+				&& JavaPropertyAccessors.isAcceptable(setterValueType, value)) {
+			try {
+				setterFunction.accept(target, value);
+				return;
+			} catch (Throwable cause) {
+				throw thrownByEndUserCode(cause, "writing to property");
+			}
+		}
 		try {
 			setter.invoke(target, value);
 		} catch (IllegalArgumentException e) {
@@ -226,12 +280,15 @@ public class JavaBeanProperty<BASETYPE> implements JavaProperty<BASETYPE>, Seria
 			throw new DBRuntimeException("Java security error writing to property " + qualifiedName() + ": " + e.getLocalizedMessage(), e);
 		} catch (InvocationTargetException e) {
 			// any checked or runtime exception thrown by the setter method itself
-			Throwable cause = (e.getCause() == null) ? e : e.getCause();
-			String msg = (cause.getLocalizedMessage() == null) ? "" : ": " + cause.getLocalizedMessage();
-			throw new DBThrownByEndUserCodeException("Accessor method threw " + cause.getClass().getSimpleName() + " writing to property " + qualifiedName() + msg, cause);
+			throw thrownByEndUserCode((e.getCause() == null) ? e : e.getCause(), "writing to property");
 		}
 	}
 
+	private DBThrownByEndUserCodeException thrownByEndUserCode(Throwable cause, String action) {
+		String msg = (cause.getLocalizedMessage() == null) ? "" : ": " + cause.getLocalizedMessage();
+		return new DBThrownByEndUserCodeException("Accessor method threw " + cause.getClass().getSimpleName() + " " + action + " " + qualifiedName() + msg, cause);
+	}
+
 	@Override
 	public boolean isAnnotationPresent(Class<? extends Annotation> annotationClass) {
 		return (getter != null && getter.isAnnotationPresent(annotationClass)) || (setter != null && setter.isAnnotationPresent(annotationClass));
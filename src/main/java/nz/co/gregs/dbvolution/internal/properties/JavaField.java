@@ -19,6 +19,8 @@ import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.lang.reflect.Type;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import nz.co.gregs.dbvolution.exceptions.DBRuntimeException;
 import nz.co.gregs.dbvolution.exceptions.FailedToSetPropertyValueOnRowDefinition;
 
@@ -32,15 +34,39 @@ public class JavaField<BASETYPE> implements JavaProperty<BASETYPE>, Serializable
 	private static final long serialVersionUID = 1l;
 
 	private transient final Field field;
+	private transient final Function<Object, Object> fieldGetter;
+	private transient final BiConsumer<Object, Object> fieldSetter;
+	private transient final Class<?> getterTarget;
+	private transient final Class<?> setterTarget;
 
 	/**
 	 * Create a JavaField for the supplied field.
 	 *
+	 * <p>
+	 * The field is accessed using reflection, which is faster than a method
+	 * handle that the JIT can not treat as a constant.
+	 *
 	 * @param field	field
 	 */
 	public JavaField(Field field) {
+		this(field, null, null, null);
+	}
+
+	/**
+	 * Create a JavaField for the supplied field using generated accessors.
+	 *
+	 * @param field	field
+	 * @param getter the generated getter, or NULL to use reflection
+	 * @param setter the generated setter, or NULL to use reflection
+	 * @param rowClass the class the generated accessors accept
+	 */
+	JavaField(Field field, Function<Object, Object> getter, BiConsumer<Object, Object> setter, Class<?> rowClass) {
 		this.field = field;
 		field.setAccessible(true);
+		this.fieldGetter = getter;
+		this.getterTarget = rowClass;
+		this.fieldSetter = setter;
+		this.setterTarget = rowClass;
 	}
 
 	@Override
@@ -135,6 +161,9 @@ public class JavaField<BASETYPE> implements JavaProperty<BASETYPE>, Serializable
 
 	@Override
 	public Object get(Object target) {
+		if (fieldGetter != null && getterTarget.isInstance(target)) {
+			return fieldGetter.apply(target);
+		}
 		try {
 			return field.get(target);
 		} catch (IllegalArgumentException e) {
@@ -151,6 +180,12 @@ public class JavaField<BASETYPE> implements JavaProperty<BASETYPE>, Serializable
 
 	@Override
 	public void set(Object target, Object value) {
+		if (fieldSetter != null
+				&& setterTarget.isInstance(target)
+				&& JavaPropertyAccessors.isAcceptable(field.getType(), value)) {
+			fieldSetter.accept(target, value);
+			return;
+		}
 		try {
 			field.set(target, value);
 		} catch (IllegalArgumentException e) {
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.internal.properties;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Creates fast accessors for the bean properties of row classes.
+ *
+ * <p>
+ * Bean getters and setters are bound to lambdas using the
+ * {@link LambdaMetafactory} so that the JIT can inline them like ordinary
+ * method calls. Fields are left to reflection: the LambdaMetafactory can not
+ * target field access, and a method handle held in a field is slower than
+ * {@link Field#get(java.lang.Object) } because the JIT can not inline it.
+ *
+ * <p>
+ * The accessors are created once, when the property is found, and reused for
+ * every row. NULL is returned when an accessor can not be created, for
+ * instance because of a security manager or module restrictions, and the
+ * caller should fall back to reflection.
+ *
+ * @author Gregory Graham
+ */
+final class JavaPropertyAccessors {
+
+	private static final Log LOG = LogFactory.getLog(JavaPropertyAccessors.class);
+
+	private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+	private JavaPropertyAccessors() {
+	}
+
+	/**
+	 * Creates a getter that calls the bean method.
+	 *
+	 * @param method the getter method of the bean property
+	 * @return a function calling the method on its argument, or NULL if the
+	 * method can not be called this way
+	 */
+	@SuppressWarnings("unchecked")
+	static Function<Object, Object> getter(Method method) {
+		if (method == null || Modifier.isStatic(method.getModifiers())) {
+			return null;
+		}
+		try {
+			final Class<?> declaringClass = method.getDeclaringClass();
+			final MethodHandles.Lookup lookup = lookupFor(declaringClass);
+			CallSite site = LambdaMetafactory.metafactory(
+					lookup,
+					"apply",
+					MethodType.methodType(Function.class),
+					GETTER_TYPE,
+					lookup.unreflect(method),
+					MethodType.methodType(boxed(method.getReturnType()), declaringClass));
+			return (Function<Object, Object>) site.getTarget().invoke();
+		} catch (Throwable ex) {
+			LOG.debug("Using reflection to call " + method.getName() + ": " + ex.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Creates a setter that calls the bean method.
+	 *
+	 * @param method the setter method of the bean property
+	 * @return a function calling the method on the first argument with the
+	 * second argument, or NULL if the method can not be called this way
+	 */
+	@SuppressWarnings("unchecked")
+	static BiConsumer<Object, Object> setter(Method method) {
+		if (method == null || Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 1) {
+			return null;
+		}
+		try {
+			final Class<?> declaringClass = method.getDeclaringClass();
+			final MethodHandles.Lookup lookup = lookupFor(declaringClass);
+			CallSite site = LambdaMetafactory.metafactory(
+					lookup,
+					"accept",
+					MethodType.methodType(BiConsumer.class),
+					SETTER_TYPE,
+					lookup.unreflect(method),
+					MethodType.methodType(void.class, declaringClass, boxed(method.getParameterTypes()[0])));
+			return (BiConsumer<Object, Object>) site.getTarget().invoke();
+		} catch (Throwable ex) {
+			LOG.debug("Using reflection to call " + method.getName() + ": " + ex.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Tests whether the value can be passed to an accessor expecting the type
+	 * without a ClassCastException or NullPointerException.
+	 *
+	 * @param type the type required by the accessor
+	 * @param value the value to be passed
+	 * @return TRUE if the value is acceptable, otherwise FALSE
+	 */
+	static boolean isAcceptable(Class<?> type, Object value) {
+		if (type.isPrimitive()) {
+			return value != null && boxed(type).isInstance(value);
+		}
+		return value == null || type.isInstance(value);
+	}
+
+	private static MethodHandles.Lookup lookupFor(Class<?> declaringClass) throws IllegalAccessException {
+		return MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+	}
+
+	private static Class<?> boxed(Class<?> type) {
+		if (!type.isPrimitive()) {
+			return type;
+		} else if (type == int.class) {
+			return Integer.class;
+		} else if (type == long.class) {
+			return Long.class;
+		} else if (type == boolean.class) {
+			return Boolean.class;
+		} else if (type == double.class) {
+			return Double.class;
+		} else if (type == float.class) {
+			return Float.class;
+		} else if (type == short.class) {
+			return Short.class;
+		} else if (type == byte.class) {
+			return Byte.class;
+		} else if (type == char.class) {
+			return Character.class;
+		} else {
+			return Void.class;
+		}
+	}
+}
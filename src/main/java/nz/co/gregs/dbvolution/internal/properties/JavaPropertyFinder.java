@@ -12,6 +12,8 @@ import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import nz.co.gregs.dbvolution.DBRow;
 
 import nz.co.gregs.dbvolution.exceptions.DBRuntimeException;
@@ -109,6 +111,47 @@ class JavaPropertyFinder {
 		return properties;
 	}
 
+	/**
+	 * Gets the properties listed in the generated metadata that are accepted by
+	 * the filter.
+	 *
+	 * <p>
+	 * The generated metadata lists the same properties, in the same order, as
+	 * {@link #getPropertiesOf(java.lang.Class) } would find with private field
+	 * visibility, so only the listed fields and methods are inspected.
+	 *
+	 * @param metadata the generated metadata for the class
+	 * @return the non-null list of properties found in the metadata
+	 */
+	@SuppressWarnings("unchecked")
+	List<JavaProperty<?>> getPropertiesOf(RowDefinitionMetadata<?> metadata) {
+		final Class<?> clazz = metadata.getRowClass();
+		List<JavaProperty<?>> properties = new ArrayList<JavaProperty<?>>();
+		try {
+			for (RowDefinitionMetadata.Property<?> property : metadata.getProperties()) {
+				final Function<Object, Object> getter = (Function<Object, Object>) property.getGetter();
+				final BiConsumer<Object, Object> setter = (BiConsumer<Object, Object>) property.getSetter();
+				if (property.isField()) {
+					if (propertyTypes.contains(PropertyType.FIELD)) {
+						Class<?> declaringClass = Class.forName(property.getDeclaringClassName(), false, clazz.getClassLoader());
+						Field field = declaringClass.getDeclaredField(property.getName());
+						if (filter.acceptField(field)) {
+							properties.add(new JavaField<>(field, getter, setter, clazz));
+						}
+					}
+				} else if (propertyTypes.contains(PropertyType.BEAN_PROPERTY)) {
+					PropertyDescriptor descriptor = new PropertyDescriptor(property.getName(), clazz, property.getReadMethodName(), property.getWriteMethodName());
+					if (filter.acceptBeanProperty(descriptor.getReadMethod(), descriptor.getWriteMethod())) {
+						properties.add(new JavaBeanProperty<>(descriptor, getter, setter, clazz));
+					}
+				}
+			}
+		} catch (ClassNotFoundException | NoSuchFieldException | IntrospectionException e) {
+			throw new DBRuntimeException("Generated metadata for " + clazz.getName() + " does not match the class, please recompile it: " + e.getMessage(), e);
+		}
+		return properties;
+	}
+
 	/**
 	 * Gets the field-based properties.
 	 *
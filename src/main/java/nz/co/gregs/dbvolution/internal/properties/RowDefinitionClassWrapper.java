@@ -128,7 +128,7 @@ public class RowDefinitionClassWrapper<ROW extends RowDefinition> implements Ser
 		if (processIdentityOnly) {
 			// identity-only: extract only primary key properties
 			JavaPropertyFinder propertyFinder = getColumnPropertyFinder();
-			for (JavaProperty<?> javaProperty : propertyFinder.getPropertiesOf(clazz)) {
+			for (JavaProperty<?> javaProperty : getPropertiesOf(propertyFinder, clazz)) {
 				ColumnHandler<?> column = new ColumnHandler<>(javaProperty);
 				if (column.isColumn() && column.isPrimaryKey()) {
 					PropertyWrapperDefinition<ROW, ?> property = new PropertyWrapperDefinition<>(this, javaProperty, processIdentityOnly);
@@ -140,7 +140,7 @@ public class RowDefinitionClassWrapper<ROW extends RowDefinition> implements Ser
 			// extract all column properties
 			int columnIndex = 0;
 			JavaPropertyFinder propertyFinder = getColumnOrAutoFillablePropertyFinder();
-			for (JavaProperty<?> javaProperty : propertyFinder.getPropertiesOf(clazz)) {
+			for (JavaProperty<?> javaProperty : getPropertiesOf(propertyFinder, clazz)) {
 				var property = new PropertyWrapperDefinition<>(this, javaProperty, processIdentityOnly);
 				if (property.isColumn()) {
 					columnIndex++;
@@ -219,6 +219,23 @@ public class RowDefinitionClassWrapper<ROW extends RowDefinition> implements Ser
 				PropertyType.FIELD, PropertyType.BEAN_PROPERTY);
 	}
 
+	/**
+	 * Finds the properties of the class using its generated metadata if there is
+	 * any, otherwise by reflection.
+	 *
+	 * @param propertyFinder the finder to use
+	 * @param clazz the class to inspect
+	 * @return the properties of the class accepted by the finder
+	 */
+	private static List<JavaProperty<?>> getPropertiesOf(JavaPropertyFinder propertyFinder, Class<? extends RowDefinition> clazz) {
+		RowDefinitionMetadata<?> metadata = RowDefinitionMetadata.forClass(clazz);
+		if (metadata != null) {
+			return propertyFinder.getPropertiesOf(metadata);
+		} else {
+			return propertyFinder.getPropertiesOf(clazz);
+		}
+	}
+
 	private static JavaPropertyFinder getColumnOrAutoFillablePropertyFinder() {
 		return new JavaPropertyFinder(
 				Visibility.PRIVATE, Visibility.PUBLIC,
@@ -477,7 +494,7 @@ public class RowDefinitionClassWrapper<ROW extends RowDefinition> implements Ser
 	List<PropertyWrapperDefinition<ROW, ?>> getPropertyDefinitionIdentitiesByColumnNameCaseInsensitive(String columnName) {
 		List<PropertyWrapperDefinition<ROW, ?>> list = new ArrayList<PropertyWrapperDefinition<ROW, ?>>();
 		JavaPropertyFinder propertyFinder = getColumnPropertyFinder();
-		for (JavaProperty<?> javaProperty : propertyFinder.getPropertiesOf(adapteeClass)) {
+		for (JavaProperty<?> javaProperty : getPropertiesOf(propertyFinder, adapteeClass)) {
 			ColumnHandler<?> column = new ColumnHandler<>(javaProperty);
 			if (column.isColumn() && column.getColumnName().equalsIgnoreCase(columnName)) {
 				PropertyWrapperDefinition<ROW, ?> property = new PropertyWrapperDefinition<>(this, javaProperty, true);
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.internal.properties;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import nz.co.gregs.dbvolution.query.RowDefinition;
+
+/**
+ * Compile-time metadata for a DBRow, or other RowDefinition, class.
+ *
+ * <p>
+ * Subclasses are generated by the
+ * {@link nz.co.gregs.dbvolution.annotations.processing.DBRowMetadataProcessor}
+ * when it is enabled during compilation. The metadata lists the column and
+ * auto-fill properties of the class with accessors and a constructor that do
+ * not require reflection, allowing
+ * {@link RowDefinitionClassWrapper} to skip scanning the class.
+ *
+ * <p>
+ * Classes without generated metadata are handled by reflection as usual.
+ *
+ * @author Gregory Graham
+ * @param <ROW> the class described by this metadata
+ */
+public abstract class RowDefinitionMetadata<ROW extends RowDefinition> {
+
+	/**
+	 * The suffix added to the name of the row class to name the generated
+	 * metadata class.
+	 */
+	public static final String GENERATED_CLASS_SUFFIX = "_DBRowMetadata";
+
+	private static final ClassValue<Optional<RowDefinitionMetadata<?>>> METADATA = new ClassValue<Optional<RowDefinitionMetadata<?>>>() {
+		@Override
+		protected Optional<RowDefinitionMetadata<?>> computeValue(Class<?> type) {
+			return Optional.ofNullable(loadMetadata(type));
+		}
+	};
+
+	private final Class<ROW> rowClass;
+	private final Supplier<ROW> constructor;
+	private final List<Property<ROW>> properties;
+
+	/**
+	 * Creates the metadata for the class.
+	 *
+	 * @param rowClass the class described
+	 * @param constructor a supplier of new instances of the class, or NULL if the
+	 * class can not be instantiated directly
+	 * @param properties the column and auto-fill properties of the class in the
+	 * order they would be found by reflection
+	 */
+	protected RowDefinitionMetadata(Class<ROW> rowClass, Supplier<ROW> constructor, List<Property<ROW>> properties) {
+		this.rowClass = rowClass;
+		this.constructor = constructor;
+		this.properties = Collections.unmodifiableList(new ArrayList<>(properties));
+	}
+
+	/**
+	 * Finds the generated metadata for the class.
+	 *
+	 * <p>
+	 * The result is cached for each class, so classes without metadata are only
+	 * checked once.
+	 *
+	 * @param <ROW> the class described by the metadata
+	 * @param rowClass the class to find metadata for
+	 * @return the metadata for the class, or NULL if none was generated
+	 */
+	@SuppressWarnings("unchecked")
+	public static <ROW extends RowDefinition> RowDefinitionMetadata<ROW> forClass(Class<ROW> rowClass) {
+		return (RowDefinitionMetadata<ROW>) METADATA.get(rowClass).orElse(null);
+	}
+
+	/**
+	 * Returns the name of the metadata class generated for the row class.
+	 *
+	 * @param rowClassName the binary name of the row class, as returned by
+	 * {@link Class#getName()}
+	 * @return the binary name of the generated metadata class
+	 */
+	public static String getGeneratedClassName(String rowClassName) {
+		final int lastDot = rowClassName.lastIndexOf('.');
+		final String packagePrefix = rowClassName.substring(0, lastDot + 1);
+		return packagePrefix + rowClassName.substring(lastDot + 1).replace('$', '_') + GENERATED_CLASS_SUFFIX;
+	}
+
+	private static RowDefinitionMetadata<?> loadMetadata(Class<?> type) {
+		if (type.isAnonymousClass() || type.isLocalClass() || type.isArray() || type.isPrimitive()) {
+			return null;
+		}
+		try {
+			Class<?> metadataClass = Class.forName(getGeneratedClassName(type.getName()), true, type.getClassLoader());
+			if (RowDefinitionMetadata.class.isAssignableFrom(metadataClass)) {
+				RowDefinitionMetadata<?> metadata = (RowDefinitionMetadata<?>) metadataClass.getDeclaredConstructor().newInstance();
+				if (metadata.getRowClass().equals(type)) {
+					return metadata;
+				}
+			}
+		} catch (ClassNotFoundException | LinkageError ex) {
+			// no metadata has been generated for this class
+		} catch (ReflectiveOperationException | SecurityException ex) {
+			// the metadata is unusable so fall back to reflection
+		}
+		return null;
+	}
+
+	/**
+	 * The class described by this metadata.
+	 *
+	 * @return the row class
+	 */
+	public Class<ROW> getRowClass() {
+		return rowClass;
+	}
+
+	/**
+	 * The generated constructor for the class.
+	 *
+	 * @return a supplier of new instances, or NULL if the class has no
+	 * accessible default constructor
+	 */
+	public Supplier<ROW> getConstructor() {
+		return constructor;
+	}
+
+	/**
+	 * The column and auto-fill properties of the class.
+	 *
+	 * @return the properties in the order they would be found by reflection
+	 */
+	public List<Property<ROW>> getProperties() {
+		return properties;
+	}
+
+	/**
+	 * Describes a single field or bean property of the row class.
+	 *
+	 * @param <ROW> the class the property belongs to
+	 */
+	public static final class Property<ROW extends RowDefinition> {
+
+		private final boolean field;
+		private final String declaringClassName;
+		private final String name;
+		private final String readMethodName;
+		private final String writeMethodName;
+		private final Function<ROW, Object> getter;
+		private final BiConsumer<ROW, Object> setter;
+
+		private Property(boolean field, String declaringClassName, String name, String readMethodName, String writeMethodName, Function<ROW, Object> getter, BiConsumer<ROW, Object> setter) {
+			this.field = field;
+			this.declaringClassName = declaringClassName;
+			this.name = name;
+			this.readMethodName = readMethodName;
+			this.writeMethodName = writeMethodName;
+			this.getter = getter;
+			this.setter = setter;
+		}
+
+		/**
+		 * Describes a field.
+		 *
+		 * @param <ROW> the class the property belongs to
+		 * @param declaringClassName the binary name of the class that declares the
+		 * field
+		 * @param name the name of the field
+		 * @param getter reads the field, or NULL if it is not accessible
+		 * @param setter writes the field, or NULL if it is not accessible
+		 * @return the property
+		 */
+		public static <ROW extends RowDefinition> Property<ROW> field(String declaringClassName, String name, Function<ROW, Object> getter, BiConsumer<ROW, Object> setter) {
+			return new Property<>(true, declaringClassName, name, null, null, getter, setter);
+		}
+
+		/**
+		 * Describes a bean property.
+		 *
+		 * @param <ROW> the class the property belongs to
+		 * @param name the name of the bean property
+		 * @param readMethodName the name of the getter, or NULL if there is none
+		 * @param writeMethodName the name of the setter, or NULL if there is none
+		 * @param getter calls the getter, or NULL if there is none
+		 * @param setter calls the setter, or NULL if there is none
+		 * @return the property
+		 */
+		public static <ROW extends RowDefinition> Property<ROW> beanProperty(String name, String readMethodName, String writeMethodName, Function<ROW, Object> getter, BiConsumer<ROW, Object> setter) {
+			return new Property<>(false, null, name, readMethodName, writeMethodName, getter, setter);
+		}
+
+		/**
+		 * Indicates whether this is a field rather than a bean property.
+		 *
+		 * @return TRUE for fields, FALSE for bean properties
+		 */
+		public boolean isField() {
+			return field;
+		}
+
+		/**
+		 * The binary name of the class declaring the field.
+		 *
+		 * @return the declaring class name, or NULL for bean properties
+		 */
+		public String getDeclaringClassName() {
+			return declaringClassName;
+		}
+
+		/**
+		 * The name of the field or bean property.
+		 *
+		 * @return the property name
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * The name of the bean property's getter.
+		 *
+		 * @return the method name, or NULL
+		 */
+		public String getReadMethodName() {
+			return readMethodName;
+		}
+
+		/**
+		 * The name of the bean property's setter.
+		 *
+		 * @return the method name, or NULL
+		 */
+		public String getWriteMethodName() {
+			return writeMethodName;
+		}
+
+		/**
+		 * The generated accessor reading the property.
+		 *
+		 * @return the getter, or NULL if the property can not be read directly
+		 */
+		public Function<ROW, Object> getGetter() {
+			return getter;
+		}
+
+		/**
+		 * The generated accessor writing the property.
+		 *
+		 * @return the setter, or NULL if the property can not be written directly
+		 */
+		public BiConsumer<ROW, Object> getSetter() {
+			return setter;
+		}
+	}
+}
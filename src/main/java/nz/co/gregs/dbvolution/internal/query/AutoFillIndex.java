@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ * 
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License. 
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/ 
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ * 
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ * 
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.               
+ *     Under the following terms:
+ *                 
+ *         Attribution - 
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made. 
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial - 
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike - 
+ *             If you remix, transform, or build upon the material, 
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions - 
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the 
+ *             license permits.
+ * 
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.internal.query;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import nz.co.gregs.dbvolution.DBQueryRow;
+import nz.co.gregs.dbvolution.DBRow;
+
+/**
+ * Finds the rows that share a {@link DBQueryRow} with another row, for
+ * filling {@link nz.co.gregs.dbvolution.annotations.AutoFillDuringQueryIfPossible AutoFill}
+ * fields.
+ *
+ * <p>
+ * The first request for a pair of tables indexes the whole result in a single
+ * pass, from each instance of the first table to the instances of the second
+ * table in the same rows. Every later request for the pair is a lookup, so
+ * filling all the rows of a query takes linear, rather than quadratic, time.
+ *
+ * <p>
+ * Rows are matched by instance, just as queries share one instance for each
+ * row found.
+ *
+ * @author Gregory Graham
+ */
+class AutoFillIndex {
+
+	private final List<DBQueryRow> allRows;
+	private final Map<Class<? extends DBRow>, Map<Class<? extends DBRow>, Map<DBRow, List<DBRow>>>> indexes = new HashMap<>();
+
+	AutoFillIndex(List<DBQueryRow> allRows) {
+		this.allRows = allRows;
+	}
+
+	/**
+	 * Finds all instances of {@code relatedClass} that share a
+	 * {@link DBQueryRow} with the row.
+	 *
+	 * @param row the instance that the related rows connect to
+	 * @param relatedClass the class of the related rows
+	 * @return the related rows in the order of the query results, including
+	 * repeats
+	 */
+	List<DBRow> getRelatedInstances(DBRow row, Class<? extends DBRow> relatedClass) {
+		final List<DBRow> related = getIndex(row.getClass(), relatedClass).get(row);
+		return related == null ? new ArrayList<>() : new ArrayList<>(related);
+	}
+
+	private Map<DBRow, List<DBRow>> getIndex(Class<? extends DBRow> rowClass, Class<? extends DBRow> relatedClass) {
+		Map<Class<? extends DBRow>, Map<DBRow, List<DBRow>>> indexesForClass = indexes.get(rowClass);
+		if (indexesForClass == null) {
+			indexesForClass = new HashMap<>();
+			indexes.put(rowClass, indexesForClass);
+		}
+		Map<DBRow, List<DBRow>> index = indexesForClass.get(relatedClass);
+		if (index == null) {
+			index = new IdentityHashMap<>();
+			for (DBQueryRow queryRow : allRows) {
+				final DBRow versionOfThis = queryRow.get(rowClass);
+				final DBRow versionOfThat = queryRow.get(relatedClass);
+				if (versionOfThis != null && versionOfThat != null) {
+					List<DBRow> related = index.get(versionOfThis);
+					if (related == null) {
+						related = new ArrayList<>();
+						index.put(versionOfThis, related);
+					}
+					related.add(versionOfThat);
+				}
+			}
+			indexesForClass.put(relatedClass, index);
+		}
+		return index;
+	}
+}
@@ -0,0 +1,635 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ * 
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License. 
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/ 
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ * 
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ * 
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.               
+ *     Under the following terms:
+ *                 
+ *         Attribution - 
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made. 
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial - 
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike - 
+ *             If you remix, transform, or build upon the material, 
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions - 
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the 
+ *             license permits.
+ * 
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.internal.query;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
+
+/**
+ * An SQL statement and the values to bind to its "?" placeholders.
+ *
+ * <p>
+ * Statements are created by {@link #generate(boolean, java.util.function.Supplier)
+ * }, which runs the SQL generating code with a collector for the current
+ * thread. Inside {@link #whileBinding(boolean, java.util.function.Supplier) }
+ * QueryableDatatypes that support bind parameters add their value to the
+ * collector and produce "?" instead of their literal value, so the
+ * placeholders and the list of values are built together while the SQL is
+ * generated.
+ *
+ * <p>
+ * The statement is also generated with literal values. The literal SQL is used
+ * anywhere the SQL needs to be shown to a person, and it is used to check the
+ * parameterised SQL: the collected values, substituted into the placeholders in
+ * order, must reproduce the literal SQL exactly. SQL that a database definition
+ * has reordered, repeated, or otherwise transformed so that the check fails is
+ * executed with literal values instead.
+ *
+ * <p>
+ * While {@link #whileNumberingSlots(nz.co.gregs.dbvolution.internal.query.BindParameters.Slots, java.util.function.Supplier)
+ * } is active, each parameter also records the slot of the object that
+ * produced it. Slots identify the same parameter in SQL that uses the
+ * parameters in a different order, even when several parameters have the same
+ * type and value.
+ *
+ * @author Gregory Graham
+ */
+public class BindParameters {
+
+	private static final String PLACEHOLDER = "?";
+
+	/**
+	 * The slot of a parameter produced without slot numbering.
+	 */
+	public static final int NO_SLOT = -1;
+
+	private static final ThreadLocal<Boolean> BINDING = ThreadLocal.withInitial(() -> Boolean.FALSE);
+	private static final ThreadLocal<List<Parameter>> COLLECTOR = new ThreadLocal<>();
+	private static final ThreadLocal<Slots> SLOTS = new ThreadLocal<>();
+
+	private final String sql;
+	private final List<Parameter> parameters;
+	private final DBDefinition definition;
+	private String literalSQL;
+
+	private BindParameters(String sql, List<Parameter> parameters, String literalSQL, DBDefinition definition) {
+		this.sql = sql;
+		this.parameters = parameters;
+		this.literalSQL = literalSQL;
+		this.definition = definition;
+	}
+
+	/**
+	 * Creates a statement without any bind parameters.
+	 *
+	 * @param sql the literal SQL
+	 * @return the statement
+	 */
+	public static BindParameters literal(String sql) {
+		return new BindParameters(sql, Collections.emptyList(), sql, null);
+	}
+
+	/**
+	 * Generates SQL statements, with bind parameters if requested.
+	 *
+	 * <p>
+	 * The generator is always run to produce the literal SQL. If bind parameters
+	 * are requested it is run a second time with a collector for the parameters,
+	 * and the generator should use
+	 * {@link #whileBinding(boolean, java.util.function.Supplier) } around the
+	 * parts of the SQL that may contain parameters.
+	 *
+	 * <p>
+	 * Each parameterised statement is checked against its literal SQL and, if
+	 * the values can not be matched to the placeholders, the literal SQL is used
+	 * for that statement.
+	 *
+	 * @param bind TRUE to produce bind parameters, FALSE to produce literal
+	 * values only
+	 * @param generator the SQL generating code
+	 * @return a statement for each SQL string produced by the generator
+	 */
+	public static List<BindParameters> generate(boolean bind, Supplier<List<String>> generator) {
+		final List<String> literalSQL = whileCollecting(null, generator);
+		final List<BindParameters> statements = new ArrayList<>(literalSQL.size());
+		if (!bind) {
+			for (String sql : literalSQL) {
+				statements.add(literal(sql));
+			}
+			return statements;
+		}
+		final List<Parameter> collected = new ArrayList<>();
+		final List<String> boundSQL = whileCollecting(collected, generator);
+		int offset = 0;
+		for (int i = 0; i < literalSQL.size(); i++) {
+			final String literal = literalSQL.get(i);
+			BindParameters statement = null;
+			if (!collected.isEmpty() && boundSQL.size() == literalSQL.size()) {
+				final String bound = boundSQL.get(i);
+				statement = match(bound, collected, offset, literal);
+				if (statement != null) {
+					offset += statement.size();
+				} else if (offset > 0) {
+					// alternative statements may each contain all the parameters
+					statement = match(bound, collected, 0, literal);
+				}
+			}
+			statements.add(statement == null ? literal(literal) : statement);
+		}
+		return statements;
+	}
+
+	private static <T> T whileCollecting(List<Parameter> collector, Supplier<T> generator) {
+		final List<Parameter> previous = COLLECTOR.get();
+		COLLECTOR.set(collector);
+		try {
+			return generator.get();
+		} finally {
+			if (previous == null) {
+				COLLECTOR.remove();
+			} else {
+				COLLECTOR.set(previous);
+			}
+		}
+	}
+
+	/**
+	 * Matches the collected parameters to the placeholders of the SQL.
+	 *
+	 * @return the statement, or null if substituting the parameters does not
+	 * produce the literal SQL
+	 */
+	private static BindParameters match(String bound, List<Parameter> collected, int offset, String literal) {
+		final StringBuilder substituted = new StringBuilder(literal.length());
+		int next = offset;
+		final int length = bound.length();
+		int index = 0;
+		while (index < length) {
+			final char c = bound.charAt(index);
+			if (c == '\'' || c == '"') {
+				final int end = endOfQuotedText(bound, index);
+				substituted.append(bound, index, end);
+				index = end;
+			} else if (c == '?') {
+				if (next >= collected.size()) {
+					return null;
+				}
+				substituted.append(collected.get(next++).literal);
+				index++;
+			} else {
+				substituted.append(c);
+				index++;
+			}
+		}
+		if (next == offset || !substituted.toString().equals(literal)) {
+			return null;
+		}
+		return new BindParameters(bound, Collections.unmodifiableList(new ArrayList<>(collected.subList(offset, next))), literal, null);
+	}
+
+	private static int endOfQuotedText(String sql, int start) {
+		final char quote = sql.charAt(start);
+		int index = start + 1;
+		while (index < sql.length()) {
+			if (sql.charAt(index) == quote) {
+				if (index + 1 < sql.length() && sql.charAt(index + 1) == quote) {
+					index += 2;
+				} else {
+					return index + 1;
+				}
+			} else {
+				index++;
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Indicates whether bind parameters should be produced by the current
+	 * thread.
+	 *
+	 * @return TRUE if QueryableDatatypes should produce bind parameters rather
+	 * than literal values, otherwise FALSE.
+	 */
+	public static boolean isBinding() {
+		return BINDING.get() && COLLECTOR.get() != null;
+	}
+
+	/**
+	 * Indicates whether the current thread is generating SQL that may contain
+	 * bind parameters.
+	 *
+	 * <p>
+	 * SQL generating code uses this to decide whether to call
+	 * {@link #whileBinding(boolean, java.util.function.Supplier) } for the
+	 * parts of the SQL that may contain parameters.
+	 *
+	 * @return TRUE if the current thread is collecting bind parameters
+	 */
+	public static boolean isCollecting() {
+		return COLLECTOR.get() != null;
+	}
+
+	/**
+	 * Generates SQL with binding enabled, or disabled, for the current thread.
+	 *
+	 * <p>
+	 * Binding only has an effect while the SQL is being generated by
+	 * {@link #generate(boolean, java.util.function.Supplier) }. The previous
+	 * binding state is restored after the SQL has been generated.
+	 *
+	 * @param <T> the type of the generated SQL, usually String or List&lt;String&gt;
+	 * @param bind TRUE to produce bind parameters, FALSE to produce literal values
+	 * @param generator the SQL generating code
+	 * @return the result of the generator
+	 */
+	public static <T> T whileBinding(boolean bind, Supplier<T> generator) {
+		final Boolean previous = BINDING.get();
+		if (previous == bind) {
+			return generator.get();
+		}
+		BINDING.set(bind);
+		try {
+			return generator.get();
+		} finally {
+			BINDING.set(previous);
+		}
+	}
+
+	/**
+	 * Generates SQL that records the slot of each bind parameter.
+	 *
+	 * <p>
+	 * Parameters produced by the same object receive the same slot from the
+	 * slots supplied, so SQL generated at different times, or for different
+	 * databases, can be matched parameter by parameter. The previous slots are
+	 * restored after the SQL has been generated.
+	 *
+	 * @param <T> the type of the generated SQL, usually String or List&lt;String&gt;
+	 * @param slots the slots shared by all the SQL to be matched
+	 * @param generator the SQL generating code
+	 * @return the result of the generator
+	 */
+	public static <T> T whileNumberingSlots(Slots slots, Supplier<T> generator) {
+		final Slots previous = SLOTS.get();
+		SLOTS.set(slots);
+		try {
+			return generator.get();
+		} finally {
+			if (previous == null) {
+				SLOTS.remove();
+			} else {
+				SLOTS.set(previous);
+			}
+		}
+	}
+
+	/**
+	 * Adds a bind parameter, produced by the source object, to the statement
+	 * being generated.
+	 *
+	 * <p>
+	 * If the current thread is not {@link #isBinding() binding}, or the value
+	 * is NULL, the literal SQL is returned instead.
+	 *
+	 * @param source the object producing the parameter, usually a
+	 * QueryableDatatype, used to number the slot of the parameter
+	 * @param type the type of the parameter, used to select the correct setXxx
+	 * method
+	 * @param value the value to bind
+	 * @param literalSQL the value as it would appear in a literal SQL statement
+	 * @return the "?" placeholder or the literal SQL
+	 */
+	public static String parameter(Object source, Type type, Object value, String literalSQL) {
+		final List<Parameter> collector = COLLECTOR.get();
+		if (collector == null || !BINDING.get() || value == null) {
+			return literalSQL;
+		}
+		final Slots slots = SLOTS.get();
+		final int slot = source == null || slots == null ? NO_SLOT : slots.slotFor(source);
+		collector.add(new Parameter(type, slot, type.convert(value), literalSQL));
+		return PLACEHOLDER;
+	}
+
+	/**
+	 * Creates the same statement with new values for its parameters.
+	 *
+	 * <p>
+	 * The values are converted to the type of the existing parameters. The
+	 * literal SQL is only produced, using the definition, if it is requested.
+	 *
+	 * @param values the new values in the order the parameters appear
+	 * @param defn the definition used to format literal values
+	 * @return the statement with the new values
+	 * @throws IllegalArgumentException if the number of values is wrong or a
+	 * value can not be converted to the type of its parameter
+	 */
+	public BindParameters withValues(List<?> values, DBDefinition defn) {
+		if (values.size() != parameters.size()) {
+			throw new IllegalArgumentException("Expected " + parameters.size() + " values but got " + values.size());
+		}
+		final List<Parameter> replaced = new ArrayList<>(parameters.size());
+		for (int i = 0; i < parameters.size(); i++) {
+			final Parameter parameter = parameters.get(i);
+			replaced.add(new Parameter(parameter.type, parameter.slot, parameter.type.convert(values.get(i)), null));
+		}
+		return new BindParameters(sql, Collections.unmodifiableList(replaced), null, defn);
+	}
+
+	/**
+	 * The SQL with all bind parameters replaced by "?".
+	 *
+	 * @return the SQL to prepare
+	 */
+	public String getSQL() {
+		return sql;
+	}
+
+	/**
+	 * The SQL with all values as literals.
+	 *
+	 * @return the SQL to show to people or execute without a PreparedStatement
+	 */
+	public String getLiteralSQL() {
+		if (literalSQL == null) {
+			final StringBuilder literal = new StringBuilder(sql.length() + parameters.size() * 8);
+			int next = 0;
+			int index = 0;
+			while (index < sql.length()) {
+				final char c = sql.charAt(index);
+				if (c == '\'' || c == '"') {
+					final int end = endOfQuotedText(sql, index);
+					literal.append(sql, index, end);
+					index = end;
+				} else {
+					if (c == '?' && next < parameters.size()) {
+						final Parameter parameter = parameters.get(next++);
+						literal.append(parameter.type.literal(definition, parameter.value));
+					} else {
+						literal.append(c);
+					}
+					index++;
+				}
+			}
+			literalSQL = literal.toString();
+		}
+		return literalSQL;
+	}
+
+	/**
+	 * Indicates whether any bind parameters were found.
+	 *
+	 * @return TRUE if the SQL needs a PreparedStatement
+	 */
+	public boolean hasParameters() {
+		return !parameters.isEmpty();
+	}
+
+	/**
+	 * The number of parameters found.
+	 *
+	 * @return the number of "?" in the SQL
+	 */
+	public int size() {
+		return parameters.size();
+	}
+
+	/**
+	 * Returns the values of the parameters in the order they appear.
+	 *
+	 * @return the values to be bound to the statement
+	 */
+	public List<Object> getValues() {
+		List<Object> values = new ArrayList<>(parameters.size());
+		for (Parameter parameter : parameters) {
+			values.add(parameter.value);
+		}
+		return values;
+	}
+
+	/**
+	 * Returns the types of the parameters in the order they appear.
+	 *
+	 * @return the type of each parameter
+	 */
+	public List<Type> getTypes() {
+		List<Type> types = new ArrayList<>(parameters.size());
+		for (Parameter parameter : parameters) {
+			types.add(parameter.type);
+		}
+		return types;
+	}
+
+	/**
+	 * Returns the slots of the parameters in the order they appear.
+	 *
+	 * @return the slot of each parameter, or {@link #NO_SLOT} for parameters
+	 * produced without slot numbering
+	 */
+	public List<Integer> getSlots() {
+		List<Integer> slots = new ArrayList<>(parameters.size());
+		for (Parameter parameter : parameters) {
+			slots.add(parameter.slot);
+		}
+		return slots;
+	}
+
+	/**
+	 * Sets all the parameters on the statement using the appropriate setXxx
+	 * method.
+	 *
+	 * @param statement the prepared statement created from {@link #getSQL() }
+	 * @throws SQLException database errors
+	 */
+	public void setParameters(PreparedStatement statement) throws SQLException {
+		int index = 1;
+		for (Parameter parameter : parameters) {
+			parameter.type.set(statement, index, parameter.value);
+			index++;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return getLiteralSQL();
+	}
+
+	/**
+	 * The types of bind parameter supported.
+	 *
+	 * <p>
+	 * Each type selects the setXxx method used on the PreparedStatement.
+	 */
+	public static enum Type {
+		/**
+		 * Uses {@link PreparedStatement#setString(int, java.lang.String) }
+		 */
+		STRING {
+			@Override
+			Object convert(Object value) {
+				return checkNotNull(value).toString();
+			}
+
+			@Override
+			void set(PreparedStatement statement, int index, Object value) throws SQLException {
+				statement.setString(index, (String) value);
+			}
+
+			@Override
+			String literal(DBDefinition defn, Object value) {
+				return defn.beginStringValue() + defn.safeString((String) value) + defn.endStringValue();
+			}
+		},
+		/**
+		 * Uses {@link PreparedStatement#setLong(int, long) }
+		 */
+		LONG {
+			@Override
+			Object convert(Object value) {
+				if (checkNotNull(value) instanceof Long) {
+					return value;
+				}
+				if (value instanceof Number && !(value instanceof BigDecimal || value instanceof Double || value instanceof Float)) {
+					return ((Number) value).longValue();
+				}
+				try {
+					return new BigDecimal(value.toString()).longValueExact();
+				} catch (ArithmeticException | NumberFormatException ex) {
+					throw new IllegalArgumentException("Not an integer value: " + value, ex);
+				}
+			}
+
+			@Override
+			void set(PreparedStatement statement, int index, Object value) throws SQLException {
+				statement.setLong(index, (Long) value);
+			}
+
+			@Override
+			String literal(DBDefinition defn, Object value) {
+				return defn.beginNumberValue() + value + defn.endNumberValue();
+			}
+		},
+		/**
+		 * Uses
+		 * {@link PreparedStatement#setBigDecimal(int, java.math.BigDecimal) }
+		 */
+		DECIMAL {
+			@Override
+			Object convert(Object value) {
+				if (checkNotNull(value) instanceof BigDecimal) {
+					return value;
+				}
+				try {
+					return new BigDecimal(value.toString());
+				} catch (NumberFormatException ex) {
+					throw new IllegalArgumentException("Not a numeric value: " + value, ex);
+				}
+			}
+
+			@Override
+			void set(PreparedStatement statement, int index, Object value) throws SQLException {
+				statement.setBigDecimal(index, (BigDecimal) value);
+			}
+
+			@Override
+			String literal(DBDefinition defn, Object value) {
+				return defn.beginNumberValue() + ((BigDecimal) value).toPlainString() + defn.endNumberValue();
+			}
+		},
+		/**
+		 * Uses
+		 * {@link PreparedStatement#setTimestamp(int, java.sql.Timestamp) }
+		 */
+		TIMESTAMP {
+			@Override
+			Object convert(Object value) {
+				if (checkNotNull(value) instanceof Date) {
+					return new Timestamp(((Date) value).getTime());
+				}
+				throw new IllegalArgumentException("Not a date value: " + value);
+			}
+
+			@Override
+			void set(PreparedStatement statement, int index, Object value) throws SQLException {
+				statement.setTimestamp(index, (Timestamp) value);
+			}
+
+			@Override
+			String literal(DBDefinition defn, Object value) {
+				return defn.getDateFormattedForQuery((Date) value);
+			}
+		};
+
+		/**
+		 * Converts the value to the class used by this type.
+		 *
+		 * @throws IllegalArgumentException if the value can not be converted
+		 */
+		abstract Object convert(Object value);
+
+		abstract void set(PreparedStatement statement, int index, Object value) throws SQLException;
+
+		abstract String literal(DBDefinition defn, Object value);
+
+		private static Object checkNotNull(Object value) {
+			if (value == null) {
+				throw new IllegalArgumentException("Bind parameters can not be NULL, use a condition that checks for NULL instead");
+			}
+			return value;
+		}
+	}
+
+	/**
+	 * Numbers the objects that produce bind parameters.
+	 *
+	 * <p>
+	 * Objects are identified by identity, so each QueryableDatatype receives its
+	 * own slot even if its value equals that of another.
+	 */
+	public static class Slots {
+
+		private final Map<Object, Integer> slots = new IdentityHashMap<>();
+
+		synchronized int slotFor(Object source) {
+			Integer slot = slots.get(source);
+			if (slot == null) {
+				slot = slots.size();
+				slots.put(source, slot);
+			}
+			return slot;
+		}
+	}
+
+	private static class Parameter {
+
+		private final Type type;
+		private final int slot;
+		private final Object value;
+		private final String literal;
+
+		Parameter(Type type, int slot, Object value, String literal) {
+			this.type = type;
+			this.slot = slot;
+			this.value = value;
+			this.literal = literal;
+		}
+	}
+}
@@ -0,0 +1,405 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ * 
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License. 
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/ 
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ * 
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ * 
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.               
+ *     Under the following terms:
+ *                 
+ *         Attribution - 
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made. 
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial - 
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike - 
+ *             If you remix, transform, or build upon the material, 
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions - 
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the 
+ *             license permits.
+ * 
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.internal.query;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.actions.DBQueryable;
+import nz.co.gregs.dbvolution.databases.DBDatabase;
+import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
+import nz.co.gregs.dbvolution.datatypes.QueryableDatatype;
+import nz.co.gregs.dbvolution.exceptions.AccidentalBlankQueryException;
+import nz.co.gregs.dbvolution.exceptions.AccidentalCartesianJoinException;
+import nz.co.gregs.dbvolution.expressions.DBExpression;
+
+/**
+ * The details of a query whose SQL has been generated once and is reused for
+ * every execution.
+ *
+ * <p>
+ * The SQL is generated with bind parameters for all the values that support
+ * them. Each execution replaces the values of the parameters and runs the
+ * stored SQL as a PreparedStatement, skipping the query graph, join, and
+ * expression processing that a normal query performs.
+ *
+ * <p>
+ * The SQL is generated once per type of database, so clusters containing
+ * different databases are supported. The tables, selected columns, and
+ * expression columns are copied when the query is compiled and are shared,
+ * unchanged, by all executions. Each execution uses its own instance of this
+ * class so the compiled query can be executed by many threads at once.
+ *
+ * @author Gregory Graham
+ */
+public class CompiledQueryDetails extends QueryDetails {
+
+	private static final long serialVersionUID = 1L;
+
+	private final transient Plan plan;
+	private final List<Object> values;
+	private List<BindParameters> executedSQL = Collections.emptyList();
+
+	/**
+	 * Compiles the query.
+	 *
+	 * <p>
+	 * The SQL is generated the first time the query is executed, or its SQL is
+	 * requested, on each type of database.
+	 *
+	 * @param source the query to compile
+	 */
+	public CompiledQueryDetails(QueryDetails source) {
+		this(new Plan(source), null);
+	}
+
+	private CompiledQueryDetails(Plan plan, List<Object> values) {
+		super();
+		this.plan = plan;
+		this.values = values;
+		plan.requiredTables.forEach(this::addRequiredTable);
+		plan.optionalTables.forEach(this::addOptionalTable);
+		plan.assumedTables.forEach(this::addAssumedQueryTable);
+		plan.expressionColumns.forEach(this::addExpressionColumn);
+		plan.groupByColumns.forEach(this::addDBReportGroupByColumn);
+		if (plan.groupedQuery) {
+			setGroupByRequiredByAggregator(true);
+		}
+		setOptions(new QueryOptions(plan.options));
+		setLabel(plan.label);
+		setQuietExceptions(plan.quietExceptions);
+		setTimeoutInMilliseconds(plan.timeoutInMilliseconds);
+	}
+
+	/**
+	 * Creates a new execution of this compiled query that uses the values
+	 * supplied instead of the values used during compilation.
+	 *
+	 * @param newValues the values for the bind parameters, in the order
+	 * returned by {@link #getParameterValues() }
+	 * @return a query that can be executed with
+	 * {@link DBDatabase#executeDBQuery(nz.co.gregs.dbvolution.actions.DBQueryable) }
+	 * @throws IllegalArgumentException if the wrong number of values is
+	 * supplied
+	 */
+	public CompiledQueryDetails withParameterValues(List<?> newValues) {
+		final int expected = plan.getParameterCount();
+		if (newValues.size() != expected) {
+			throw new IllegalArgumentException("Compiled query " + plan.label + " requires " + expected + " parameter values but " + newValues.size() + " were supplied");
+		}
+		return new CompiledQueryDetails(plan, Collections.unmodifiableList(new ArrayList<>(newValues)));
+	}
+
+	/**
+	 * The values of the bind parameters used by this execution.
+	 *
+	 * <p>
+	 * The values are in the order that they appear in the SQL of the first
+	 * database the query was compiled for.
+	 *
+	 * @return the parameter values
+	 */
+	public List<Object> getParameterValues() {
+		return values == null ? plan.getDefaultValues() : values;
+	}
+
+	/**
+	 * The types of the bind parameters.
+	 *
+	 * @return the type of each parameter in the order they are supplied
+	 */
+	public List<BindParameters.Type> getParameterTypes() {
+		return plan.getTypes();
+	}
+
+	@Override
+	public DBQueryable query(DBDatabase db) throws SQLException, AccidentalBlankQueryException, AccidentalCartesianJoinException {
+		final QueryOptions options = getOptions();
+		prepareForQuery(db, options);
+		executedSQL = plan.getSQL(db, values);
+		fillResultSetFromSQL(options, options.getQueryDefinition(), executedSQL);
+		return this;
+	}
+
+	/**
+	 * The SQL used by the last execution, with all values as literals.
+	 *
+	 * <p>
+	 * The literal SQL is only produced when it is requested so that executions
+	 * do not need to render it.
+	 *
+	 * @return the SQL executed by this query
+	 */
+	@Override
+	public List<String> getSQLQueries() {
+		return executedSQL.stream().map(BindParameters::getLiteralSQL).collect(Collectors.toList());
+	}
+
+	@Override
+	public void clearResults() {
+		super.clearResults();
+		executedSQL = Collections.emptyList();
+	}
+
+	@Override
+	public boolean needsResults(QueryOptions options) {
+		return getResults() == null || executedSQL.isEmpty();
+	}
+
+	@Override
+	public String toSQLString(DBDatabase db) {
+		prepareForQuery(db, getOptions());
+		return plan.getSQL(db, values).get(0).getLiteralSQL();
+	}
+
+	/**
+	 * The shared, immutable, parts of a compiled query.
+	 */
+	private static class Plan {
+
+		private final QueryDetails source;
+		private final List<DBRow> requiredTables;
+		private final List<DBRow> optionalTables;
+		private final List<DBRow> assumedTables;
+		private final Map<Object, QueryableDatatype<?>> expressionColumns;
+		private final Map<Object, DBExpression> groupByColumns;
+		private final boolean groupedQuery;
+		private final QueryOptions options;
+		private final String label;
+		private final boolean quietExceptions;
+		private final Long timeoutInMilliseconds;
+		private final Map<Class<? extends DBDefinition>, CompiledSQL> compiledSQL = new ConcurrentHashMap<>();
+		private final BindParameters.Slots slots = new BindParameters.Slots();
+		private volatile List<BindParameters.Type> types;
+		private volatile List<Object> defaultValues;
+		private volatile List<Integer> parameterSlots;
+
+		Plan(QueryDetails source) {
+			this.source = source;
+			synchronized (source) {
+				this.requiredTables = new ArrayList<>(source.getRequiredQueryTables());
+				this.optionalTables = new ArrayList<>(source.getOptionalQueryTables());
+				this.assumedTables = new ArrayList<>(source.getAssumedQueryTables());
+				this.expressionColumns = source.getExpressionColumnsCopy();
+				this.groupByColumns = new LinkedHashMap<>(source.getDBReportGroupByColumns());
+				this.groupedQuery = source.isGroupedQuery();
+				this.options = new QueryOptions(source.getOptions());
+				this.label = source.getLabel();
+				this.quietExceptions = source.isQuietExceptions();
+				this.timeoutInMilliseconds = source.getTimeoutInMilliseconds();
+			}
+		}
+
+		List<BindParameters> getSQL(DBDatabase db, List<Object> values) {
+			final DBDefinition defn = db.getDefinition();
+			final CompiledSQL compiled = getCompiledSQL(db, defn);
+			if (values == null) {
+				return compiled.sql;
+			}
+			final boolean originalValues = values.equals(defaultValues);
+			List<BindParameters> result = new ArrayList<>(compiled.sql.size());
+			for (int i = 0; i < compiled.sql.size(); i++) {
+				if (compiled.acceptsValues(i)) {
+					result.add(compiled.sql.get(i).withValues(compiled.getValues(i, values), defn));
+				} else if (originalValues) {
+					result.add(compiled.sql.get(i));
+				}
+			}
+			if (result.isEmpty()) {
+				throw new IllegalArgumentException("Compiled query " + label + " can not use bind parameters on " + db.getLabel() + " so it can only be executed with its original values");
+			}
+			return result;
+		}
+
+		private CompiledSQL getCompiledSQL(DBDatabase db, DBDefinition defn) {
+			CompiledSQL compiled = compiledSQL.get(defn.getClass());
+			if (compiled == null) {
+				final List<BindParameters> sql;
+				// QueryDetails is not thread-safe and the plan may be shared between threads
+				synchronized (source) {
+					sql = BindParameters.whileNumberingSlots(slots, () -> source.getSQLForCompiledQuery(db));
+				}
+				synchronized (this) {
+					if (types == null) {
+						final BindParameters parameters = sql.stream().filter(BindParameters::hasParameters).findFirst().orElse(sql.get(0));
+						defaultValues = Collections.unmodifiableList(parameters.getValues());
+						parameterSlots = Collections.unmodifiableList(parameters.getSlots());
+						types = Collections.unmodifiableList(parameters.getTypes());
+					}
+				}
+				compiled = new CompiledSQL(sql, types, defaultValues, parameterSlots);
+				final CompiledSQL existing = compiledSQL.putIfAbsent(defn.getClass(), compiled);
+				if (existing != null) {
+					compiled = existing;
+				}
+			}
+			return compiled;
+		}
+
+		int getParameterCount() {
+			return getTypes().size();
+		}
+
+		List<BindParameters.Type> getTypes() {
+			ensureCompiled();
+			return types;
+		}
+
+		List<Object> getDefaultValues() {
+			ensureCompiled();
+			return defaultValues;
+		}
+
+		private void ensureCompiled() {
+			if (types == null) {
+				final DBDatabase db = options.getQueryDatabase();
+				if (db == null) {
+					throw new IllegalStateException("Compiled query " + label + " has not been compiled for a database yet");
+				}
+				getCompiledSQL(db, db.getDefinition());
+			}
+		}
+	}
+
+	/**
+	 * The SQL generated for one type of database.
+	 *
+	 * <p>
+	 * Each alternative SQL statement may use the parameters in a different
+	 * order, or more than once, so the position of each parameter in the
+	 * compiled query's values is recorded. Parameters are matched by their slot,
+	 * and only parameters without a matching slot are matched by type and
+	 * value.
+	 *
+	 * <p>
+	 * SQL that could not be generated with bind parameters, because the
+	 * database definition transformed the values, or whose parameters can not
+	 * all be matched, is only used by executions with the values used during
+	 * compilation.
+	 *
+	 * <p>
+	 * The positions are found once, when the SQL is generated, so each
+	 * execution only copies its values into the order of each statement.
+	 */
+	static class CompiledSQL {
+
+		private final List<BindParameters> sql;
+		private final List<int[]> valueIndexes = new ArrayList<>();
+		private final boolean[] acceptsValues;
+
+		CompiledSQL(List<BindParameters> sql, List<BindParameters.Type> types, List<Object> defaultValues, List<Integer> slots) {
+			this.sql = Collections.unmodifiableList(new ArrayList<>(sql));
+			this.acceptsValues = new boolean[sql.size()];
+			for (int s = 0; s < sql.size(); s++) {
+				final BindParameters parameters = sql.get(s);
+				boolean matched = parameters.hasParameters() || types.isEmpty();
+				final List<BindParameters.Type> statementTypes = parameters.getTypes();
+				final List<Object> statementValues = parameters.getValues();
+				final List<Integer> statementSlots = parameters.getSlots();
+				final int[] indexes = new int[statementTypes.size()];
+				final boolean samePositions = statementTypes.equals(types) && statementSlots.equals(slots);
+				for (int i = 0; i < indexes.length; i++) {
+					if (samePositions) {
+						indexes[i] = i;
+					} else {
+						final int occurrence = Collections.frequency(statementSlots.subList(0, i), statementSlots.get(i));
+						final int index = findSlot(statementSlots.get(i), occurrence, slots);
+						indexes[i] = index >= 0 ? index : findValue(statementTypes.get(i), statementValues.get(i), types, defaultValues);
+						matched &= indexes[i] >= 0;
+					}
+				}
+				acceptsValues[s] = matched;
+				valueIndexes.add(indexes);
+			}
+		}
+
+		boolean acceptsValues(int statement) {
+			return acceptsValues[statement];
+		}
+
+		/**
+		 * Finds the position of the parameter with the same slot.
+		 *
+		 * <p>
+		 * A slot used several times is matched occurrence by occurrence, any
+		 * extra occurrences use the first position of the slot.
+		 */
+		private static int findSlot(int slot, int occurrence, List<Integer> slots) {
+			if (slot == BindParameters.NO_SLOT) {
+				return -1;
+			}
+			int first = -1;
+			int found = 0;
+			for (int i = 0; i < slots.size(); i++) {
+				if (slots.get(i) == slot) {
+					if (found == occurrence) {
+						return i;
+					}
+					if (first < 0) {
+						first = i;
+					}
+					found++;
+				}
+			}
+			return first;
+		}
+
+		/**
+		 * Finds the position of the first parameter with the same type and
+		 * value.
+		 *
+		 * @return the position, or -1 if there is no such parameter
+		 */
+		private static int findValue(BindParameters.Type type, Object value, List<BindParameters.Type> types, List<Object> defaultValues) {
+			for (int i = 0; i < types.size(); i++) {
+				if (types.get(i) == type && defaultValues.get(i).equals(value)) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		List<Object> getValues(int statement, List<Object> values) {
+			final int[] indexes = valueIndexes.get(statement);
+			final List<Object> result = new ArrayList<>(indexes.length);
+			for (int index : indexes) {
+				result.add(values.get(index));
+			}
+			return result;
+		}
+	}
+}
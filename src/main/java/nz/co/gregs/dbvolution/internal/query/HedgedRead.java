@@ -0,0 +1,336 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ * 
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License. 
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/ 
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ * 
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ * 
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.               
+ *     Under the following terms:
+ *                 
+ *         Attribution - 
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made. 
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial - 
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike - 
+ *             If you remix, transform, or build upon the material, 
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions - 
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the 
+ *             license permits.
+ * 
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.internal.query;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import nz.co.gregs.dbvolution.databases.DBDatabase;
+import nz.co.gregs.dbvolution.databases.DBStatement;
+import nz.co.gregs.dbvolution.internal.database.MemberStatistics;
+import nz.co.gregs.dbvolution.internal.database.ReadHedging;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Executes the statement for a query on a cluster member, repeating it on a
+ * second member if the first member is slow to respond.
+ *
+ * <p>
+ * The statement is executed on the original member using the calling thread.
+ * Only when the delay passes without a result is the statement dispatched to
+ * a second member on the hedge's executor.
+ *
+ * <p>
+ * Only the execution of the statement is hedged: the first ResultSet to
+ * arrive is returned and the other statement is cancelled. The ResultSet
+ * remains open until the HedgedRead is closed.
+ *
+ * @author Gregory Graham
+ */
+class HedgedRead implements AutoCloseable {
+
+	private static final Log LOG = LogFactory.getLog(HedgedRead.class);
+
+	private static final ScheduledExecutorService TIMER_SERVICE = Executors.newSingleThreadScheduledExecutor((Runnable runnable) -> {
+		Thread thread = new Thread(runnable, "DBvolution-HedgedRead");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final QueryDetails details;
+	private final ReadHedging.Hedge hedge;
+	private final String sql;
+	private Attempt primary = null;
+	private Attempt backup = null;
+	private Attempt winner = null;
+	private boolean primaryFinished = false;
+	private boolean backupFinished = false;
+
+	HedgedRead(QueryDetails details, ReadHedging.Hedge hedge, String sql) {
+		this.details = details;
+		this.hedge = hedge;
+		this.sql = sql;
+	}
+
+	/**
+	 * Executes the statement, hedging it if it takes longer than the delay.
+	 *
+	 * @param statementDetails the statement to execute
+	 * @return the results from the first member to respond
+	 * @throws SQLException all members failed to execute the statement
+	 */
+	ResultSet getResultSet(StatementDetails statementDetails) throws SQLException {
+		final long delay = hedge.readStarted();
+		final long startTime = System.nanoTime();
+		final Attempt original = new Attempt(hedge.getPrimary(), statementDetails.copy(), null);
+		synchronized (this) {
+			primary = original;
+		}
+		final ScheduledFuture<?> hedging;
+		if (delay == Long.MAX_VALUE) {
+			hedging = null;
+		} else {
+			final StatementDetails backupDetails = statementDetails.copy();
+			hedging = TIMER_SERVICE.schedule(() -> startBackup(backupDetails), delay, TimeUnit.NANOSECONDS);
+		}
+		original.call();
+		if (hedging != null) {
+			hedging.cancel(false);
+		}
+		final Attempt result;
+		final Attempt loser;
+		try {
+			synchronized (this) {
+				primaryFinished = true;
+				if (winner == null && original.failure == null) {
+					winner = original;
+				}
+				while (winner == null && backup != null && !backupFinished) {
+					wait();
+				}
+				result = winner;
+				loser = result == original ? backup : original;
+			}
+		} catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			abandonAllExcept(null);
+			throw new SQLException("Interrupted while waiting for the query to execute", ex);
+		}
+		if (result == null) {
+			abandonAllExcept(null);
+			final Throwable failure = original.failure;
+			if (failure instanceof SQLException) {
+				throw (SQLException) failure;
+			} else if (failure instanceof RuntimeException) {
+				throw (RuntimeException) failure;
+			} else {
+				throw new SQLException(failure);
+			}
+		}
+		if (loser != null) {
+			loser.abandon();
+		}
+		hedge.readFinished(System.nanoTime() - startTime, result.isBackup());
+		return result.resultSet;
+	}
+
+	/**
+	 * Dispatches the statement to a second member once the delay has passed.
+	 *
+	 * @param statementDetails a copy of the statement for the second member
+	 */
+	private void startBackup(StatementDetails statementDetails) {
+		synchronized (this) {
+			if (primaryFinished || winner != null) {
+				return;
+			}
+		}
+		final DBDatabase database = hedge.chooseBackup();
+		if (database != null) {
+			final Attempt attempt = new Attempt(database, statementDetails, hedge.getMemberStatistics(database));
+			synchronized (this) {
+				if (primaryFinished) {
+					return;
+				}
+				backup = attempt;
+			}
+			try {
+				hedge.getExecutor().execute(() -> backupFinished(attempt.call()));
+			} catch (RejectedExecutionException ex) {
+				LOG.debug("Unable to hedge query: " + ex.getMessage(), ex);
+				attempt.failure = ex;
+				backupFinished(attempt);
+			}
+		}
+	}
+
+	private void backupFinished(Attempt attempt) {
+		final Attempt cancel;
+		synchronized (this) {
+			backupFinished = true;
+			if (winner == null && attempt.failure == null) {
+				winner = attempt;
+				cancel = primary;
+			} else {
+				cancel = null;
+			}
+			notifyAll();
+		}
+		if (cancel != null) {
+			// the original member is still executing on the calling thread
+			cancel.abandon();
+		}
+	}
+
+	private void abandonAllExcept(Attempt keep) {
+		final Attempt first;
+		final Attempt second;
+		synchronized (this) {
+			first = primary;
+			second = backup;
+		}
+		if (first != null && first != keep) {
+			first.abandon();
+		}
+		if (second != null && second != keep) {
+			second.abandon();
+		}
+	}
+
+	@Override
+	public void close() {
+		final Attempt result;
+		synchronized (this) {
+			result = winner;
+			winner = null;
+		}
+		if (result != null) {
+			result.release();
+		}
+	}
+
+	/**
+	 * Executes the statement on a single member.
+	 *
+	 * <p>
+	 * An abandoned attempt is cancelled if it is still running and releases its
+	 * statement, and the connection, once it has finished.
+	 */
+	private class Attempt {
+
+		private final DBDatabase database;
+		private final StatementDetails statementDetails;
+		private final MemberStatistics statistics;
+		private DBStatement statement = null;
+		private ResultSet resultSet = null;
+		private Throwable failure = null;
+		private boolean finished = false;
+		private boolean abandoned = false;
+
+		Attempt(DBDatabase database, StatementDetails statementDetails, MemberStatistics statistics) {
+			this.database = database;
+			this.statementDetails = statementDetails;
+			this.statistics = statistics;
+		}
+
+		boolean isBackup() {
+			return statistics != null;
+		}
+
+		Attempt call() {
+			final long startTime = statistics == null ? 0 : statistics.queryStarted();
+			try {
+				final DBStatement dbStatement = database.getDBStatement();
+				synchronized (this) {
+					statement = dbStatement;
+				}
+				if (!isAbandoned()) {
+					statementDetails.setDBStatement(dbStatement);
+					final ResultSet results = details.getResultSetForSQL(dbStatement, statementDetails, sql);
+					synchronized (this) {
+						resultSet = results;
+					}
+				}
+			} catch (Throwable ex) {
+				failure = ex;
+			}
+			final boolean wasAbandoned;
+			synchronized (this) {
+				finished = true;
+				wasAbandoned = abandoned;
+			}
+			if (statistics != null) {
+				if (wasAbandoned && failure != null) {
+					statistics.queryAbandoned();
+				} else {
+					statistics.queryFinished(startTime, failure == null);
+				}
+			}
+			if (wasAbandoned || failure != null) {
+				release();
+			}
+			return this;
+		}
+
+		private synchronized boolean isAbandoned() {
+			return abandoned;
+		}
+
+		void abandon() {
+			final DBStatement running;
+			synchronized (this) {
+				abandoned = true;
+				if (finished) {
+					running = null;
+				} else {
+					running = statement;
+				}
+			}
+			if (running != null) {
+				try {
+					running.cancel();
+				} catch (SQLException ex) {
+					LOG.debug("Unable to cancel hedged query: " + ex.getMessage(), ex);
+				}
+			} else if (isFinished()) {
+				release();
+			}
+		}
+
+		private synchronized boolean isFinished() {
+			return finished;
+		}
+
+		synchronized void release() {
+			if (resultSet != null) {
+				try {
+					resultSet.close();
+				} catch (SQLException ex) {
+					LOG.debug("Exception occurred during close(): " + ex.getMessage(), ex);
+				}
+				resultSet = null;
+			}
+			if (statement != null) {
+				try {
+					statement.close();
+				} catch (SQLException ex) {
+					LOG.debug("Exception occurred during close(): " + ex.getMessage(), ex);
+				}
+				statement = null;
+			}
+		}
+	}
+}
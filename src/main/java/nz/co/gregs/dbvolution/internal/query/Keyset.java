@@ -0,0 +1,193 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ * 
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License. 
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/ 
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ * 
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ * 
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.               
+ *     Under the following terms:
+ *                 
+ *         Attribution - 
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made. 
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial - 
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike - 
+ *             If you remix, transform, or build upon the material, 
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions - 
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the 
+ *             license permits.
+ * 
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.internal.query;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.columns.AbstractColumn;
+import nz.co.gregs.dbvolution.columns.ColumnProvider;
+import nz.co.gregs.dbvolution.datatypes.QueryableDatatype;
+import nz.co.gregs.dbvolution.exceptions.UnableToUseKeysetPaginationException;
+import nz.co.gregs.dbvolution.expressions.BooleanExpression;
+import nz.co.gregs.dbvolution.expressions.SortProvider;
+import nz.co.gregs.dbvolution.query.RowDefinition;
+import nz.co.gregs.dbvolution.results.RangeComparable;
+
+/**
+ * The sort keys used to page through a query with keyset pagination.
+ *
+ * <p>
+ * Keyset pagination, also known as seek pagination, finds the next page by
+ * asking for the rows that sort after the last row of the previous page, using
+ * a WHERE clause like {@code (k1 > ?) OR (k1 = ? AND k2 > ?)}, instead of
+ * skipping the earlier pages with OFFSET. Each page costs the same no matter
+ * how deep into the results it is.
+ *
+ * <p>
+ * The keys are the sort order of the query followed by the primary keys of the
+ * tiebreaker tables, so that every row has a unique position. Only columns of
+ * tables and reports can be used as keys, and the last row must have a value
+ * for every key.
+ *
+ * @author Gregory Graham
+ */
+public class Keyset implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final List<SortProvider> sortOrder = new ArrayList<>();
+	private final List<AbstractColumn> columns = new ArrayList<>();
+
+	/**
+	 * Creates the keyset for the sort order supplied.
+	 *
+	 * <p>
+	 * The primary keys of the tiebreaker tables are appended to the sort order,
+	 * in ascending order, unless they are already part of it.
+	 *
+	 * @param sortOrder the sort order of the query, may be null or empty
+	 * @param tiebreakerTables the tables whose primary keys make the order
+	 * unique
+	 * @throws UnableToUseKeysetPaginationException if the sort order includes an
+	 * expression that is not a column
+	 */
+	public Keyset(SortProvider[] sortOrder, Collection<DBRow> tiebreakerTables) throws UnableToUseKeysetPaginationException {
+		if (sortOrder != null) {
+			for (SortProvider sort : sortOrder) {
+				final AbstractColumn column = getColumnOf(sort);
+				if (column == null) {
+					throw new UnableToUseKeysetPaginationException("only table and report columns can be used in the sort order: " + sort.getClass().getSimpleName());
+				}
+				this.sortOrder.add(sort);
+				this.columns.add(column);
+			}
+		}
+		for (DBRow table : tiebreakerTables) {
+			final List<ColumnProvider> primaryKeys = table.getPrimaryKeysAsColumns();
+			if (primaryKeys != null) {
+				for (ColumnProvider primaryKey : primaryKeys) {
+					final AbstractColumn column = primaryKey.getColumn();
+					if (!containsColumn(column)) {
+						this.sortOrder.add(primaryKey.ascending());
+						this.columns.add(column);
+					}
+				}
+			}
+		}
+		if (columns.isEmpty()) {
+			throw new UnableToUseKeysetPaginationException("the query has no sort order and no primary keys");
+		}
+	}
+
+	private static AbstractColumn getColumnOf(SortProvider sort) {
+		if (sort.hasQueryColumn()) {
+			return null;
+		} else if (sort.hasColumn()) {
+			return sort.getColumn();
+		} else if (sort.getInnerExpression() instanceof ColumnProvider) {
+			return ((ColumnProvider) sort.getInnerExpression()).getColumn();
+		}
+		return null;
+	}
+
+	private boolean containsColumn(AbstractColumn column) {
+		for (AbstractColumn existing : columns) {
+			if (getRowOf(existing).getClass().equals(getRowOf(column).getClass())
+					&& existing.getPropertyWrapper().getPropertyWrapperDefinition().equals(column.getPropertyWrapper().getPropertyWrapperDefinition())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static RowDefinition getRowOf(AbstractColumn column) {
+		return column.getPropertyWrapper().getRowDefinitionInstanceWrapper().adapteeRowDefinition();
+	}
+
+	/**
+	 * The complete sort order for the keyset, including the primary key
+	 * tiebreakers.
+	 *
+	 * @return the sort order to use for every page
+	 */
+	public SortProvider[] getSortOrder() {
+		return sortOrder.toArray(new SortProvider[]{});
+	}
+
+	/**
+	 * Creates the condition that selects the rows that sort after the last row.
+	 *
+	 * <p>
+	 * The last row is supplied as a function that finds, for each table or
+	 * report in the keyset, the equivalent instance from the last row of the
+	 * previous page.
+	 *
+	 * @param lastRow finds the instance of the table or report in the last row
+	 * @return a condition matching the rows after the last row
+	 * @throws UnableToUseKeysetPaginationException if the last row has no value
+	 * for one of the keys or a key can not be compared
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public BooleanExpression getConditionForRowsAfter(Function<RowDefinition, RowDefinition> lastRow) throws UnableToUseKeysetPaginationException {
+		BooleanExpression condition = null;
+		for (int i = columns.size() - 1; i >= 0; i--) {
+			final AbstractColumn column = columns.get(i);
+			final RowDefinition row = getRowOf(column);
+			final ColumnProvider expression = row.column(column.getAppropriateQDTFromRow(row));
+			if (!(expression instanceof RangeComparable)) {
+				throw new UnableToUseKeysetPaginationException(column.getPropertyWrapper().javaName() + " can not be compared with greater than or less than");
+			}
+			final RowDefinition lastInstance = lastRow.apply(row);
+			final QueryableDatatype<?> value = lastInstance == null ? null : column.getAppropriateQDTFromRow(lastInstance);
+			if (value == null || value.isNull()) {
+				throw new UnableToUseKeysetPaginationException("the last row has no value for " + column.getPropertyWrapper().javaName());
+			}
+			final RangeComparable comparable = (RangeComparable) expression;
+			final boolean descending = sortOrder.get(i).isDescending();
+			if (condition == null) {
+				condition = descending ? comparable.isLessThan(value.copy()) : comparable.isGreaterThan(value.copy());
+			} else {
+				condition = descending ? comparable.isLessThan(value.copy(), condition) : comparable.isGreaterThan(value.copy(), condition);
+			}
+		}
+		return condition;
+	}
+
+	@Override
+	public String toString() {
+		return "Keyset" + Arrays.toString(getSortOrder());
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ * 
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License. 
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/ 
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ * 
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ * 
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.               
+ *     Under the following terms:
+ *                 
+ *         Attribution - 
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made. 
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial - 
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike - 
+ *             If you remix, transform, or build upon the material, 
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions - 
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the 
+ *             license permits.
+ * 
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.internal.query;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import nz.co.gregs.dbvolution.DBQueryRow;
+import nz.co.gregs.dbvolution.databases.DBStatement;
+import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
+import nz.co.gregs.dbvolution.exceptions.DBRuntimeException;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * An open, forward-only, cursor over the results of a query.
+ *
+ * <p>
+ * Rows are read from the ResultSet only when requested, so the memory used
+ * does not depend on the number of rows returned by the query. The cursor
+ * holds a connection until it is closed, either explicitly or by reading the
+ * last row.
+ *
+ * <p>
+ * Rows produced by a cursor are independent: instances are not shared between
+ * rows and AutoFill fields are not filled.
+ *
+ * @author Gregory Graham
+ */
+public class QueryCursor implements Iterator<DBQueryRow>, AutoCloseable {
+
+	private static final Log LOG = LogFactory.getLog(QueryCursor.class);
+
+	private final QueryDetails details;
+	private final DBDefinition defn;
+	private final DBStatement statement;
+	private final ResultSet resultSet;
+	private DBQueryRow nextRow = null;
+	private boolean closed = false;
+
+	QueryCursor(QueryDetails details, DBDefinition defn, DBStatement statement, ResultSet resultSet) {
+		this.details = details;
+		this.defn = defn;
+		this.statement = statement;
+		this.resultSet = resultSet;
+	}
+
+	@Override
+	public synchronized boolean hasNext() {
+		if (nextRow == null && !closed) {
+			try {
+				if (resultSet != null && resultSet.next()) {
+					nextRow = details.getQueryRowForCursor(defn, resultSet);
+				} else {
+					close();
+				}
+			} catch (SQLException ex) {
+				close();
+				throw new DBRuntimeException("Unable to read the next row of " + details.getLabel(), ex);
+			}
+		}
+		return nextRow != null;
+	}
+
+	@Override
+	public synchronized DBQueryRow next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		final DBQueryRow row = nextRow;
+		nextRow = null;
+		return row;
+	}
+
+	/**
+	 * Indicates whether the cursor has been closed.
+	 *
+	 * @return TRUE if the ResultSet and connection have been released
+	 */
+	public synchronized boolean isClosed() {
+		return closed;
+	}
+
+	/**
+	 * Closes the ResultSet and releases the connection.
+	 *
+	 * <p>
+	 * Closing a cursor more than once has no effect.
+	 */
+	@Override
+	public synchronized void close() {
+		if (!closed) {
+			closed = true;
+			nextRow = null;
+			try {
+				if (resultSet != null) {
+					resultSet.close();
+				}
+			} catch (SQLException ex) {
+				LOG.warn("Exception occurred during close(): " + ex.getMessage(), ex);
+			} finally {
+				try {
+					statement.close();
+				} catch (SQLException ex) {
+					LOG.warn("Exception occurred during close(): " + ex.getMessage(), ex);
+				}
+			}
+		}
+	}
+}
@@ -26,6 +26,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -34,12 +35,16 @@ import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import nz.co.gregs.dbvolution.DBQuery;
 import nz.co.gregs.dbvolution.DBQueryRow;
+import nz.co.gregs.dbvolution.DBRecursiveQuery;
 import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.DBTable;
 import nz.co.gregs.dbvolution.actions.DBQueryable;
 import nz.co.gregs.dbvolution.columns.ColumnProvider;
 import nz.co.gregs.dbvolution.databases.DBDatabase;
 import nz.co.gregs.dbvolution.databases.DBStatement;
+import nz.co.gregs.dbvolution.databases.DBTransactionStatement;
 import nz.co.gregs.dbvolution.databases.QueryIntention;
 import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
 import nz.co.gregs.dbvolution.datatypes.QueryableDatatype;
@@ -47,6 +52,7 @@ import nz.co.gregs.dbvolution.exceptions.*;
 import nz.co.gregs.dbvolution.expressions.BooleanExpression;
 import nz.co.gregs.dbvolution.expressions.DBExpression;
 import nz.co.gregs.dbvolution.expressions.SortProvider;
+import nz.co.gregs.dbvolution.internal.database.ReadHedging;
 import nz.co.gregs.dbvolution.internal.properties.ColumnAspects;
 import nz.co.gregs.dbvolution.internal.properties.PropertyWrapperDefinition;
 import nz.co.gregs.dbvolution.internal.querygraph.QueryGraph;
@@ -57,6 +63,13 @@ import nz.co.gregs.separatedstring.Builder;
 import nz.co.gregs.separatedstring.Encoder;
 
 /**
+ * The tables, conditions, options, and results of a DBQuery.
+ *
+ * <p>
+ * QueryDetails is not thread-safe: it belongs to the DBQuery that created it
+ * and is used by one thread at a time. It holds no locks while the query is
+ * executing so that queries running on virtual threads do not pin their
+ * carrier threads. Use a separate DBQuery for each concurrent query.
  *
  * @author gregorygraham
  */
@@ -68,19 +81,18 @@ public class QueryDetails implements DBQueryable, Serializable {
 
 	private Long timeoutInMilliseconds = 0l;//DEFAULT_TIMEOUT_MILLISECONDS;
 
-	private final Map<Class<? extends DBRow>, DBRow> emptyRows = Collections.synchronizedMap(new HashMap<>());
+	private final Map<Class<? extends DBRow>, DBRow> emptyRows = new HashMap<>();
 
-	private final List<DBRow> allQueryTables = Collections.synchronizedList(new ArrayList<>());
-	private final List<DBRow> requiredQueryTables = Collections.synchronizedList(new ArrayList<>());
-	private final List<DBRow> optionalQueryTables = Collections.synchronizedList(new ArrayList<>());
-	private final List<DBRow> assumedQueryTables = Collections.synchronizedList(new ArrayList<>());
+	private final List<DBRow> allQueryTables = new ArrayList<>();
+	private final List<DBRow> requiredQueryTables = new ArrayList<>();
+	private final List<DBRow> optionalQueryTables = new ArrayList<>();
+	private final List<DBRow> assumedQueryTables = new ArrayList<>();
 
 	private QueryOptions options = new QueryOptions();
-	private final List<DBRow> extraExamples = Collections.synchronizedList(new ArrayList<>());
-	private final List<BooleanExpression> conditions = Collections.synchronizedList(new ArrayList<>());
-	private final Map<Object, QueryableDatatype<?>> expressionColumns = Collections.synchronizedMap(new LinkedHashMap<>());
-	private final Map<Object, DBExpression> dbReportGroupByColumns = Collections.synchronizedMap(new LinkedHashMap<>());
-	private final Map<Class<?>, Map<String, DBRow>> existingInstances = Collections.synchronizedMap(new HashMap<>());
+	private final List<DBRow> extraExamples = new ArrayList<>();
+	private final List<BooleanExpression> conditions = new ArrayList<>();
+	private final Map<Object, QueryableDatatype<?>> expressionColumns = new LinkedHashMap<>();
+	private final Map<Object, DBExpression> dbReportGroupByColumns = new LinkedHashMap<>();
 	private boolean groupByRequiredByAggregator = false;
 	private String selectSQLClause = null;
 	private final ArrayList<BooleanExpression> havingColumns = new ArrayList<>();
@@ -93,7 +105,30 @@ public class QueryDetails implements DBQueryable, Serializable {
 	private transient QueryGraph queryGraph;
 	private SortProvider[] sortOrderColumns;
 	private transient List<DBQueryRow> currentPage;
-	private String label = "UNLABELLED";
+	private transient QueryCursor cursor;
+	private transient RowMappingPlan rowMappingPlan;
+	private transient RowIdentityMap existingInstances;
+	private transient Keyset keyset;
+	private transient BooleanExpression keysetCondition;
+	private transient ReadHedging.Hedge readHedge;
+	private static final String DEFAULT_LABEL = "UNLABELLED";
+	private static final StackWalker CALLER_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+	private static final List<Class<?>> QUERY_CREATING_CLASSES = Arrays.asList(
+			Thread.class, DBQuery.class, DBDatabase.class, DBRecursiveQuery.class, DBTable.class, QueryDetails.class
+	);
+	private static final ClassValue<Boolean> CREATES_QUERIES = new ClassValue<Boolean>() {
+		@Override
+		protected Boolean computeValue(Class<?> type) {
+			for (Class<?> creator : QUERY_CREATING_CLASSES) {
+				if (creator.isAssignableFrom(type)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	};
+	private String label = null;
+	private transient StackWalker.StackFrame callerFrame = null;
 	private boolean quietExceptions = false;
 	private boolean databaseQuietExceptionsPreference = false;
 
@@ -139,7 +174,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 	 *
 	 * @return the options
 	 */
-	public synchronized QueryOptions getOptions() {
+	public QueryOptions getOptions() {
 		return options;
 	}
 
@@ -160,7 +195,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 	 * @param options
 	 * @return all conditions in the query
 	 */
-	private synchronized List<BooleanExpression> getAllConditions(QueryOptions options) {
+	private List<BooleanExpression> getAllConditions(QueryOptions options) {
 		List<BooleanExpression> allConditions = new ArrayList<>();
 		for (DBRow entry : allQueryTables) {
 			allConditions.addAll(entry.getWhereClauseExpressions(options.getQueryDefinition(), true));
@@ -212,28 +247,16 @@ public class QueryDetails implements DBQueryable, Serializable {
 		return newMap;
 	}
 
-	/**
-	 *
-	 *
-	 *
-	 * @return the existingInstances
-	 */
-	public Map<Class<?>, Map<String, DBRow>> getExistingInstances() {
-		HashMap<Class<?>, Map<String, DBRow>> hashMap = new HashMap<Class<?>, Map<String, DBRow>>();
-		hashMap.putAll(existingInstances);
-		return hashMap;
-	}
-
 	/**
 	 * Set the requirement for a GROUP BY clause.
 	 *
 	 * @param b the setting required
 	 */
-	public synchronized void setGroupByRequiredByAggregator(boolean b) {
+	public void setGroupByRequiredByAggregator(boolean b) {
 		this.groupByRequiredByAggregator = true;
 	}
 
-	private synchronized boolean getGroupByRequiredByAggregator() {
+	private boolean getGroupByRequiredByAggregator() {
 		return this.groupByRequiredByAggregator;
 	}
 
@@ -254,7 +277,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 	 *
 	 * @param selectClause the select clause to set
 	 */
-	public synchronized void setSelectSQLClause(String selectClause) {
+	public void setSelectSQLClause(String selectClause) {
 		this.selectSQLClause = selectClause;
 	}
 
@@ -266,7 +289,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 	 *
 	 * @return the SELECT clause defined earlier
 	 */
-	public synchronized String getSelectSQLClause() {
+	public String getSelectSQLClause() {
 		return selectSQLClause;
 	}
 
@@ -276,14 +299,14 @@ public class QueryDetails implements DBQueryable, Serializable {
 	 *
 	 * @return the havingColumns
 	 */
-	public synchronized BooleanExpression[] getHavingColumns() {
+	public BooleanExpression[] getHavingColumns() {
 		return havingColumns.toArray(new BooleanExpression[]{});
 	}
 
 	/**
 	 * @param havingColumns the havingColumns to set
 	 */
-	public synchronized void setHavingColumns(BooleanExpression... havingColumns) {
+	public void setHavingColumns(BooleanExpression... havingColumns) {
 		Collections.addAll(this.havingColumns, havingColumns);
 	}
 
@@ -291,21 +314,21 @@ public class QueryDetails implements DBQueryable, Serializable {
 		this.options.setQueryType(queryType);
 	}
 
-	public synchronized void setOptions(QueryOptions tempOptions) {
+	public void setOptions(QueryOptions tempOptions) {
 		this.options = tempOptions;
 	}
 
 	/**
 	 * @return the rawSQLClause
 	 */
-	public synchronized String getRawSQLClause() {
+	public String getRawSQLClause() {
 		return rawSQLClause;
 	}
 
 	/**
 	 * @param rawSQLClause the rawSQLClause to set
 	 */
-	public synchronized void setRawSQLClause(String rawSQLClause) {
+	public void setRawSQLClause(String rawSQLClause) {
 		this.rawSQLClause = rawSQLClause;
 		this.options.setRawSQL(rawSQLClause);
 	}
@@ -313,28 +336,28 @@ public class QueryDetails implements DBQueryable, Serializable {
 	/**
 	 * @return the results
 	 */
-	public synchronized List<DBQueryRow> getResults() {
+	public List<DBQueryRow> getResults() {
 		return results != null ? results.subList(0, results.size()) : null;
 	}
 
 	/**
 	 * @param results the results to set
 	 */
-	protected synchronized void setResults(List<DBQueryRow> results) {
+	protected void setResults(List<DBQueryRow> results) {
 		this.results = results;
 	}
 
 	/**
 	 * @return the resultSQL
 	 */
-	public synchronized List<String> getSQLQueries() {
+	public List<String> getSQLQueries() {
 		return resultSQL.subList(0, resultSQL.size());
 	}
 
 	/**
 	 * @param resultSQL the resultSQL to set
 	 */
-	public synchronized void setResultSQL(List<String> resultSQL) {
+	public void setResultSQL(List<String> resultSQL) {
 		this.resultSQL.clear();
 		if (resultSQL != null) {
 			this.resultSQL.addAll(resultSQL);
@@ -344,45 +367,45 @@ public class QueryDetails implements DBQueryable, Serializable {
 	/**
 	 * @return the resultsPageIndex
 	 */
-	public synchronized Integer getResultsPageIndex() {
+	public Integer getResultsPageIndex() {
 		return resultsPageIndex;
 	}
 
 	/**
 	 * @param resultsPageIndex the resultsPageIndex to set
 	 */
-	public synchronized void setResultsPageIndex(Integer resultsPageIndex) {
+	public void setResultsPageIndex(Integer resultsPageIndex) {
 		this.resultsPageIndex = resultsPageIndex;
 	}
 
 	/**
 	 * @return the resultsRowLimit
 	 */
-	public synchronized Integer getResultsRowLimit() {
+	public Integer getResultsRowLimit() {
 		return resultsRowLimit;
 	}
 
 	/**
 	 * @param resultsRowLimit the resultsRowLimit to set
 	 */
-	public synchronized void setResultsRowLimit(Integer resultsRowLimit) {
+	public void setResultsRowLimit(Integer resultsRowLimit) {
 		this.resultsRowLimit = resultsRowLimit;
 	}
 
-	public synchronized void clearResults() {
+	public void clearResults() {
 		setResults(new ArrayList<DBQueryRow>());
 		setResultSQL(null);
 	}
 
-	public synchronized Long getCount() {
+	public Long getCount() {
 		return queryCount;
 	}
 
-	private synchronized void getResultSetCount(QueryOptions options) throws SQLException {
+	private void getResultSetCount(QueryOptions options) throws SQLException {
 		long result = 0L;
 		try (DBStatement dbStatement = options.getQueryDatabase().getDBStatement()) {
-			final List<String> sqlForCount = getSQLForCountInternal(this, options);
-			for (String sql : sqlForCount) {
+			final List<BindParameters> sqlForCount = getStatementsForCount(options);
+			for (BindParameters sql : sqlForCount) {
 				printSQLIfRequired(sql);
 				var dets = new StatementDetails(getLabel(), QueryIntention.SIMPLE_SELECT_QUERY, sql, dbStatement);
 				try (ResultSet resultSet = dbStatement.executeQuery(dets)) {
@@ -409,7 +432,29 @@ public class QueryDetails implements DBQueryable, Serializable {
 		queryCount = result;
 	}
 
-	private synchronized List<String> getSQLForCountInternal(QueryDetails details, QueryOptions options) {
+	/**
+	 * Generates the SQL to count the rows of the query, with bind parameters if
+	 * the query database has requested them.
+	 *
+	 * @param options the options for the query
+	 * @return the alternative SQL statements for counting this query
+	 */
+	private List<BindParameters> getStatementsForCount(QueryOptions options) {
+		return BindParameters.generate(isBindingParameters(options), () -> getSQLForCountInternal(this, options));
+	}
+
+	/**
+	 * Generates the SQL for the query, with bind parameters if the query
+	 * database has requested them.
+	 *
+	 * @param options the options for the query
+	 * @return the alternative SQL statements for this query
+	 */
+	private List<BindParameters> getStatementsForQuery(QueryOptions options) {
+		return BindParameters.generate(isBindingParameters(options), () -> getSQLForQueryInternal(new QueryState(this), QueryType.SELECT, options));
+	}
+
+	private List<String> getSQLForCountInternal(QueryDetails details, QueryOptions options) {
 
 		if (!options.getQueryDefinition().supportsFullOuterJoinNatively()) {
 			QueryOptions innerSelectOptions = options.copy();
@@ -426,7 +471,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 		}
 	}
 
-	protected synchronized List<String> getSQLForQueryInternal(QueryState queryState, QueryType queryType, QueryOptions options) {
+	protected List<String> getSQLForQueryInternal(QueryState queryState, QueryType queryType, QueryOptions options) {
 		try {
 			List<String> sqlList = new ArrayList<>();
 			final int allQueryTablesListSize = allQueryTables.size();
@@ -434,6 +479,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 			initialiseQueryGraph();
 
 			DBDefinition defn = options.getQueryDefinition();
+			final boolean bind = BindParameters.isCollecting();
 			StringBuilder selectClause = new StringBuilder().append(defn.beginSelectStatement());
 			int columnIndex = 1;
 			boolean groupByIsRequired = false;
@@ -544,12 +590,12 @@ public class QueryDetails implements DBQueryable, Serializable {
 						fromClause.append(fromClauseTableSeparator).append(tableName);
 						queryState.addedInnerJoinToQuery();
 					} else {
-						fromClause.append(getANSIJoinClause(defn, queryState, tabRow, options));
+						fromClause.append(BindParameters.whileBinding(bind, () -> getANSIJoinClause(defn, queryState, tabRow, options)));
 					}
 					queryState.addJoinedTable(tabRow);
 
 					if (!options.isUseANSISyntax()) {
-						List<String> tabRowCriteria = tabRow.getWhereClausesWithAliases(defn);
+						List<String> tabRowCriteria = BindParameters.whileBinding(bind, () -> tabRow.getWhereClausesWithAliases(defn));
 						if (tabRowCriteria != null && !tabRowCriteria.isEmpty()) {
 							for (String clause : tabRowCriteria) {
 								whereClause.append(LINE_SEP).append(defn.beginConditionClauseLine(options)).append(clause);
@@ -570,7 +616,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 			}
 
 			for (DBRow extra : extraExamples) {
-				List<String> extraCriteria = extra.getWhereClausesWithAliases(defn);
+				List<String> extraCriteria = BindParameters.whileBinding(bind, () -> extra.getWhereClausesWithAliases(defn));
 				if (extraCriteria != null && !extraCriteria.isEmpty()) {
 					for (String clause : extraCriteria) {
 						whereClause.append(LINE_SEP).append(defn.beginConditionClauseLine(options)).append(clause);
@@ -579,10 +625,15 @@ public class QueryDetails implements DBQueryable, Serializable {
 			}
 
 			for (BooleanExpression expression : queryState.getRemainingExpressions()) {
-				whereClause.append(LINE_SEP).append(defn.beginConditionClauseLine(options)).append("(").append(expression.toSQLString(defn)).append(")");
+				appendConditionToWhereClause(whereClause, defn, options, bind, expression);
 				queryState.consumeExpression(expression);
 			}
 
+			final BooleanExpression keysetWhere = keysetCondition;
+			if (keysetWhere != null && !keysetWhere.isAggregator()) {
+				appendConditionToWhereClause(whereClause, defn, options, bind, keysetWhere);
+			}
+
 			for (Map.Entry<Object, QueryableDatatype<?>> entry : expressionColumns.entrySet()) {
 				final Object key = entry.getKey();
 				final QueryableDatatype<?> qdt = entry.getValue();
@@ -665,7 +716,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 				} else if (options.getPageIndex() > 0 || options.getRowLimit() > 0) {
 					orderByClauseFinal = defn.getDefaultOrderingClause();
 				}
-				havingClause = getHavingClause(options);
+				havingClause = BindParameters.whileBinding(bind, () -> getHavingClause(options));
 				List<String> groupByClauseFinal = new ArrayList<>();
 				if (isGroupedQuery() && groupByIsRequired) {
 					final DBDefinition.GroupByClauseMethod[] preferences = defn.preferredGroupByClauseMethod();
@@ -745,7 +796,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 				options1);
 	}
 
-	private synchronized void initialiseQueryGraph() {
+	private void initialiseQueryGraph() {
 		if (queryGraph == null) {
 			queryGraph = new QueryGraph(getRequiredQueryTables(), getConditions());
 			queryGraph.addOptionalAndConnectToRelevant(getOptionalQueryTables(), getConditions());
@@ -756,7 +807,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 		}
 	}
 
-	public synchronized String getANSIJoinClause(DBDefinition defn, QueryState queryState, DBRow newTable, QueryOptions options) {
+	public String getANSIJoinClause(DBDefinition defn, QueryState queryState, DBRow newTable, QueryOptions options) {
 		List<String> joinClauses = new ArrayList<>();
 		List<String> conditionClauses = new ArrayList<>();
 		String lineSep = System.getProperty("line.separator");
@@ -870,7 +921,16 @@ public class QueryDetails implements DBQueryable, Serializable {
 		return sqlToReturn.toString();
 	}
 
-	private synchronized void getNonANSIJoin(DBRow tabRow, StringBuilder whereClause, DBDefinition defn, List<DBRow> otherTables, String lineSep, QueryOptions options) {
+	private static void appendConditionToWhereClause(StringBuilder whereClause, DBDefinition defn, QueryOptions options, boolean bind, BooleanExpression condition) {
+		whereClause.append(LINE_SEP).append(defn.beginConditionClauseLine(options)).append("(");
+		BindParameters.whileBinding(bind, () -> {
+			condition.appendSQL(defn, whereClause);
+			return whereClause;
+		});
+		whereClause.append(")");
+	}
+
+	private void getNonANSIJoin(DBRow tabRow, StringBuilder whereClause, DBDefinition defn, List<DBRow> otherTables, String lineSep, QueryOptions options) {
 
 		for (DBRow otherTab : otherTables) {
 			var otherTableFks = otherTab.getForeignKeyPropertyWrappers();
@@ -897,7 +957,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 		}
 	}
 
-	private synchronized String mergeConditionsIntoSQLClause(List<String> conditionClauses, DBDefinition defn, QueryOptions options) {
+	private String mergeConditionsIntoSQLClause(List<String> conditionClauses, DBDefinition defn, QueryOptions options) {
 		String separator = "";
 		StringBuilder sqlToReturn = new StringBuilder();
 		for (String cond : conditionClauses) {
@@ -907,9 +967,10 @@ public class QueryDetails implements DBQueryable, Serializable {
 		return sqlToReturn.toString();
 	}
 
-	private synchronized OrderByClause getOrderByClause(QueryState state, DBDefinition defn, Map<PropertyWrapperDefinition<?, ?>, Integer> indexesOfSelectedProperties, Map<DBExpression, Integer> IndexesOfSelectedExpressions) {
+	private OrderByClause getOrderByClause(QueryState state, DBDefinition defn, Map<PropertyWrapperDefinition<?, ?>, Integer> indexesOfSelectedProperties, Map<DBExpression, Integer> IndexesOfSelectedExpressions) {
 		OrderByClause clause = new OrderByClause();
 		final boolean prefersIndexBasedOrderByClause = defn.prefersIndexBasedOrderByClause();
+		final SortProvider[] sortOrderColumns = keyset == null ? this.sortOrderColumns : keyset.getSortOrder();
 		if (sortOrderColumns != null && sortOrderColumns.length > 0) {
 			state.setHasBeenOrdered(true);
 			Encoder orderByClause = Builder
@@ -959,8 +1020,12 @@ public class QueryDetails implements DBQueryable, Serializable {
 		return clause;
 	}
 
-	private synchronized String getHavingClause(QueryOptions options) {
+	private String getHavingClause(QueryOptions options) {
 		BooleanExpression[] having = getHavingColumns();
+		if (keysetCondition != null && keysetCondition.isAggregator()) {
+			having = Arrays.copyOf(having, having.length + 1);
+			having[having.length - 1] = keysetCondition;
+		}
 		final DBDefinition defn = options.getQueryDefinition();
 		String havingClauseStart = defn.getHavingClauseStart();
 		if (having.length == 1) {
@@ -998,7 +1063,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 	 * @return a fake full outer join query for databases that don't support FULL
 	 * OUTER joins
 	 */
-	private synchronized String getSQLForFakeFullOuterJoin(String existingSQL, QueryDetails details, QueryOptions options) {
+	private String getSQLForFakeFullOuterJoin(String existingSQL, QueryDetails details, QueryOptions options) {
 		String sqlForQuery;
 		String unionOperator;
 		DBDefinition defn = options.getQueryDefinition();
@@ -1043,12 +1108,12 @@ public class QueryDetails implements DBQueryable, Serializable {
 		return sqlForQuery;
 	}
 
-	public synchronized void setSortOrder(SortProvider[] sortColumns) {
+	public void setSortOrder(SortProvider[] sortColumns) {
 		blankResults();
 		sortOrderColumns = Arrays.copyOf(sortColumns, sortColumns.length);
 	}
 
-	public synchronized void setSortOrder(ColumnProvider[] sortColumns) {
+	public void setSortOrder(ColumnProvider[] sortColumns) {
 		List<SortProvider> sorters = new ArrayList<>();
 		for (ColumnProvider col : sortColumns) {
 			sorters.add(col.getSortProvider());
@@ -1056,13 +1121,13 @@ public class QueryDetails implements DBQueryable, Serializable {
 		this.setSortOrder(sorters.toArray(new SortProvider[]{}));
 	}
 
-	public synchronized void blankResults() {
+	public void blankResults() {
 		setResults(null);
 		setResultSQL(null);
 		queryGraph = null;
 	}
 
-	public synchronized void addToSortOrder(SortProvider[] sortColumns) {
+	public void addToSortOrder(SortProvider[] sortColumns) {
 		if (sortColumns != null) {
 			blankResults();
 			List<SortProvider> sortOrderColumnsList = new LinkedList<>();
@@ -1075,12 +1140,40 @@ public class QueryDetails implements DBQueryable, Serializable {
 		}
 	}
 
-	public synchronized void clearSortOrder() {
+	/**
+	 * The sort order set for this query.
+	 *
+	 * @return the sort order, or an empty array if no sort order has been set
+	 */
+	public SortProvider[] getSortOrder() {
+		return sortOrderColumns == null ? new SortProvider[]{} : Arrays.copyOf(sortOrderColumns, sortOrderColumns.length);
+	}
+
+	/**
+	 * Sets the keyset and condition used by the next
+	 * {@link QueryType#KEYSETPAGE keyset page} query.
+	 *
+	 * <p>
+	 * While set, the keyset replaces the sort order of the query and the
+	 * condition is added to the WHERE clause, or the HAVING clause when it
+	 * involves aggregators. Use null to clear them.
+	 *
+	 * @param keyset the sort keys of the query
+	 * @param condition the condition selecting the rows after the previous page,
+	 * or null for the first page
+	 */
+	public void setKeyset(Keyset keyset, BooleanExpression condition) {
+		blankResults();
+		this.keyset = keyset;
+		this.keysetCondition = condition;
+	}
+
+	public void clearSortOrder() {
 //		sortOrder = null;
 		sortOrderColumns = null;
 	}
 
-	private synchronized void prepareForQuery(DBDatabase database, QueryOptions options) {
+	protected void prepareForQuery(DBDatabase database, QueryOptions options) {
 		clearResults();
 		setResultSQL(null);
 		options.setQueryDatabase(database);
@@ -1091,7 +1184,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 		);
 	}
 
-	public synchronized boolean needsResults(QueryOptions options) {
+	public boolean needsResults(QueryOptions options) {
 		final DBDatabase queryDatabase = options.getQueryDatabase();
 		return results == null
 				|| queryDatabase == null
@@ -1103,7 +1196,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 	}
 
 	@Override
-	public synchronized List<DBQueryRow> getAllRows() throws SQLException, SQLTimeoutException, AccidentalBlankQueryException, AccidentalCartesianJoinException {
+	public List<DBQueryRow> getAllRows() throws SQLException, SQLTimeoutException, AccidentalBlankQueryException, AccidentalCartesianJoinException {
 		final QueryOptions opts = getOptions();
 		if (this.needsResults(opts)) {
 			try {
@@ -1122,7 +1215,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 		}
 	}
 
-	public synchronized String getSQLForQuery(DBDatabase db) {
+	public String getSQLForQuery(DBDatabase db) {
 		QueryType queryType = options.getQueryType();
 		getOptions().setQueryType(QueryType.GENERATESQLFORSELECT);
 		prepareForQuery(db, options);
@@ -1131,7 +1224,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 		return sql;
 	}
 
-	public synchronized String getSQLForCount(DBDatabase db) {
+	public String getSQLForCount(DBDatabase db) {
 		QueryType queryType = getOptions().getQueryType();
 		getOptions().setQueryType(QueryType.GENERATESQLFORCOUNT);
 		prepareForQuery(db, options);
@@ -1141,7 +1234,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 	}
 
 	@Override
-	public synchronized DBQueryable query(DBDatabase db) throws SQLException, AccidentalBlankQueryException, LoopDetectedInRecursiveSQL {
+	public DBQueryable query(DBDatabase db) throws SQLException, AccidentalBlankQueryException, LoopDetectedInRecursiveSQL {
 		final QueryOptions currentOptions = getOptions();
 		prepareForQuery(db, currentOptions);
 		final QueryType queryType = currentOptions.getQueryType();
@@ -1161,13 +1254,19 @@ public class QueryDetails implements DBQueryable, Serializable {
 			case SELECT:
 				fillResultSetInternal(currentOptions);
 				break;
+			case STREAM:
+				openCursorInternal(currentOptions);
+				break;
+			case KEYSETPAGE:
+				getRowsForKeysetPage(currentOptions);
+				break;
 			default:
 				throw new UnsupportedOperationException("Query Type Not Supported: " + queryType);
 		}
 		return this;
 	}
 
-	protected synchronized void getAllRowsForPage(QueryOptions opts) throws SQLException, AccidentalBlankQueryException, AccidentalCartesianJoinException, LoopDetectedInRecursiveSQL {
+	protected void getAllRowsForPage(QueryOptions opts) throws SQLException, AccidentalBlankQueryException, AccidentalCartesianJoinException, LoopDetectedInRecursiveSQL {
 		int pageNumber = getResultsPageIndex();
 		final DBDefinition defn = opts.getQueryDefinition();
 
@@ -1212,15 +1311,39 @@ public class QueryDetails implements DBQueryable, Serializable {
 		}
 	}
 
-	protected synchronized void fillResultSetInternal(QueryOptions options) throws SQLException, AccidentalBlankQueryException, AccidentalCartesianJoinException, LoopDetectedInRecursiveSQL {
-		final List<String> sqlOptions = this.getSQLForQueryInternal(new QueryState(this), QueryType.SELECT, options);
+	protected void getRowsForKeysetPage(QueryOptions opts) throws SQLException, AccidentalBlankQueryException, AccidentalCartesianJoinException, LoopDetectedInRecursiveSQL {
+		QueryOptions tempOptions = new QueryOptions(opts);
+		tempOptions.setQueryType(QueryType.SELECT);
+		tempOptions.setPageIndex(0);
+		setOptions(tempOptions);
+		try {
+			fillResultSetInternal(tempOptions);
+		} finally {
+			setOptions(opts);
+		}
+		final int rowLimit = opts.getRowLimit();
+		if (rowLimit > 0 && results.size() > rowLimit) {
+			setCurrentPage(results.subList(0, rowLimit));
+		} else {
+			setCurrentPage(results);
+		}
+	}
+
+	protected void fillResultSetInternal(QueryOptions options) throws SQLException, AccidentalBlankQueryException, AccidentalCartesianJoinException, LoopDetectedInRecursiveSQL {
+		final List<BindParameters> sqlOptions = getStatementsForQuery(options);
 
-		setResultSQL(sqlOptions);
+		setResultSQL(getLiteralSQL(sqlOptions));
 
 		final DBDefinition defn = options.getQueryDefinition();
 
+		checkForAccidentalQueries(options, sqlOptions);
+		// all set to execute the query
+		fillResultSetFromSQL(options, defn, sqlOptions);
+	}
+
+	private void checkForAccidentalQueries(QueryOptions options, List<BindParameters> sqlOptions) throws AccidentalBlankQueryException, AccidentalCartesianJoinException {
 		if (!options.isBlankQueryAllowed() && willCreateBlankQuery(options) && getRawSQLClause().isEmpty()) {
-			throw new AccidentalBlankQueryException(options.isBlankQueryAllowed(), willCreateBlankQuery(options), getRawSQLClause().isEmpty(),sqlOptions);
+			throw new AccidentalBlankQueryException(options.isBlankQueryAllowed(), willCreateBlankQuery(options), getRawSQLClause().isEmpty(), getLiteralSQL(sqlOptions));
 		}
 
 		if (!options.isCartesianJoinAllowed()
@@ -1228,22 +1351,53 @@ public class QueryDetails implements DBQueryable, Serializable {
 				&& queryGraph.willCreateCartesianJoin()) {
 			throw new AccidentalCartesianJoinException(this);
 		}
-		// all set to execute the query
-		fillResultSetFromSQL(options, defn, sqlOptions);
 	}
 
-	protected synchronized void fillResultSetFromSQL(QueryOptions options, final DBDefinition defn, List<String> sqlOptions) throws AccidentalCartesianJoinException, AccidentalBlankQueryException, LoopDetectedInRecursiveSQL, SQLTimeoutException, SQLException {
+	/**
+	 * Generates the SQL for this query with all the supported values as bind
+	 * parameters.
+	 *
+	 * <p>
+	 * Used by {@link CompiledQueryDetails} to create the SQL once so that it
+	 * can be executed many times with different values.
+	 *
+	 * @param db the database the SQL will be executed on
+	 * @return the alternative SQL statements for this query
+	 * @throws AccidentalBlankQueryException the query would return all rows
+	 * @throws AccidentalCartesianJoinException the query would create a
+	 * cartesian join
+	 */
+	public List<BindParameters> getSQLForCompiledQuery(DBDatabase db) throws AccidentalBlankQueryException, AccidentalCartesianJoinException {
+		final QueryType queryType = getOptions().getQueryType();
+		getOptions().setQueryType(QueryType.GENERATESQLFORSELECT);
+		try {
+			prepareForQuery(db, options);
+			final List<BindParameters> sqlOptions = BindParameters.generate(true,
+					() -> getSQLForQueryInternal(new QueryState(this), QueryType.SELECT, getOptions())
+			);
+			checkForAccidentalQueries(options, sqlOptions);
+			return sqlOptions;
+		} finally {
+			getOptions().setQueryType(queryType);
+		}
+	}
+
+	protected void fillResultSetFromSQL(QueryOptions options, final DBDefinition defn, List<BindParameters> sqlOptions) throws AccidentalCartesianJoinException, AccidentalBlankQueryException, LoopDetectedInRecursiveSQL, SQLTimeoutException, SQLException {
 		ArrayList<DBQueryRow> foundRows = new ArrayList<>();
 		SQLException firstException = null;
 		Encoder errorMessages = Builder.byLines().encoder();
 		boolean successfulQuery = false;
-		for (String sql : sqlOptions) {
+		for (BindParameters statement : sqlOptions) {
 			final DBDatabase queryDatabase = options.getQueryDatabase();
-			try (DBStatement dbStatement = queryDatabase.getDBStatement()) {
-				printSQLIfRequired(sql);
-				final StatementDetails statementDetails = new StatementDetails(getLabel(), QueryIntention.SIMPLE_SELECT_QUERY, sql, dbStatement);
+			final ReadHedging.Hedge hedge = readHedge != null && readHedge.getPrimary() == queryDatabase ? readHedge : null;
+			try (DBStatement dbStatement = hedge == null ? queryDatabase.getDBStatement() : null;
+					HedgedRead hedgedRead = hedge == null ? null : new HedgedRead(this, hedge, statement.getSQL())) {
+				printSQLIfRequired(statement);
+				final StatementDetails statementDetails = new StatementDetails(getLabel(), QueryIntention.SIMPLE_SELECT_QUERY, statement, dbStatement);
 				statementDetails.setIgnoreExceptions(this.isQuietExceptions());
-				try (ResultSet resultSet = getResultSetForSQL(dbStatement, statementDetails, sql)) {
+				try (ResultSet resultSet = hedgedRead == null
+						? getResultSetForSQL(dbStatement, statementDetails, statement.getSQL())
+						: hedgedRead.getResultSet(statementDetails)) {
 					if (resultSet != null) {
 						DBQueryRow queryRow;
 						while (resultSet.next()) {
@@ -1255,10 +1409,13 @@ public class QueryDetails implements DBQueryable, Serializable {
 							foundRows.add(queryRow);
 						}
 					}
+				} finally {
+					finishReadingResultSet();
 				}
 				successfulQuery = true;
 				break;// we've successfully run the sql so carry on
 			} catch (SQLException e) {
+				final String sql = statement.getLiteralSQL();
 				if (isQuietExceptions() == false) {
 					errorMessages.add("ERRORS REPORTED FOR QUERY ON DATABASE "+options.getQueryDatabase().getJdbcURL()+": " + sql);
 					StackTraceElement[] trace = e.getStackTrace();
@@ -1275,13 +1432,8 @@ public class QueryDetails implements DBQueryable, Serializable {
 			}
 		}
 		if (successfulQuery) {
-			for (DBQueryRow result : foundRows) {
-				List<DBRow> rows = result.getAll();
-				for (DBRow row : rows) {
-					if (row != null) {
-						setAutoFilledFields(foundRows, row);
-					}
-				}
+			if (options.isAutoFillEnabled()) {
+				setAutoFilledFields(foundRows);
 			}
 			setResults(foundRows);
 		} else {
@@ -1290,20 +1442,134 @@ public class QueryDetails implements DBQueryable, Serializable {
 		}
 	}
 
-	private void printSQLIfRequired(String sql) {
+	/**
+	 * Executes the query and leaves the ResultSet open for reading with a
+	 * {@link QueryCursor}.
+	 *
+	 * <p>
+	 * Within a transaction the cursor uses its own statement on the
+	 * transaction's connection so the transaction can continue while the
+	 * cursor is open.
+	 *
+	 * @param options the options for the query
+	 * @throws SQLException database errors
+	 */
+	protected void openCursorInternal(QueryOptions options) throws SQLException, AccidentalBlankQueryException, AccidentalCartesianJoinException, LoopDetectedInRecursiveSQL {
+		final List<BindParameters> sqlOptions = getStatementsForQuery(options);
+		setResultSQL(getLiteralSQL(sqlOptions));
+		checkForAccidentalQueries(options, sqlOptions);
+
+		final DBDatabase queryDatabase = options.getQueryDatabase();
+		SQLException firstException = null;
+		for (BindParameters statement : sqlOptions) {
+			final String sql = statement.getLiteralSQL();
+			DBStatement dbStatement = queryDatabase.getDBStatement();
+			if (dbStatement instanceof DBTransactionStatement) {
+				// the transaction owns the connection so the cursor must not release it
+				dbStatement = ((DBTransactionStatement) dbStatement).createCursorStatement();
+			}
+			try {
+				printSQLIfRequired(statement);
+				final StatementDetails statementDetails = new StatementDetails(getLabel(), QueryIntention.SIMPLE_SELECT_QUERY, statement, dbStatement);
+				statementDetails.setIgnoreExceptions(this.isQuietExceptions());
+				statementDetails.setFetchSize(options.getFetchSize());
+				final ResultSet resultSet = getResultSetForSQL(dbStatement, statementDetails, sql);
+				cursor = new QueryCursor(this, options.getQueryDefinition(), dbStatement, resultSet);
+				return;
+			} catch (SQLException e) {
+				dbStatement.close();
+				queryDatabase.handleErrorDuringExecutingSQL(queryDatabase, e, sql);
+				if (firstException == null) {
+					firstException = e;
+				}
+			}
+		}
+		throw firstException;
+	}
+
+	/**
+	 * Returns the cursor opened by the last streaming execution of this query.
+	 *
+	 * <p>
+	 * The caller becomes responsible for closing the cursor.
+	 *
+	 * @return the open cursor, or null if the query has not been streamed
+	 */
+	public QueryCursor takeCursor() {
+		final QueryCursor opened = cursor;
+		cursor = null;
+		return opened;
+	}
+
+	/**
+	 * Creates a DBQueryRow from the current row of a cursor's ResultSet.
+	 *
+	 * <p>
+	 * Instances are never shared between streamed rows so that no rows are
+	 * retained by the query.
+	 *
+	 * @param defn the database definition
+	 * @param resultSet the cursor's ResultSet, positioned on a row
+	 * @return the query row for the ResultSet's current row
+	 * @throws SQLException database errors
+	 */
+	DBQueryRow getQueryRowForCursor(DBDefinition defn, ResultSet resultSet) throws SQLException {
+		DBQueryRow queryRow = new DBQueryRow(this);
+		setExpressionColumns(defn, resultSet, queryRow);
+		setQueryRowFromResultSet(defn, resultSet, this, queryRow, true);
+		return queryRow;
+	}
+
+	private void printSQLIfRequired(BindParameters sql) {
 		if (options.getPrintSQLBeforeExecution()) {
-			System.out.println("/* SQL for " + this.label + " on " + options.getQueryDatabase().getLabel() + " */ " + sql);
+			System.out.println("/* SQL for " + getLabel() + " on " + options.getQueryDatabase().getLabel() + " */ " + sql.getLiteralSQL());
+		}
+	}
+
+	private static List<String> getLiteralSQL(List<BindParameters> statements) {
+		return statements.stream().map(BindParameters::getLiteralSQL).collect(Collectors.toList());
+	}
+
+	/**
+	 * Indicates whether the query database has requested bind parameters.
+	 *
+	 * @param options the options for the query
+	 * @return TRUE if the conditions of the query should use bind parameters
+	 */
+	protected static boolean isBindingParameters(QueryOptions options) {
+		final DBDatabase database = options.getQueryDatabase();
+		return database != null && database.getBindParametersWhenPossible();
+	}
+
+	/**
+	 * Fills the AutoFill fields of every row in the results.
+	 *
+	 * <p>
+	 * Each instance is filled once, using an index of the results built in a
+	 * single pass for each pair of tables.
+	 *
+	 * @param allRows the results of the query
+	 */
+	void setAutoFilledFields(List<DBQueryRow> allRows) {
+		final AutoFillIndex autoFillIndex = new AutoFillIndex(allRows);
+		final Set<DBRow> filledRows = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (DBQueryRow result : allRows) {
+			for (DBRow row : result.values()) {
+				if (row != null && filledRows.add(row)) {
+					setAutoFilledFields(autoFillIndex, row);
+				}
+			}
 		}
 	}
 
 	@SuppressWarnings("unchecked")
-	synchronized void setAutoFilledFields(List<DBQueryRow> allRows, DBRow row) throws SQLException, AccidentalCartesianJoinException, AccidentalBlankQueryException {
-		boolean arrayRequired = false;
-		boolean listRequired = false;
+	private void setAutoFilledFields(AutoFillIndex autoFillIndex, DBRow row) {
 		try {
 			var fields = row.getAutoFillingPropertyWrappers();
 			for (var field : fields) {
 				if (field.isAutoFilling()) {
+					boolean arrayRequired = false;
+					boolean listRequired = false;
 					Class<?> requiredClass = field.getRawJavaType();
 					if (requiredClass.isArray()) {
 						requiredClass = requiredClass.getComponentType();
@@ -1322,13 +1588,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 					}
 					if (DBRow.class
 							.isAssignableFrom(requiredClass)) {
-						DBRow fieldInstance;
-						try {
-							fieldInstance = DBRow.getDBRow((Class<? extends DBRow>) requiredClass);
-						} catch (IllegalArgumentException | SecurityException ex) {
-							throw new UnableToInstantiateDBRowSubclassException(requiredClass, ex);
-						}
-						List<DBRow> relatedInstancesFromQuery = getRelatedInstancesFromQueryResults(allRows, row, fieldInstance);
+						List<DBRow> relatedInstancesFromQuery = autoFillIndex.getRelatedInstances(row, (Class<? extends DBRow>) requiredClass);
 						if (arrayRequired) {
 							Object newInstance = Array.newInstance(requiredClass, relatedInstancesFromQuery.size());
 							for (int index = 0; index < relatedInstancesFromQuery.size(); index++) {
@@ -1345,7 +1605,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 					}
 				}
 			}
-		} catch (UnacceptableClassForAutoFillAnnotation | UnableToInstantiateDBRowSubclassException | NegativeArraySizeException | IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
+		} catch (UnacceptableClassForAutoFillAnnotation | NegativeArraySizeException | IllegalArgumentException | ArrayIndexOutOfBoundsException ex) {
 			throw new RuntimeException("Unable To AutoFill Field", ex);
 		}
 	}
@@ -1380,12 +1640,12 @@ public class QueryDetails implements DBQueryable, Serializable {
 		return instances;
 	}
 
-	public synchronized boolean willCreateBlankQuery(DBDatabase database) {
+	public boolean willCreateBlankQuery(DBDatabase database) {
 		prepareForQuery(database, options);
 		return QueryDetails.this.willCreateBlankQuery(options);
 	}
 
-	protected synchronized boolean willCreateBlankQuery(QueryOptions options) {
+	protected boolean willCreateBlankQuery(QueryOptions options) {
 		boolean willCreateBlankQuery = true;
 		for (DBRow table : getAllQueryTables()) {
 			willCreateBlankQuery = willCreateBlankQuery && table.willCreateBlankQuery(options.getQueryDefinition());
@@ -1412,7 +1672,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 	 * @throws nz.co.gregs.dbvolution.exceptions.LoopDetectedInRecursiveSQL
 	 * Recursive queries may cause loops
 	 */
-	protected synchronized ResultSet getResultSetForSQL(final DBStatement statement, StatementDetails statementDetails, String sql) throws SQLException, SQLTimeoutException, LoopDetectedInRecursiveSQL {
+	protected ResultSet getResultSetForSQL(final DBStatement statement, StatementDetails statementDetails, String sql) throws SQLException, SQLTimeoutException, LoopDetectedInRecursiveSQL {
 		final Long timeoutTime = this.getTimeoutInMilliseconds();
 		statementDetails.setTimeout(timeoutTime);
 		return statement.executeQuery(statementDetails);
@@ -1429,7 +1689,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 		}
 	}
 
-	public synchronized void setQueryRowFromResultSet(DBDefinition defn, ResultSet resultSet, QueryDetails details, DBQueryRow queryRow, boolean isGroupedQuery) throws SQLException {
+	public void setQueryRowFromResultSet(DBDefinition defn, ResultSet resultSet, QueryDetails details, DBQueryRow queryRow, boolean isGroupedQuery) throws SQLException {
 		for (DBRow tableRow : details.getAllQueryTables()) {
 			DBRow newInstance = DBRow.getDBRow(tableRow.getClass());
 
@@ -1457,9 +1717,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 				if (isGroupedQuery || primaryKeys.isEmpty() || !pksHaveBeenSet) {
 					queryRow.put(newInstanceClass, newInstance);
 				} else {
-					Map<String, DBRow> existingInstancesOfThisTableRow = details.getExistingInstances().get(tableRow.getClass());
-					existingInstancesOfThisTableRow = setExistingInstancesForTable(existingInstancesOfThisTableRow, newInstance);
-					DBRow existingInstance = getOrSetExistingInstanceForRow(defn, newInstance, existingInstancesOfThisTableRow);
+					DBRow existingInstance = details.getOrSetExistingInstanceForRow(resultSet, newInstance, primaryKeys);
 					queryRow.put(existingInstance.getClass(), existingInstance);
 				}
 			}
@@ -1474,6 +1732,11 @@ public class QueryDetails implements DBQueryable, Serializable {
 	 * OldInstance is used to find the selected properties, newInstance is the
 	 * result, and restultSet contains the retrieved data.
 	 *
+	 * <p>
+	 * The columns are read by position using a plan made from the first row of
+	 * the ResultSet, so each later row is copied without searching for the
+	 * selected properties or their column names.
+	 *
 	 * Database exceptions may be thrown
 	 *
 	 * @param defn the database definition
@@ -1483,53 +1746,31 @@ public class QueryDetails implements DBQueryable, Serializable {
 	 * @throws java.sql.SQLException java.sql.SQLException
 	 */
 	protected void setFieldsFromColumns(DBDefinition defn, DBRow oldInstance, DBRow newInstance, ResultSet resultSet) throws SQLException {
-		var selectedProperties = oldInstance.getSelectedProperties();
-		var newProperties = newInstance.getColumnPropertyWrappers();
-		for (var newProp : newProperties) {
-			QueryableDatatype<?> qdt = newProp.getQueryableDatatype();
-			for (var propertyWrapper : selectedProperties) {
-				if (propertyWrapper.getPropertyWrapperDefinition().equals(newProp.getPropertyWrapperDefinition())) {
-					final String[] columnAliases = newProp.getColumnAlias(defn);
-					if (columnAliases.length > 0) {
-						String resultSetColumnName = columnAliases[0];
-						//for (String resultSetColumnName : resultSetColumnNames) {
-
-						qdt.setFromResultSet(defn, resultSet, resultSetColumnName);
-
-						if (newInstance.isEmptyRow() && !qdt.isConsistentWithEmptyRow(defn)) {
-							newInstance.setEmptyRow(false);
-						}
-					}
-					//}
-				}
-			}
+		getRowMappingPlan(resultSet).setFieldsFromColumns(defn, oldInstance, newInstance);
+	}
 
-			// ensure field set when using type adaptors
-			newProp.setQueryableDatatype(qdt);
+	private RowMappingPlan getRowMappingPlan(ResultSet resultSet) throws SQLException {
+		if (rowMappingPlan == null || !rowMappingPlan.isFor(resultSet)) {
+			rowMappingPlan = new RowMappingPlan(resultSet);
+			existingInstances = new RowIdentityMap();
 		}
+		return rowMappingPlan;
 	}
 
 	/**
-	 * Creates the list of already created rows for the DBRow class supplied.
-	 *
-	 * @param existingInstancesOfThisTableRow existingInstancesOfThisTableRow
-	 * @param newInstance newInstance
-	 * @return a list of existing rows.
+	 * Releases the row mapping plan and existing instances used while reading a
+	 * ResultSet.
 	 */
-	protected Map<String, DBRow> setExistingInstancesForTable(Map<String, DBRow> existingInstancesOfThisTableRow, DBRow newInstance) {
-		Map<String, DBRow> hashMap = existingInstancesOfThisTableRow;
-		if (hashMap == null) {
-			hashMap = new HashMap<>();
-		}
-		existingInstances.put(newInstance.getClass(), hashMap);
-		return hashMap;
+	void finishReadingResultSet() {
+		rowMappingPlan = null;
+		existingInstances = null;
 	}
 
 	/**
 	 * Retrieves or sets the existing instance of the DBRow provided.
 	 *
 	 * <p>
-	 * Queries maintain a list of existing rows to avoid duplicating identical
+	 * Queries maintain a map of existing rows to avoid duplicating identical
 	 * rows. This method checks to see if the supplied row already exists and
 	 * returns the existing version.
 	 *
@@ -1537,43 +1778,30 @@ public class QueryDetails implements DBQueryable, Serializable {
 	 * If the row is new then this method stores it, and returns it as the
 	 * existing instance.
 	 *
-	 * @param defn the database definition
+	 * <p>
+	 * Existing rows are only shared within one execution of the query.
+	 *
+	 * @param resultSet the ResultSet being read
 	 * @param newInstance newInstance
-	 * @param existingInstancesOfThisTableRow existingInstancesOfThisTableRow
+	 * @param primaryKeys the primary keys of the new instance
 	 * @return the existing instance of the provided row, or the row itself if
 	 * none exists.
+	 * @throws SQLException database errors
 	 */
-	protected DBRow getOrSetExistingInstanceForRow(DBDefinition defn, DBRow newInstance, Map<String, DBRow> existingInstancesOfThisTableRow) {
-		DBRow existingInstance = newInstance;
-		String keyToSearchFor = "";
-		final var primaryKeys = newInstance.getPrimaryKeyPropertyWrappers();
-		for (var primaryKey : primaryKeys) {
-			if (primaryKey != null) {
-				final QueryableDatatype<?> qdt = primaryKey.getQueryableDatatype();
-				if (qdt != null) {
-					keyToSearchFor += "(" + qdt.toSQLString(defn) + ")";
-				}
-			}
-		}
-		if (!keyToSearchFor.isEmpty()) {
-			existingInstance = existingInstancesOfThisTableRow.get(keyToSearchFor);
-			if (existingInstance == null) {
-				existingInstance = newInstance;
-				existingInstancesOfThisTableRow.put(keyToSearchFor, existingInstance);
-			}
-		}
-		return existingInstance;
+	protected DBRow getOrSetExistingInstanceForRow(ResultSet resultSet, DBRow newInstance, List<QueryableDatatype<?>> primaryKeys) throws SQLException {
+		getRowMappingPlan(resultSet);
+		return existingInstances.getOrSet(newInstance, primaryKeys);
 	}
 
-	protected synchronized void setCurrentPage(List<DBQueryRow> results) {
+	protected void setCurrentPage(List<DBQueryRow> results) {
 		currentPage = results;
 	}
 
-	public synchronized List<DBQueryRow> getCurrentPage() {
+	public List<DBQueryRow> getCurrentPage() {
 		return currentPage.subList(0, currentPage.size());
 	}
 
-	public synchronized void clear() {
+	public void clear() {
 		requiredQueryTables.clear();
 		optionalQueryTables.clear();
 		allQueryTables.clear();
@@ -1582,7 +1810,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 		blankResults();
 	}
 
-	public synchronized void setTimeoutInMilliseconds(Long milliseconds) {
+	public void setTimeoutInMilliseconds(Long milliseconds) {
 		if (milliseconds == null) {
 			this.timeoutInMilliseconds = 0L;
 		} else {
@@ -1590,22 +1818,22 @@ public class QueryDetails implements DBQueryable, Serializable {
 		}
 	}
 
-	public synchronized void setTimeoutInMilliseconds(Integer milliseconds) {
+	public void setTimeoutInMilliseconds(Integer milliseconds) {
 		setTimeoutInMilliseconds(milliseconds.longValue());
 	}
 
-	public synchronized void setTimeoutToDefault() {
+	public void setTimeoutToDefault() {
 		this.timeoutInMilliseconds = 0l;
 	}
 
-	public synchronized void setTimeoutToForever() {
+	public void setTimeoutToForever() {
 		this.timeoutInMilliseconds = -1l;
 	}
 
 	/**
 	 * @return the timeoutInMilliseconds
 	 */
-	public synchronized Long getTimeoutInMilliseconds() {
+	public Long getTimeoutInMilliseconds() {
 		if (timeoutInMilliseconds == null || timeoutInMilliseconds == 0) {
 			return QueryTimeout.getStandardTimeoutOffset();
 		} else {
@@ -1614,7 +1842,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 	}
 
 	@Override
-	public synchronized String toSQLString(DBDatabase db) {
+	public String toSQLString(DBDatabase db) {
 		prepareForQuery(db, options);
 		switch (getOptions().getQueryType()) {
 			case COUNT:
@@ -1625,12 +1853,39 @@ public class QueryDetails implements DBQueryable, Serializable {
 	}
 
 	public void setLabel(String newLabel) {
-		synchronized (this) {
-			this.label = newLabel;
-		}
+		this.label = newLabel;
+		this.callerFrame = null;
+	}
+
+	/**
+	 * Labels this query with the code that created it.
+	 *
+	 * <p>
+	 * Only the stack frames down to the first frame outside of the classes that
+	 * create queries, DBQuery, DBDatabase, DBRecursiveQuery, DBTable, and
+	 * their subclasses, are walked. The frame is only turned into a label when
+	 * the label is required.
+	 *
+	 * <p>
+	 * The classes are matched by type rather than by package or code source so
+	 * that labels are the same when DBvolution is shaded into another jar.
+	 */
+	public void setLabelToCaller() {
+		this.label = null;
+		this.callerFrame = CALLER_WALKER.walk(
+				frames -> frames
+						.dropWhile(frame -> CREATES_QUERIES.get(frame.getDeclaringClass()))
+						.findFirst()
+						.orElse(null)
+		);
 	}
 
 	public String getLabel() {
+		if (label == null) {
+			final StackWalker.StackFrame frame = callerFrame;
+			label = frame == null ? DEFAULT_LABEL : frame.toStackTraceElement().toString();
+			callerFrame = null;
+		}
 		return this.label;
 	}
 
@@ -1690,7 +1945,7 @@ public class QueryDetails implements DBQueryable, Serializable {
 		dbReportGroupByColumns.put(identifyingObject, expressionToAdd);
 	}
 
-	public synchronized void removeTable(DBRow qtab) {
+	public void removeTable(DBRow qtab) {
 		requiredQueryTables.remove(qtab);
 		optionalQueryTables.remove(qtab);
 		assumedQueryTables.remove(qtab);
@@ -1710,6 +1965,11 @@ public class QueryDetails implements DBQueryable, Serializable {
 		this.getOptions().setQueryDatabase(db);
 	}
 
+	@Override
+	public void setReadHedge(ReadHedging.Hedge hedge) {
+		this.readHedge = hedge;
+	}
+
 	@Override
 	public DBDatabase getWorkingDatabase() {
 		return this.getOptions().getQueryDatabase();
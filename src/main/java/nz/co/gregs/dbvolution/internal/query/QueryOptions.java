@@ -42,11 +42,14 @@ public class QueryOptions implements Serializable {
 	private boolean printSQLBeforeExecution = false;
 	private boolean requireEmptyStringForNullString = false;
 	private boolean useStarInsteadOfColumns = false;
+	private boolean autoFillEnabled = true;
 
 	private String rawSQL = null;
 
 	private final int DEFAULT_TIMEOUT_IN_MILLISECONDS = 10000;
 	private int timeoutInMilliseconds = DEFAULT_TIMEOUT_IN_MILLISECONDS;
+	public static final int DEFAULT_FETCH_SIZE = 1000;
+	private int fetchSize = DEFAULT_FETCH_SIZE;
 	private String label = "UNLABELLED QUERY";
 	private DBDatabase queryDatabase;
 
@@ -70,8 +73,10 @@ public class QueryOptions implements Serializable {
 		printSQLBeforeExecution = opts.printSQLBeforeExecution;
 		requireEmptyStringForNullString = opts.requireEmptyStringForNullString;
 		useStarInsteadOfColumns = opts.useStarInsteadOfColumns;
+		autoFillEnabled = opts.autoFillEnabled;
 		rawSQL = opts.rawSQL;
 		timeoutInMilliseconds = opts.timeoutInMilliseconds;
+		fetchSize = opts.fetchSize;
 		label = opts.label;
 		queryDatabase = opts.queryDatabase;
 	}
@@ -361,6 +366,48 @@ public class QueryOptions implements Serializable {
 		return this.timeoutInMilliseconds;
 	}
 
+	/**
+	 * The number of rows requested from the database at a time when streaming
+	 * the results of the query.
+	 *
+	 * @return the fetch size hint for streamed results
+	 */
+	public int getFetchSize() {
+		return fetchSize;
+	}
+
+	/**
+	 * Sets the number of rows requested from the database at a time when
+	 * streaming the results of the query.
+	 *
+	 * @param fetchSize the fetch size hint, zero to use the driver's default
+	 */
+	public void setFetchSize(int fetchSize) {
+		this.fetchSize = Math.max(0, fetchSize);
+	}
+
+	/**
+	 * Indicates whether the fields annotated with
+	 * {@link nz.co.gregs.dbvolution.annotations.AutoFillDuringQueryIfPossible}
+	 * will be filled after the query is executed.
+	 *
+	 * @return TRUE if AutoFill fields are filled, the default
+	 */
+	public boolean isAutoFillEnabled() {
+		return autoFillEnabled;
+	}
+
+	/**
+	 * Sets whether the fields annotated with
+	 * {@link nz.co.gregs.dbvolution.annotations.AutoFillDuringQueryIfPossible}
+	 * will be filled after the query is executed.
+	 *
+	 * @param autoFillEnabled FALSE to leave AutoFill fields unchanged
+	 */
+	public void setAutoFillEnabled(boolean autoFillEnabled) {
+		this.autoFillEnabled = autoFillEnabled;
+	}
+
 	public boolean isUseStarInsteadOfColumns() {
 		return useStarInsteadOfColumns;
 	}
@@ -40,5 +40,7 @@ public enum QueryType {
 	ROWSFORPAGE, 
 	GENERATESQLFORSELECT, 
 	GENERATESQLFORCOUNT, 
-	SELECTFROMRAWSQL
+	SELECTFROMRAWSQL,
+	STREAM,
+	KEYSETPAGE
 };
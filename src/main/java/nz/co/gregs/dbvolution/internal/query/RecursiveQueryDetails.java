@@ -87,65 +87,65 @@ public class RecursiveQueryDetails<T extends DBRow> extends QueryDetails {
 	/**
 	 * @return the originalQuery
 	 */
-	public synchronized DBQuery getOriginalQuery() {
+	public DBQuery getOriginalQuery() {
 		return originalQuery;
 	}
 
 	/**
 	 * @param originalQuery the originalQuery to set
 	 */
-	public synchronized void setOriginalQuery(DBQuery originalQuery) {
+	public void setOriginalQuery(DBQuery originalQuery) {
 		this.originalQuery = originalQuery;
 	}
 
 	/**
 	 * @return the keyToFollow
 	 */
-	public synchronized ColumnProvider getKeyToFollow() {
+	public ColumnProvider getKeyToFollow() {
 		return keyToFollow;
 	}
 
 	/**
 	 * @param keyToFollow the keyToFollow to set
 	 */
-	public synchronized void setKeyToFollow(ColumnProvider keyToFollow) {
+	public void setKeyToFollow(ColumnProvider keyToFollow) {
 		this.keyToFollow = keyToFollow;
 	}
 
 	/**
 	 * @return the typeToReturn
 	 */
-	public synchronized T getTypeToReturn() {
+	public T getTypeToReturn() {
 		return typeToReturn;
 	}
 
 	/**
 	 * @param typeToReturn the typeToReturn to set
 	 */
-	public synchronized void setTypeToReturn(T typeToReturn) {
+	public void setTypeToReturn(T typeToReturn) {
 		this.typeToReturn = typeToReturn;
 	}
 
-	public synchronized RecursiveSQLDirection getDirection() {
+	public RecursiveSQLDirection getDirection() {
 		return getRecursiveQueryDirection();
 	}
 
 	/**
 	 * @return the recursiveQueryDirection
 	 */
-	public synchronized RecursiveSQLDirection getRecursiveQueryDirection() {
+	public RecursiveSQLDirection getRecursiveQueryDirection() {
 		return recursiveQueryDirection;
 	}
 
 	/**
 	 * @param recursiveQueryDirection the recursiveQueryDirection to set
 	 */
-	public synchronized void setRecursiveQueryDirection(RecursiveSQLDirection recursiveQueryDirection) {
+	public void setRecursiveQueryDirection(RecursiveSQLDirection recursiveQueryDirection) {
 		this.recursiveQueryDirection = recursiveQueryDirection;
 	}
 
 	@Override
-	public synchronized DBQueryable query(DBDatabase db) throws SQLException, AccidentalBlankQueryException {
+	public DBQueryable query(DBDatabase db) throws SQLException, AccidentalBlankQueryException {
 		getRowsFromRecursiveQuery(db, this);
 		return this;
 	}
@@ -172,7 +172,7 @@ public class RecursiveQueryDetails<T extends DBRow> extends QueryDetails {
 	 * @return A linked List containing the rows found
 	 *
 	 */
-	private synchronized List<DBQueryRow> getRowsFromRecursiveQuery(DBDatabase database, RecursiveQueryDetails<T> details) throws SQLException, AccidentalCartesianJoinException, AccidentalBlankQueryException {
+	private List<DBQueryRow> getRowsFromRecursiveQuery(DBDatabase database, RecursiveQueryDetails<T> details) throws SQLException, AccidentalCartesianJoinException, AccidentalBlankQueryException {
 		List<DBQueryRow> returnList = new ArrayList<>();
 		final RecursiveSQLDirection direction = details.getDirection();
 		if (database.getDefinition().supportsRecursiveQueriesNatively()) {
@@ -188,7 +188,7 @@ public class RecursiveQueryDetails<T extends DBRow> extends QueryDetails {
 		return returnList;
 	}
 
-	private synchronized List<DBQueryRow> performNativeRecursiveQuery(DBDatabase database, RecursiveQueryDetails<T> recursiveDetails, RecursiveSQLDirection direction, List<DBQueryRow> returnList) throws SQLException, UnableToInstantiateDBRowSubclassException, LoopDetectedInRecursiveSQL {
+	private List<DBQueryRow> performNativeRecursiveQuery(DBDatabase database, RecursiveQueryDetails<T> recursiveDetails, RecursiveSQLDirection direction, List<DBQueryRow> returnList) throws SQLException, UnableToInstantiateDBRowSubclassException, LoopDetectedInRecursiveSQL {
 		final DBDefinition defn = database.getDefinition();
 		try (DBStatement dbStatement = database.getDBStatement()) {
 			final DBQuery query = recursiveDetails.getOriginalQuery();
@@ -212,12 +212,14 @@ public class RecursiveQueryDetails<T extends DBRow> extends QueryDetails {
 						returnList.add(queryRow);
 					}
 				}
+			} finally {
+				queryDetails.finishReadingResultSet();
 			}
 			return returnList;
 		}
 	}
 
-	private synchronized String getRecursiveSQL(DBDatabase database, RecursiveQueryDetails<T> details, ColumnProvider foreignKeyToFollow, RecursiveSQLDirection direction) {
+	private String getRecursiveSQL(DBDatabase database, RecursiveQueryDetails<T> details, ColumnProvider foreignKeyToFollow, RecursiveSQLDirection direction) {
 		final Class<? extends DBRow> referencedClass = foreignKeyToFollow.getColumn().getPropertyWrapper().referencedClass();
 		DBDefinition defn = database.getDefinition();
 		final DBRow newInstance = DBRow.getDBRow(referencedClass);
@@ -258,12 +260,12 @@ public class RecursiveQueryDetails<T extends DBRow> extends QueryDetails {
 			.anyCharacterIn(" \t\r\n").optionalMany().literal(";").anyCharacterIn(" \t\r\n").optionalMany().endOfTheString()
 			.replaceWith().literal(System.getProperty("line.separator"));
 
-	private synchronized String removeTrailingSemicolon(String sql) {
+	private String removeTrailingSemicolon(String sql) {
 		return REMOVE_TRAILING_SEMICOLON_REPLACER.replaceAll(sql);
 //		return sql.replaceAll("[ \\t\\r\\n]*;[ \\t\\r\\n]*$", System.getProperty("line.separator"));
 	}
 
-	private synchronized DBQuery getPrimingSubQueryForRecursiveQuery(DBDatabase database, RecursiveQueryDetails<T> recursiveDetails, ColumnProvider foreignKeyToFollow) {
+	private DBQuery getPrimingSubQueryForRecursiveQuery(DBDatabase database, RecursiveQueryDetails<T> recursiveDetails, ColumnProvider foreignKeyToFollow) {
 		DBQuery newQuery = database.getDBQuery();
 		final var rowDefinitionInstanceWrapper = foreignKeyToFollow.getColumn().getPropertyWrapper().getRowDefinitionInstanceWrapper();
 		final Class<?> originatingClass = rowDefinitionInstanceWrapper.adapteeRowDefinitionClass();
@@ -300,7 +302,7 @@ public class RecursiveQueryDetails<T extends DBRow> extends QueryDetails {
 		return newQuery;
 	}
 
-	private synchronized DBQuery getRecursiveSubQuery(DBDatabase database, RecursiveQueryDetails<T> recursiveDetails, String recursiveTableAlias, ColumnProvider foreignKeyToFollow, RecursiveSQLDirection direction) {
+	private DBQuery getRecursiveSubQuery(DBDatabase database, RecursiveQueryDetails<T> recursiveDetails, String recursiveTableAlias, ColumnProvider foreignKeyToFollow, RecursiveSQLDirection direction) {
 		Class<? extends DBRow> referencedClass;
 		DBQuery newQuery = database.getDBQuery();
 
@@ -339,7 +341,7 @@ public class RecursiveQueryDetails<T extends DBRow> extends QueryDetails {
 	}
 
 	@SuppressWarnings("unchecked")
-	private synchronized void addAscendingExpressionToQuery(RecursiveQueryDetails<T> recursiveDetails, DBRow originatingRow, ColumnProvider foreignKeyToFollow, final DBRow referencedRow, DBQuery newQuery) throws IncorrectRowProviderInstanceSuppliedException {
+	private void addAscendingExpressionToQuery(RecursiveQueryDetails<T> recursiveDetails, DBRow originatingRow, ColumnProvider foreignKeyToFollow, final DBRow referencedRow, DBQuery newQuery) throws IncorrectRowProviderInstanceSuppliedException {
 		final List<QueryableDatatype<?>> primaryKeys = originatingRow.getPrimaryKeys();
 		for (QueryableDatatype<?> primaryKey : primaryKeys) {
 			final ColumnProvider pkColumn = originatingRow.column(primaryKey);
@@ -374,7 +376,7 @@ public class RecursiveQueryDetails<T extends DBRow> extends QueryDetails {
 		}
 	}
 
-	private synchronized List<DBQueryRow> performRecursiveQueryEmulation(DBDatabase database, RecursiveQueryDetails<T> recursiveDetails, RecursiveSQLDirection direction) throws SQLException, AccidentalCartesianJoinException, AccidentalBlankQueryException {
+	private List<DBQueryRow> performRecursiveQueryEmulation(DBDatabase database, RecursiveQueryDetails<T> recursiveDetails, RecursiveSQLDirection direction) throws SQLException, AccidentalCartesianJoinException, AccidentalBlankQueryException {
 
 		final T returnType = getReturnType(recursiveDetails);
 		List<DBQueryRow> returnList = new ArrayList<>();
@@ -462,7 +464,7 @@ public class RecursiveQueryDetails<T extends DBRow> extends QueryDetails {
 	}
 
 	@SuppressWarnings("unchecked")
-	private synchronized T getReturnType(RecursiveQueryDetails<T> details) {
+	private T getReturnType(RecursiveQueryDetails<T> details) {
 		T returnInstance = details.getTypeToReturn();
 		ColumnProvider follow = details.getKeyToFollow();
 		if (returnInstance == null) {
@@ -477,7 +479,7 @@ public class RecursiveQueryDetails<T extends DBRow> extends QueryDetails {
 		return returnInstance;
 	}
 
-	private synchronized void setQDTPermittedValues(QueryableDatatype<?> primaryKey, List<String> values) {
+	private void setQDTPermittedValues(QueryableDatatype<?> primaryKey, List<String> values) {
 		if (primaryKey instanceof DBInteger) {
 			DBInteger qdt = (DBInteger) primaryKey;
 			List<Long> longs = new ArrayList<>();
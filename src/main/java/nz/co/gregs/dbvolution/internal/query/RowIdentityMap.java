@@ -0,0 +1,195 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ * 
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License. 
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/ 
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ * 
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ * 
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.               
+ *     Under the following terms:
+ *                 
+ *         Attribution - 
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made. 
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial - 
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike - 
+ *             If you remix, transform, or build upon the material, 
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions - 
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the 
+ *             license permits.
+ * 
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.internal.query;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.datatypes.QueryableDatatype;
+
+/**
+ * The rows already created while reading one execution of a query, found by
+ * their primary keys.
+ *
+ * <p>
+ * Queries use the identity map to return the same instance every time a row
+ * appears in the results, for instance a parent joined to many children.
+ *
+ * <p>
+ * Keys are the primary key values themselves: a single integer primary key
+ * is stored as a primitive long in an open-addressing table, and other keys
+ * use the value or, for composite keys, an immutable tuple of the values. No
+ * SQL is formatted to find a row.
+ *
+ * <p>
+ * The map only lives while the ResultSet is read, so it never holds more rows
+ * than the execution returned and never returns a row from an earlier
+ * execution.
+ *
+ * @author Gregory Graham
+ */
+class RowIdentityMap {
+
+	private final Map<Class<?>, LongKeyedRows> rowsByIntegerKey = new HashMap<>();
+	private final Map<Class<?>, Map<Object, DBRow>> rowsByKey = new HashMap<>();
+
+	/**
+	 * Retrieves or sets the existing instance of the DBRow provided.
+	 *
+	 * <p>
+	 * If no row with the same class and primary keys has been seen, the supplied
+	 * row is stored and returned.
+	 *
+	 * @param newInstance the row just read from the database
+	 * @param primaryKeys the primary keys of the new row
+	 * @return the existing instance of the provided row, or the row itself if
+	 * none exists.
+	 */
+	DBRow getOrSet(DBRow newInstance, List<QueryableDatatype<?>> primaryKeys) {
+		final Class<?> rowClass = newInstance.getClass();
+		if (primaryKeys.size() == 1) {
+			final Object value = primaryKeys.get(0).getValue();
+			if (value instanceof Long) {
+				LongKeyedRows rows = rowsByIntegerKey.get(rowClass);
+				if (rows == null) {
+					rows = new LongKeyedRows();
+					rowsByIntegerKey.put(rowClass, rows);
+				}
+				return rows.getOrSet((Long) value, newInstance);
+			}
+		}
+		Map<Object, DBRow> rows = rowsByKey.get(rowClass);
+		if (rows == null) {
+			rows = new HashMap<>();
+			rowsByKey.put(rowClass, rows);
+		}
+		final DBRow existingInstance = rows.putIfAbsent(getKey(primaryKeys), newInstance);
+		return existingInstance == null ? newInstance : existingInstance;
+	}
+
+	private static Object getKey(List<QueryableDatatype<?>> primaryKeys) {
+		if (primaryKeys.size() == 1) {
+			final Object value = primaryKeys.get(0).getValue();
+			if (value != null && !value.getClass().isArray()) {
+				return value;
+			}
+		}
+		final Object[] values = new Object[primaryKeys.size()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = primaryKeys.get(i).getValue();
+		}
+		return new CompositeKey(values);
+	}
+
+	/**
+	 * An immutable tuple of primary key values.
+	 */
+	private static final class CompositeKey {
+
+		private final Object[] values;
+		private final int hashCode;
+
+		CompositeKey(Object[] values) {
+			this.values = values;
+			this.hashCode = Arrays.deepHashCode(values);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof CompositeKey)) {
+				return false;
+			}
+			final CompositeKey other = (CompositeKey) obj;
+			return hashCode == other.hashCode && Arrays.deepEquals(values, other.values);
+		}
+	}
+
+	/**
+	 * An open-addressing hash table from primitive long keys to rows.
+	 */
+	private static final class LongKeyedRows {
+
+		private long[] keys = new long[16];
+		private DBRow[] rows = new DBRow[16];
+		private int size = 0;
+
+		DBRow getOrSet(long key, DBRow row) {
+			final int mask = keys.length - 1;
+			int index = mix(key) & mask;
+			while (rows[index] != null) {
+				if (keys[index] == key) {
+					return rows[index];
+				}
+				index = (index + 1) & mask;
+			}
+			keys[index] = key;
+			rows[index] = row;
+			size++;
+			if (size * 2 > keys.length) {
+				resize();
+			}
+			return row;
+		}
+
+		private void resize() {
+			final long[] oldKeys = keys;
+			final DBRow[] oldRows = rows;
+			keys = new long[oldKeys.length * 2];
+			rows = new DBRow[oldRows.length * 2];
+			final int mask = keys.length - 1;
+			for (int i = 0; i < oldRows.length; i++) {
+				if (oldRows[i] != null) {
+					int index = mix(oldKeys[i]) & mask;
+					while (rows[index] != null) {
+						index = (index + 1) & mask;
+					}
+					keys[index] = oldKeys[i];
+					rows[index] = oldRows[i];
+				}
+			}
+		}
+
+		private static int mix(long key) {
+			final long hash = key * 0x9E3779B97F4A7C15L;
+			return (int) (hash ^ (hash >>> 32));
+		}
+	}
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Commercial licenses are available, please contact info@gregs.co.nz for details.
+ * 
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License. 
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/ 
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ * 
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ * 
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.               
+ *     Under the following terms:
+ *                 
+ *         Attribution - 
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made. 
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial - 
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike - 
+ *             If you remix, transform, or build upon the material, 
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions - 
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the 
+ *             license permits.
+ * 
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.internal.query;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
+import nz.co.gregs.dbvolution.datatypes.QueryableDatatype;
+import nz.co.gregs.dbvolution.internal.properties.PropertyWrapper;
+
+/**
+ * Describes how the columns of a query's ResultSet are copied into the
+ * DBRows of each result.
+ *
+ * <p>
+ * The plan is made once per execution: the position of every column is found
+ * from the ResultSetMetaData and each table of the query is matched to its
+ * selected columns when its first row is read. Every row after that is copied
+ * by column position without comparing properties or looking up column names.
+ *
+ * @author Gregory Graham
+ */
+class RowMappingPlan {
+
+	private final ResultSet resultSet;
+	private final Map<String, Integer> columnIndexes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+	private final Map<DBRow, TableMapping> tableMappings = new IdentityHashMap<>();
+
+	RowMappingPlan(ResultSet resultSet) throws SQLException {
+		this.resultSet = resultSet;
+		final ResultSetMetaData metaData = resultSet.getMetaData();
+		final int columnCount = metaData.getColumnCount();
+		for (int index = 1; index <= columnCount; index++) {
+			// like ResultSet.findColumn, the first column with the label wins
+			columnIndexes.putIfAbsent(metaData.getColumnLabel(index), index);
+		}
+	}
+
+	/**
+	 * Checks whether this plan was made for the supplied ResultSet.
+	 *
+	 * @param resultSet the ResultSet being read
+	 * @return TRUE if the plan can be used to read the ResultSet
+	 */
+	boolean isFor(ResultSet resultSet) {
+		return this.resultSet == resultSet;
+	}
+
+	/**
+	 * Fills the fields of newInstance with the columns selected by the template
+	 * from the current row of the ResultSet.
+	 *
+	 * @param defn the database definition
+	 * @param template the query's instance of the table, which selects the
+	 * columns
+	 * @param newInstance the row to fill
+	 * @throws SQLException database errors
+	 */
+	void setFieldsFromColumns(DBDefinition defn, DBRow template, DBRow newInstance) throws SQLException {
+		TableMapping mapping = tableMappings.get(template);
+		if (mapping == null) {
+			mapping = new TableMapping(defn, template, newInstance);
+			tableMappings.put(template, mapping);
+		}
+		mapping.setFieldsFromColumns(defn, newInstance);
+	}
+
+	private int getColumnIndex(String columnAlias) {
+		Integer index = columnIndexes.get(columnAlias);
+		if (index == null) {
+			try {
+				index = resultSet.findColumn(columnAlias);
+			} catch (SQLException ex) {
+				// the column was not selected so it will be read, and nulled, by name
+				index = 0;
+			}
+			columnIndexes.put(columnAlias, index);
+		}
+		return index;
+	}
+
+	private class TableMapping {
+
+		/**
+		 * The alias of the selected column for each property of the row, or null
+		 * for unselected properties.
+		 */
+		private final String[] columnAliases;
+		private final int[] columnIndexes;
+
+		TableMapping(DBDefinition defn, DBRow template, DBRow newInstance) {
+			final List<PropertyWrapper<?, ?, ?>> selectedProperties = template.getSelectedProperties();
+			final List<PropertyWrapper<?, ?, ?>> newProperties = newInstance.getColumnPropertyWrappers();
+			columnAliases = new String[newProperties.size()];
+			columnIndexes = new int[newProperties.size()];
+			for (int i = 0; i < columnAliases.length; i++) {
+				final PropertyWrapper<?, ?, ?> newProp = newProperties.get(i);
+				for (PropertyWrapper<?, ?, ?> selectedProp : selectedProperties) {
+					if (selectedProp.getPropertyWrapperDefinition().equals(newProp.getPropertyWrapperDefinition())) {
+						final String[] aliases = newProp.getColumnAlias(defn);
+						if (aliases.length > 0) {
+							columnAliases[i] = aliases[0];
+							columnIndexes[i] = getColumnIndex(aliases[0]);
+						}
+						break;
+					}
+				}
+			}
+		}
+
+		void setFieldsFromColumns(DBDefinition defn, DBRow newInstance) throws SQLException {
+			final List<PropertyWrapper<?, ?, ?>> newProperties = newInstance.getColumnPropertyWrappers();
+			for (int i = 0; i < columnAliases.length; i++) {
+				final PropertyWrapper<?, ?, ?> newProp = newProperties.get(i);
+				QueryableDatatype<?> qdt = newProp.getQueryableDatatype();
+				if (columnAliases[i] != null) {
+					qdt.setFromResultSet(defn, resultSet, columnAliases[i], columnIndexes[i]);
+					if (newInstance.isEmptyRow() && !qdt.isConsistentWithEmptyRow(defn)) {
+						newInstance.setEmptyRow(false);
+					}
+				}
+				// ensure field set when using type adaptors
+				newProp.setQueryableDatatype(qdt);
+			}
+		}
+	}
+}
@@ -30,10 +30,13 @@
  */
 package nz.co.gregs.dbvolution.internal.query;
 
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
 import nz.co.gregs.dbvolution.databases.DBStatement;
 import nz.co.gregs.dbvolution.databases.QueryIntention;
+import nz.co.gregs.dbvolution.databases.connections.DBConnection;
+import nz.co.gregs.dbvolution.databases.connections.PreparedStatementCache;
 import nz.co.gregs.dbvolution.utility.StringCheck;
 
 /**
@@ -43,6 +46,7 @@ import nz.co.gregs.dbvolution.utility.StringCheck;
 public class StatementDetails {
 
 	private final String sql;
+	private final BindParameters parameters;
 	private Exception exception;
 	private QueryIntention intention;
 
@@ -52,18 +56,38 @@ public class StatementDetails {
 	private String namedPKColumn;
 	private DBStatement activeStatement;
 	private Long timeout;
+	private int fetchSize = 0;
 
 	public StatementDetails(String label, QueryIntention intent, String sql, DBStatement statement) {
 		this(label, intent, sql, null, false, false, "", statement);
 	}
 
+	/**
+	 * Creates the details for a statement that may have bind parameters.
+	 *
+	 * @param label the display name for this execution
+	 * @param intent the expected outcome of this execution
+	 * @param sql the SQL and its bind parameters
+	 * @param statement the statement that will execute the SQL
+	 */
+	public StatementDetails(String label, QueryIntention intent, BindParameters sql, DBStatement statement) {
+		this(label, intent, sql, null, false, false, "", statement);
+	}
+
 	public StatementDetails copy() {
-		return new StatementDetails(label, intention, sql, exception, withGeneratedKeys, ignoreExceptions, namedPKColumn, activeStatement);
+		final StatementDetails copy = new StatementDetails(label, intention, parameters, exception, withGeneratedKeys, ignoreExceptions, namedPKColumn, activeStatement);
+		copy.fetchSize = fetchSize;
+		return copy;
 	}
 
 	public StatementDetails(String label, QueryIntention intent, String sql, Exception except, boolean generatedKeys, boolean ignoreExceptions, String pkColumn, DBStatement statement) {
+		this(label, intent, BindParameters.literal(sql), except, generatedKeys, ignoreExceptions, pkColumn, statement);
+	}
+
+	private StatementDetails(String label, QueryIntention intent, BindParameters parameters, Exception except, boolean generatedKeys, boolean ignoreExceptions, String pkColumn, DBStatement statement) {
 		this.label = label;
-		this.sql = sql;
+		this.parameters = parameters;
+		this.sql = parameters.getSQL();
 		this.intention = intent;
 		this.exception = except;
 		this.withGeneratedKeys = generatedKeys;
@@ -72,10 +96,37 @@ public class StatementDetails {
 		this.activeStatement = statement;
 	}
 
+	/**
+	 * The SQL to be executed.
+	 *
+	 * <p>
+	 * If the SQL was generated with bind parameters, the parameters are "?" and
+	 * their values are available from {@link #getBindParameters() }.
+	 *
+	 * @return the SQL to execute
+	 */
 	public String getSql() {
 		return sql;
 	}
 
+	/**
+	 * The bind parameters, if any, of the SQL.
+	 *
+	 * @return the bind parameters for this statement
+	 */
+	public BindParameters getBindParameters() {
+		return parameters;
+	}
+
+	/**
+	 * Indicates whether this statement must be executed as a PreparedStatement.
+	 *
+	 * @return TRUE if the SQL contains bind parameters
+	 */
+	public boolean hasBindParameters() {
+		return parameters.hasParameters();
+	}
+
 	public Exception getException() {
 		return exception;
 	}
@@ -127,6 +178,55 @@ public class StatementDetails {
 		}
 	}
 
+	/**
+	 * Prepares the SQL on the connection and sets the bind parameters.
+	 *
+	 * <p>
+	 * Generated keys are requested in the same way as
+	 * {@link #execute(java.sql.Statement) }.
+	 *
+	 * <p>
+	 * The statement is taken from the connection's
+	 * {@link PreparedStatementCache} and should be returned to it with
+	 * {@link PreparedStatementCache#release(java.sql.PreparedStatement) }. If
+	 * the connection has no cache, a new statement is prepared and the caller
+	 * should close it.
+	 *
+	 * @param connection the connection on which to prepare this SQL command
+	 * @return a PreparedStatement ready to be executed
+	 * @throws SQLException database errors are propagated
+	 */
+	public PreparedStatement prepare(DBConnection connection) throws SQLException {
+		final PreparedStatementCache cache = connection.getPreparedStatementCache();
+		final PreparedStatement prepared;
+		if (cache == null) {
+			if (StringCheck.isNotEmptyNorNull(namedPKColumn)) {
+				prepared = connection.prepareStatement(sql, new String[]{namedPKColumn});
+			} else if (requiresGeneratedKeys()) {
+				prepared = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+			} else {
+				prepared = connection.prepareStatement(sql);
+			}
+		} else if (StringCheck.isNotEmptyNorNull(namedPKColumn)) {
+			prepared = cache.prepare(sql, namedPKColumn);
+		} else if (requiresGeneratedKeys()) {
+			prepared = cache.prepare(sql, Statement.RETURN_GENERATED_KEYS);
+		} else {
+			prepared = cache.prepare(sql);
+		}
+		try {
+			parameters.setParameters(prepared);
+		} catch (SQLException ex) {
+			if (cache == null) {
+				prepared.close();
+			} else {
+				cache.discard(prepared);
+			}
+			throw ex;
+		}
+		return prepared;
+	}
+
 	public StatementDetails withException(SQLException exp2) {
 		this.exception = exp2;
 		return this;
@@ -158,4 +258,26 @@ public class StatementDetails {
 		return timeout;
 	}
 
+	/**
+	 * Sets the number of rows the driver should retrieve at a time.
+	 *
+	 * @param rows the fetch size hint, zero to use the driver's default
+	 */
+	public void setFetchSize(int rows) {
+		fetchSize = rows;
+	}
+
+	public int getFetchSize() {
+		return fetchSize;
+	}
+
+	/**
+	 * Indicates whether a fetch size hint has been set.
+	 *
+	 * @return TRUE if the statement should use a non-default fetch size
+	 */
+	public boolean hasFetchSize() {
+		return fetchSize > 0;
+	}
+
 }
@@ -41,15 +41,80 @@ import org.reflections.Reflections;
  * database connections, the schema of those databases, and methods to
  * manipulate the schema objects in a generic way.
  *
+ * <p>
+ * By default classes are found by scanning the entire classpath. Scanning can
+ * be turned off with {@link #setClasspathScanningAllowed(boolean) } or by
+ * setting the {@value #SCAN_CLASSPATH_PROPERTY} system property to "false", in
+ * which case the much faster index written at compile time by
+ * {@link nz.co.gregs.dbvolution.annotations.processing.DataModelIndexProcessor}
+ * is used instead. If no index can be found the classpath is scanned anyway.
+ *
  * @author gregory.graham
  */
 public class DataModel {
 
+	/**
+	 * The system property that prevents DataModel scanning the classpath when set
+	 * to "false".
+	 */
+	public static final String SCAN_CLASSPATH_PROPERTY = "dbvolution.datamodel.scanClasspath";
+
 	private static Set<DBRow> storedRequiredTables;
+	private static boolean classpathScanningAllowed = Boolean.parseBoolean(System.getProperty(SCAN_CLASSPATH_PROPERTY, "true"));
+	private static Reflections reflections = null;
 
 	private DataModel() {
 	}
 
+	/**
+	 * Allows, or prevents, DataModel scanning the entire classpath to find
+	 * classes.
+	 *
+	 * <p>
+	 * By default the classpath is scanned. Scanning finds classes that are not
+	 * indexed, such as local classes or those compiled without DBvolution's
+	 * annotation processor, but can take several seconds. When scanning is
+	 * prevented the compile-time index is used, unless no index can be found.
+	 *
+	 * @param allowed TRUE to scan the classpath, FALSE to use the index if one
+	 * exists
+	 */
+	public static synchronized void setClasspathScanningAllowed(boolean allowed) {
+		if (allowed != classpathScanningAllowed) {
+			classpathScanningAllowed = allowed;
+			storedRequiredTables = null;
+		}
+	}
+
+	/**
+	 * Indicates whether DataModel scans the classpath to find classes.
+	 *
+	 * @return TRUE if the classpath will be scanned, FALSE if the index is used
+	 * when one exists
+	 */
+	public static synchronized boolean isClasspathScanningAllowed() {
+		return classpathScanningAllowed;
+	}
+
+	private static boolean isScanningRequired() {
+		return isClasspathScanningAllowed() || !DataModelIndex.getIndex().isFound();
+	}
+
+	private static synchronized Reflections getReflections() {
+		if (reflections == null) {
+			reflections = new Reflections("");
+		}
+		return reflections;
+	}
+
+	private static Set<Class<? extends DBDatabase>> getKnownDBDatabaseClasses() {
+		if (isScanningRequired()) {
+			return getReflections().getSubTypesOf(DBDatabase.class);
+		} else {
+			return DataModelIndex.getIndex().getDBDatabaseClasses();
+		}
+	}
+
 	/**
 	 * Scans all known classes and returns a set of all non-builtin DBDatabase
 	 * instances that could be found.
@@ -64,8 +129,7 @@ public class DataModel {
 	 * @return a set of {@link DBDatabase} classes.
 	 */
 	protected static Set<Class<? extends DBDatabase>> getUseableDBDatabaseClasses() {
-		Reflections reflections = new Reflections("");
-		final Set<Class<? extends DBDatabase>> allKnownDBDatabases = reflections.getSubTypesOf(DBDatabase.class);
+		final Set<Class<? extends DBDatabase>> allKnownDBDatabases = getKnownDBDatabaseClasses();
 
 		final Set<Class<? extends DBDatabase>> usefulDBDatabases = new HashSet<Class<? extends DBDatabase>>();
 		for (Class<? extends DBDatabase> known : allKnownDBDatabases) {
@@ -90,8 +154,7 @@ public class DataModel {
 	 * @return a set of {@link DBDatabase} classes.
 	 */
 	protected static Set<Class<? extends DBDatabase>> getBuiltinDBDatabaseClasses() {
-		Reflections reflections = new Reflections("");
-		final Set<Class<? extends DBDatabase>> allKnownDBDatabases = reflections.getSubTypesOf(DBDatabase.class);
+		final Set<Class<? extends DBDatabase>> allKnownDBDatabases = getKnownDBDatabaseClasses();
 
 		final Set<Class<? extends DBDatabase>> usefulDBDatabases = new HashSet<Class<? extends DBDatabase>>();
 		for (Class<? extends DBDatabase> known : allKnownDBDatabases) {
@@ -116,8 +179,7 @@ public class DataModel {
 	 * @return a set of {@link DBDatabase} classes.
 	 */
 	protected static Set<Class<? extends DBDatabase>> getAllDBDatabaseClasses() {
-		Reflections reflections = new Reflections("");
-		final Set<Class<? extends DBDatabase>> allKnownDBDatabases = reflections.getSubTypesOf(DBDatabase.class);
+		final Set<Class<? extends DBDatabase>> allKnownDBDatabases = getKnownDBDatabaseClasses();
 
 		final Set<Class<? extends DBDatabase>> usefulDBDatabases = new HashSet<Class<? extends DBDatabase>>();
 		allKnownDBDatabases.forEach(known -> {
@@ -358,8 +420,11 @@ public class DataModel {
 	 * @return all the subclasses of DBRow in the current classpath.
 	 */
 	public static Set<Class<? extends DBRow>> getDBRowSubclasses() {
-		Reflections reflections = new Reflections("");
-		return reflections.getSubTypesOf(DBRow.class);
+		if (isScanningRequired()) {
+			return getReflections().getSubTypesOf(DBRow.class);
+		} else {
+			return new HashSet<Class<? extends DBRow>>(DataModelIndex.getIndex().getDBRowClasses());
+		}
 	}
 
 	/**
@@ -369,34 +434,47 @@ public class DataModel {
 	 */
 	public static Set<Class<? extends DBRow>> getDBRowDirectSubclasses() {
 		Set<Class<? extends DBRow>> result = new HashSet<Class<? extends DBRow>>();
-		Reflections reflections = new Reflections("");
-		Set<Class<? extends DBRow>> subTypesOf = reflections.getSubTypesOf(DBRow.class);
-		for (Class<? extends DBRow> clzz : subTypesOf) {
-			try {
-				clzz.getConstructor();// checking that there an appropriate constructor
-				if (clzz.getGenericSuperclass().equals(DBRow.class)) {
-					result.add(clzz);
-				}
-			} catch (NoSuchMethodException | SecurityException ex) {
-				;// no constructor
+		for (Class<? extends DBRow> clzz : getDBRowSubclasses()) {
+			if (isDirectSubclassWithConstructor(clzz)) {
+				result.add(clzz);
 			}
 		}
 		return result;
 	}
 
+	private static boolean isDirectSubclassWithConstructor(Class<? extends DBRow> clzz) {
+		try {
+			clzz.getConstructor();// checking that there an appropriate constructor
+			return clzz.getGenericSuperclass().equals(DBRow.class);
+		} catch (NoSuchMethodException | SecurityException ex) {
+			return false;// no constructor
+		}
+	}
+
 	/**
-	 * Find all DBRow subclasses on the current classpath.
+	 * Find all DBRow subclasses on the current classpath that are marked with
+	 * {@link nz.co.gregs.dbvolution.annotations.DBRequiredTable}.
 	 *
-	 * @return all the subclasses of DBRow in the current classpath.
+	 * <p>
+	 * The tables are found once and cached for the life of the process.
+	 *
+	 * @return an instance of each required table in the current classpath.
 	 */
 	public synchronized static Set< DBRow> getRequiredTables() {
-		if (storedRequiredTables == null || storedRequiredTables.isEmpty()) {
+		if (storedRequiredTables == null) {
 			Set< DBRow> result = new HashSet<>(0);
-			Set<Class<? extends DBRow>> dbRowDirectSubclasses = getDBRowDirectSubclasses();
-			for (Class<? extends DBRow> clzz : dbRowDirectSubclasses) {
-				DBRow dbRow = DBRow.getDBRow(clzz);
-				if (dbRow.isRequiredTable()) {
-					result.add(dbRow);
+			Set<Class<? extends DBRow>> candidates;
+			if (isScanningRequired()) {
+				candidates = getDBRowDirectSubclasses();
+			} else {
+				candidates = DataModelIndex.getIndex().getRequiredTableClasses();
+			}
+			for (Class<? extends DBRow> clzz : candidates) {
+				if (isDirectSubclassWithConstructor(clzz)) {
+					DBRow dbRow = DBRow.getDBRow(clzz);
+					if (dbRow.isRequiredTable()) {
+						result.add(dbRow);
+					}
 				}
 			}
 			storedRequiredTables = result;
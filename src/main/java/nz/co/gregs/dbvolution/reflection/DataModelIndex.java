@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.reflection;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.annotations.processing.DataModelIndexProcessor;
+import nz.co.gregs.dbvolution.databases.DBDatabase;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * The classes listed in the indexes written by
+ * {@link DataModelIndexProcessor} at compile time.
+ *
+ * <p>
+ * The indexes of every jar and directory visible to the context and DBvolution
+ * class loaders are read once and cached for the life of the process.
+ *
+ * @author Gregory Graham
+ */
+final class DataModelIndex {
+
+	private static final Log LOG = LogFactory.getLog(DataModelIndex.class);
+
+	private static DataModelIndex index = null;
+
+	private final boolean found;
+	private final Set<Class<? extends DBRow>> dbRowClasses;
+	private final Set<Class<? extends DBRow>> requiredTableClasses;
+	private final Set<Class<? extends DBDatabase>> dbDatabaseClasses;
+
+	private DataModelIndex() {
+		Set<ClassLoader> loaders = new LinkedHashSet<>();
+		if (Thread.currentThread().getContextClassLoader() != null) {
+			loaders.add(Thread.currentThread().getContextClassLoader());
+		}
+		loaders.add(DataModelIndex.class.getClassLoader());
+
+		Set<URL> resourcesRead = new HashSet<>();
+		dbRowClasses = Collections.unmodifiableSet(readIndex(loaders, DataModelIndexProcessor.DBROW_INDEX, DBRow.class, resourcesRead));
+		requiredTableClasses = Collections.unmodifiableSet(readIndex(loaders, DataModelIndexProcessor.REQUIRED_TABLE_INDEX, DBRow.class, resourcesRead));
+		dbDatabaseClasses = Collections.unmodifiableSet(readIndex(loaders, DataModelIndexProcessor.DBDATABASE_INDEX, DBDatabase.class, resourcesRead));
+		found = !resourcesRead.isEmpty();
+		if (!found) {
+			LOG.info("No DBvolution class index found, compile with DBvolution on the classpath to create one");
+		}
+	}
+
+	/**
+	 * Returns the process-wide index, reading it on first use.
+	 *
+	 * @return the index
+	 */
+	static synchronized DataModelIndex getIndex() {
+		if (index == null) {
+			index = new DataModelIndex();
+		}
+		return index;
+	}
+
+	private static <T> Set<Class<? extends T>> readIndex(Set<ClassLoader> loaders, String resourceName, Class<T> requiredClass, Set<URL> resourcesRead) {
+		Set<Class<? extends T>> classes = new HashSet<>();
+		for (ClassLoader loader : loaders) {
+			try {
+				Enumeration<URL> resources = loader.getResources(resourceName);
+				while (resources.hasMoreElements()) {
+					URL resource = resources.nextElement();
+					if (resourcesRead.add(resource)) {
+						readResource(loader, resource, requiredClass, classes);
+					}
+				}
+			} catch (IOException ex) {
+				LOG.warn("Unable to read DBvolution index " + resourceName + ": " + ex.getMessage(), ex);
+			}
+		}
+		return classes;
+	}
+
+	private static <T> void readResource(ClassLoader loader, URL resource, Class<T> requiredClass, Set<Class<? extends T>> classes) throws IOException {
+		try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				final String className = line.trim();
+				if (!className.isEmpty() && !className.startsWith("#")) {
+					try {
+						Class<?> clazz = Class.forName(className, false, loader);
+						if (requiredClass.isAssignableFrom(clazz)) {
+							classes.add(clazz.asSubclass(requiredClass));
+						}
+					} catch (ClassNotFoundException | LinkageError ex) {
+						LOG.debug("Skipping unavailable class " + className + " listed in " + resource);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Indicates whether any index was found.
+	 *
+	 * @return TRUE if at least one index resource was read
+	 */
+	boolean isFound() {
+		return found;
+	}
+
+	/**
+	 * The indexed subclasses of DBRow.
+	 *
+	 * @return an unmodifiable set of DBRow classes
+	 */
+	Set<Class<? extends DBRow>> getDBRowClasses() {
+		return dbRowClasses;
+	}
+
+	/**
+	 * The indexed DBRow classes annotated with DBRequiredTable.
+	 *
+	 * @return an unmodifiable set of DBRow classes
+	 */
+	Set<Class<? extends DBRow>> getRequiredTableClasses() {
+		return requiredTableClasses;
+	}
+
+	/**
+	 * The indexed implementations of DBDatabase.
+	 *
+	 * @return an unmodifiable set of DBDatabase classes
+	 */
+	Set<Class<? extends DBDatabase>> getDBDatabaseClasses() {
+		return dbDatabaseClasses;
+	}
+}
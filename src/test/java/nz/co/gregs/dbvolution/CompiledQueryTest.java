@@ -0,0 +1,162 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import nz.co.gregs.dbvolution.example.CarCompany;
+import nz.co.gregs.dbvolution.example.Marque;
+import nz.co.gregs.dbvolution.generic.AbstractTest;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Gregory Graham
+ */
+public class CompiledQueryTest extends AbstractTest {
+
+	public CompiledQueryTest(Object testIterationName, Object db) {
+		super(testIterationName, db);
+	}
+
+	private int countMarquesOfCompany(String companyName) throws SQLException {
+		CarCompany carCompany = new CarCompany();
+		carCompany.name.permittedValues(companyName);
+		return database.getDBQuery(new Marque(), carCompany).getAllRows().size();
+	}
+
+	@Test
+	public void testCompiledQueryMatchesNormalQuery() throws SQLException {
+		CarCompany carCompany = new CarCompany();
+		carCompany.name.permittedValues("TOYOTA");
+		final DBQuery query = database.getDBQuery(new Marque(), carCompany);
+		final int expected = query.getAllRows().size();
+
+		CompiledQuery compiled = query.compile();
+		assertThat(compiled.getParameterCount(), is(1));
+		assertThat(compiled.getParameterValues(), contains("TOYOTA"));
+		assertThat(compiled.getAllRows().size(), is(expected));
+		assertThat(compiled.getAllRows("TOYOTA").size(), is(expected));
+		assertThat(compiled.getAllRows("Ford").size(), is(countMarquesOfCompany("Ford")));
+		assertThat(compiled.getAllRows("OTHER").size(), is(countMarquesOfCompany("OTHER")));
+		assertThat(compiled.getAllRows("Nobody's Company").size(), is(0));
+	}
+
+	@Test
+	public void testCompiledQueryReturnsInstances() throws SQLException {
+		Marque marque = new Marque();
+		marque.name.permittedValues("TOYOTA");
+		CompiledQuery compiled = database.getDBQuery(marque).compile();
+
+		List<Marque> hondas = compiled.getAllInstancesOf(marque, "HONDA");
+		assertThat(hondas.size(), is(1));
+		assertThat(hondas.get(0).name.stringValue(), is("HONDA"));
+		assertThat(compiled.getAllInstancesOf(marque, "TOYOTA").get(0).name.stringValue(), is("TOYOTA"));
+	}
+
+	@Test
+	public void testCompiledQueryWithSeveralParameterTypes() throws SQLException {
+		Marque marque = new Marque();
+		marque.name.permittedValuesIgnoreCase("toyota", "HONDA");
+		marque.updateCount.permittedRangeInclusive(0, 4);
+		final DBQuery query = database.getDBQuery(marque);
+		CompiledQuery compiled = query.compile();
+		assertThat(compiled.getParameterCount(), is(4));
+		assertThat(compiled.getAllRows().size(), is(query.getAllRows().size()));
+
+		Marque other = new Marque();
+		other.name.permittedValuesIgnoreCase("ford", "HOLDEN");
+		other.updateCount.permittedRangeInclusive(0, 4);
+		final int expected = database.getDBQuery(other).getAllRows().size();
+
+		List<Object> values = new ArrayList<>(compiled.getParameterValues());
+		values.set(values.indexOf("toyota"), "ford");
+		values.set(values.indexOf("HONDA"), "HOLDEN");
+		assertThat(compiled.getAllRows(values.toArray()).size(), is(expected));
+		assertThat(compiled.getSQLForQuery(values.toArray()), is(database.getDBQuery(other).getSQLForQuery()));
+	}
+
+	@Test
+	public void testCompiledQueryParametersCanBeSetByHandle() throws SQLException {
+		Marque marque = new Marque();
+		marque.name.permittedValuesIgnoreCase("toyota", "HONDA");
+		marque.updateCount.permittedRangeInclusive(0, 4);
+		CompiledQuery compiled = database.getDBQuery(marque).compile();
+		assertThat(compiled.getParameters().size(), is(compiled.getParameterCount()));
+
+		final CompiledQuery.Parameter first = compiled.getParameter("toyota");
+		final CompiledQuery.Parameter second = compiled.getParameter("HONDA");
+		final CompiledQuery.Parameter upper = compiled.getParameter(4);
+		assertThat(compiled.getParameterValues().get(first.getIndex()), is((Object) "toyota"));
+
+		Marque other = new Marque();
+		other.name.permittedValuesIgnoreCase("ford", "HOLDEN");
+		other.updateCount.permittedRangeInclusive(0, 1);
+		final List<Marque> expected = database.getDBQuery(other).getAllInstancesOf(other);
+
+		final CompiledQuery.Execution execution = compiled.with(first, "ford").with(second, "HOLDEN").with(upper, 1L);
+		assertThat(execution.getAllInstancesOf(marque).size(), is(expected.size()));
+		assertThat(execution.getSQLForQuery(), is(database.getDBQuery(other).getSQLForQuery()));
+		assertThat(compiled.getAllInstancesOf(marque).size(), is(database.getDBQuery(marque).getAllInstancesOf(marque).size()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCompiledQueryRejectsParametersOfOtherQueries() throws SQLException {
+		Marque marque = new Marque();
+		marque.name.permittedValues("TOYOTA");
+		CompiledQuery compiled = database.getDBQuery(marque).compile();
+		CompiledQuery other = database.getDBQuery(marque).compile();
+		compiled.with(other.getParameter("TOYOTA"), "HONDA");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCompiledQueryRequiresAllValues() throws SQLException {
+		Marque marque = new Marque();
+		marque.name.permittedValues("TOYOTA");
+		CompiledQuery compiled = database.getDBQuery(marque).compile();
+		compiled.getAllRows("TOYOTA", "HONDA");
+	}
+
+	@Test
+	public void testCompiledQueryCanBeUsedConcurrently() throws Exception {
+		Marque marque = new Marque();
+		marque.name.permittedValues("TOYOTA");
+		final CompiledQuery compiled = database.getDBQuery(marque).compile();
+		final String[] names = new String[]{"TOYOTA", "HONDA", "Ford", "Nobody"};
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (int i = 0; i < 40; i++) {
+				final String name = names[i % names.length];
+				results.add(executor.submit(() -> {
+					final List<Marque> found = compiled.getAllInstancesOf(marque, name);
+					return found.stream().allMatch(m -> m.name.stringValue().equals(name));
+				}));
+			}
+			for (Future<Boolean> result : results) {
+				assertThat(result.get(), is(true));
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
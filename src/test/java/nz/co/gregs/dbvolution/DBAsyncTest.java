@@ -0,0 +1,185 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import nz.co.gregs.dbvolution.databases.DBAsyncExecutor;
+import nz.co.gregs.dbvolution.databases.DBDatabase;
+import nz.co.gregs.dbvolution.transactions.DBTransaction;
+import nz.co.gregs.dbvolution.example.CarCompany;
+import nz.co.gregs.dbvolution.example.Marque;
+import nz.co.gregs.dbvolution.exceptions.ExceptionThrownDuringTransaction;
+import nz.co.gregs.dbvolution.generic.AbstractTest;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Gregory Graham
+ */
+public class DBAsyncTest extends AbstractTest {
+
+	public DBAsyncTest(Object testIterationName, Object db) {
+		super(testIterationName, db);
+	}
+
+	@Test
+	public void testAsyncResultsMatchSynchronousResults() throws Exception {
+		final Marque marque = new Marque();
+		final DBQuery query = database.getDBQuery(marque, new CarCompany()).setBlankQueryAllowed(true);
+		final DBTable<CarCompany> table = database.getDBTable(new CarCompany()).setBlankQueryAllowed(true);
+
+		CompletableFuture<List<DBQueryRow>> rows = query.getAllRowsAsync();
+		CompletableFuture<Long> companies = table.countAsync();
+		final Marque example = new Marque();
+		example.name.permittedValues("TOYOTA", "HONDA");
+		CompletableFuture<List<Marque>> marques = database.getAsync(example);
+		CompletableFuture.allOf(rows, companies, marques).get(30, TimeUnit.SECONDS);
+
+		assertThat(rows.get().size(), is(query.getAllRows().size()));
+		assertThat(companies.get(), is(table.count()));
+		assertThat(marques.get().size(), is(2));
+	}
+
+	@Test
+	public void testAsyncInsertAndTransaction() throws Exception {
+		final CarCompany company = new CarCompany("ASYNC", 9876);
+		database.insertAsync(company).get(30, TimeUnit.SECONDS);
+
+		CarCompany example = new CarCompany();
+		example.uidCarCompany.permittedValues(9876);
+		assertThat(database.getDBTable(example).count(), is(1L));
+
+		Long count = database.doTransactionAsync((DBTransaction<Long>) (DBDatabase db) -> {
+			try {
+				db.delete(db.getDBTable(example).getOnlyRow());
+				return db.getDBTable(example).count();
+			} catch (SQLException ex) {
+				throw new ExceptionThrownDuringTransaction(ex);
+			}
+		}).get(30, TimeUnit.SECONDS);
+		assertThat(count, is(0L));
+	}
+
+	@Test
+	public void testConcurrencyLimitIsRespected() throws Exception {
+		final DBAsyncExecutor executor = database.getAsyncExecutor();
+		final int originalLimit = executor.getConcurrencyLimit();
+		executor.setConcurrencyLimit(2);
+		try {
+			final AtomicInteger running = new AtomicInteger(0);
+			final AtomicInteger maximum = new AtomicInteger(0);
+			List<CompletableFuture<Long>> futures = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				futures.add(database.async(() -> {
+					maximum.accumulateAndGet(running.incrementAndGet(), Math::max);
+					try {
+						Thread.sleep(20);
+						return database.getDBTable(new Marque()).setBlankQueryAllowed(true).count();
+					} finally {
+						running.decrementAndGet();
+					}
+				}));
+			}
+			CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[]{})).get(30, TimeUnit.SECONDS);
+			assertThat(maximum.get(), is(lessThanOrEqualTo(2)));
+			assertThat(executor.getRunningCount(), is(0));
+		} finally {
+			executor.setConcurrencyLimit(originalLimit);
+		}
+	}
+
+	@Test
+	public void testWaitingTasksAreNotHandedToTheExecutor() throws Exception {
+		final AtomicInteger dispatched = new AtomicInteger(0);
+		final DBAsyncExecutor executor = new DBAsyncExecutor((Runnable runnable) -> {
+			dispatched.incrementAndGet();
+			DBAsyncExecutor.getDefaultExecutor().execute(runnable);
+		}, 1);
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		List<CompletableFuture<Long>> futures = new ArrayList<>();
+		futures.add(executor.submit(() -> {
+			started.countDown();
+			release.await(30, TimeUnit.SECONDS);
+			return database.getDBTable(new Marque()).setBlankQueryAllowed(true).count();
+		}));
+		for (int i = 0; i < 4; i++) {
+			futures.add(executor.submit(() -> database.getDBTable(new Marque()).setBlankQueryAllowed(true).count()));
+		}
+		started.await(30, TimeUnit.SECONDS);
+		assertThat(dispatched.get(), is(1));
+		assertThat(executor.getRunningCount(), is(1));
+
+		executor.setConcurrencyLimit(2);
+		futures.get(1).get(30, TimeUnit.SECONDS);
+		executor.setConcurrencyLimit(1);
+		release.countDown();
+
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[]{})).get(30, TimeUnit.SECONDS);
+		assertThat(dispatched.get(), is(5));
+		assertThat(executor.getRunningCount(), is(0));
+	}
+
+	@Test
+	public void testManyConcurrentQueriesShareOneDatabase() throws Exception {
+		final Marque example = new Marque();
+		example.name.permittedValues("TOYOTA", "HONDA");
+		final int expected = database.get(example).size();
+
+		List<CompletableFuture<Integer>> futures = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			futures.add(database.async(() -> {
+				final Marque marque = new Marque();
+				marque.name.permittedValues("TOYOTA", "HONDA");
+				return database.getDBQuery(marque).getAllInstancesOf(marque).size();
+			}));
+		}
+		for (CompletableFuture<Integer> future : futures) {
+			assertThat(future.get(30, TimeUnit.SECONDS), is(expected));
+		}
+	}
+
+	@Test
+	public void testCancelledTaskCannotExecuteStatements() throws Exception {
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch cancelled = new CountDownLatch(1);
+		final CompletableFuture<Throwable> failure = new CompletableFuture<>();
+		CompletableFuture<Long> future = database.async(() -> {
+			started.countDown();
+			cancelled.await(30, TimeUnit.SECONDS);
+			try {
+				return database.getDBTable(new Marque()).setBlankQueryAllowed(true).count();
+			} catch (SQLException ex) {
+				failure.complete(ex);
+				throw ex;
+			}
+		});
+		started.await(30, TimeUnit.SECONDS);
+		assertThat(future.cancel(true), is(true));
+		cancelled.countDown();
+
+		assertThat(future.isCancelled(), is(true));
+		assertThat(failure.get(30, TimeUnit.SECONDS), instanceOf(SQLException.class));
+	}
+}
@@ -39,6 +39,7 @@ import java.io.File;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -62,6 +63,10 @@ import nz.co.gregs.dbvolution.example.CarCompany;
 import nz.co.gregs.dbvolution.example.Marque;
 import nz.co.gregs.dbvolution.exceptions.*;
 import nz.co.gregs.dbvolution.generic.AbstractTest;
+import nz.co.gregs.dbvolution.internal.database.MemberStatistics;
+import nz.co.gregs.dbvolution.internal.database.ReadHedging;
+import nz.co.gregs.dbvolution.internal.database.ReadRoutingStrategy;
+import nz.co.gregs.dbvolution.internal.database.SynchronisationProgress;
 import nz.co.gregs.looper.Looper;
 import org.hamcrest.Matchers;
 import static org.hamcrest.Matchers.*;
@@ -1137,6 +1142,178 @@ public class DBDatabaseClusterTest extends AbstractTest {
 		}
 	}
 
+	@Test
+	public synchronized void testReadRoutingUsesMemberStatistics() throws SQLException {
+		final DBDatabaseClusterTestTable testTable = new DBDatabaseClusterTestTable();
+
+		try (DBDatabaseCluster cluster = DBDatabaseCluster.randomManualCluster(database)) {
+			try (H2MemoryDB soloDB = H2MemoryDB.createANewRandomDatabase()) {
+				cluster.addDatabaseAndWait(soloDB);
+				assertThat(cluster.size(), is(2));
+				assertThat(cluster.getReadRoutingStrategy(), is(instanceOf(ReadRoutingStrategy.RandomChoice.class)));
+
+				final DBDatabase[] members = cluster.getDetails().getReadyDatabases();
+				long completedBefore = 0;
+				for (DBDatabase member : members) {
+					completedBefore += cluster.getMemberStatistics(member).getCompletedQueries();
+				}
+				for (int i = 0; i < 10; i++) {
+					cluster.getDBTable(testTable).setBlankQueryAllowed(true).getAllRows();
+				}
+				long completedAfter = 0;
+				for (DBDatabase member : members) {
+					final MemberStatistics statistics = cluster.getMemberStatistics(member);
+					completedAfter += statistics.getCompletedQueries();
+					assertThat(statistics.getInFlightQueries(), is(0));
+				}
+				assertThat(completedAfter - completedBefore, is(10L));
+				assertThat(cluster.getDatabaseStatuses(), containsString("completed="));
+
+				// a busy member is avoided by the load aware strategies
+				final MemberStatistics busy = cluster.getMemberStatistics(members[0]);
+				final long[] started = new long[100];
+				for (int i = 0; i < started.length; i++) {
+					started[i] = busy.queryStarted();
+				}
+				try {
+					cluster.setReadRoutingStrategy(ReadRoutingStrategy.leastOutstandingRequests());
+					for (int i = 0; i < 10; i++) {
+						assertThat(cluster.getReadyDatabase(), is(members[1]));
+					}
+					cluster.setReadRoutingStrategy(ReadRoutingStrategy.powerOfTwoChoices());
+					cluster.getDBTable(testTable).setBlankQueryAllowed(true).getAllRows();
+					for (int i = 0; i < 10; i++) {
+						assertThat(cluster.getReadyDatabase(), is(members[1]));
+					}
+				} finally {
+					for (long start : started) {
+						busy.queryFinished(start, true);
+					}
+				}
+
+				cluster.setReadRoutingStrategy(ReadRoutingStrategy.preferLocal(ReadRoutingStrategy.latencyWeighted()));
+				assertThat(cluster.getReadyDatabase(), isOneOf(members));
+				cluster.setReadRoutingStrategy(null);
+				assertThat(cluster.getReadRoutingStrategy(), is(instanceOf(ReadRoutingStrategy.RandomChoice.class)));
+			}
+		}
+	}
+
+	@Test
+	public synchronized void testSynchronisationCopiesTablesInChunks() throws SQLException {
+		final DBDatabaseClusterTestTable testTable = new DBDatabaseClusterTestTable();
+
+		try (H2MemoryDB soloDB1 = H2MemoryDB.createANewRandomDatabase()) {
+			try (DBDatabaseCluster cluster = DBDatabaseCluster.randomManualCluster(soloDB1)) {
+				try (H2MemoryDB soloDB2 = H2MemoryDB.createANewRandomDatabase()) {
+					cluster.createTable(testTable);
+					final List<DBDatabaseClusterTestTable> data = new ArrayList<>();
+					for (int i = 0; i < 250; i++) {
+						data.add(new DBDatabaseClusterTestTable(i, "True", 1246974, null, 3, "UV", "MARQUE" + i, null, "Y", null, 4, true));
+					}
+					cluster.insert(data);
+					cluster.setSynchronisationChunkSize(40);
+					cluster.setSynchronisationParallelism(2);
+
+					cluster.addDatabaseAndWait(soloDB2);
+					assertThat(cluster.size(), is(2));
+					assertThat(cluster.getDatabaseStatus(soloDB2), is(DBDatabaseCluster.Status.READY));
+					assertThat(soloDB2.getDBTable(testTable).count(), is(250L));
+
+					final SynchronisationProgress progress = cluster.getSynchronisationProgress(soloDB2);
+					assertThat(progress, is(notNullValue()));
+					assertThat(progress.isFinished(), is(true));
+					assertThat(progress.hasFailed(), is(false));
+					assertThat(progress.isTableComplete(testTable.getTableName()), is(true));
+					assertThat(progress.getTablesCompleted(), is(progress.getTablesToCopy()));
+					assertThat(progress.getRowsCopied(), is(progress.getRowsExpected()));
+					assertThat(progress.getRowsCopied(), greaterThanOrEqualTo(250L));
+					assertThat(progress.getAttempts(), is(1));
+				}
+			}
+		}
+	}
+
+	@Test
+	public synchronized void testFailedSynchronisationResumes() throws SQLException {
+		final DBDatabaseClusterTestTable testTable = new DBDatabaseClusterTestTable();
+		final DBDatabaseClusterTestTable2 emptyTable = new DBDatabaseClusterTestTable2();
+
+		try (H2MemoryDB soloDB1 = H2MemoryDB.createANewRandomDatabase()) {
+			try (DBDatabaseCluster cluster = DBDatabaseCluster.randomManualCluster(soloDB1)) {
+				try (TestingDatabase testingDB = TestingDatabase.createANewRandomDatabase()) {
+					cluster.createTable(testTable);
+					cluster.createTable(emptyTable);
+					cluster.insert(createData(new Date(), new Date()));
+
+					cluster.setQuietExceptionsPreference(true);
+					testingDB.setFailOnInsert(true);
+					cluster.addDatabaseAndWait(testingDB);
+					assertThat(cluster.getDatabaseStatus(testingDB), is(DBDatabaseCluster.Status.QUARANTINED));
+
+					final SynchronisationProgress progress = cluster.getSynchronisationProgress(testingDB);
+					assertThat(progress.hasFailed(), is(true));
+					assertThat(progress.isFinished(), is(false));
+					assertThat(progress.isTableComplete(testTable.getTableName()), is(false));
+					assertThat(progress.isTableComplete(emptyTable.getTableName()), is(true));
+
+					// completed tables are not copied again so this row survives the resumed synchronisation
+					testingDB.setFailOnInsert(false);
+					testingDB.insert(new DBDatabaseClusterTestTable2(1, "True", 1246974, null, 3, "UV", "PEUGEOT", null, "Y", null, 4, true));
+					cluster.reconnectQuarantinedDatabases();
+					cluster.waitUntilSynchronised();
+					cluster.setQuietExceptionsPreference(false);
+
+					assertThat(cluster.getDatabaseStatus(testingDB), is(DBDatabaseCluster.Status.READY));
+					assertThat(cluster.getSynchronisationProgress(testingDB), is(progress));
+					assertThat(progress.isFinished(), is(true));
+					assertThat(progress.getAttempts(), is(2));
+					assertThat(testingDB.getDBTable(testTable).count(), is(22L));
+					assertThat(testingDB.getDBTable(emptyTable).count(), is(1L));
+				}
+			}
+		}
+	}
+
+	@Test
+	public synchronized void testHedgedReadsReturnTheSameResults() throws SQLException {
+		final DBDatabaseClusterTestTable testTable = new DBDatabaseClusterTestTable();
+
+		try (H2MemoryDB soloDB1 = H2MemoryDB.createANewRandomDatabase()) {
+			try (DBDatabaseCluster cluster = DBDatabaseCluster.randomManualCluster(soloDB1)) {
+				try (H2MemoryDB soloDB2 = H2MemoryDB.createANewRandomDatabase()) {
+					cluster.createTable(testTable);
+					final List<DBDatabaseClusterTestTable> data = createData(new Date(), new Date());
+					cluster.insert(data);
+					cluster.addDatabaseAndWait(soloDB2);
+					assertThat(cluster.size(), is(2));
+
+					// hedge any query slower than the fastest query
+					final ReadHedging hedging = new ReadHedging(1, 100, 0, TimeUnit.MILLISECONDS);
+					cluster.setReadHedging(hedging);
+					assertThat(cluster.getReadHedging(), is(hedging));
+					int queries = 0;
+					while (queries < 100 || (hedging.getHedges() == 0 && queries < 2000)) {
+						final List<DBDatabaseClusterTestTable> rows = cluster.getDBTable(testTable).setBlankQueryAllowed(true).getAllRows();
+						assertThat(rows.size(), is(data.size()));
+						queries++;
+					}
+					final long reads = queries;
+					assertThat(hedging.getReads(), is(reads));
+					assertThat(hedging.getDelay(TimeUnit.NANOSECONDS), lessThan(Long.MAX_VALUE));
+					assertThat(hedging.getHedges(), greaterThan(0L));
+					assertThat(hedging.getHedges(), lessThanOrEqualTo(hedging.getReads()));
+					assertThat(hedging.getHedgesWon(), lessThanOrEqualTo(hedging.getHedges()));
+					assertThat(cluster.getDatabaseStatuses(), containsString("hedged reads:"));
+
+					cluster.setReadHedging(null);
+					cluster.getDBTable(testTable).setBlankQueryAllowed(true).getAllRows();
+					assertThat(hedging.getReads(), is(reads));
+				}
+			}
+		}
+	}
+
 	private List<DBDatabaseClusterTestTable> createData(Date firstDate, Date secondDate) {
 		List<DBDatabaseClusterTestTable> data = new ArrayList<>();
 		data.add(new DBDatabaseClusterTestTable(4893059, "True", 1246974, null, 3, "UV", "PEUGEOT", null, "Y", null, 4, true));
@@ -0,0 +1,78 @@
+package nz.co.gregs.dbvolution;
+
+import nz.co.gregs.dbvolution.databases.DBDatabase;
+import nz.co.gregs.dbvolution.databases.H2MemoryDB;
+import nz.co.gregs.dbvolution.databases.settingsbuilders.H2MemorySettingsBuilder;
+import nz.co.gregs.dbvolution.example.Marque;
+
+/**
+ * Measures how quickly DBQuerys can be created, with and without labelling
+ * each query with the code that created it.
+ *
+ * <p>
+ * Creating a query with caller labels enabled walks the stack to the first
+ * frame outside the query creating classes. The label is only formatted when
+ * it is read, so both cases are measured. Not run as part of the test suite,
+ * run the main method from the test classpath instead:
+ *
+ * <pre>
+ * java -cp target/classes:target/test-classes:... nz.co.gregs.dbvolution.DBQueryConstructionBenchmark
+ * </pre>
+ *
+ * @author Gregory Graham
+ */
+public class DBQueryConstructionBenchmark {
+
+	private static final int QUERIES = 100_000;
+	private static final int ROUNDS = 10;
+
+	public static void main(String[] args) throws Exception {
+		final DBDatabase database = new H2MemoryDB(
+				new H2MemorySettingsBuilder()
+						.setDatabaseName("DBQueryConstructionBenchmark")
+						.setUsername("")
+						.setPassword("")
+		);
+		final boolean callerLabelsEnabled = DBQuery.isCallerLabelsEnabled();
+		try {
+			long unlabelled = Long.MAX_VALUE;
+			long labelledUnread = Long.MAX_VALUE;
+			long labelledRead = Long.MAX_VALUE;
+			for (int round = 0; round < ROUNDS; round++) {
+				DBQuery.setCallerLabelsEnabled(false);
+				long start = System.nanoTime();
+				for (int i = 0; i < QUERIES; i++) {
+					database.getDBQuery(new Marque());
+				}
+				unlabelled = Math.min(unlabelled, System.nanoTime() - start);
+
+				DBQuery.setCallerLabelsEnabled(true);
+				start = System.nanoTime();
+				for (int i = 0; i < QUERIES; i++) {
+					database.getDBQuery(new Marque());
+				}
+				labelledUnread = Math.min(labelledUnread, System.nanoTime() - start);
+
+				start = System.nanoTime();
+				for (int i = 0; i < QUERIES; i++) {
+					if (!database.getDBQuery(new Marque()).getQueryLabel().startsWith(DBQueryConstructionBenchmark.class.getName())) {
+						throw new IllegalStateException("Query was not labelled with its caller");
+					}
+				}
+				labelledRead = Math.min(labelledRead, System.nanoTime() - start);
+			}
+			report("labels off", unlabelled);
+			report("labels on", labelledUnread);
+			report("labels on, read", labelledRead);
+		} finally {
+			DBQuery.setCallerLabelsEnabled(callerLabelsEnabled);
+			database.stop();
+		}
+		// DBvolution's timer threads are not daemons
+		System.exit(0);
+	}
+
+	private static void report(String label, long nanos) {
+		System.out.format("%-17s %6.2f us per query%n", label + ":", nanos / (double) QUERIES / 1000);
+	}
+}
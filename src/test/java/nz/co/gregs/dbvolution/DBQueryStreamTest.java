@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution;
+
+import java.sql.SQLException;
+import java.util.Date;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import nz.co.gregs.dbvolution.databases.DBDatabaseImplementation;
+import nz.co.gregs.dbvolution.example.CarCompany;
+import nz.co.gregs.dbvolution.example.Marque;
+import nz.co.gregs.dbvolution.exceptions.ExceptionThrownDuringTransaction;
+import nz.co.gregs.dbvolution.generic.AbstractTest;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Gregory Graham
+ */
+public class DBQueryStreamTest extends AbstractTest {
+
+	public DBQueryStreamTest(Object testIterationName, Object db) {
+		super(testIterationName, db);
+	}
+
+	private int getActiveConnections() {
+		if (database instanceof DBDatabaseImplementation) {
+			return ((DBDatabaseImplementation) database).getConnectionPoolStatistics().getActive();
+		}
+		return 0;
+	}
+
+	private void assertNoConnectionsInUse() {
+		if (database instanceof DBDatabaseImplementation) {
+			assertThat(((DBDatabaseImplementation) database).getConnectionPoolStatistics().getActive(), is(0));
+		}
+	}
+
+	@Test
+	public void testStreamMatchesGetAllRows() throws SQLException {
+		final Marque marque = new Marque();
+		final DBQuery query = database.getDBQuery(marque, new CarCompany()).setBlankQueryAllowed(true);
+		query.setSortOrder(marque.column(marque.uidMarque));
+		List<Long> expected = query.getAllInstancesOf(marque)
+				.stream().map(m -> m.uidMarque.getValue()).collect(Collectors.toList());
+
+		try (Stream<DBQueryRow> stream = query.setFetchSize(2).stream()) {
+			List<Long> actual = stream
+					.map(row -> row.get(marque).uidMarque.getValue())
+					.collect(Collectors.toList());
+			assertThat(actual, is(expected));
+		}
+		assertNoConnectionsInUse();
+	}
+
+	@Test
+	public void testCursorClosesWhenExhausted() throws SQLException {
+		Marque marque = new Marque();
+		marque.name.permittedValues("TOYOTA", "HONDA");
+		DBCursor<DBQueryRow> cursor = database.getDBQuery(marque).iterator();
+		int count = 0;
+		while (cursor.hasNext()) {
+			assertThat(cursor.next().get(marque), notNullValue());
+			count++;
+		}
+		assertThat(count, is(2));
+		assertThat(cursor.isClosed(), is(true));
+		assertNoConnectionsInUse();
+		try {
+			cursor.next();
+			throw new AssertionError("next() should fail on a closed cursor");
+		} catch (NoSuchElementException expected) {
+		}
+	}
+
+	@Test
+	public void testClosingStreamEarlyReleasesConnection() throws SQLException {
+		final DBQuery query = database.getDBQuery(new Marque()).setBlankQueryAllowed(true);
+		DBCursor<DBQueryRow> cursor = query.iterator();
+		try (Stream<DBQueryRow> stream = cursor.stream()) {
+			assertThat(stream.limit(3).count(), is(3L));
+		}
+		assertThat(cursor.isClosed(), is(true));
+		assertNoConnectionsInUse();
+	}
+
+	@Test
+	public void testStreamInsideTransaction() throws Exception {
+		Long count = database.doTransaction((db) -> {
+			Marque marque = new Marque();
+			marque.name.permittedValues("TOYOTA");
+			try {
+				db.delete(db.getDBTable(marque).getAllRows());
+			} catch (SQLException ex) {
+				throw new ExceptionThrownDuringTransaction(ex);
+			}
+			try (Stream<Marque> stream = db.getDBTable(new Marque()).setBlankQueryAllowed(true).stream()) {
+				return stream.filter(m -> "TOYOTA".equals(m.name.stringValue())).count();
+			} catch (SQLException ex) {
+				throw new ExceptionThrownDuringTransaction(ex);
+			}
+		}, false);
+		assertThat(count, is(0L));
+
+		Marque marque = new Marque();
+		marque.name.permittedValues("TOYOTA");
+		assertThat(database.getDBTable(marque).getAllRows().size(), is(1));
+	}
+
+	@Test
+	public void testClosingCursorInsideTransactionKeepsTheConnection() throws Exception {
+		Integer found = database.doTransaction((db) -> {
+			try {
+				final int activeConnections = getActiveConnections();
+				DBCursor<DBQueryRow> cursor = db.getDBQuery(new Marque()).setBlankQueryAllowed(true).iterator();
+				assertThat(cursor.hasNext(), is(true));
+				cursor.close();
+				assertThat(cursor.isClosed(), is(true));
+				assertThat(getActiveConnections(), is(activeConnections));
+
+				db.insert(new Marque(9876, "False", 1246974, "", 0, "", "CURSORTEST", "", "Y", new Date(), 1, null));
+				Marque marque = new Marque();
+				marque.name.permittedValues("CURSORTEST");
+				return db.getDBTable(marque).getAllRows().size();
+			} catch (SQLException ex) {
+				throw new ExceptionThrownDuringTransaction(ex);
+			}
+		}, false);
+		assertThat(found, is(1));
+
+		Marque marque = new Marque();
+		marque.name.permittedValues("CURSORTEST");
+		assertThat(database.getDBTable(marque).getAllRows().size(), is(0));
+		assertNoConnectionsInUse();
+	}
+
+	@Test
+	public void testDBTableStream() throws SQLException {
+		Marque marque = new Marque();
+		marque.name.permittedValuesIgnoreCase("toyota", "honda", "ford");
+		final DBTable<Marque> table = database.getDBTable(marque).setFetchSize(1);
+		final List<Marque> expected = table.getAllRows();
+		try (Stream<Marque> stream = table.stream()) {
+			assertThat(stream.map(m -> m.name.stringValue()).collect(Collectors.toList()),
+					containsInAnyOrder(expected.stream().map(m -> m.name.stringValue()).toArray()));
+		}
+		assertNoConnectionsInUse();
+	}
+}
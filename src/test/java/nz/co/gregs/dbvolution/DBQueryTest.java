@@ -314,4 +314,27 @@ public class DBQueryTest extends AbstractTest {
 		Assert.assertEquals(CarCompany.class, rowArray[0].getClass());
 		Assert.assertEquals(CompanyLogo.class, rowArray[1].getClass());
 	}
+
+	@Test
+	public void testQueriesAreLabelledWithTheirCaller() throws SQLException {
+		DBQuery query = database.getDBQuery(new Marque());
+
+		assertThat(query.getQueryLabel(), containsString(DBQueryTest.class.getName() + ".testQueriesAreLabelledWithTheirCaller("));
+
+		query.setQueryLabel("EXPLICIT LABEL");
+		assertThat(query.getQueryLabel(), is("EXPLICIT LABEL"));
+	}
+
+	@Test
+	public void testCallerLabelsCanBeDisabled() throws SQLException {
+		final boolean callerLabelsEnabled = DBQuery.isCallerLabelsEnabled();
+		try {
+			DBQuery.setCallerLabelsEnabled(false);
+			DBQuery query = database.getDBQuery(new Marque());
+
+			assertThat(query.getQueryLabel(), is("UNLABELLED"));
+		} finally {
+			DBQuery.setCallerLabelsEnabled(callerLabelsEnabled);
+		}
+	}
 }
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import nz.co.gregs.dbvolution.annotations.DBColumn;
+import nz.co.gregs.dbvolution.datatypes.DBNumber;
+import nz.co.gregs.dbvolution.datatypes.DBString;
+import nz.co.gregs.dbvolution.example.CarCompany;
+import nz.co.gregs.dbvolution.example.Marque;
+import nz.co.gregs.dbvolution.exceptions.UnableToUseKeysetPaginationException;
+import nz.co.gregs.dbvolution.expressions.NumberExpression;
+import nz.co.gregs.dbvolution.generic.AbstractTest;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Gregory Graham
+ */
+public class KeysetPaginationTest extends AbstractTest {
+
+	public KeysetPaginationTest(Object testIterationName, Object db) {
+		super(testIterationName, db);
+	}
+
+	@Test
+	public void testDBQueryKeysetPagesMatchAllRows() throws SQLException {
+		final Marque marque = new Marque();
+		final CarCompany carCompany = new CarCompany();
+		final DBQuery query = database.getDBQuery(marque, carCompany).setBlankQueryAllowed(true);
+		query.setSortOrder(carCompany.column(carCompany.name).descending());
+
+		final DBQuery fullQuery = database.getDBQuery(marque, carCompany).setBlankQueryAllowed(true);
+		fullQuery.setSortOrder(
+				carCompany.column(carCompany.name).descending(),
+				marque.column(marque.uidMarque).ascending(),
+				carCompany.column(carCompany.uidCarCompany).ascending());
+		final List<Long> expected = fullQuery.getAllRows().stream()
+				.map(row -> row.get(marque).uidMarque.getValue())
+				.collect(Collectors.toList());
+
+		query.setRowLimit(5);
+		List<Long> actual = new ArrayList<>();
+		List<DBQueryRow> page = query.getNextPage(null);
+		while (!page.isEmpty()) {
+			assertThat(page.size(), lessThanOrEqualTo(5));
+			page.forEach(row -> actual.add(row.get(marque).uidMarque.getValue()));
+			page = query.getNextPage(page.get(page.size() - 1));
+		}
+		assertThat(actual, is(expected));
+
+		// the query is unchanged by paging
+		query.setRowLimit(0);
+		assertThat(query.getAllRows().size(), is(expected.size()));
+	}
+
+	@Test
+	public void testDBTableKeysetPages() throws SQLException {
+		final DBTable<Marque> table = database.getDBTable(new Marque()).setBlankQueryAllowed(true);
+		final List<Long> expected = table.getAllRows().stream()
+				.map(m -> m.uidMarque.getValue())
+				.sorted()
+				.collect(Collectors.toList());
+
+		table.setRowLimit(4);
+		List<Long> actual = new ArrayList<>();
+		List<Marque> page = table.getNextPage(null);
+		while (!page.isEmpty()) {
+			page.forEach(m -> actual.add(m.uidMarque.getValue()));
+			page = table.getNextPage(page.get(page.size() - 1));
+		}
+		assertThat(actual, is(expected));
+	}
+
+	@Test
+	public void testDBReportKeysetPagesWithAggregatedSortColumn() throws SQLException {
+		final CompanyCountReport report = new CompanyCountReport();
+		report.setBlankQueryAllowed(true);
+		final List<String> expected = DBReport.getAllRows(database, report).stream()
+				.map(r -> r.carCompanyName.stringValue())
+				.collect(Collectors.toList());
+		assertThat(expected.size(), greaterThan(2));
+
+		List<String> actual = new ArrayList<>();
+		List<CompanyCountReport> page = DBReport.getNextPage(database, report, null, 2);
+		while (!page.isEmpty()) {
+			assertThat(page.size(), lessThanOrEqualTo(2));
+			page.forEach(r -> actual.add(r.carCompanyName.stringValue()));
+			page = DBReport.getNextPage(database, report, page.get(page.size() - 1), 2);
+		}
+		assertThat(actual, is(expected));
+	}
+
+	@Test(expected = UnableToUseKeysetPaginationException.class)
+	public void testExpressionSortOrderIsRejected() throws SQLException {
+		final Marque marque = new Marque();
+		final DBQuery query = database.getDBQuery(marque).setBlankQueryAllowed(true);
+		query.setSortOrder(marque.column(marque.name).length().ascending());
+		query.getNextPage(null);
+	}
+
+	public static class CompanyCountReport extends DBReport {
+
+		private static final long serialVersionUID = 1L;
+
+		public Marque marque = new Marque();
+		public CarCompany carCompany = new CarCompany();
+		@DBColumn
+		public DBString carCompanyName = new DBString(carCompany.column(carCompany.name).uppercase());
+		@DBColumn
+		public DBNumber count = new DBNumber(NumberExpression.countAll());
+
+		{
+			this.setSortOrder(this.column(this.count).descending(), this.column(this.carCompanyName).ascending());
+		}
+	}
+}
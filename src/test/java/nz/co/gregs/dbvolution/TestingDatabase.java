@@ -132,6 +132,15 @@ public class TestingDatabase extends H2MemoryDB {
 		this.failOnDelete = failOnDelete;
 	}
 
+	@Override
+	public DBActionList insert(Collection<? extends DBRow> listOfRowsToInsert) throws SQLException {
+		controller.checkBrake();
+		if (failOnInsert) {
+			throw new SQLException("DELIBERATELY FAILING DURING INSERT");
+		}
+		return super.insert(listOfRowsToInsert);
+	}
+
 	@Override
 	public DBActionList executeDBAction(DBAction action) throws SQLException, NoAvailableDatabaseException {
 		if (failOnInsert && (action instanceof DBInsert)){
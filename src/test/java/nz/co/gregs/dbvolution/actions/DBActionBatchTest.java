@@ -0,0 +1,132 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.actions;
+
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import nz.co.gregs.dbvolution.databases.DBDatabaseCluster;
+import nz.co.gregs.dbvolution.example.Marque;
+import nz.co.gregs.dbvolution.generic.AbstractTest;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Gregory Graham
+ */
+public class DBActionBatchTest extends AbstractTest {
+
+	public DBActionBatchTest(Object testIterationName, Object db) {
+		super(testIterationName, db);
+	}
+
+	@Test
+	public void testBatchedUpdatesReportUpdateCountsAndRevert() throws SQLException {
+		final int originalBatchSize = database.getBatchSize();
+		try {
+			database.setBatchSize(3);
+			List<Marque> marques = database.getDBTable(new Marque()).setBlankQueryAllowed(true).getAllRows();
+			assertThat(marques.size(), greaterThan(3));
+			for (Marque marque : marques) {
+				marque.individualAllocationsAllowed.setValue("B");
+			}
+			DBActionList updates = database.update(marques);
+			assertThat(updates.size(), is(marques.size()));
+			if (!(database instanceof DBDatabaseCluster)) {
+				for (DBAction update : updates) {
+					assertThat(update.getUpdateCount(), is(1));
+				}
+			}
+
+			Marque example = new Marque();
+			example.individualAllocationsAllowed.permittedValues("B");
+			assertThat(database.getDBTable(example).count(), is((long) marques.size()));
+
+			updates.getRevertActionList().execute(database);
+			assertThat(database.getDBTable(example).count(), is(0L));
+		} finally {
+			database.setBatchSize(originalBatchSize);
+		}
+	}
+
+	@Test
+	public void testBatchedUpdatesWithBindParameters() throws SQLException {
+		database.setBindParametersWhenPossible(true);
+		try {
+			List<Marque> marques = database.getDBTable(new Marque()).setBlankQueryAllowed(true).getAllRows();
+			Map<Long, Long> originalValues = new HashMap<>();
+			for (Marque marque : marques) {
+				originalValues.put(marque.uidMarque.getValue(), marque.updateCount.getValue());
+				marque.updateCount.setValue(marque.uidMarque.getValue() + 1000000);
+			}
+			DBActionList updates = database.update(marques);
+			assertThat(updates.size(), is(marques.size()));
+			if (!(database instanceof DBDatabaseCluster)) {
+				for (DBAction update : updates) {
+					assertThat(update.getUpdateCount(), is(1));
+				}
+			}
+			for (Marque marque : database.getDBTable(new Marque()).setBlankQueryAllowed(true).getAllRows()) {
+				assertThat(marque.updateCount.getValue(), is(marque.uidMarque.getValue() + 1000000));
+			}
+
+			updates.getRevertActionList().execute(database);
+			for (Marque marque : database.getDBTable(new Marque()).setBlankQueryAllowed(true).getAllRows()) {
+				assertThat(marque.updateCount.getValue(), is(originalValues.get(marque.uidMarque.getValue())));
+			}
+		} finally {
+			database.setBindParametersWhenPossible(false);
+		}
+	}
+
+	@Test
+	public void testBatchedDeletesAndRevert() throws SQLException {
+		List<Marque> marques = database.getDBTable(new Marque()).setBlankQueryAllowed(true).getAllRows();
+		final long originalCount = marques.size();
+
+		DBActionList deletes = database.delete(marques.subList(0, 5));
+		assertThat(deletes.size(), is(5));
+		assertThat(database.getDBTable(new Marque()).setBlankQueryAllowed(true).count(), is(originalCount - 5));
+
+		deletes.getRevertActionList().execute(database);
+		assertThat(database.getDBTable(new Marque()).setBlankQueryAllowed(true).count(), is(originalCount));
+	}
+
+	@Test
+	public void testBatchingCanBeDisabled() throws SQLException {
+		final boolean originalBatching = database.getBatchSQLStatementsWhenPossible();
+		try {
+			database.setBatchSQLStatementsWhenPossible(false);
+			List<Marque> marques = database.getDBTable(new Marque()).setBlankQueryAllowed(true).getAllRows();
+			for (Marque marque : marques) {
+				marque.individualAllocationsAllowed.setValue("U");
+			}
+			DBActionList updates = database.update(marques);
+			assertThat(updates.size(), is(marques.size()));
+			for (DBAction update : updates) {
+				assertThat(update.getUpdateCount(), nullValue());
+			}
+			Marque example = new Marque();
+			example.individualAllocationsAllowed.permittedValues("U");
+			assertThat(database.getDBTable(example).count(), is((long) marques.size()));
+		} finally {
+			database.setBatchSQLStatementsWhenPossible(originalBatching);
+		}
+	}
+}
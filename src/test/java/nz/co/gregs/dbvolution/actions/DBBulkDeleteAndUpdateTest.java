@@ -0,0 +1,226 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.actions;
+
+import java.util.ArrayList;
+import java.util.List;
+import nz.co.gregs.dbvolution.annotations.*;
+import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.databases.DBDatabaseCluster;
+import nz.co.gregs.dbvolution.datatypes.*;
+import nz.co.gregs.dbvolution.generic.AbstractTest;
+import static org.hamcrest.Matchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import org.junit.Test;
+
+/**
+ *
+ * @author Gregory Graham
+ */
+public class DBBulkDeleteAndUpdateTest extends AbstractTest {
+
+	public DBBulkDeleteAndUpdateTest(Object testIterationName, Object db) {
+		super(testIterationName, db);
+	}
+
+	@Test
+	public void testDeleteManyRowsByPrimaryKeyAndRevert() throws Exception {
+		List<BulkKeyTable> rows = createBulkKeyTable(20);
+		final int originalBatchSize = database.getBatchSize();
+		try {
+			database.setBatchSize(3);
+			if (!(database instanceof DBDatabaseCluster)) {
+				DBActionList planned = DBDelete.getDeletes(database, rows.subList(0, 10));
+				assertThat(planned.size(), is(1));
+				assertThat(planned.get(0), instanceOf(DBDeleteByPrimaryKeys.class));
+				assertThat(planned.get(0).getSQLStatements(database).size(), is(4));
+			}
+			DBActionList deletes = database.delete(rows.subList(0, 10));
+			assertThat(deletes.size(), is(10));
+			if (!(database instanceof DBDatabaseCluster)) {
+				for (DBAction delete : deletes) {
+					assertThat(delete, instanceOf(DBDeleteByPrimaryKey.class));
+					assertThat(delete.getUpdateCount(), is(1));
+				}
+			}
+			assertThat(database.getDBTable(new BulkKeyTable()).setBlankQueryAllowed(true).count(), is(10L));
+
+			deletes.getRevertActionList().execute(database);
+		} finally {
+			database.setBatchSize(originalBatchSize);
+		}
+		List<BulkKeyTable> found = database.getDBTable(new BulkKeyTable()).setBlankQueryAllowed(true).getAllRows();
+		assertThat(found.size(), is(20));
+		for (BulkKeyTable row : found) {
+			assertThat(row.name.getValue(), is("Row " + row.pk.getValue()));
+		}
+	}
+
+	@Test
+	public void testDeleteManyRowsByCompositeKey() throws Exception {
+		List<BulkCompositeKeyTable> rows = createBulkCompositeKeyTable();
+		List<BulkCompositeKeyTable> toDelete = new ArrayList<>();
+		for (BulkCompositeKeyTable row : rows) {
+			if (row.second.getValue() == 1L) {
+				toDelete.add(row);
+			}
+		}
+		if (!(database instanceof DBDatabaseCluster)) {
+			assertThat(DBDelete.getDeletes(database, toDelete).size(), is(1));
+		}
+		DBActionList deletes = database.delete(toDelete);
+		assertThat(deletes.size(), is(toDelete.size()));
+		List<BulkCompositeKeyTable> found = database.getDBTable(new BulkCompositeKeyTable()).setBlankQueryAllowed(true).getAllRows();
+		assertThat(found.size(), is(rows.size() - toDelete.size()));
+		for (BulkCompositeKeyTable row : found) {
+			assertThat(row.second.getValue(), not(1L));
+		}
+	}
+
+	@Test
+	public void testUpdateRowsWithTheSameChangesTogetherAndRevert() throws Exception {
+		List<BulkKeyTable> rows = createBulkKeyTable(20);
+		final int originalBatchSize = database.getBatchSize();
+		try {
+			database.setBatchSize(3);
+			for (BulkKeyTable row : rows.subList(0, 10)) {
+				row.amount.setValue(-1);
+			}
+			for (BulkKeyTable row : rows.subList(10, 15)) {
+				row.name.setValue("Renamed");
+			}
+			if (!(database instanceof DBDatabaseCluster)) {
+				DBActionList planned = DBUpdate.getUpdates(rows.toArray(new DBRow[0]));
+				assertThat(planned.size(), is(2));
+				assertThat(planned.get(0), instanceOf(DBUpdateSimpleTypesUsingPrimaryKeys.class));
+				assertThat(planned.get(0).getSQLStatements(database).size(), is(4));
+			}
+			DBActionList updates = database.update(rows);
+			assertThat(updates.size(), is(15));
+			if (!(database instanceof DBDatabaseCluster)) {
+				for (DBAction update : updates) {
+					assertThat(update.getUpdateCount(), is(1));
+				}
+			}
+			BulkKeyTable example = new BulkKeyTable();
+			example.amount.permittedValues(-1);
+			assertThat(database.getDBTable(example).count(), is(10L));
+			example = new BulkKeyTable();
+			example.name.permittedValues("Renamed");
+			assertThat(database.getDBTable(example).count(), is(5L));
+
+			updates.getRevertActionList().execute(database);
+		} finally {
+			database.setBatchSize(originalBatchSize);
+		}
+		List<BulkKeyTable> found = database.getDBTable(new BulkKeyTable()).setBlankQueryAllowed(true).getAllRows();
+		assertThat(found.size(), is(20));
+		for (BulkKeyTable row : found) {
+			assertThat(row.name.getValue(), is("Row " + row.pk.getValue()));
+			assertThat(row.amount.getValue(), is(row.pk.getValue() * 10));
+		}
+	}
+
+	@Test
+	public void testUpdateRowsByCompositeKey() throws Exception {
+		List<BulkCompositeKeyTable> rows = createBulkCompositeKeyTable();
+		for (BulkCompositeKeyTable row : rows) {
+			row.name.setValue("Updated");
+		}
+		if (!(database instanceof DBDatabaseCluster)) {
+			assertThat(DBUpdate.getUpdates(rows.toArray(new DBRow[0])).size(), is(1));
+		}
+		DBActionList updates = database.update(rows);
+		assertThat(updates.size(), is(rows.size()));
+		BulkCompositeKeyTable example = new BulkCompositeKeyTable();
+		example.name.permittedValues("Updated");
+		assertThat(database.getDBTable(example).count(), is((long) rows.size()));
+	}
+
+	private List<BulkKeyTable> createBulkKeyTable(int numberOfRows) throws Exception {
+		database.preventDroppingOfTables(false);
+		database.dropTableNoExceptions(new BulkKeyTable());
+		database.createTableNoExceptions(new BulkKeyTable());
+		List<BulkKeyTable> rows = new ArrayList<>();
+		for (int i = 0; i < numberOfRows; i++) {
+			rows.add(new BulkKeyTable(i, "Row " + i, i * 10));
+		}
+		database.insert(rows);
+		BulkKeyTable table = new BulkKeyTable();
+		return database.getDBTable(table).setBlankQueryAllowed(true).setSortOrder(table.column(table.pk)).getAllRows();
+	}
+
+	private List<BulkCompositeKeyTable> createBulkCompositeKeyTable() throws Exception {
+		database.preventDroppingOfTables(false);
+		database.dropTableNoExceptions(new BulkCompositeKeyTable());
+		database.createTableNoExceptions(new BulkCompositeKeyTable());
+		for (int first = 0; first < 4; first++) {
+			for (int second = 0; second < 3; second++) {
+				database.insert(new BulkCompositeKeyTable(first, second, "Row"));
+			}
+		}
+		return database.getDBTable(new BulkCompositeKeyTable()).setBlankQueryAllowed(true).getAllRows();
+	}
+
+	public static class BulkKeyTable extends DBRow {
+
+		private static final long serialVersionUID = 1L;
+
+		@DBPrimaryKey
+		@DBColumn
+		public DBInteger pk = new DBInteger();
+
+		@DBColumn
+		public DBString name = new DBString();
+
+		@DBColumn
+		public DBInteger amount = new DBInteger();
+
+		public BulkKeyTable() {
+		}
+
+		public BulkKeyTable(int pk, String name, int amount) {
+			this.pk.setValue(pk);
+			this.name.setValue(name);
+			this.amount.setValue(amount);
+		}
+	}
+
+	public static class BulkCompositeKeyTable extends DBRow {
+
+		private static final long serialVersionUID = 1L;
+
+		@DBPrimaryKey
+		@DBColumn
+		public DBInteger first = new DBInteger();
+
+		@DBPrimaryKey
+		@DBColumn
+		public DBInteger second = new DBInteger();
+
+		@DBColumn
+		public DBString name = new DBString();
+
+		public BulkCompositeKeyTable() {
+		}
+
+		public BulkCompositeKeyTable(int first, int second, String name) {
+			this.first.setValue(first);
+			this.second.setValue(second);
+			this.name.setValue(name);
+		}
+	}
+}
@@ -15,7 +15,11 @@
  */
 package nz.co.gregs.dbvolution.actions;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import nz.co.gregs.dbvolution.DBRow;
 import nz.co.gregs.dbvolution.annotations.*;
 import nz.co.gregs.dbvolution.datatypes.*;
@@ -23,6 +27,7 @@ import nz.co.gregs.dbvolution.example.CarCompany;
 import nz.co.gregs.dbvolution.generic.AbstractTest;
 import static org.hamcrest.Matchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
+import org.junit.Assert;
 import org.junit.Test;
 
 /**
@@ -67,6 +72,149 @@ public class DBBulkInsertTest extends AbstractTest {
 		assertThat(row2.pk.getValue(), is(2l));
 	}
 	
+	@Test
+	public void testSaveManyRowsInSeveralBatches() throws Exception {
+		database.preventDroppingOfTables(false);
+		database.dropTableNoExceptions(new BulkInsertTestTable());
+		database.createTableNoExceptions(new BulkInsertTestTable());
+		final int originalBatchSize = database.getBatchSize();
+		try {
+			database.setBatchSize(100);
+			List<BulkInsertTestTable> rows = new ArrayList<>();
+			for (int i = 0; i < 1050; i++) {
+				rows.add(new BulkInsertTestTable("Row " + i));
+			}
+
+			DBActionList result = database.insert(rows);
+			assertThat(result.size(), is(1050));
+			assertThat(database.getDBTable(new BulkInsertTestTable()).setBlankQueryAllowed(true).count(), is(1050L));
+
+			Set<Long> keys = new HashSet<>();
+			for (BulkInsertTestTable row : rows) {
+				assertThat(row.pk.isDefined(), is(true));
+				keys.add(row.pk.getValue());
+				assertThat(row.hasChangedSimpleTypes(), is(false));
+			}
+			assertThat(keys.size(), is(1050));
+
+			BulkInsertTestTable example = new BulkInsertTestTable();
+			example.pk.permittedValues(rows.get(1049).pk.getValue());
+			assertThat(database.getDBTable(example).getOnlyRow().string.getValue(), is("Row 1049"));
+		} finally {
+			database.setBatchSize(originalBatchSize);
+		}
+	}
+
+	@Test
+	public void testSaveWithMixedPrimaryKeysAndRevert() throws Exception {
+		database.preventDroppingOfTables(false);
+		database.dropTableNoExceptions(new BulkInsertTestTable());
+		database.createTableNoExceptions(new BulkInsertTestTable());
+		final BulkInsertTestTable row = new BulkInsertTestTable("Lada");
+		final BulkInsertTestTable row2 = new BulkInsertTestTable("Saab");
+		row2.pk.setValue(100);
+		final BulkInsertTestTable row3 = new BulkInsertTestTable("Volvo");
+		final BulkInsertTestTable row4 = new BulkInsertTestTable();
+
+		DBActionList result = database.insert(row, row2, row3, row4);
+		assertThat(result.size(), is(4));
+		assertThat(row2.pk.getValue(), is(100L));
+		assertThat(row.pk.isDefined(), is(true));
+		assertThat(row3.pk.isDefined(), is(true));
+		assertThat(row4.pk.isDefined(), is(true));
+		assertThat(database.getDBTable(new BulkInsertTestTable()).setBlankQueryAllowed(true).count(), is(4L));
+
+		result.getRevertActionList().execute(database);
+		assertThat(database.getDBTable(new BulkInsertTestTable()).setBlankQueryAllowed(true).count(), is(0L));
+	}
+
+	@Test
+	public void testSaveWithDuplicateRowInBatch() throws Exception {
+		database.preventDroppingOfTables(false);
+		database.dropTableNoExceptions(new BulkInsertTestTable());
+		database.createTableNoExceptions(new BulkInsertTestTable());
+		final BulkInsertTestTable existing = new BulkInsertTestTable("Existing");
+		existing.pk.setValue(2);
+		database.insert(existing);
+
+		List<BulkInsertTestTable> rows = new ArrayList<>();
+		for (int i = 1; i <= 4; i++) {
+			final BulkInsertTestTable newRow = new BulkInsertTestTable("Row " + i);
+			newRow.pk.setValue(i);
+			rows.add(newRow);
+		}
+		try {
+			database.insert(rows);
+			Assert.fail("Should have thrown an exception for the duplicate primary key");
+		} catch (SQLException ex) {
+			// the duplicate row is reported just as it would be for a single insert
+		}
+
+		BulkInsertTestTable example = new BulkInsertTestTable();
+		example.pk.permittedValues(1);
+		assertThat(database.getDBTable(example).getOnlyRow().string.getValue(), is("Row 1"));
+		example.pk.permittedValues(2);
+		assertThat(database.getDBTable(example).getOnlyRow().string.getValue(), is("Existing"));
+	}
+
+	@Test
+	public void testFailedBatchWithGeneratedKeysDoesNotDuplicateRows() throws Exception {
+		database.preventDroppingOfTables(false);
+		database.dropTableNoExceptions(new BulkInsertChildTable());
+		database.preventDroppingOfTables(false);
+		database.dropTableNoExceptions(new BulkInsertTestTable());
+		database.createTableNoExceptions(new BulkInsertTestTable());
+		database.createTableWithForeignKeys(new BulkInsertChildTable());
+		final BulkInsertTestTable parent = new BulkInsertTestTable("Parent");
+		database.insert(parent);
+
+		List<BulkInsertChildTable> rows = new ArrayList<>();
+		rows.add(new BulkInsertChildTable(parent.pk.getValue(), "Child 1"));
+		rows.add(new BulkInsertChildTable(parent.pk.getValue() + 1000, "Orphan"));
+		rows.add(new BulkInsertChildTable(parent.pk.getValue(), "Child 3"));
+		rows.add(new BulkInsertChildTable(parent.pk.getValue(), "Child 4"));
+		try {
+			database.insert(rows);
+			Assert.fail("Should have thrown an exception for the missing parent");
+		} catch (SQLException ex) {
+			// the orphan is reported just as it would be for a single insert
+		}
+
+		final List<BulkInsertChildTable> inserted = database.getDBTable(new BulkInsertChildTable()).setBlankQueryAllowed(true).getAllRows();
+		Set<String> names = new HashSet<>();
+		for (BulkInsertChildTable child : inserted) {
+			assertThat(names.add(child.string.getValue()), is(true));
+		}
+		assertThat(names, not(hasItem("Orphan")));
+		database.preventDroppingOfTables(false);
+		database.dropTableNoExceptions(new BulkInsertChildTable());
+	}
+
+	public static class BulkInsertChildTable extends DBRow {
+
+		private static final long serialVersionUID = 1L;
+
+		@DBPrimaryKey
+		@DBAutoIncrement
+		@DBColumn
+		DBInteger pk = new DBInteger();
+
+		@DBForeignKey(BulkInsertTestTable.class)
+		@DBColumn
+		DBInteger parent = new DBInteger();
+
+		@DBColumn
+		DBString string = new DBString();
+
+		public BulkInsertChildTable() {
+		}
+
+		public BulkInsertChildTable(Long parentKey, String str) {
+			parent.setValue(parentKey);
+			string.setValue(str);
+		}
+	}
+
 	public static class BulkInsertTestTable extends DBRow {
 
 	private static final long serialVersionUID = 1L;
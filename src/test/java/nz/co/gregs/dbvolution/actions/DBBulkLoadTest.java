@@ -0,0 +1,170 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.actions;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.annotations.*;
+import nz.co.gregs.dbvolution.datatypes.*;
+import nz.co.gregs.dbvolution.generic.AbstractTest;
+import static org.hamcrest.Matchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import org.junit.Test;
+
+/**
+ *
+ * @author Gregory Graham
+ */
+public class DBBulkLoadTest extends AbstractTest {
+
+	public DBBulkLoadTest(Object testIterationName, Object db) {
+		super(testIterationName, db);
+	}
+
+	@Test
+	public void testLoadAwkwardValues() throws Exception {
+		database.preventDroppingOfTables(false);
+		database.dropTableNoExceptions(new BulkLoadTestTable());
+		database.createTableNoExceptions(new BulkLoadTestTable());
+
+		final LocalDateTime when = LocalDateTime.of(2020, 1, 2, 10, 11, 12, 123000000);
+		List<BulkLoadTestTable> rows = new ArrayList<>();
+		rows.add(new BulkLoadTestTable(1, "simple", 1.5, when));
+		rows.add(new BulkLoadTestTable(2, "", 0, when));
+		rows.add(new BulkLoadTestTable(3, null, null, null));
+		rows.add(new BulkLoadTestTable(4, "with, comma and \"quotes\"", -2.25, when));
+		rows.add(new BulkLoadTestTable(5, "with\nnewline\tand\\backslash", 3, when));
+		rows.add(new BulkLoadTestTable(6, "~tilde", 4, when));
+
+		long loaded = new DBBulkLoad(rows).load(database);
+		assertThat(loaded, is(6L));
+
+		List<BulkLoadTestTable> found = database.getDBTable(new BulkLoadTestTable()).setBlankQueryAllowed(true).getAllRows();
+		assertThat(found.size(), is(6));
+		for (BulkLoadTestTable row : found) {
+			BulkLoadTestTable original = rows.get(row.pk.getValue().intValue() - 1);
+			assertThat(row.name.getValue(), is(original.name.getValue()));
+			if (original.amount.isNull()) {
+				assertThat(row.amount.isNull(), is(true));
+				assertThat(row.created.isNull(), is(true));
+			} else {
+				assertThat(row.amount.getValue().doubleValue(), is(original.amount.getValue().doubleValue()));
+				assertThat(row.created.getValue().withNano(0), is(when.withNano(0)));
+			}
+		}
+	}
+
+	@Test
+	public void testLoadStreamWithMixedTables() throws Exception {
+		database.preventDroppingOfTables(false);
+		database.dropTableNoExceptions(new BulkLoadTestTable());
+		database.createTableNoExceptions(new BulkLoadTestTable());
+		database.preventDroppingOfTables(false);
+		database.dropTableNoExceptions(new BulkLoadLobTable());
+		database.createTableNoExceptions(new BulkLoadLobTable());
+
+		final int originalBatchSize = database.getBatchSize();
+		try {
+			database.setBatchSize(7);
+			long loaded = new DBBulkLoad(
+					IntStream.rangeClosed(1, 60).mapToObj(i -> i % 20 == 0
+					? new BulkLoadLobTable(i, "large " + i)
+					: new BulkLoadTestTable(i, "row " + i, i, null))
+			).load(database);
+			assertThat(loaded, is(60L));
+		} finally {
+			database.setBatchSize(originalBatchSize);
+		}
+
+		assertThat(database.getDBTable(new BulkLoadTestTable()).setBlankQueryAllowed(true).count(), is(57L));
+		final List<BulkLoadLobTable> lobs = database.getDBTable(new BulkLoadLobTable()).setBlankQueryAllowed(true).getAllRows();
+		assertThat(lobs.size(), is(3));
+		for (BulkLoadLobTable lob : lobs) {
+			assertThat(lob.text.stringValue(), is("large " + lob.pk.getValue()));
+		}
+	}
+
+	@Test
+	public void testLoadWithAutoIncrement() throws Exception {
+		database.preventDroppingOfTables(false);
+		database.dropTableNoExceptions(new DBBulkInsertTest.BulkInsertTestTable());
+		database.createTableNoExceptions(new DBBulkInsertTest.BulkInsertTestTable());
+
+		List<DBRow> rows = new ArrayList<>();
+		for (int i = 0; i < 25; i++) {
+			rows.add(new DBBulkInsertTest.BulkInsertTestTable("Car " + i));
+		}
+		assertThat(new DBBulkLoad(rows).load(database), is(25L));
+
+		final List<DBBulkInsertTest.BulkInsertTestTable> found = database.getDBTable(new DBBulkInsertTest.BulkInsertTestTable()).setBlankQueryAllowed(true).getAllRows();
+		assertThat(found.size(), is(25));
+		for (DBBulkInsertTest.BulkInsertTestTable row : found) {
+			assertThat(row.pk.isDefined(), is(true));
+			assertThat(row.string.getValue(), startsWith("Car "));
+		}
+	}
+
+	public static class BulkLoadTestTable extends DBRow {
+
+		private static final long serialVersionUID = 1L;
+
+		@DBPrimaryKey
+		@DBColumn
+		public DBInteger pk = new DBInteger();
+
+		@DBColumn
+		public DBString name = new DBString();
+
+		@DBColumn
+		public DBNumber amount = new DBNumber();
+
+		@DBColumn
+		public DBLocalDateTime created = new DBLocalDateTime();
+
+		public BulkLoadTestTable() {
+		}
+
+		public BulkLoadTestTable(int pk, String name, Number amount, LocalDateTime created) {
+			this.pk.setValue(pk);
+			this.name.setValue(name);
+			this.amount.setValue(amount);
+			this.created.setValue(created);
+		}
+	}
+
+	public static class BulkLoadLobTable extends DBRow {
+
+		private static final long serialVersionUID = 1L;
+
+		@DBPrimaryKey
+		@DBColumn
+		public DBInteger pk = new DBInteger();
+
+		@DBColumn
+		public DBLargeText text = new DBLargeText();
+
+		public BulkLoadLobTable() {
+		}
+
+		public BulkLoadLobTable(int pk, String text) {
+			this.pk.setValue(pk);
+			this.text.setValue(text);
+		}
+	}
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.actions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import nz.co.gregs.dbvolution.annotations.*;
+import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.databases.DBDatabaseCluster;
+import nz.co.gregs.dbvolution.datatypes.*;
+import nz.co.gregs.dbvolution.generic.AbstractTest;
+import static org.hamcrest.Matchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import org.junit.Test;
+
+/**
+ *
+ * @author Gregory Graham
+ */
+public class DBUpsertTest extends AbstractTest {
+
+	public DBUpsertTest(Object testIterationName, Object db) {
+		super(testIterationName, db);
+	}
+
+	@Test
+	public void testInsertOrUpdateNewAndExistingRows() throws Exception {
+		database.preventDroppingOfTables(false);
+		database.dropTableNoExceptions(new UpsertTestTable());
+		database.createTableNoExceptions(new UpsertTestTable());
+		database.insert(new UpsertTestTable(1, "Original", 10), new UpsertTestTable(2, "Original", 20));
+
+		List<UpsertTestTable> rows = new ArrayList<>();
+		rows.add(new UpsertTestTable(1, "Changed", 11));
+		rows.add(new UpsertTestTable(3, "New", 30));
+		UpsertTestTable onlyName = new UpsertTestTable();
+		onlyName.pk.setValue(2);
+		onlyName.name.setValue("Renamed");
+		rows.add(onlyName);
+
+		DBActionList actions = database.insertOrUpdate(rows);
+		if (database.getDefinition().supportsUpsert() && !(database instanceof DBDatabaseCluster)) {
+			// the new rows share a statement, the partial row needs its own
+			assertThat(actions.size(), is(2));
+			assertThat(actions.get(0), instanceOf(DBUpsert.class));
+		}
+
+		List<UpsertTestTable> found = database.getDBTable(new UpsertTestTable()).setBlankQueryAllowed(true).getAllRows();
+		assertThat(found.size(), is(3));
+		for (UpsertTestTable row : found) {
+			switch (row.pk.getValue().intValue()) {
+				case 1:
+					assertThat(row.name.getValue(), is("Changed"));
+					assertThat(row.amount.getValue(), is(11L));
+					break;
+				case 2:
+					assertThat(row.name.getValue(), is("Renamed"));
+					assertThat(row.amount.getValue(), is(20L));
+					break;
+				default:
+					assertThat(row.name.getValue(), is("New"));
+					assertThat(row.amount.getValue(), is(30L));
+			}
+		}
+		assertThat(onlyName.name.hasChanged(), is(false));
+	}
+
+	@Test
+	public void testInsertOrUpdateCanBeReverted() throws Exception {
+		database.preventDroppingOfTables(false);
+		database.dropTableNoExceptions(new UpsertTestTable());
+		database.createTableNoExceptions(new UpsertTestTable());
+		database.insert(new UpsertTestTable(1, "Original", 10), new UpsertTestTable(2, "Original", 20));
+
+		DBActionList actions = database.insertOrUpdate(Arrays.asList(
+				new UpsertTestTable(1, "Changed", 11),
+				new UpsertTestTable(3, "New", 30)
+		));
+		assertThat(database.getDBTable(new UpsertTestTable()).setBlankQueryAllowed(true).count(), is(3L));
+
+		actions.getRevertActionList().execute(database);
+
+		List<UpsertTestTable> found = database.getDBTable(new UpsertTestTable()).setBlankQueryAllowed(true).getAllRows();
+		assertThat(found.size(), is(2));
+		for (UpsertTestTable row : found) {
+			assertThat(row.name.getValue(), is("Original"));
+			assertThat(row.amount.getValue(), is(row.pk.getValue() * 10));
+		}
+	}
+
+	@Test
+	public void testInsertOrUpdateManyRowsWithRepeatedKeys() throws Exception {
+		database.preventDroppingOfTables(false);
+		database.dropTableNoExceptions(new UpsertTestTable());
+		database.createTableNoExceptions(new UpsertTestTable());
+
+		final int originalBatchSize = database.getBatchSize();
+		try {
+			database.setBatchSize(40);
+			List<UpsertTestTable> rows = new ArrayList<>();
+			for (int i = 0; i < 250; i++) {
+				rows.add(new UpsertTestTable(i % 100, "Row " + i, i));
+			}
+			database.insertOrUpdate(rows);
+		} finally {
+			database.setBatchSize(originalBatchSize);
+		}
+
+		List<UpsertTestTable> found = database.getDBTable(new UpsertTestTable()).setBlankQueryAllowed(true).getAllRows();
+		assertThat(found.size(), is(100));
+		for (UpsertTestTable row : found) {
+			final long pk = row.pk.getValue();
+			assertThat(row.name.getValue(), is("Row " + (pk + 200 < 250 ? pk + 200 : pk + 100)));
+		}
+	}
+
+	@Test
+	public void testInsertOrUpdateFallsBackForGeneratedKeys() throws Exception {
+		database.preventDroppingOfTables(false);
+		database.dropTableNoExceptions(new DBBulkInsertTest.BulkInsertTestTable());
+		database.createTableNoExceptions(new DBBulkInsertTest.BulkInsertTestTable());
+
+		final DBBulkInsertTest.BulkInsertTestTable first = new DBBulkInsertTest.BulkInsertTestTable("First");
+		final DBBulkInsertTest.BulkInsertTestTable second = new DBBulkInsertTest.BulkInsertTestTable("Second");
+		assertThat(DBUpsert.canUpsert(first), is(false));
+
+		database.getDBTable(new DBBulkInsertTest.BulkInsertTestTable()).insertOrUpdate(first, second);
+		assertThat(first.pk.getValue(), is(1L));
+		assertThat(second.pk.getValue(), is(2L));
+
+		second.string.setValue("Second Changed");
+		final DBBulkInsertTest.BulkInsertTestTable third = new DBBulkInsertTest.BulkInsertTestTable("Third");
+		database.insertOrUpdate(second, third);
+
+		final List<DBBulkInsertTest.BulkInsertTestTable> found = database.getDBTable(new DBBulkInsertTest.BulkInsertTestTable()).setBlankQueryAllowed(true).getAllRows();
+		assertThat(found.size(), is(3));
+		assertThat(third.pk.getValue(), is(3L));
+		for (DBBulkInsertTest.BulkInsertTestTable row : found) {
+			if (row.pk.getValue() == 2L) {
+				assertThat(row.string.getValue(), is("Second Changed"));
+			}
+		}
+	}
+
+	public static class UpsertTestTable extends DBRow {
+
+		private static final long serialVersionUID = 1L;
+
+		@DBPrimaryKey
+		@DBColumn
+		public DBInteger pk = new DBInteger();
+
+		@DBColumn
+		public DBString name = new DBString();
+
+		@DBColumn
+		public DBInteger amount = new DBInteger();
+
+		public UpsertTestTable() {
+		}
+
+		public UpsertTestTable(int pk, String name, int amount) {
+			this.pk.setValue(pk);
+			this.name.setValue(name);
+			this.amount.setValue(amount);
+		}
+	}
+}
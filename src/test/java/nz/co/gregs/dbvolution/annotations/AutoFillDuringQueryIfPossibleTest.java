@@ -112,6 +112,43 @@ public class AutoFillDuringQueryIfPossibleTest extends AbstractTest {
 		}
 	}
 
+	@Test
+	public void testFillingArrayAndSimpleFieldOfTheSameRow() throws SQLException {
+		DBQuery query = database.getDBQuery(new FilledCarCoWithArrayAndFirst(), new Marque()).setBlankQueryAllowed(true);
+		query.getAllRows();
+		List<FilledCarCoWithArrayAndFirst> instances = query.getAllInstancesOf(new FilledCarCoWithArrayAndFirst());
+
+		assertThat(instances.size(), greaterThan(0));
+		for (FilledCarCoWithArrayAndFirst instance : instances) {
+			final List<Marque> relateds = query.getQueryDetails().getRelatedInstancesFromQuery(instance, new Marque());
+			assertThat(instance.marques, arrayContaining(relateds.toArray(new Marque[]{})));
+			assertThat(instance.firstMarque, sameInstance(relateds.get(0)));
+		}
+	}
+
+	@Test
+	public void testAutoFillCanBeDisabled() throws SQLException {
+		DBQuery query = database.getDBQuery(new FilledCarCoWithList(), new Marque())
+				.setBlankQueryAllowed(true)
+				.setAutoFillEnabled(false);
+		query.getAllRows();
+		List<FilledCarCoWithList> instances = query.getAllInstancesOf(new FilledCarCoWithList());
+
+		assertThat(instances.size(), greaterThan(0));
+		for (FilledCarCoWithList instance : instances) {
+			assertThat(instance.marques, nullValue());
+		}
+
+		List<FilledCarCoWithList> rows = database.getDBTable(new FilledCarCoWithList())
+				.setBlankQueryAllowed(true)
+				.setAutoFillEnabled(false)
+				.getAllRows();
+		assertThat(rows.size(), greaterThan(0));
+		for (FilledCarCoWithList row : rows) {
+			assertThat(row.marques, nullValue());
+		}
+	}
+
 	public static class FilledMarque extends Marque {
 
 		private static final long serialVersionUID = 1L;
@@ -128,6 +165,17 @@ public class AutoFillDuringQueryIfPossibleTest extends AbstractTest {
 		public Marque[] marques;
 	}
 
+	public static class FilledCarCoWithArrayAndFirst extends CarCompany {
+
+		private static final long serialVersionUID = 1L;
+
+		@AutoFillDuringQueryIfPossible
+		public Marque[] marques;
+
+		@AutoFillDuringQueryIfPossible
+		public Marque firstMarque;
+	}
+
 	public static class FilledCarCoWithList extends CarCompany {
 
 		private static final long serialVersionUID = 1L;
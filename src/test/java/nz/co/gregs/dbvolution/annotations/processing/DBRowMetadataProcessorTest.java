@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.annotations.processing;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.internal.properties.PropertyWrapper;
+import nz.co.gregs.dbvolution.internal.properties.PropertyWrapperDefinition;
+import nz.co.gregs.dbvolution.internal.properties.RowDefinitionClassWrapper;
+import nz.co.gregs.dbvolution.internal.properties.RowDefinitionMetadata;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ *
+ * @author Gregory Graham
+ */
+public class DBRowMetadataProcessorTest {
+
+	private static final String BASE_ROW
+			= "package sample;\n"
+			+ "import nz.co.gregs.dbvolution.DBRow;\n"
+			+ "import nz.co.gregs.dbvolution.annotations.*;\n"
+			+ "import nz.co.gregs.dbvolution.datatypes.*;\n"
+			+ "public class BaseRow extends DBRow {\n"
+			+ "  @DBColumn public DBString inherited = new DBString();\n"
+			+ "  @DBColumn protected DBInteger protectedBase = new DBInteger();\n"
+			+ "}\n";
+
+	private static final String SAMPLE_ROW
+			= "package sample;\n"
+			+ "import nz.co.gregs.dbvolution.DBRow;\n"
+			+ "import nz.co.gregs.dbvolution.annotations.*;\n"
+			+ "import nz.co.gregs.dbvolution.datatypes.*;\n"
+			+ "@DBTableName(\"metadata_sample\")\n"
+			+ "public class SampleRow extends BaseRow {\n"
+			+ "  @DBPrimaryKey @DBColumn public DBInteger pk = new DBInteger();\n"
+			+ "  @DBColumn private DBString secret = new DBString();\n"
+			+ "  @DBColumn DBNumber packageField = new DBNumber();\n"
+			+ "  private DBDate beanValue = new DBDate();\n"
+			+ "  @DBColumn public DBDate getBeanValue() { return beanValue; }\n"
+			+ "  public void setBeanValue(DBDate value) { beanValue = value; }\n"
+			+ "  public static class Nested extends DBRow {\n"
+			+ "    @DBColumn public DBString name = new DBString();\n"
+			+ "  }\n"
+			+ "}\n";
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void generatesMetadataMatchingReflection() throws Exception {
+		File sources = folder.newFolder("sources");
+		File withProcessor = folder.newFolder("withProcessor");
+		File withoutProcessor = folder.newFolder("withoutProcessor");
+		writeSource(sources, "BaseRow", BASE_ROW);
+		writeSource(sources, "SampleRow", SAMPLE_ROW);
+
+		compile(sources, withProcessor, true);
+		compile(sources, withoutProcessor, false);
+		assertThat(new File(withProcessor, "sample/SampleRow" + RowDefinitionMetadata.GENERATED_CLASS_SUFFIX + ".class").exists(), is(true));
+		assertThat(new File(withProcessor, "sample/SampleRow_Nested" + RowDefinitionMetadata.GENERATED_CLASS_SUFFIX + ".class").exists(), is(true));
+
+		try (URLClassLoader generatedLoader = new URLClassLoader(new URL[]{withProcessor.toURI().toURL()}, getClass().getClassLoader());
+				URLClassLoader reflectedLoader = new URLClassLoader(new URL[]{withoutProcessor.toURI().toURL()}, getClass().getClassLoader())) {
+			Class<? extends DBRow> generatedClass = generatedLoader.loadClass("sample.SampleRow").asSubclass(DBRow.class);
+			Class<? extends DBRow> reflectedClass = reflectedLoader.loadClass("sample.SampleRow").asSubclass(DBRow.class);
+
+			RowDefinitionMetadata<? extends DBRow> metadata = RowDefinitionMetadata.forClass(generatedClass);
+			assertThat(metadata, notNullValue());
+			assertThat(RowDefinitionMetadata.forClass(reflectedClass), nullValue());
+			assertThat(metadata.getConstructor(), notNullValue());
+
+			assertThat(getColumnNames(generatedClass), contains(getColumnNames(reflectedClass).toArray()));
+			assertThat(getColumnNames(generatedClass), containsInAnyOrder("pk", "inherited", "secret", "packageField", "protectedBase", "beanValue"));
+
+			for (RowDefinitionMetadata.Property<?> property : metadata.getProperties()) {
+				if (property.getName().equals("secret")) {
+					assertThat(property.getGetter(), nullValue());
+				} else {
+					assertThat(property.getName(), property.getGetter(), notNullValue());
+				}
+			}
+
+			DBRow row = DBRow.getDBRow(generatedClass);
+			List<PropertyWrapper<?, ?, ?>> wrappers = row.getColumnPropertyWrappers();
+			assertThat(wrappers.size(), is(6));
+			for (PropertyWrapper<?, ?, ?> wrapper : wrappers) {
+				assertThat(wrapper.javaName(), wrapper.getQueryableDatatype(), notNullValue());
+			}
+		}
+	}
+
+	private static List<String> getColumnNames(Class<? extends DBRow> rowClass) {
+		List<String> names = new ArrayList<>();
+		for (PropertyWrapperDefinition<?, ?> property : new RowDefinitionClassWrapper<>(rowClass).getColumnPropertyDefinitions()) {
+			names.add(property.javaName());
+		}
+		return names;
+	}
+
+	private static void writeSource(File sources, String className, String source) throws Exception {
+		File packageDir = new File(sources, "sample");
+		packageDir.mkdirs();
+		Files.write(new File(packageDir, className + ".java").toPath(), source.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static void compile(File sources, File output, boolean useProcessor) {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		List<String> arguments = new ArrayList<>();
+		arguments.add("-classpath");
+		arguments.add(System.getProperty("java.class.path"));
+		arguments.add("-d");
+		arguments.add(output.getAbsolutePath());
+		if (useProcessor) {
+			arguments.add("-processor");
+			arguments.add(DBRowMetadataProcessor.class.getName());
+		} else {
+			arguments.add("-proc:none");
+		}
+		arguments.add(new File(sources, "sample/BaseRow.java").getAbsolutePath());
+		arguments.add(new File(sources, "sample/SampleRow.java").getAbsolutePath());
+		int result = compiler.run(null, null, null, arguments.toArray(new String[0]));
+		assertThat("compilation failed", result, is(0));
+	}
+}
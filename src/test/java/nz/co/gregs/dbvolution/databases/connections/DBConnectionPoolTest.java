@@ -0,0 +1,244 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License. 
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/ 
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ * 
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ * 
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.               
+ *     Under the following terms:
+ *                 
+ *         Attribution - 
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made. 
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial - 
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike - 
+ *             If you remix, transform, or build upon the material, 
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions - 
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the 
+ *             license permits.
+ * 
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.databases.connections;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Gregory Graham
+ */
+public class DBConnectionPoolTest {
+
+	private static final DBConnectionPool.ConnectionSource H2_SOURCE
+			= () -> new DBConnectionSingle(null, DriverManager.getConnection("jdbc:h2:mem:DBConnectionPoolTest", "", ""));
+
+	@Test
+	public void testReleasedConnectionIsReused() throws SQLException {
+		DBConnectionPool pool = new DBConnectionPool();
+		DBConnection first = pool.acquire(H2_SOURCE);
+		pool.release(first);
+		DBConnection second = pool.acquire(H2_SOURCE);
+		assertThat(second, sameInstance(first));
+		pool.release(second);
+
+		DBConnectionPool.Statistics stats = pool.getStatistics();
+		assertThat(stats.getCreated(), is(1L));
+		assertThat(stats.getAcquisitions(), is(2L));
+		assertThat(stats.getActive(), is(0));
+		assertThat(stats.getIdle(), is(1));
+		pool.clear();
+	}
+
+	@Test
+	public void testDoubleReleaseIsIgnored() throws SQLException {
+		DBConnectionPool pool = new DBConnectionPool(
+				DBConnectionPool.Configuration.defaults()
+						.withMaximumSize(1)
+						.withAcquireTimeout(Duration.ofMillis(50)));
+		DBConnection first = pool.acquire(H2_SOURCE);
+		pool.release(first);
+		pool.release(first);
+		assertThat(pool.getStatistics().getIdle(), is(1));
+
+		DBConnection second = pool.acquire(H2_SOURCE);
+		assertThat(second, sameInstance(first));
+		try {
+			pool.acquire(H2_SOURCE);
+			throw new AssertionError("The pool should have been exhausted");
+		} catch (SQLTransientConnectionException expected) {
+		}
+		pool.clear();
+	}
+
+	@Test
+	public void testExhaustedPoolTimesOut() throws SQLException {
+		DBConnectionPool pool = new DBConnectionPool(
+				DBConnectionPool.Configuration.defaults()
+						.withMaximumSize(2)
+						.withAcquireTimeout(Duration.ofMillis(50)));
+		pool.acquire(H2_SOURCE);
+		pool.acquire(H2_SOURCE);
+		try {
+			pool.acquire(H2_SOURCE);
+			throw new AssertionError("The pool should have been exhausted");
+		} catch (SQLTransientConnectionException expected) {
+		}
+		DBConnectionPool.Statistics stats = pool.getStatistics();
+		assertThat(stats.getActive(), is(2));
+		assertThat(stats.getTimeouts(), is(1L));
+		pool.clear();
+		assertThat(pool.getStatistics().getTotal(), is(0));
+	}
+
+	@Test
+	public void testWaitingThreadReceivesReleasedConnection() throws Exception {
+		DBConnectionPool pool = new DBConnectionPool(DBConnectionPool.Configuration.defaults().withMaximumSize(1));
+		DBConnection held = pool.acquire(H2_SOURCE);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			CountDownLatch started = new CountDownLatch(1);
+			Future<DBConnection> waiter = executor.submit(() -> {
+				started.countDown();
+				return pool.acquire(H2_SOURCE);
+			});
+			started.await();
+			while (pool.getStatistics().getWaiters() == 0 && !waiter.isDone()) {
+				Thread.sleep(5);
+			}
+			assertThat(pool.getStatistics().getWaiters(), is(1));
+			pool.release(held);
+			assertThat(waiter.get(5, TimeUnit.SECONDS), sameInstance(held));
+		} finally {
+			executor.shutdownNow();
+			pool.clear();
+		}
+	}
+
+	@Test
+	public void testDiscardedConnectionIsClosedAndFreesCapacity() throws SQLException {
+		DBConnectionPool pool = new DBConnectionPool(
+				DBConnectionPool.Configuration.defaults()
+						.withMaximumSize(1)
+						.withAcquireTimeout(Duration.ofMillis(50)));
+		DBConnection first = pool.acquire(H2_SOURCE);
+		pool.discard(first);
+		assertThat(first.isClosed(), is(true));
+		pool.release(first);
+
+		DBConnection second = pool.acquire(H2_SOURCE);
+		assertThat(second, not(sameInstance(first)));
+		assertThat(pool.getStatistics().getDestroyed(), is(1L));
+		pool.clear();
+	}
+
+	@Test
+	public void testClosedIdleConnectionIsNotReused() throws SQLException {
+		DBConnectionPool pool = new DBConnectionPool();
+		DBConnection first = pool.acquire(H2_SOURCE);
+		pool.release(first);
+		first.close();
+		DBConnection second = pool.acquire(H2_SOURCE);
+		assertThat(second, not(sameInstance(first)));
+		assertThat(second.isClosed(), is(false));
+		pool.clear();
+	}
+
+	@Test
+	public void testEvictionRemovesIdleConnectionsAndMaintainsMinimum() throws Exception {
+		DBConnectionPool pool = new DBConnectionPool(
+				DBConnectionPool.Configuration.defaults()
+						.withMinimumIdle(1)
+						.withIdleTimeout(Duration.ofMillis(1)));
+		DBConnection first = pool.acquire(H2_SOURCE);
+		DBConnection second = pool.acquire(H2_SOURCE);
+		pool.release(first);
+		pool.release(second);
+		Thread.sleep(10);
+
+		int evicted = pool.evictExpiredConnections(null);
+		assertThat(evicted, is(1));
+		assertThat(pool.getStatistics().getIdle(), is(1));
+
+		pool.setConfiguration(pool.getConfiguration().withMinimumIdle(3).withIdleTimeout(Duration.ZERO));
+		pool.evictExpiredConnections(H2_SOURCE);
+		assertThat(pool.getStatistics().getIdle(), is(3));
+		pool.clear();
+	}
+
+	@Test
+	public void testFillingToMinimumIdleNeverExceedsMaximumSize() throws Exception {
+		DBConnectionPool pool = new DBConnectionPool(
+				DBConnectionPool.Configuration.defaults()
+						.withMaximumSize(2)
+						.withMinimumIdle(2));
+		DBConnection first = pool.acquire(H2_SOURCE);
+		DBConnection second = pool.acquire(H2_SOURCE);
+
+		pool.evictExpiredConnections(H2_SOURCE);
+		assertThat(pool.getStatistics().getTotal(), is(2));
+		assertThat(pool.getStatistics().getIdle(), is(0));
+
+		pool.release(first);
+		pool.evictExpiredConnections(H2_SOURCE);
+		assertThat(pool.getStatistics().getTotal(), is(2));
+		assertThat(pool.getStatistics().getCreated(), is(2L));
+		pool.release(second);
+		pool.clear();
+	}
+
+	@Test
+	public void testConcurrentFillingToMinimumIdleNeverExceedsMaximumSize() throws Exception {
+		final DBConnectionPool pool = new DBConnectionPool(
+				DBConnectionPool.Configuration.defaults()
+						.withMaximumSize(3)
+						.withMinimumIdle(3));
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<Integer>> futures = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				futures.add(executor.submit(() -> pool.evictExpiredConnections(H2_SOURCE)));
+			}
+			for (Future<Integer> future : futures) {
+				future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertThat(pool.getStatistics().getTotal(), is(3));
+		assertThat(pool.getStatistics().getIdle(), is(3));
+		pool.clear();
+	}
+
+	@Test
+	public void testDetachedConnectionIsNoLongerCounted() throws SQLException {
+		DBConnectionPool pool = new DBConnectionPool(DBConnectionPool.Configuration.defaults().withMaximumSize(1));
+		DBConnection kept = pool.acquire(H2_SOURCE);
+		pool.detach(kept);
+		assertThat(pool.hasConnections(), is(false));
+		DBConnection next = pool.acquire(H2_SOURCE);
+		assertThat(next, not(sameInstance(kept)));
+		pool.clear();
+		assertThat(kept.isClosed(), is(false));
+		kept.close();
+	}
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * This work is licensed under the Creative Commons Attribution-NonCommercial-ShareAlike 4.0 International License. 
+ * To view a copy of this license, visit http://creativecommons.org/licenses/by-nc-sa/4.0/ 
+ * or send a letter to Creative Commons, PO Box 1866, Mountain View, CA 94042, USA.
+ * 
+ * You are free to:
+ *     Share - copy and redistribute the material in any medium or format
+ *     Adapt - remix, transform, and build upon the material
+ * 
+ *     The licensor cannot revoke these freedoms as long as you follow the license terms.               
+ *     Under the following terms:
+ *                 
+ *         Attribution - 
+ *             You must give appropriate credit, provide a link to the license, and indicate if changes were made. 
+ *             You may do so in any reasonable manner, but not in any way that suggests the licensor endorses you or your use.
+ *         NonCommercial - 
+ *             You may not use the material for commercial purposes.
+ *         ShareAlike - 
+ *             If you remix, transform, or build upon the material, 
+ *             you must distribute your contributions under the same license as the original.
+ *         No additional restrictions - 
+ *             You may not apply legal terms or technological measures that legally restrict others from doing anything the 
+ *             license permits.
+ * 
+ * Check the Creative Commons website for any details, legalese, and updates.
+ */
+package nz.co.gregs.dbvolution.databases.connections;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import nz.co.gregs.dbvolution.databases.QueryIntention;
+import nz.co.gregs.dbvolution.internal.query.StatementDetails;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Gregory Graham
+ */
+public class PreparedStatementCacheTest {
+
+	private static DBConnection newConnection(int cacheSize) throws SQLException {
+		return new DBConnectionSingle(null, DriverManager.getConnection("jdbc:h2:mem:PreparedStatementCacheTest", "", ""), cacheSize);
+	}
+
+	@Test
+	public void testReleasedStatementIsReused() throws SQLException {
+		DBConnection connection = newConnection(10);
+		PreparedStatementCache cache = connection.getPreparedStatementCache();
+
+		PreparedStatement first = cache.prepare("select ? from dual");
+		first.setInt(1, 1);
+		try (ResultSet rs = first.executeQuery()) {
+			assertThat(rs.next(), is(true));
+		}
+		cache.release(first);
+		PreparedStatement second = cache.prepare("select ? from dual");
+		assertThat(second, sameInstance(first));
+		assertThat(second.isClosed(), is(false));
+		cache.release(second);
+
+		PreparedStatementCache.Statistics stats = cache.getStatistics();
+		assertThat(stats.getHits(), is(1L));
+		assertThat(stats.getMisses(), is(1L));
+		assertThat(stats.getIdle(), is(1));
+		assertThat(stats.getInUse(), is(0));
+		connection.close();
+	}
+
+	@Test
+	public void testConnectionWithoutACachePreparesStatementsDirectly() throws SQLException {
+		final DBConnection cached = newConnection(10);
+		DBConnection uncached = (DBConnection) Proxy.newProxyInstance(
+				DBConnection.class.getClassLoader(),
+				new Class<?>[]{DBConnection.class},
+				(proxy, method, args) -> {
+					if (method.getName().equals("getPreparedStatementCache")) {
+						return null;
+					}
+					try {
+						return method.invoke(cached, args);
+					} catch (InvocationTargetException ex) {
+						throw ex.getCause();
+					}
+				});
+		assertThat(uncached.getPreparedStatementCache(), nullValue());
+
+		StatementDetails details = new StatementDetails("TEST", QueryIntention.SIMPLE_SELECT_QUERY, "select 1 from dual", null);
+		PreparedStatement prepared = details.prepare(uncached);
+		try (ResultSet rs = prepared.executeQuery()) {
+			assertThat(rs.next(), is(true));
+		}
+		prepared.close();
+		assertThat(cached.getPreparedStatementCache().getStatistics().getMisses(), is(0L));
+		cached.close();
+	}
+
+	@Test
+	public void testGeneratedKeyModesAreCachedSeparately() throws SQLException {
+		DBConnection connection = newConnection(10);
+		PreparedStatementCache cache = connection.getPreparedStatementCache();
+
+		PreparedStatement plain = cache.prepare("select 1 from dual");
+		cache.release(plain);
+		PreparedStatement withKeys = cache.prepare("select 1 from dual", Statement.RETURN_GENERATED_KEYS);
+		assertThat(withKeys, not(sameInstance(plain)));
+		cache.release(withKeys);
+
+		assertThat(cache.getStatistics().getIdle(), is(2));
+		assertThat(cache.getStatistics().getHits(), is(0L));
+		connection.close();
+	}
+
+	@Test
+	public void testLeastRecentlyUsedStatementIsEvicted() throws SQLException {
+		DBConnection connection = newConnection(2);
+		PreparedStatementCache cache = connection.getPreparedStatementCache();
+
+		PreparedStatement one = cache.prepare("select 1 from dual");
+		cache.release(one);
+		PreparedStatement two = cache.prepare("select 2 from dual");
+		cache.release(two);
+		cache.release(cache.prepare("select 1 from dual"));
+		PreparedStatement three = cache.prepare("select 3 from dual");
+		cache.release(three);
+
+		assertThat(two.isClosed(), is(true));
+		assertThat(one.isClosed(), is(false));
+		assertThat(three.isClosed(), is(false));
+		assertThat(cache.getStatistics().getEvictions(), is(1L));
+		assertThat(cache.getStatistics().getIdle(), is(2));
+		connection.close();
+	}
+
+	@Test
+	public void testStatementsInUseAreNotShared() throws SQLException {
+		DBConnection connection = newConnection(10);
+		PreparedStatementCache cache = connection.getPreparedStatementCache();
+
+		PreparedStatement first = cache.prepare("select 1 from dual");
+		PreparedStatement second = cache.prepare("select 1 from dual");
+		assertThat(second, not(sameInstance(first)));
+		cache.release(first);
+		cache.release(second);
+
+		assertThat(first.isClosed(), is(false));
+		assertThat(second.isClosed(), is(true));
+		assertThat(cache.getStatistics().getIdle(), is(1));
+		connection.close();
+	}
+
+	@Test
+	public void testClosingTheConnectionClosesCachedStatements() throws SQLException {
+		DBConnection connection = newConnection(10);
+		PreparedStatementCache cache = connection.getPreparedStatementCache();
+
+		PreparedStatement idle = cache.prepare("select 1 from dual");
+		cache.release(idle);
+		PreparedStatement inUse = cache.prepare("select 2 from dual");
+		connection.close();
+		cache.release(inUse);
+
+		assertThat(idle.isClosed(), is(true));
+		assertThat(inUse.isClosed(), is(true));
+		assertThat(cache.getStatistics().getIdle(), is(0));
+		assertThat(cache.getStatistics().getInUse(), is(0));
+	}
+
+	@Test
+	public void testZeroSizeDisablesCaching() throws SQLException {
+		DBConnection connection = newConnection(0);
+		PreparedStatementCache cache = connection.getPreparedStatementCache();
+
+		PreparedStatement first = cache.prepare("select 1 from dual");
+		cache.release(first);
+		assertThat(first.isClosed(), is(true));
+		assertThat(cache.getStatistics().getIdle(), is(0));
+		connection.close();
+	}
+}
@@ -28,6 +28,7 @@ import nz.co.gregs.dbvolution.DBReport;
 import nz.co.gregs.dbvolution.annotations.DBColumn;
 import nz.co.gregs.dbvolution.columns.BooleanColumn;
 import nz.co.gregs.dbvolution.columns.ColumnProvider;
+import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
 import nz.co.gregs.dbvolution.datatypes.DBBoolean;
 import nz.co.gregs.dbvolution.datatypes.DBDate;
 import nz.co.gregs.dbvolution.datatypes.DBNumber;
@@ -173,6 +174,68 @@ public class BooleanExpressionTest extends AbstractTest {
 		}
 	}
 
+	@Test
+	public void testLargeConditionAppendsTheSameSQL() throws SQLException {
+		Marque marque = new Marque();
+		List<BooleanExpression> conditions = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			conditions.add(BooleanExpression.allOf(
+					marque.column(marque.uidMarque).is(i),
+					marque.column(marque.name).isNot("TOYOTA")
+			));
+		}
+		final BooleanExpression condition = BooleanExpression.anyOf(conditions.toArray(new BooleanExpression[]{}));
+		final DBDefinition defn = database.getDefinition();
+
+		StringBuilder builder = new StringBuilder("WHERE ");
+		condition.appendSQL(defn, builder);
+		assertThat(builder.toString(), is("WHERE " + condition.toSQLString(defn)));
+		assertThat(condition.hasStableSQL(), is(false));
+
+		DBQuery dbQuery = database.getDBQuery(marque);
+		dbQuery.addCondition(condition);
+		List<DBQueryRow> allRows = dbQuery.getAllRows();
+
+		dbQuery = database.getDBQuery(marque);
+		dbQuery.addCondition(marque.column(marque.uidMarque).isBetween(0, 99));
+		dbQuery.addCondition(marque.column(marque.name).isNot("TOYOTA"));
+
+		assertThat(allRows.size(), is(dbQuery.getAllRows().size()));
+	}
+
+	@Test
+	public void testStableExpressionsReuseTheirSQL() throws SQLException {
+		final DBDefinition defn = database.getDefinition();
+		final BooleanExpression constant = BooleanExpression.allOf(
+				BooleanExpression.trueExpression(),
+				BooleanExpression.falseExpression().not()
+		);
+
+		assertThat(constant.hasStableSQL(), is(true));
+		final String sql = constant.toSQLString(defn);
+		assertThat(constant.toSQLString(defn), sameInstance(sql));
+		StringBuilder builder = new StringBuilder();
+		constant.appendSQL(defn, builder);
+		assertThat(builder.toString(), is(sql));
+
+		Marque marque = new Marque();
+		final BooleanExpression withColumn = BooleanExpression.allOf(
+				constant,
+				marque.column(marque.name).isNotNull()
+		);
+		assertThat(withColumn.hasStableSQL(), is(false));
+		final String before = withColumn.toSQLString(defn);
+		marque.setTableVariantIdentifier("other");
+		assertThat(withColumn.toSQLString(defn), not(before));
+
+		final BooleanExpression xor = BooleanExpression.trueExpression().xor(BooleanExpression.falseExpression());
+		assertThat(xor.hasStableSQL(), is(false));
+
+		DBQuery dbQuery = database.getDBQuery(new Marque());
+		dbQuery.addCondition(constant);
+		assertThat(dbQuery.getAllRows().size(), is(22));
+	}
+
 	public static class MarqueWithIfThenElse extends Marque {
 
 		private static final long serialVersionUID = 1L;
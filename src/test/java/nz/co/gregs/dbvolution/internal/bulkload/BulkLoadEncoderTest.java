@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.internal.bulkload;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import nz.co.gregs.dbvolution.actions.DBBulkLoadTest.BulkLoadLobTable;
+import nz.co.gregs.dbvolution.actions.DBBulkLoadTest.BulkLoadTestTable;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Gregory Graham
+ */
+public class BulkLoadEncoderTest {
+
+	private static final LocalDateTime WHEN = LocalDateTime.of(2020, 1, 2, 10, 11, 12, 123456789);
+
+	@Test
+	public void testH2Encoding() {
+		BulkLoadEncoder encoder = new BulkLoadEncoder(BulkLoadFormat.H2_CSV, new BulkLoadTestTable());
+		assertThat(encoder.getColumnNames(), contains("pk", "name", "amount", "created"));
+		assertThat(encoder.isStringColumn(1), is(true));
+		assertThat(encoder.isStringColumn(2), is(false));
+		assertThat(encoder.encode(new BulkLoadTestTable(1, "a \"b\",\nc", 1.5, WHEN)),
+				is("1,\"~a \"\"b\"\",\nc\",1.5,2020-01-02 10:11:12.123456789\n"));
+		assertThat(encoder.encode(new BulkLoadTestTable(2, "", null, null)), is("2,\"~\",,\n"));
+		assertThat(encoder.encode(new BulkLoadTestTable(3, null, null, null)), is("3,,,\n"));
+	}
+
+	@Test
+	public void testMySQLEncoding() {
+		BulkLoadEncoder encoder = new BulkLoadEncoder(BulkLoadFormat.MYSQL_CSV, new BulkLoadTestTable());
+		assertThat(encoder.encode(new BulkLoadTestTable(1, "a \"b\",\\\nc", -1, WHEN)),
+				is("1,\"a \\\"b\\\",\\\\\\nc\",-1.0,2020-01-02 10:11:12.123456\n"));
+		assertThat(encoder.encode(new BulkLoadTestTable(2, "", null, null)), is("2,\"\",\\N,\\N\n"));
+		assertThat(encoder.encode(new BulkLoadTestTable(3, null, null, null)), is("3,\\N,\\N,\\N\n"));
+	}
+
+	@Test
+	public void testPostgresEncoding() {
+		BulkLoadEncoder encoder = new BulkLoadEncoder(BulkLoadFormat.POSTGRES_TEXT, new BulkLoadTestTable());
+		assertThat(encoder.encode(new BulkLoadTestTable(1, "a\tb\\c\nd", 2, WHEN)),
+				is("1\ta\\tb\\\\c\\nd\t2.0\t2020-01-02 10:11:12.123456\n"));
+		assertThat(encoder.encode(new BulkLoadTestTable(2, "", null, null)), is("2\t\t\\N\t\\N\n"));
+		assertThat(encoder.getRowsEncoded(), is(2L));
+	}
+
+	@Test
+	public void testUnsupportedRowsAreNotEncoded() {
+		BulkLoadEncoder encoder = new BulkLoadEncoder(BulkLoadFormat.POSTGRES_TEXT, new BulkLoadTestTable());
+		assertThat(encoder.canEncode(new BulkLoadTestTable(1, "a", 1, WHEN)), is(true));
+		assertThat(encoder.canEncode(new BulkLoadLobTable(1, "large")), is(false));
+
+		BulkLoadEncoder lobEncoder = new BulkLoadEncoder(BulkLoadFormat.POSTGRES_TEXT, new BulkLoadLobTable());
+		assertThat(lobEncoder.canEncode(new BulkLoadLobTable(1, "large")), is(false));
+		assertThat(lobEncoder.canEncode(new BulkLoadLobTable()), is(true));
+	}
+
+	@Test
+	public void testReaderStopsAtRowsThatCanNotBeEncoded() throws IOException {
+		BulkLoadEncoder encoder = new BulkLoadEncoder(BulkLoadFormat.POSTGRES_TEXT, new BulkLoadTestTable());
+		BulkLoadRows rows = new BulkLoadRows(Arrays.asList(
+				new BulkLoadTestTable(1, "a", 1, null),
+				new BulkLoadTestTable(2, "b", 2, null),
+				new BulkLoadLobTable(3, "large")
+		).iterator());
+		String encoded;
+		try (BufferedReader reader = new BufferedReader(encoder.asReader(rows))) {
+			encoded = reader.lines().collect(Collectors.joining("\n"));
+		}
+		assertThat(encoded, is("1\ta\t1.0\t\\N\n2\tb\t2.0\t\\N"));
+		assertThat(rows.hasNext(), is(true));
+		assertThat(rows.peek(), instanceOf(BulkLoadLobTable.class));
+
+		StringWriter writer = new StringWriter();
+		assertThat(encoder.write(rows, writer), is(0L));
+		assertThat(writer.toString(), is(""));
+	}
+}
@@ -0,0 +1,99 @@
+package nz.co.gregs.dbvolution.internal.properties;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import org.junit.Test;
+
+public class JavaPropertyAccessorsTest {
+
+	@Test
+	public void accessesPrivateFieldWithReflection() throws Exception {
+		JavaField<String> property = new JavaField<>(SampleClass.class.getDeclaredField("privateField"));
+
+		SampleClass sample = new SampleClass();
+		property.set(sample, "hello");
+		assertThat(sample.privateField, is("hello"));
+		assertThat(property.get(sample), is((Object) "hello"));
+	}
+
+	@Test
+	public void createsAccessorsForPrimitiveBeanProperty() throws Exception {
+		PropertyDescriptor descriptor = new PropertyDescriptor("number", SampleClass.class);
+		Function<Object, Object> getter = JavaPropertyAccessors.getter(descriptor.getReadMethod());
+		BiConsumer<Object, Object> setter = JavaPropertyAccessors.setter(descriptor.getWriteMethod());
+		assertThat(getter, notNullValue());
+		assertThat(setter, notNullValue());
+
+		SampleClass sample = new SampleClass();
+		setter.accept(sample, 42);
+		assertThat(sample.getNumber(), is(42));
+		assertThat(getter.apply(sample), is((Object) 42));
+	}
+
+	@Test
+	public void fieldAgreesWithReflection() throws Exception {
+		Field field = SampleClass.class.getDeclaredField("privateField");
+		field.setAccessible(true);
+		JavaField<String> property = new JavaField<>(field);
+
+		for (int i = 0; i < 1000; i++) {
+			SampleClass sample = new SampleClass();
+			property.set(sample, "row" + i);
+			assertThat(field.get(sample), is((Object) ("row" + i)));
+			field.set(sample, "reflected" + i);
+			assertThat(property.get(sample), is((Object) ("reflected" + i)));
+		}
+	}
+
+	@Test
+	public void beanPropertyAgreesWithReflection() throws Exception {
+		PropertyDescriptor descriptor = new PropertyDescriptor("number", SampleClass.class);
+		Method getter = descriptor.getReadMethod();
+		Method setter = descriptor.getWriteMethod();
+		JavaBeanProperty<?> property = new JavaBeanProperty<>(descriptor);
+
+		for (int i = 0; i < 1000; i++) {
+			SampleClass sample = new SampleClass();
+			property.set(sample, i);
+			assertThat(getter.invoke(sample), is((Object) i));
+			setter.invoke(sample, -i);
+			assertThat(property.get(sample), is((Object) (-i)));
+		}
+	}
+
+	@Test
+	public void usesReflectionForFinalField() throws Exception {
+		JavaField<String> property = new JavaField<>(SampleClass.class.getDeclaredField("finalField"));
+		SampleClass sample = new SampleClass();
+		assertThat(property.get(sample), is((Object) "final"));
+	}
+
+	@Test
+	public void acceptsOnlyCompatibleValues() {
+		assertThat(JavaPropertyAccessors.isAcceptable(int.class, 1), is(true));
+		assertThat(JavaPropertyAccessors.isAcceptable(int.class, null), is(false));
+		assertThat(JavaPropertyAccessors.isAcceptable(int.class, 1L), is(false));
+		assertThat(JavaPropertyAccessors.isAcceptable(String.class, null), is(true));
+		assertThat(JavaPropertyAccessors.isAcceptable(String.class, 1), is(false));
+	}
+
+	public static class SampleClass {
+
+		private String privateField;
+		private final String finalField = "final";
+		private int number;
+
+		public int getNumber() {
+			return number;
+		}
+
+		public void setNumber(int number) {
+			this.number = number;
+		}
+	}
+}
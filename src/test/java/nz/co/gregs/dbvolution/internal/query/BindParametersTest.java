@@ -0,0 +1,271 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.internal.query;
+
+import java.sql.SQLException;
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import nz.co.gregs.dbvolution.DBQuery;
+import nz.co.gregs.dbvolution.databases.DBDatabaseImplementation;
+import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
+import nz.co.gregs.dbvolution.datatypes.DBDate;
+import nz.co.gregs.dbvolution.datatypes.DBInteger;
+import nz.co.gregs.dbvolution.datatypes.DBNumber;
+import nz.co.gregs.dbvolution.datatypes.DBString;
+import nz.co.gregs.dbvolution.example.CarCompany;
+import nz.co.gregs.dbvolution.example.Marque;
+import nz.co.gregs.dbvolution.generic.AbstractTest;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Gregory Graham
+ */
+public class BindParametersTest extends AbstractTest {
+
+	public BindParametersTest(Object testIterationName, Object db) {
+		super(testIterationName, db);
+	}
+
+	@Test
+	public void testLiteralValuesAreUsedByDefault() {
+		DBDefinition defn = database.getDefinition();
+		final DBString name = new DBString("TOYOTA");
+		assertThat(BindParameters.isBinding(), is(false));
+		assertThat(name.toSQLString(defn), not(containsString("?")));
+		final List<BindParameters> generated = BindParameters.generate(false, () -> BindParameters.whileBinding(true, () -> Arrays.asList(name.toSQLString(defn))));
+		assertThat(generated.get(0).hasParameters(), is(false));
+		assertThat(generated.get(0).getSQL(), is(name.toSQLString(defn)));
+	}
+
+	@Test
+	public void testParametersAreCollectedWhileGenerating() {
+		DBDefinition defn = database.getDefinition();
+		final DBString name = new DBString("O'Brien's");
+		final DBInteger integer = new DBInteger(1234L);
+		final DBNumber number = new DBNumber(12.5);
+		final String literal = "SELECT * FROM marque WHERE name = " + name.toSQLString(defn)
+				+ " AND uid_marque = " + integer.toSQLString(defn)
+				+ " AND numeric_code = " + number.toSQLString(defn);
+		List<BindParameters> generated = BindParameters.generate(true, () -> BindParameters.whileBinding(true, () -> Arrays.asList(
+				"SELECT * FROM marque WHERE name = " + name.toSQLString(defn)
+				+ " AND uid_marque = " + integer.toSQLString(defn)
+				+ " AND numeric_code = " + number.toSQLString(defn))));
+		assertThat(BindParameters.isBinding(), is(false));
+		assertThat(BindParameters.isCollecting(), is(false));
+
+		BindParameters statement = generated.get(0);
+		assertThat(statement.getSQL(), is("SELECT * FROM marque WHERE name = ? AND uid_marque = ? AND numeric_code = ?"));
+		assertThat(statement.size(), is(3));
+		assertThat(statement.getValues().get(0), is("O'Brien's"));
+		assertThat(statement.getValues().get(1), is(1234L));
+		assertThat(statement.getValues().get(2).toString(), is("12.5"));
+		assertThat(statement.getLiteralSQL(), is(literal));
+
+		final BindParameters rebound = statement.withValues(Arrays.asList("Nobody's", 5678L, 1.5), defn);
+		assertThat(rebound.getSQL(), is(statement.getSQL()));
+		assertThat(rebound.getValues().get(1), is(5678L));
+		assertThat(rebound.getLiteralSQL(), is("SELECT * FROM marque WHERE name = " + new DBString("Nobody's").toSQLString(defn)
+				+ " AND uid_marque = " + new DBInteger(5678L).toSQLString(defn)
+				+ " AND numeric_code = " + new DBNumber(1.5).toSQLString(defn)));
+	}
+
+	@Test
+	public void testValuesContainingControlCharactersAreBound() {
+		DBDefinition defn = database.getDefinition();
+		final String awkward = "\u0002S\u001Fnot\u0010\u001Fa parameter?\u0003";
+		final DBString name = new DBString(awkward);
+		final DBInteger integer = new DBInteger(1234L);
+		List<BindParameters> generated = BindParameters.generate(true, () -> BindParameters.whileBinding(true, () -> Arrays.asList(
+				"SELECT * FROM marque WHERE name = " + name.toSQLString(defn)
+				+ " AND uid_marque = " + integer.toSQLString(defn))));
+
+		BindParameters statement = generated.get(0);
+		assertThat(statement.getSQL(), is("SELECT * FROM marque WHERE name = ? AND uid_marque = ?"));
+		assertThat(statement.getValues(), contains((Object) awkward, 1234L));
+		assertThat(statement.getLiteralSQL(), is("SELECT * FROM marque WHERE name = " + name.toSQLString(defn)
+				+ " AND uid_marque = " + integer.toSQLString(defn)));
+	}
+
+	@Test
+	public void testTransformedParametersUseLiteralSQL() {
+		DBDefinition defn = database.getDefinition();
+		final DBString first = new DBString("TOYOTA");
+		final DBString second = new DBString("HONDA");
+		// a transform that swaps, or repeats, the parameters it was given
+		List<BindParameters> generated = BindParameters.generate(true, () -> {
+			final String firstSQL = BindParameters.whileBinding(true, () -> first.toSQLString(defn));
+			final String secondSQL = BindParameters.whileBinding(true, () -> second.toSQLString(defn));
+			return Arrays.asList(
+					"SELECT * FROM marque WHERE name = " + secondSQL + " OR name = " + firstSQL,
+					"SELECT * FROM marque WHERE name = " + firstSQL + " OR name = " + firstSQL
+			);
+		});
+		assertThat(generated.size(), is(2));
+		for (BindParameters statement : generated) {
+			assertThat(statement.hasParameters(), is(false));
+			assertThat(statement.getSQL(), not(containsString("?")));
+		}
+		assertThat(generated.get(0).getSQL(), is("SELECT * FROM marque WHERE name = " + second.toSQLString(defn) + " OR name = " + first.toSQLString(defn)));
+	}
+
+	@Test
+	public void testQuestionMarksInLiteralsAreNotParameters() {
+		DBDefinition defn = database.getDefinition();
+		final DBString name = new DBString("TOYOTA");
+		List<BindParameters> generated = BindParameters.generate(true, () -> Arrays.asList(
+				"SELECT '?' FROM marque WHERE name = " + BindParameters.whileBinding(true, () -> name.toSQLString(defn))));
+		final BindParameters statement = generated.get(0);
+		assertThat(statement.getSQL(), is("SELECT '?' FROM marque WHERE name = ?"));
+		assertThat(statement.getLiteralSQL(), is("SELECT '?' FROM marque WHERE name = " + name.toSQLString(defn)));
+	}
+
+	@Test
+	public void testCompiledParametersAreMatchedBySlot() {
+		DBDefinition defn = database.getDefinition();
+		final DBString first = new DBString("TOYOTA");
+		final DBString second = new DBString("TOYOTA");
+		final BindParameters.Slots slots = new BindParameters.Slots();
+		final List<BindParameters> sql = BindParameters.whileNumberingSlots(slots, () -> BindParameters.generate(true, () -> BindParameters.whileBinding(true, () -> Arrays.asList(
+				"SELECT * FROM marque WHERE name = " + first.toSQLString(defn) + " AND alt = " + second.toSQLString(defn),
+				"SELECT * FROM marque WHERE alt = " + second.toSQLString(defn) + " AND name = " + first.toSQLString(defn)
+		))));
+		final BindParameters parsed = sql.get(0);
+		assertThat(parsed.getSlots(), contains(0, 1));
+		assertThat(sql.get(1).getSlots(), contains(1, 0));
+
+		CompiledQueryDetails.CompiledSQL compiled = new CompiledQueryDetails.CompiledSQL(sql, parsed.getTypes(), parsed.getValues(), parsed.getSlots());
+		final List<Object> values = Arrays.asList("first", "second");
+		assertThat(compiled.getValues(0, values), contains("first", "second"));
+		assertThat(compiled.getValues(1, values), contains("second", "first"));
+
+		final BindParameters rebound = sql.get(1).withValues(compiled.getValues(1, values), defn);
+		assertThat(rebound.getSlots(), contains(1, 0));
+		assertThat(rebound.getValues(), contains("second", "first"));
+	}
+
+	@Test
+	public void testDatesAreBoundWhenSupported() throws SQLException, ParseException {
+		DBDefinition defn = database.getDefinition();
+		final Date date = DATETIME_FORMAT.parse(secondDateStr);
+		final DBDate creationDate = new DBDate(date);
+		final BindParameters statement = BindParameters.generate(true, () -> BindParameters.whileBinding(true,
+				() -> Arrays.asList("SELECT * FROM marque WHERE creation_date = " + creationDate.toSQLString(defn)))).get(0);
+		assertThat(statement.hasParameters(), is(defn.supportsBindParametersForDates()));
+		assertThat(statement.getLiteralSQL(), is("SELECT * FROM marque WHERE creation_date = " + creationDate.toSQLString(defn)));
+
+		Marque marque = new Marque();
+		marque.creationDate.permittedValues(date);
+		final List<Marque> literalRows = database.getDBQuery(marque).getAllInstancesOf(marque);
+		database.setBindParametersWhenPossible(true);
+		try {
+			final List<Marque> boundRows = database.getDBQuery(marque).getAllInstancesOf(marque);
+			assertThat(boundRows.size(), is(3));
+			assertThat(boundRows.size(), is(literalRows.size()));
+		} finally {
+			database.setBindParametersWhenPossible(false);
+		}
+	}
+
+	@Test
+	public void testQueriesWithBindParametersMatchLiteralQueries() throws SQLException {
+		Marque marque = new Marque();
+		marque.name.permittedValuesIgnoreCase("toyota", "HONDA", "O'Brien");
+		marque.updateCount.permittedRangeInclusive(0, 4);
+		DBQuery literalQuery = database.getDBQuery(marque, new CarCompany());
+		final List<Marque> literalRows = literalQuery.getAllInstancesOf(marque);
+
+		database.setBindParametersWhenPossible(true);
+		try {
+			DBQuery boundQuery = database.getDBQuery(marque, new CarCompany());
+			final List<Marque> boundRows = boundQuery.getAllInstancesOf(marque);
+			assertThat(boundRows.size(), is(2));
+			assertThat(boundRows.size(), is(literalRows.size()));
+			assertThat(boundQuery.getSQLForQuery(), is(literalQuery.getSQLForQuery()));
+			assertThat(boundQuery.getSQLForQuery(), not(containsString("?")));
+			assertThat(boundQuery.count(), is(2L));
+		} finally {
+			database.setBindParametersWhenPossible(false);
+		}
+	}
+
+	@Test
+	public void testRepeatedQueriesReusePreparedStatements() throws SQLException {
+		if (database instanceof DBDatabaseImplementation) {
+			DBDatabaseImplementation db = (DBDatabaseImplementation) database;
+			database.setBindParametersWhenPossible(true);
+			try {
+				final long hitsBefore = db.getPreparedStatementCacheStatistics().getHits();
+				for (String name : new String[]{"toyota", "HONDA", "Ford"}) {
+					Marque marque = new Marque();
+					marque.name.permittedValuesIgnoreCase(name);
+					assertThat(database.getDBQuery(marque).getAllInstancesOf(marque).size(), is(1));
+				}
+				assertThat(db.getPreparedStatementCacheStatistics().getHits(), greaterThan(hitsBefore));
+			} finally {
+				database.setBindParametersWhenPossible(false);
+			}
+		}
+	}
+
+	@Test
+	public void testConditionsProduceBindParameters() {
+		DBDefinition defn = database.getDefinition();
+		Marque marque = new Marque();
+		marque.name.permittedValues("TOYOTA");
+		marque.uidMarque.permittedValues(1);
+		List<BindParameters> conditions = BindParameters.generate(true, () -> BindParameters.whileBinding(true, () -> marque.getWhereClausesWithAliases(defn)));
+		assertThat(conditions.size(), is(2));
+		for (BindParameters condition : conditions) {
+			assertThat(condition.size(), is(1));
+			assertThat(condition.getSQL(), containsString("?"));
+		}
+	}
+
+	@Test
+	public void testInsertUpdateAndDeleteWithBindParameters() throws SQLException {
+		database.setBindParametersWhenPossible(true);
+		try {
+			Marque marque = new Marque(999, "False", 1246974, "", 0, "", "O'Brien's \"Cars\"", "", "Y", null, 4, null);
+			database.insert(marque);
+
+			Marque example = new Marque();
+			example.name.permittedValues("O'Brien's \"Cars\"");
+			List<Marque> found = database.get(example);
+			assertThat(found.size(), is(1));
+			assertThat(found.get(0).uidMarque.intValue(), is(999));
+
+			Marque toUpdate = found.get(0);
+			toUpdate.name.setValue("Nobody's");
+			database.update(toUpdate);
+
+			example = new Marque();
+			example.uidMarque.permittedValues(999);
+			found = database.get(example);
+			assertThat(found.size(), is(1));
+			assertThat(found.get(0).name.stringValue(), is("Nobody's"));
+
+			database.delete(found.get(0));
+			assertThat(database.get(example).size(), is(0));
+		} finally {
+			database.setBindParametersWhenPossible(false);
+		}
+	}
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.internal.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import nz.co.gregs.dbvolution.DBQuery;
+import nz.co.gregs.dbvolution.DBQueryRow;
+import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.annotations.*;
+import nz.co.gregs.dbvolution.datatypes.*;
+import nz.co.gregs.dbvolution.generic.AbstractTest;
+import static org.hamcrest.Matchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import org.junit.Test;
+
+/**
+ *
+ * @author Gregory Graham
+ */
+public class RowIdentityMapTest extends AbstractTest {
+
+	public RowIdentityMapTest(Object testIterationName, Object db) {
+		super(testIterationName, db);
+	}
+
+	@Test
+	public void testIntegerKeysFindTheFirstInstance() {
+		RowIdentityMap map = new RowIdentityMap();
+		List<IdentityParent> firstInstances = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			IdentityParent row = new IdentityParent(i * 7919L, "Parent " + i);
+			assertThat(map.getOrSet(row, row.getPrimaryKeys()), sameInstance(row));
+			firstInstances.add(row);
+		}
+		for (int i = 0; i < 1000; i++) {
+			IdentityParent duplicate = new IdentityParent(i * 7919L, "Parent " + i);
+			assertThat(map.getOrSet(duplicate, duplicate.getPrimaryKeys()), sameInstance(firstInstances.get(i)));
+		}
+	}
+
+	@Test
+	public void testCompositeKeysFindTheFirstInstance() {
+		RowIdentityMap map = new RowIdentityMap();
+		IdentityComposite first = new IdentityComposite(1, "A");
+		IdentityComposite second = new IdentityComposite(1, "B");
+		IdentityComposite third = new IdentityComposite(2, "A");
+		assertThat(map.getOrSet(first, first.getPrimaryKeys()), sameInstance(first));
+		assertThat(map.getOrSet(second, second.getPrimaryKeys()), sameInstance(second));
+		assertThat(map.getOrSet(third, third.getPrimaryKeys()), sameInstance(third));
+
+		IdentityComposite duplicate = new IdentityComposite(1, "B");
+		assertThat(map.getOrSet(duplicate, duplicate.getPrimaryKeys()), sameInstance(second));
+	}
+
+	@Test
+	public void testRowsOfDifferentClassesAreKeptApart() {
+		RowIdentityMap map = new RowIdentityMap();
+		IdentityParent parent = new IdentityParent(1L, "Parent");
+		IdentityChild child = new IdentityChild(1L, 1L, "Child");
+		assertThat(map.getOrSet(parent, parent.getPrimaryKeys()), sameInstance(parent));
+		assertThat(map.getOrSet(child, child.getPrimaryKeys()), sameInstance(child));
+	}
+
+	@Test
+	public void testParentIsSharedWithinAnExecution() throws Exception {
+		createTables();
+
+		IdentityParent parent = new IdentityParent();
+		DBQuery query = database.getDBQuery(parent, new IdentityChild()).setBlankQueryAllowed(true);
+		List<DBQueryRow> rows = query.getAllRows();
+
+		assertThat(rows.size(), is(10));
+		IdentityParent first = null;
+		IdentityParent second = null;
+		for (DBQueryRow row : rows) {
+			IdentityParent found = row.get(parent);
+			if (found.pk.getValue() == 1L) {
+				first = first == null ? found : first;
+				assertThat(found, sameInstance(first));
+			} else {
+				second = second == null ? found : second;
+				assertThat(found, sameInstance(second));
+			}
+		}
+		assertThat(first, not(sameInstance(second)));
+	}
+
+	@Test
+	public void testInstancesAreNotSharedBetweenExecutions() throws Exception {
+		createTables();
+
+		IdentityParent parent = new IdentityParent();
+		parent.pk.permittedValues(1L);
+		DBQuery query = database.getDBQuery(parent, new IdentityChild());
+		IdentityParent firstResult = query.getAllRows().get(0).get(parent);
+		assertThat(firstResult.name.getValue(), is("Parent 1"));
+
+		IdentityParent update = database.getDBTable(new IdentityParent()).getRowsByPrimaryKey(1L).get(0);
+		update.name.setValue("Renamed");
+		database.update(update);
+
+		// changing the query makes it run again
+		query.setRowLimit(10);
+		IdentityParent secondResult = query.getAllRows().get(0).get(parent);
+		assertThat(secondResult, not(sameInstance(firstResult)));
+		assertThat(secondResult.name.getValue(), is("Renamed"));
+	}
+
+	private void createTables() throws Exception {
+		database.preventDroppingOfTables(false);
+		database.dropTableNoExceptions(new IdentityParent());
+		database.createTableNoExceptions(new IdentityParent());
+		database.preventDroppingOfTables(false);
+		database.dropTableNoExceptions(new IdentityChild());
+		database.createTableNoExceptions(new IdentityChild());
+		database.insert(new IdentityParent(1L, "Parent 1"), new IdentityParent(2L, "Parent 2"));
+		for (long i = 0; i < 10; i++) {
+			database.insert(new IdentityChild(i + 100, 1 + (i % 2), "Child " + i));
+		}
+	}
+
+	@DBTableName("row_identity_map_parent")
+	public static class IdentityParent extends DBRow {
+
+		private static final long serialVersionUID = 1L;
+
+		@DBPrimaryKey
+		@DBColumn
+		public DBInteger pk = new DBInteger();
+
+		@DBColumn
+		public DBString name = new DBString();
+
+		public IdentityParent() {
+		}
+
+		public IdentityParent(Long pk, String name) {
+			this.pk.setValue(pk);
+			this.name.setValue(name);
+		}
+	}
+
+	@DBTableName("row_identity_map_child")
+	public static class IdentityChild extends DBRow {
+
+		private static final long serialVersionUID = 1L;
+
+		@DBPrimaryKey
+		@DBColumn
+		public DBInteger pk = new DBInteger();
+
+		@DBForeignKey(IdentityParent.class)
+		@DBColumn
+		public DBInteger fkParent = new DBInteger();
+
+		@DBColumn
+		public DBString name = new DBString();
+
+		public IdentityChild() {
+		}
+
+		public IdentityChild(Long pk, Long fkParent, String name) {
+			this.pk.setValue(pk);
+			this.fkParent.setValue(fkParent);
+			this.name.setValue(name);
+		}
+	}
+
+	public static class IdentityComposite extends DBRow {
+
+		private static final long serialVersionUID = 1L;
+
+		@DBPrimaryKey
+		@DBColumn
+		public DBInteger number = new DBInteger();
+
+		@DBPrimaryKey
+		@DBColumn
+		public DBString code = new DBString();
+
+		public IdentityComposite() {
+		}
+
+		public IdentityComposite(long number, String code) {
+			this.number.setValue(number);
+			this.code.setValue(code);
+		}
+	}
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.internal.query;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import nz.co.gregs.dbvolution.DBQuery;
+import nz.co.gregs.dbvolution.DBQueryRow;
+import nz.co.gregs.dbvolution.DBRow;
+import nz.co.gregs.dbvolution.annotations.*;
+import nz.co.gregs.dbvolution.databases.definitions.DBDefinition;
+import nz.co.gregs.dbvolution.datatypes.*;
+import nz.co.gregs.dbvolution.generic.AbstractTest;
+import static org.hamcrest.Matchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import org.junit.Test;
+
+/**
+ *
+ * @author Gregory Graham
+ */
+public class RowMappingPlanTest extends AbstractTest {
+
+	public RowMappingPlanTest(Object testIterationName, Object db) {
+		super(testIterationName, db);
+	}
+
+	@Test
+	public void testSelectedColumnsAreMappedForEveryRow() throws Exception {
+		createTables();
+
+		MappedRow example = new MappedRow();
+		List<MappedRow> rows = database.getDBTable(example)
+				.setBlankQueryAllowed(true)
+				.setSortOrder(example.column(example.pk))
+				.getAllRows();
+
+		assertThat(rows.size(), is(5));
+		for (int i = 0; i < rows.size(); i++) {
+			MappedRow row = rows.get(i);
+			assertThat(row.pk.getValue(), is((long) i));
+			assertThat(row.name.getValue(), is("Row " + i));
+			assertThat(row.amount.getValue().doubleValue(), is(i * 1.5));
+			assertThat(row.even.getValue(), is(i % 2 == 0));
+			assertThat(row.shouted.getValue(), is("ROW " + i));
+			if (i == 4) {
+				assertThat(row.optional.isNull(), is(true));
+			} else {
+				assertThat(row.optional.getValue(), is("Optional " + i));
+			}
+		}
+	}
+
+	@Test
+	public void testOnlyReturnedColumnsAreMapped() throws Exception {
+		createTables();
+
+		MappedRow example = new MappedRow();
+		example.setReturnFields(example.pk, example.shouted);
+		List<MappedRow> rows = database.getDBTable(example)
+				.setBlankQueryAllowed(true)
+				.setSortOrder(example.column(example.pk))
+				.getAllRows();
+
+		assertThat(rows.size(), is(5));
+		for (int i = 0; i < rows.size(); i++) {
+			MappedRow row = rows.get(i);
+			assertThat(row.pk.getValue(), is((long) i));
+			assertThat(row.shouted.getValue(), is("ROW " + i));
+			assertThat(row.name.isDefined(), is(false));
+			assertThat(row.amount.isDefined(), is(false));
+		}
+	}
+
+	@Test
+	public void testEmptyRowsAreDetectedInOuterJoins() throws Exception {
+		createTables();
+
+		MappedRow mapped = new MappedRow();
+		DBQuery query = database.getDBQuery(mapped)
+				.addOptional(new MappedDetail())
+				.setBlankQueryAllowed(true)
+				.setSortOrder(mapped.column(mapped.pk));
+		List<DBQueryRow> rows = query.getAllRows();
+
+		assertThat(rows.size(), is(5));
+		for (int i = 0; i < rows.size(); i++) {
+			DBQueryRow row = rows.get(i);
+			assertThat(row.get(mapped).pk.getValue(), is((long) i));
+			final MappedDetail detail = row.get(new MappedDetail());
+			if (i % 2 == 0) {
+				assertThat(detail.description.getValue(), is("Detail " + i));
+			} else {
+				assertThat(detail == null || detail.isEmptyRow(), is(true));
+			}
+		}
+	}
+
+	private void createTables() throws Exception {
+		database.preventDroppingOfTables(false);
+		database.dropTableNoExceptions(new MappedRow());
+		database.createTableNoExceptions(new MappedRow());
+		database.preventDroppingOfTables(false);
+		database.dropTableNoExceptions(new MappedDetail());
+		database.createTableNoExceptions(new MappedDetail());
+		for (int i = 0; i < 5; i++) {
+			MappedRow row = new MappedRow();
+			row.pk.setValue(i);
+			row.name.setValue("Row " + i);
+			row.amount.setValue(i * 1.5);
+			row.even.setValue(i % 2 == 0);
+			row.shouted.setValue("Row " + i);
+			if (i != 4) {
+				row.optional.setValue("Optional " + i);
+			}
+			database.insert(row);
+			if (i % 2 == 0) {
+				MappedDetail detail = new MappedDetail();
+				detail.pk.setValue(i + 100);
+				detail.fkMappedRow.setValue(i);
+				detail.description.setValue("Detail " + i);
+				database.insert(detail);
+			}
+		}
+	}
+
+	/**
+	 * A QDT that only knows how to read its column by name.
+	 */
+	public static class DBShoutingString extends DBString {
+
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected String getFromResultSet(DBDefinition defn, ResultSet resultSet, String fullColumnName) throws SQLException {
+			final String value = super.getFromResultSet(defn, resultSet, fullColumnName);
+			return value == null ? null : value.toUpperCase();
+		}
+	}
+
+	@DBTableName("row_mapping_plan_row")
+	public static class MappedRow extends DBRow {
+
+		private static final long serialVersionUID = 1L;
+
+		@DBPrimaryKey
+		@DBColumn
+		public DBInteger pk = new DBInteger();
+
+		@DBColumn
+		public DBString name = new DBString();
+
+		@DBColumn
+		public DBNumber amount = new DBNumber();
+
+		@DBColumn
+		public DBBoolean even = new DBBoolean();
+
+		@DBColumn
+		public DBShoutingString shouted = new DBShoutingString();
+
+		@DBColumn
+		public DBString optional = new DBString();
+	}
+
+	@DBTableName("row_mapping_plan_detail")
+	public static class MappedDetail extends DBRow {
+
+		private static final long serialVersionUID = 1L;
+
+		@DBPrimaryKey
+		@DBColumn
+		public DBInteger pk = new DBInteger();
+
+		@DBForeignKey(MappedRow.class)
+		@DBColumn
+		public DBInteger fkMappedRow = new DBInteger();
+
+		@DBColumn
+		public DBString description = new DBString();
+	}
+}
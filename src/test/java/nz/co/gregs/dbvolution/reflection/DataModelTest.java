@@ -60,6 +60,31 @@ public class DataModelTest extends AbstractTest {
 		super(testIterationName, db);
 	}
 
+	@Test
+	public void testIndexedClassesAreFoundWithoutScanning() {
+		final boolean scanning = DataModel.isClasspathScanningAllowed();
+		DataModel.setClasspathScanningAllowed(false);
+		try {
+			Set<Class<? extends DBRow>> indexed = DataModel.getDBRowSubclasses();
+			assertThat(indexed.contains(Marque.class), is(true));
+			assertThat(indexed.contains(CarCompany.class), is(true));
+			assertThat(DataModel.getDBRowDirectSubclasses().contains(Marque.class), is(true));
+			assertThat(DataModel.getBuiltinDBDatabaseClasses().contains(H2MemoryDB.class), is(true));
+			assertThat(DataModel.getUseableDBDatabaseClasses().contains(DatamodelTestDBClass.class), is(true));
+
+			Set<String> requiredTables = new HashSet<>();
+			for (DBRow requiredTable : DataModel.getRequiredTables()) {
+				requiredTables.add(requiredTable.getClass().getSimpleName());
+			}
+			assertThat(requiredTables, hasItem("RequiredTableShouldBeCreatedAutomatically"));
+
+			DataModel.setClasspathScanningAllowed(true);
+			assertThat(DataModel.getDBRowSubclasses().containsAll(indexed), is(true));
+		} finally {
+			DataModel.setClasspathScanningAllowed(scanning);
+		}
+	}
+
 	@Test
 	public void testGetDatabases() {
 		Set<Class<? extends DBDatabase>> result = DataModel.getUseableDBDatabaseClasses();
@@ -312,6 +337,7 @@ public class DataModelTest extends AbstractTest {
 		knownKeys.add("class nz.co.gregs.dbvolution.example.CompanyText");
 		knownKeys.add("class nz.co.gregs.dbvolution.DBDatabaseTest$CreateTableTestClassWithNewColumns");
 		knownKeys.add("class nz.co.gregs.dbvolution.annotations.AutoFillDuringQueryIfPossibleTest$FilledCarCoWithList");
+		knownKeys.add("class nz.co.gregs.dbvolution.annotations.AutoFillDuringQueryIfPossibleTest$FilledCarCoWithArrayAndFirst");
 		knownKeys.add("class nz.co.gregs.dbvolution.DBMigrationTest$Fight");
 		knownKeys.add("class nz.co.gregs.dbvolution.actions.DBInsertTest$TestValueRetrievalWith2PKs");
 		knownKeys.add("class nz.co.gregs.dbvolution.internal.properties.TypeAdaptorTest$CustomerWithStringIntegerTypeAdaptor");
@@ -346,7 +372,18 @@ public class DataModelTest extends AbstractTest {
 		knownKeys.add("class nz.co.gregs.dbvolution.expressions.LocalDateTimeExpressionTest$MarqueWithComplexWindowingFunction");
 		knownKeys.add("class nz.co.gregs.dbvolution.internal.properties.TableHandlerTest$MyNonAnnotatedDBRow");
 		knownKeys.add("class nz.co.gregs.dbvolution.internal.properties.TypeAdaptorUsabilityTest$4MyTable");
+		knownKeys.add("class nz.co.gregs.dbvolution.actions.DBBulkInsertTest$BulkInsertChildTable");
 		knownKeys.add("class nz.co.gregs.dbvolution.actions.DBBulkInsertTest$BulkInsertTestTable");
+		knownKeys.add("class nz.co.gregs.dbvolution.actions.DBBulkLoadTest$BulkLoadTestTable");
+		knownKeys.add("class nz.co.gregs.dbvolution.actions.DBBulkLoadTest$BulkLoadLobTable");
+		knownKeys.add("class nz.co.gregs.dbvolution.actions.DBUpsertTest$UpsertTestTable");
+		knownKeys.add("class nz.co.gregs.dbvolution.actions.DBBulkDeleteAndUpdateTest$BulkKeyTable");
+		knownKeys.add("class nz.co.gregs.dbvolution.actions.DBBulkDeleteAndUpdateTest$BulkCompositeKeyTable");
+		knownKeys.add("class nz.co.gregs.dbvolution.internal.query.RowMappingPlanTest$MappedRow");
+		knownKeys.add("class nz.co.gregs.dbvolution.internal.query.RowMappingPlanTest$MappedDetail");
+		knownKeys.add("class nz.co.gregs.dbvolution.internal.query.RowIdentityMapTest$IdentityParent");
+		knownKeys.add("class nz.co.gregs.dbvolution.internal.query.RowIdentityMapTest$IdentityChild");
+		knownKeys.add("class nz.co.gregs.dbvolution.internal.query.RowIdentityMapTest$IdentityComposite");
 		knownKeys.add("class nz.co.gregs.dbvolution.internal.properties.PropertyTypeHandlerTest$26MyClass");
 		knownKeys.add("class nz.co.gregs.dbvolution.expressions.spatial2D.Point2DExpressionTest$BoundingBoxTest");
 		knownKeys.add("class nz.co.gregs.dbvolution.exceptions.ForeignKeyCannotBeComparedToPrimaryKeyTest$TableB");
@@ -600,7 +637,18 @@ public class DataModelTest extends AbstractTest {
 		knownKeys.add("nz.co.gregs.dbvolution.DoubleJoinTest.DoubleLinkedWithClass");
 		knownKeys.add("nz.co.gregs.dbvolution.exceptions.ForeignKeyCannotBeComparedToPrimaryKeyTest.TableAString");
 		knownKeys.add("nz.co.gregs.dbvolution.internal.properties.DBRowClassWrapperTest.MyTable2");
+		knownKeys.add("nz.co.gregs.dbvolution.actions.DBBulkInsertTest.BulkInsertChildTable");
 		knownKeys.add("nz.co.gregs.dbvolution.actions.DBBulkInsertTest.BulkInsertTestTable");
+		knownKeys.add("nz.co.gregs.dbvolution.actions.DBBulkLoadTest.BulkLoadTestTable");
+		knownKeys.add("nz.co.gregs.dbvolution.actions.DBBulkLoadTest.BulkLoadLobTable");
+		knownKeys.add("nz.co.gregs.dbvolution.actions.DBUpsertTest.UpsertTestTable");
+		knownKeys.add("nz.co.gregs.dbvolution.actions.DBBulkDeleteAndUpdateTest.BulkKeyTable");
+		knownKeys.add("nz.co.gregs.dbvolution.actions.DBBulkDeleteAndUpdateTest.BulkCompositeKeyTable");
+		knownKeys.add("nz.co.gregs.dbvolution.internal.query.RowMappingPlanTest.MappedRow");
+		knownKeys.add("nz.co.gregs.dbvolution.internal.query.RowMappingPlanTest.MappedDetail");
+		knownKeys.add("nz.co.gregs.dbvolution.internal.query.RowIdentityMapTest.IdentityParent");
+		knownKeys.add("nz.co.gregs.dbvolution.internal.query.RowIdentityMapTest.IdentityChild");
+		knownKeys.add("nz.co.gregs.dbvolution.internal.query.RowIdentityMapTest.IdentityComposite");
 		knownKeys.add("nz.co.gregs.dbvolution.DBMigrationTest.Hero");
 		knownKeys.add("nz.co.gregs.dbvolution.datatypes.DBLocalDateTest.DBLocalDateTable");
 		knownKeys.add("nz.co.gregs.dbvolution.DBRecursiveQueryTest.PartsWithoutTableName");
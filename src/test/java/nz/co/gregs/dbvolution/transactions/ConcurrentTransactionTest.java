@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 Gregory Graham.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package nz.co.gregs.dbvolution.transactions;
+
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import nz.co.gregs.dbvolution.databases.DBDatabase;
+import nz.co.gregs.dbvolution.example.CarCompany;
+import nz.co.gregs.dbvolution.exceptions.ExceptionThrownDuringTransaction;
+import nz.co.gregs.dbvolution.generic.AbstractTest;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import org.junit.Test;
+
+/**
+ *
+ * @author Gregory Graham
+ */
+public class ConcurrentTransactionTest extends AbstractTest {
+
+	public ConcurrentTransactionTest(Object testIterationName, Object db) {
+		super(testIterationName, db);
+	}
+
+	private long countCompanies(int uid) throws SQLException {
+		CarCompany example = new CarCompany();
+		example.uidCarCompany.permittedValues(uid);
+		return database.getDBTable(example).count();
+	}
+
+	@Test
+	public void testTransactionsRunInParallel() throws Exception {
+		final CountDownLatch firstStarted = new CountDownLatch(1);
+		final CountDownLatch secondFinished = new CountDownLatch(1);
+
+		CompletableFuture<Boolean> first = database.doTransactionAsync((DBTransaction<Boolean>) (DBDatabase db) -> {
+			try {
+				db.insert(new CarCompany("FIRST", 8001));
+				firstStarted.countDown();
+				// the second transaction completes while this one is open
+				return secondFinished.await(30, TimeUnit.SECONDS);
+			} catch (SQLException | InterruptedException ex) {
+				throw new ExceptionThrownDuringTransaction(ex);
+			}
+		});
+
+		assertThat(firstStarted.await(30, TimeUnit.SECONDS), is(true));
+		database.doTransaction((DBTransaction<Void>) (DBDatabase db) -> {
+			try {
+				db.insert(new CarCompany("SECOND", 8002));
+				return null;
+			} catch (SQLException ex) {
+				throw new ExceptionThrownDuringTransaction(ex);
+			}
+		});
+		secondFinished.countDown();
+
+		assertThat(first.get(30, TimeUnit.SECONDS), is(true));
+		assertThat(countCompanies(8001), is(1L));
+		assertThat(countCompanies(8002), is(1L));
+	}
+
+	@Test
+	public void testWorkOnTheCallingThreadJoinsTheTransaction() throws Exception {
+		try {
+			database.setQuietExceptionsPreference(true);
+			database.doTransaction((DBTransaction<Void>) (DBDatabase db) -> {
+				try {
+					// uses the original database, not the transaction's
+					database.insert(new CarCompany("THREADBOUND", 8003));
+					assertThat(db.getDBTable(new CarCompany()).setBlankQueryAllowed(true)
+							.getAllRows().stream().anyMatch(c -> c.name.stringValue().equals("THREADBOUND")), is(true));
+				} catch (SQLException ex) {
+					throw new ExceptionThrownDuringTransaction(ex);
+				}
+				throw new ExceptionThrownDuringTransaction("roll back");
+			});
+		} catch (ExceptionThrownDuringTransaction expected) {
+		} finally {
+			database.setQuietExceptionsPreference(false);
+		}
+		assertThat(countCompanies(8003), is(0L));
+	}
+}